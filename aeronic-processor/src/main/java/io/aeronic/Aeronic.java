@@ -9,4 +9,44 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.SOURCE)
 public @interface Aeronic
 {
+    /**
+     * Encode ints and longs, including the method index and all length prefixes, as zigzag varints. Trades a
+     * little CPU for smaller messages when most values are small; publisher and subscriber must be generated
+     * from the same interface definition.
+     */
+    boolean compact() default false;
+
+    /**
+     * Additionally generate a lazy subscriber interface, named after this one with a {@code Lazy} suffix, whose
+     * methods receive a flyweight decoding each parameter only when it is accessed. Subscribers implementing it are
+     * registered by passing the lazy interface to {@code AeronicWizard.registerSubscriber}.
+     */
+    boolean lazy() default false;
+
+    /**
+     * Additionally generate a publisher, named after this one with a {@code ConcurrentPublisher} suffix, which can be
+     * called from many threads without locking by giving each its own publisher over a shared thread-safe
+     * publication, such as those of {@code AeronicWizard.createConcurrentPublisher} and
+     * {@code AeronicWizard.createAsyncPublisher}.
+     */
+    boolean concurrent() default false;
+
+    /**
+     * Use the SBE wire format instead: every message starts with the standard SBE message header, with the method
+     * index as template id, followed by a block holding the primitive parameters at naturally aligned little-endian
+     * offsets, followed by String, CharSequence and byte[] parameters as var-data. The matching schema is written next
+     * to the generated classes as {@code <InterfaceName>.sbe.xml}. Cannot be combined with {@link #compact()} or
+     * {@link #lazy()}, and parameters of other types are rejected.
+     */
+    boolean sbe() default false;
+
+    /**
+     * Schema id written to the header of SBE messages; subscribers ignore messages from other schemas.
+     */
+    int sbeSchemaId() default 1;
+
+    /**
+     * Schema version written to the header of SBE messages.
+     */
+    int sbeSchemaVersion() default 0;
 }
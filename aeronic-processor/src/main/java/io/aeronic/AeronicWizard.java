@@ -1,22 +1,34 @@
 package io.aeronic;
 
 import io.aeron.Aeron;
+import io.aeron.ChannelUri;
+import io.aeron.CommonContext;
 import io.aeron.Publication;
 import io.aeron.Subscription;
 import io.aeron.cluster.client.AeronCluster;
+import io.aeron.logbuffer.LogBufferDescriptor;
 import io.aeronic.cluster.AeronClusterPublication;
 import io.aeronic.cluster.AeronClusterPublicationAgent;
 import io.aeronic.cluster.AeronicCredentialsSupplier;
 import io.aeronic.cluster.ClientSessionPublication;
 import io.aeronic.net.*;
 import org.agrona.concurrent.Agent;
+import org.agrona.concurrent.AgentInvoker;
 import org.agrona.concurrent.AgentRunner;
-import org.agrona.concurrent.BusySpinIdleStrategy;
+import org.agrona.concurrent.BackoffIdleStrategy;
 import org.agrona.concurrent.CompositeAgent;
+import org.agrona.concurrent.IdleStrategy;
+import org.agrona.concurrent.SystemNanoClock;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
 
 import static org.awaitility.Awaitility.await;
 
@@ -25,12 +37,75 @@ public class AeronicWizard
     private final Aeron aeron;
     private final List<AeronicPublication> publications = new ArrayList<>();
     private final List<Subscription> subscriptions = new ArrayList<>();
-    private final List<Agent> agents = new ArrayList<>();
-    private AgentRunner compositeAgentRunner;
+    private final Map<String, AgentGroup> agentGroups = new LinkedHashMap<>();
+    private final Map<String, List<Agent>> agentsByGroup = new LinkedHashMap<>();
+    private final List<AgentRunner> agentRunners = new ArrayList<>();
+    private final Map<String, AgentInvoker> agentInvokers = new LinkedHashMap<>();
+    private AgentGroup currentAgentGroup;
 
     public AeronicWizard(final Aeron aeron)
+    {
+        this(aeron, AgentGroup.DEFAULT);
+    }
+
+    /**
+     * @param defaultAgentGroup group the agents are placed in until {@link #useAgentGroup(AgentGroup)} selects another
+     */
+    public AeronicWizard(final Aeron aeron, final AgentGroup defaultAgentGroup)
     {
         this.aeron = aeron;
+        useAgentGroup(defaultAgentGroup);
+    }
+
+    /**
+     * Places the agents of the publishers and subscribers created from now on in the group, until another one is
+     * selected.
+     *
+     * @throws IllegalArgumentException if a different group of the same name is already used
+     */
+    public void useAgentGroup(final AgentGroup agentGroup)
+    {
+        final AgentGroup existingGroup = agentGroups.putIfAbsent(agentGroup.getName(), agentGroup);
+        if (existingGroup != null && existingGroup != agentGroup)
+        {
+            throw new IllegalArgumentException("A different agent group named " + agentGroup.getName() + " is already used");
+        }
+        currentAgentGroup = agentGroup;
+    }
+
+    /**
+     * Selects a group already used again for the agents created from now on.
+     *
+     * @throws IllegalArgumentException if no group of the name is used
+     */
+    public void useAgentGroup(final String agentGroupName)
+    {
+        final AgentGroup agentGroup = agentGroups.get(agentGroupName);
+        if (agentGroup == null)
+        {
+            throw new IllegalArgumentException("No agent group named " + agentGroupName);
+        }
+        currentAgentGroup = agentGroup;
+    }
+
+    /**
+     * @return the invoker the caller runs the agents of an {@link AgentGroup#invoked(String) invoked} group with,
+     * by calling {@link AgentInvoker#invoke()} in its own duty cycle once the wizard is started
+     * @throws IllegalArgumentException if there is no started invoked group of the name
+     */
+    public AgentInvoker getAgentInvoker(final String agentGroupName)
+    {
+        final AgentInvoker agentInvoker = agentInvokers.get(agentGroupName);
+        if (agentInvoker == null)
+        {
+            throw new IllegalArgumentException("No started invoked agent group named " + agentGroupName);
+        }
+        return agentInvoker;
+    }
+
+    private void addAgent(final Agent agent)
+    {
+        agentsByGroup.computeIfAbsent(currentAgentGroup.getName(), name -> new ArrayList<>()).add(agent);
     }
 
     public <T> T createPublisher(final Class<T> clazz, final String channel, final int streamId)
@@ -41,6 +116,239 @@ public class AeronicWizard
         return createPublisher(clazz, publication);
     }
 
+    public <T> T createPublisher(
+        final Class<T> clazz,
+        final String channel,
+        final int streamId,
+        final BackPressureStrategy backPressureStrategy
+    )
+    {
+        final Publication rawPublication = aeron.addPublication(channel, streamId);
+        final AeronicPublication publication = new SimplePublication(rawPublication);
+        publications.add(publication);
+        return createPublisher(clazz, publication, backPressureStrategy);
+    }
+
+    /**
+     * Creates a publisher passing its {@code @ClaimCheck} parameters through the region, which it must be the only
+     * writer of, for subscribers on the same host.
+     */
+    public <T> T createPublisher(
+        final Class<T> clazz,
+        final String channel,
+        final int streamId,
+        final ClaimCheckRegion claimCheckRegion
+    )
+    {
+        final T publisher = createPublisher(clazz, channel, streamId);
+        ((AbstractPublisher)publisher).bindClaimCheckRegion(claimCheckRegion);
+        return publisher;
+    }
+
+    /**
+     * Creates a request publisher, registering the reply callbacks its methods are passed with the table returned by
+     * {@link #registerReplySubscriber(Class, String, int, Duration, ObjLongConsumer)}. The publisher must be called
+     * from a single thread, which need not be the one running the reply subscriber.
+     */
+    public <T> T createPublisher(
+        final Class<T> clazz,
+        final String channel,
+        final int streamId,
+        final PendingReplies<?> pendingReplies
+    )
+    {
+        final T publisher = createPublisher(clazz, channel, streamId);
+        ((AbstractPublisher)publisher).bindPendingReplies(pendingReplies);
+        return publisher;
+    }
+
+    /**
+     * Creates a publisher for messages of up to the given length, which Aeron sends as fragments for subscribers to
+     * reassemble. Unless the channel sets its own, the term length is raised to the smallest that allows messages of
+     * that length. Subscribers take no maximum: their reassembly buffers grow to the longest message received, which
+     * Aeron bounds by an eighth of the term length of the publishing session, and may be sized up front with
+     * {@link #registerSubscriber(Class, Object, String, int, int)}.
+     *
+     * @param maxMessageLength longest message to be published on the stream, up to 16 MB
+     */
+    public <T> T createPublisher(final Class<T> clazz, final String channel, final int streamId, final int maxMessageLength)
+    {
+        final Publication rawPublication = aeron.addPublication(withTermLengthFor(channel, maxMessageLength), streamId);
+        if (rawPublication.maxMessageLength() < maxMessageLength)
+        {
+            rawPublication.close();
+            throw new IllegalArgumentException(
+                "maxMessageLength=%d exceeds the %d allowed on %s".formatted(maxMessageLength, rawPublication.maxMessageLength(), channel)
+            );
+        }
+
+        final AeronicPublication publication = new SimplePublication(rawPublication);
+        publications.add(publication);
+        return createPublisher(clazz, publication);
+    }
+
+    /**
+     * Creates a publisher that may be called from any number of threads without locking. Each thread encodes with a
+     * publisher of its own: methods whose parameters are all of fixed size claim a range of the shared publication and
+     * write the message straight into it, while the others encode it into a scratch buffer of the thread and offer it.
+     * The interface must be annotated with {@code @Aeronic(concurrent = true)}.
+     */
+    public <T> T createConcurrentPublisher(final Class<T> clazz, final String channel, final int streamId)
+    {
+        final Publication rawPublication = aeron.addPublication(channel, streamId);
+        final AeronicPublication publication = new SimplePublication(rawPublication);
+        publications.add(publication);
+        return createConcurrentPublisher(clazz, publication);
+    }
+
+    /**
+     * @param backPressureStrategySupplier supplies the strategy of each calling thread, as strategies may hold state
+     */
+    public <T> T createConcurrentPublisher(
+        final Class<T> clazz,
+        final String channel,
+        final int streamId,
+        final Supplier<BackPressureStrategy> backPressureStrategySupplier
+    )
+    {
+        final Publication rawPublication = aeron.addPublication(channel, streamId);
+        final AeronicPublication publication = new SimplePublication(rawPublication);
+        publications.add(publication);
+        return createConcurrentPublisher(clazz, publication, backPressureStrategySupplier);
+    }
+
+    /**
+     * Creates a request publisher that may be called from any number of threads, registering the reply callbacks its
+     * methods are passed with the table returned by
+     * {@link #registerReplySubscriber(Class, String, int, Duration, ObjLongConsumer)}.
+     */
+    public <T> T createConcurrentPublisher(
+        final Class<T> clazz,
+        final String channel,
+        final int streamId,
+        final PendingReplies<?> pendingReplies
+    )
+    {
+        final T publisher = createConcurrentPublisher(clazz, channel, streamId);
+        try
+        {
+            publisher.getClass().getMethod("bindPendingReplies", PendingReplies.class).invoke(publisher, pendingReplies);
+        }
+        catch (final Exception e)
+        {
+            throw new RuntimeException(e);
+        }
+        return publisher;
+    }
+
+    /**
+     * Creates a publisher over an exclusive publication, which skips the synchronisation of the shared one. The
+     * publisher must only ever be called from a single thread.
+     */
+    public <T> T createExclusivePublisher(final Class<T> clazz, final String channel, final int streamId)
+    {
+        final Publication rawPublication = aeron.addExclusivePublication(channel, streamId);
+        final AeronicPublication publication = new SimplePublication(rawPublication);
+        publications.add(publication);
+        return createPublisher(clazz, publication);
+    }
+
+    public <T> T createExclusivePublisher(
+        final Class<T> clazz,
+        final String channel,
+        final int streamId,
+        final BackPressureStrategy backPressureStrategy
+    )
+    {
+        final Publication rawPublication = aeron.addExclusivePublication(channel, streamId);
+        final AeronicPublication publication = new SimplePublication(rawPublication);
+        publications.add(publication);
+        return createPublisher(clazz, publication, backPressureStrategy);
+    }
+
+    /**
+     * Creates a publisher whose messages are packed into batch frames by an agent run with the subscribers, sending
+     * them alone when the stream is quiet and in batches of up to the maximum payload length of the publication
+     * under load. The publisher must be called from a single thread. Messages longer than the maximum payload length
+     * are sent on their own, while those longer than an eighth of the staging capacity, which is 64 KB or eight times
+     * the maximum payload length if larger, are rejected with an {@link IllegalArgumentException}.
+     *
+     * @param maxDelay longest a message waits for further messages to be batched with under sustained load
+     */
+    public <T> T createBatchingPublisher(final Class<T> clazz, final String channel, final int streamId, final Duration maxDelay)
+    {
+        final Publication rawPublication = aeron.addPublication(channel, streamId);
+        final int maxBatchLength = rawPublication.maxPayloadLength();
+        final BatchingPublication publication = new BatchingPublication(
+            new SimplePublication(rawPublication),
+            maxBatchLength,
+            maxDelay.toNanos(),
+            BatchingPublication.stagingCapacityFor(maxBatchLength),
+            SystemNanoClock.INSTANCE
+        );
+
+        addAgent(new BatchingPublicationAgent(publication, clazz.getName() + "__BatchingPublisher"));
+        publications.add(publication);
+        return createPublisher(clazz, publication);
+    }
+
+    /**
+     * Creates a publisher that may be called from any number of threads, handing the encoded messages over to an agent
+     * run with the subscribers that offers them to the publication. The interface must be annotated with
+     * {@code @Aeronic(concurrent = true)}. Messages longer than an eighth of the
+     * {@link AsyncPublication#DEFAULT_CAPACITY} of the hand-over ring buffer, 128 KB, are rejected with an
+     * {@link IllegalArgumentException} thrown to the calling thread.
+     */
+    public <T> T createAsyncPublisher(final Class<T> clazz, final String channel, final int streamId)
+    {
+        final Publication rawPublication = aeron.addPublication(channel, streamId);
+        final AsyncPublication publication = new AsyncPublication(new SimplePublication(rawPublication));
+
+        addAgent(new AsyncPublicationAgent(publication, clazz.getName() + "__AsyncPublisher"));
+        publications.add(publication);
+        return createConcurrentPublisher(clazz, publication);
+    }
+
+    /**
+     * @param backPressureStrategySupplier supplies the strategy of each calling thread, applied when the hand-over
+     *                                     ring buffer is full
+     */
+    public <T> T createAsyncPublisher(
+        final Class<T> clazz,
+        final String channel,
+        final int streamId,
+        final Supplier<BackPressureStrategy> backPressureStrategySupplier
+    )
+    {
+        final Publication rawPublication = aeron.addPublication(channel, streamId);
+        final AsyncPublication publication = new AsyncPublication(new SimplePublication(rawPublication));
+
+        addAgent(new AsyncPublicationAgent(publication, clazz.getName() + "__AsyncPublisher"));
+        publications.add(publication);
+        return createConcurrentPublisher(clazz, publication, backPressureStrategySupplier);
+    }
+
+    /**
+     * Creates a publisher streaming payloads of any length as chunks sized to fit a single frame, retrying chunks
+     * while the publication is back-pressured. The publisher must be called from a single thread.
+     */
+    public ChunkedPublisher createChunkedPublisher(final String channel, final int streamId)
+    {
+        return createChunkedPublisher(channel, streamId, new RetryingBackPressureStrategy(new BackoffIdleStrategy()));
+    }
+
+    public ChunkedPublisher createChunkedPublisher(final String channel, final int streamId, final BackPressureStrategy backPressureStrategy)
+    {
+        final Publication rawPublication = aeron.addPublication(channel, streamId);
+        final AeronicPublication publication = new SimplePublication(rawPublication);
+        publications.add(publication);
+        return new ChunkedPublisher(
+            publication,
+            backPressureStrategy,
+            rawPublication.maxPayloadLength() - ChunkedPublisher.CHUNK_HEADER_LENGTH
+        );
+    }
+
     public <T> T createClusterIngressPublisher(final Class<T> clazz, final String ingressChannel)
     {
         final String publisherName = clazz.getName() + "__IngressPublisher";
@@ -52,7 +360,7 @@ public class AeronicWizard
                 .aeronDirectoryName(aeron.context().aeronDirectoryName())
         );
 
-        agents.add(new AeronClusterPublicationAgent(publication, publisherName));
+        addAgent(new AeronClusterPublicationAgent(publication, publisherName));
         publications.add(publication);
         return createPublisher(clazz, publication);
     }
@@ -62,7 +370,7 @@ public class AeronicWizard
         final String publisherName = clazz.getName() + "__IngressPublisher";
         final AeronClusterPublication publication = new AeronClusterPublication(publisherName, aeronClusterCtx);
 
-        agents.add(new AeronClusterPublicationAgent(publication, publisherName));
+        addAgent(new AeronClusterPublicationAgent(publication, publisherName));
         publications.add(publication);
         return createPublisher(clazz, publication);
     }
@@ -89,13 +397,84 @@ public class AeronicWizard
         }
     }
 
+    @SuppressWarnings("unchecked")
+    public static <T> T createPublisher(
+        final Class<T> clazz,
+        final AeronicPublication publication,
+        final BackPressureStrategy backPressureStrategy
+    )
+    {
+        try
+        {
+            return (T)Class.forName(clazz.getName() + "Publisher")
+                .getConstructor(AeronicPublication.class, BackPressureStrategy.class)
+                .newInstance(publication, backPressureStrategy);
+        }
+        catch (final Exception e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Creates a publisher giving each calling thread a publisher of its own over the shared, thread-safe publication.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T createConcurrentPublisher(final Class<T> clazz, final AeronicPublication publication)
+    {
+        final Class<?> publisherClass = getConcurrentPublisherClass(clazz);
+        try
+        {
+            return (T)publisherClass.getConstructor(AeronicPublication.class).newInstance(publication);
+        }
+        catch (final Exception e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @param backPressureStrategySupplier supplies the strategy of each calling thread
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T createConcurrentPublisher(
+        final Class<T> clazz,
+        final AeronicPublication publication,
+        final Supplier<BackPressureStrategy> backPressureStrategySupplier
+    )
+    {
+        final Class<?> publisherClass = getConcurrentPublisherClass(clazz);
+        try
+        {
+            return (T)publisherClass
+                .getConstructor(AeronicPublication.class, Supplier.class)
+                .newInstance(publication, backPressureStrategySupplier);
+        }
+        catch (final Exception e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static Class<?> getConcurrentPublisherClass(final Class<?> clazz)
+    {
+        try
+        {
+            return Class.forName(clazz.getName() + "ConcurrentPublisher");
+        }
+        catch (final ClassNotFoundException e)
+        {
+            throw new IllegalStateException(clazz.getName() + " must be annotated with @Aeronic(concurrent = true)", e);
+        }
+    }
+
     public <T> void registerSubscriber(final Class<T> clazz, final T subscriberImplementation, final String channel, final int streamId)
     {
         final Subscription subscription = aeron.addSubscription(channel, streamId);
         subscriptions.add(subscription);
 
         final AbstractSubscriberInvoker<T> invoker = createSubscriberInvoker(clazz, subscriberImplementation);
-        agents.add(new SubscriptionAgent<>(subscription, invoker));
+        addAgent(new SubscriptionAgent<>(subscription, invoker));
     }
 
     public <T> void registerClusterEgressSubscriber(final Class<T> clazz, final T subscriberImplementation, final String ingressChannel)
@@ -107,11 +486,11 @@ public class AeronicWizard
             new AeronCluster.Context()
                 .credentialsSupplier(new AeronicCredentialsSupplier(subscriberName))
                 .ingressChannel(ingressChannel)
-                .egressListener((clusterSessionId, timestamp, buffer, offset, length, header) -> invoker.handle(buffer, offset))
+                .egressListener((clusterSessionId, timestamp, buffer, offset, length, header) -> invoker.handle(buffer, offset, length))
                 .errorHandler(Throwable::printStackTrace)
                 .aeronDirectoryName(aeron.context().aeronDirectoryName()));
 
-        agents.add(new AeronClusterAgent(aeronCluster, subscriberName));
+        addAgent(new AeronClusterAgent(aeronCluster, subscriberName));
     }
 
     public <T> void registerClusterEgressSubscriber(final Class<T> clazz, final T subscriberImplementation, final AeronCluster.Context aeronClusterCtx)
@@ -121,9 +500,277 @@ public class AeronicWizard
         final AeronCluster aeronCluster = AeronCluster.connect(
             aeronClusterCtx
                 .credentialsSupplier(new AeronicCredentialsSupplier(subscriberName))
-                .egressListener((clusterSessionId, timestamp, buffer, offset, length, header) -> invoker.handle(buffer, offset))
+                .egressListener((clusterSessionId, timestamp, buffer, offset, length, header) -> invoker.handle(buffer, offset, length))
         );
-        agents.add(new AeronClusterAgent(aeronCluster, subscriberName));
+        addAgent(new AeronClusterAgent(aeronCluster, subscriberName));
+    }
+
+    /**
+     * Registers a subscriber resolving {@code @ClaimCheck} parameters from the region, opened from the file the
+     * publisher created it in.
+     */
+    public <T> void registerSubscriber(
+        final Class<T> clazz,
+        final T subscriberImplementation,
+        final String channel,
+        final int streamId,
+        final ClaimCheckRegion claimCheckRegion
+    )
+    {
+        final Subscription subscription = aeron.addSubscription(channel, streamId);
+        subscriptions.add(subscription);
+
+        final AbstractSubscriberInvoker<T> invoker = createSubscriberInvoker(clazz, subscriberImplementation);
+        invoker.bindClaimCheckRegion(claimCheckRegion);
+        addAgent(new SubscriptionAgent<>(subscription, invoker));
+    }
+
+    /**
+     * Registers a subscriber whose message reassembly buffers start at the given length, so that messages up to it are
+     * reassembled without growing them. Longer messages are still reassembled, growing the buffers.
+     *
+     * @param initialReassemblyBufferLength length the reassembly buffers start at, such as that of the longest message
+     *                                      expected on the stream
+     */
+    public <T> void registerSubscriber(
+        final Class<T> clazz,
+        final T subscriberImplementation,
+        final String channel,
+        final int streamId,
+        final int initialReassemblyBufferLength
+    )
+    {
+        final Subscription subscription = aeron.addSubscription(channel, streamId);
+        subscriptions.add(subscription);
+
+        final AbstractSubscriberInvoker<T> invoker = createSubscriberInvoker(clazz, subscriberImplementation);
+        addAgent(new SubscriptionAgent<>(subscription, invoker, initialReassemblyBufferLength));
+    }
+
+    /**
+     * Registers a subscriber whose messages are handled by several workers in parallel, routed by their
+     * {@code @PartitionKey} so that messages with equal keys are handled in order by the same worker. The subscription
+     * is polled in the current agent group, while each worker runs on a thread of its own, in an agent group named
+     * after it, with a backoff idle strategy.
+     *
+     * @param subscriberFactory called once per worker, so each may have a subscriber of its own, or return the same
+     *                          subscriber every time if it is thread-safe
+     */
+    public <T> void registerPartitionedSubscriber(
+        final Class<T> clazz,
+        final Supplier<T> subscriberFactory,
+        final String channel,
+        final int streamId,
+        final int workerCount
+    )
+    {
+        registerPartitionedSubscriber(clazz, subscriberFactory, channel, streamId, workerCount, BackoffIdleStrategy::new);
+    }
+
+    /**
+     * @param idleStrategySupplier supplies the idle strategy of each worker thread
+     */
+    public <T> void registerPartitionedSubscriber(
+        final Class<T> clazz,
+        final Supplier<T> subscriberFactory,
+        final String channel,
+        final int streamId,
+        final int workerCount,
+        final Supplier<IdleStrategy> idleStrategySupplier
+    )
+    {
+        registerPartitionedSubscriber(
+            clazz,
+            subscriberFactory,
+            channel,
+            streamId,
+            workerCount,
+            idleStrategySupplier,
+            SubscriptionAgent.DEFAULT_REASSEMBLY_BUFFER_LENGTH
+        );
+    }
+
+    /**
+     * @param initialReassemblyBufferLength length the reassembly buffers start at, as for
+     *                                      {@link #registerSubscriber(Class, Object, String, int, int)}
+     */
+    public <T> void registerPartitionedSubscriber(
+        final Class<T> clazz,
+        final Supplier<T> subscriberFactory,
+        final String channel,
+        final int streamId,
+        final int workerCount,
+        final Supplier<IdleStrategy> idleStrategySupplier,
+        final int initialReassemblyBufferLength
+    )
+    {
+        final List<PartitionWorkerAgent<T>> workers = new ArrayList<>();
+        for (int i = 0; i < workerCount; i++)
+        {
+            final String workerName = "%s__Worker-%d-%d".formatted(clazz.getName(), streamId, i);
+            final AbstractSubscriberInvoker<T> invoker = createSubscriberInvoker(clazz, subscriberFactory.get());
+            workers.add(new PartitionWorkerAgent<>(invoker, workerName, PartitionedSubscriptionAgent.DEFAULT_RING_BUFFER_CAPACITY));
+        }
+
+        final Subscription subscription = aeron.addSubscription(channel, streamId);
+        subscriptions.add(subscription);
+        addAgent(new PartitionedSubscriptionAgent<>(subscription, workers, initialReassemblyBufferLength));
+
+        final AgentGroup routingAgentGroup = currentAgentGroup;
+        for (final PartitionWorkerAgent<T> worker : workers)
+        {
+            useAgentGroup(AgentGroup.dedicatedThread(worker.roleName(), idleStrategySupplier.get()));
+            addAgent(worker);
+        }
+        currentAgentGroup = routingAgentGroup;
+    }
+
+    /**
+     * Registers a subscriber doing blocking work, such as database writes or remote calls, which is invoked on virtual
+     * threads rather than on the agent thread polling its subscription. Before Java 21, which has no virtual threads,
+     * the fallback to a cached thread pool is reported as an error, and the overload taking an executor should be
+     * preferred. Messages with equal {@code @PartitionKey}s are handled in order, while others are handled
+     * concurrently, so the subscriber must be thread-safe. See {@link ExecutorSubscriptionAgent}.
+     */
+    public <T> void registerBlockingSubscriber(
+        final Class<T> clazz,
+        final T subscriberImplementation,
+        final String channel,
+        final int streamId
+    )
+    {
+        registerBlockingSubscriber(
+            clazz,
+            subscriberImplementation,
+            channel,
+            streamId,
+            ExecutorSubscriptionAgent.newVirtualThreadExecutor(Throwable::printStackTrace),
+            ExecutorSubscriptionAgent.DEFAULT_LANE_COUNT,
+            ExecutorSubscriptionAgent.DEFAULT_MAX_IN_FLIGHT
+        );
+    }
+
+    /**
+     * @param executor    executor to invoke the subscriber on, which is shut down when the wizard is closed if it is an
+     *                    {@link ExecutorService}
+     * @param laneCount   number of lanes the partition keys are spread over, bounding the concurrent invocations
+     * @param maxInFlight number of messages handed over but not yet handled past which polling stops
+     */
+    public <T> void registerBlockingSubscriber(
+        final Class<T> clazz,
+        final T subscriberImplementation,
+        final String channel,
+        final int streamId,
+        final Executor executor,
+        final int laneCount,
+        final int maxInFlight
+    )
+    {
+        registerBlockingSubscriber(
+            clazz,
+            subscriberImplementation,
+            channel,
+            streamId,
+            executor,
+            laneCount,
+            maxInFlight,
+            SubscriptionAgent.DEFAULT_REASSEMBLY_BUFFER_LENGTH
+        );
+    }
+
+    /**
+     * @param initialReassemblyBufferLength length the reassembly buffers start at, as for
+     *                                      {@link #registerSubscriber(Class, Object, String, int, int)}
+     */
+    public <T> void registerBlockingSubscriber(
+        final Class<T> clazz,
+        final T subscriberImplementation,
+        final String channel,
+        final int streamId,
+        final Executor executor,
+        final int laneCount,
+        final int maxInFlight,
+        final int initialReassemblyBufferLength
+    )
+    {
+        final List<AbstractSubscriberInvoker<T>> invokers = new ArrayList<>();
+        for (int i = 0; i < laneCount; i++)
+        {
+            invokers.add(createSubscriberInvoker(clazz, subscriberImplementation));
+        }
+
+        final Subscription subscription = aeron.addSubscription(channel, streamId);
+        subscriptions.add(subscription);
+        addAgent(new ExecutorSubscriptionAgent<>(
+            subscription,
+            invokers,
+            executor,
+            maxInFlight,
+            Throwable::printStackTrace,
+            initialReassemblyBufferLength
+        ));
+    }
+
+    /**
+     * Registers a subscriber to requests, which answers the reply parameters it is passed with the given publishers of
+     * the reply interfaces, created on the reply streams of the requesters. Each publisher is bound under the
+     * {@code @Aeronic} interface it implements, and must not be used elsewhere.
+     */
+    public <T> void registerRequestSubscriber(
+        final Class<T> clazz,
+        final T subscriberImplementation,
+        final String channel,
+        final int streamId,
+        final Object... replyPublishers
+    )
+    {
+        final Subscription subscription = aeron.addSubscription(channel, streamId);
+        subscriptions.add(subscription);
+
+        final AbstractSubscriberInvoker<T> invoker = createSubscriberInvoker(clazz, subscriberImplementation);
+        for (final Object replyPublisher : replyPublishers)
+        {
+            for (final Class<?> replyInterface : replyPublisher.getClass().getInterfaces())
+            {
+                invoker.bindReplyPublisher(replyInterface, (AbstractPublisher)replyPublisher);
+            }
+        }
+        addAgent(new SubscriptionAgent<>(subscription, invoker));
+    }
+
+    /**
+     * Registers the reply interface of a requester, returning the table of pending requests its request publishers
+     * register their reply callbacks with, from any thread. Each reply is handed to the callback of its request in the
+     * current agent group, and completes it, while requests left without a reply for the timeout are passed to the
+     * timeout handler along with their correlation id, on the thread running that group.
+     */
+    public <R> PendingReplies<R> registerReplySubscriber(
+        final Class<R> replyInterface,
+        final String channel,
+        final int streamId,
+        final Duration timeout,
+        final ObjLongConsumer<R> timeoutHandler
+    )
+    {
+        final PendingReplies<R> pendingReplies = new PendingReplies<>(timeout.toNanos(), timeoutHandler);
+        final Subscription subscription = aeron.addSubscription(channel, streamId);
+        subscriptions.add(subscription);
+
+        final AbstractSubscriberInvoker<R> invoker = createSubscriberInvoker(replyInterface, null);
+        final String roleName = "%s__Replies-%d".formatted(replyInterface.getName(), streamId);
+        addAgent(new ReplySubscriptionAgent<>(subscription, invoker, pendingReplies, roleName));
+        return pendingReplies;
+    }
+
+    /**
+     * Registers a handler for the chunks streamed by a {@link ChunkedPublisher}, such as a {@link FileChunkHandler}.
+     */
+    public void registerChunkHandler(final ChunkHandler chunkHandler, final String channel, final int streamId)
+    {
+        final Subscription subscription = aeron.addSubscription(channel, streamId);
+        subscriptions.add(subscription);
+
+        addAgent(new SubscriptionAgent<>(subscription, new ChunkSubscriberInvoker(chunkHandler)));
     }
 
     @SuppressWarnings("unchecked")
@@ -141,24 +788,57 @@ public class AeronicWizard
         }
     }
 
-    public void start()
+    private static String withTermLengthFor(final String channel, final int maxMessageLength)
     {
-        compositeAgentRunner = new AgentRunner(
-            BusySpinIdleStrategy.INSTANCE,
-            Throwable::printStackTrace,
-            null,
-            new CompositeAgent(agents)
-        );
+        if (maxMessageLength > LogBufferDescriptor.computeMaxMessageLength(LogBufferDescriptor.TERM_MAX_LENGTH))
+        {
+            throw new IllegalArgumentException("maxMessageLength=%d exceeds the longest message Aeron supports".formatted(maxMessageLength));
+        }
+
+        final ChannelUri channelUri = ChannelUri.parse(channel);
+        if (channelUri.containsKey(CommonContext.TERM_LENGTH_PARAM_NAME))
+        {
+            return channel;
+        }
 
-        AgentRunner.startOnThread(compositeAgentRunner);
+        int termLength = LogBufferDescriptor.TERM_MIN_LENGTH;
+        while (LogBufferDescriptor.computeMaxMessageLength(termLength) < maxMessageLength)
+        {
+            termLength <<= 1;
+        }
+        channelUri.put(CommonContext.TERM_LENGTH_PARAM_NAME, Integer.toString(termLength));
+        return channelUri.toString();
     }
 
-    public void close()
+    /**
+     * Starts a thread for each group with agents, other than the invoked groups, whose agents are started on the
+     * caller's thread and then run by {@link #getAgentInvoker(String) their invoker}.
+     */
+    public void start()
     {
-        if (compositeAgentRunner != null)
+        agentsByGroup.forEach((groupName, agents) ->
         {
-            compositeAgentRunner.close();
-        }
+            final AgentGroup agentGroup = agentGroups.get(groupName);
+            final Agent agent = new GroupAgent(groupName, agentGroup.getThreadStartHook(), new CompositeAgent(agents));
+            if (agentGroup.isInvoked())
+            {
+                final AgentInvoker agentInvoker = new AgentInvoker(Throwable::printStackTrace, null, agent);
+                agentInvokers.put(groupName, agentInvoker);
+                agentInvoker.start();
+            }
+            else
+            {
+                final AgentRunner agentRunner = new AgentRunner(agentGroup.getIdleStrategy(), Throwable::printStackTrace, null, agent);
+                agentRunners.add(agentRunner);
+                AgentRunner.startOnThread(agentRunner);
+            }
+        });
+    }
+
+    public void close()
+    {
+        agentRunners.forEach(AgentRunner::close);
+        agentInvokers.values().forEach(AgentInvoker::close);
         publications.forEach(AeronicPublication::close);
     }
 
@@ -178,4 +858,50 @@ public class AeronicWizard
                 return allConnected;
             });
     }
+
+    /**
+     * Runs the agents of a group under its name, which {@link AgentRunner} names the thread after, calling the
+     * thread start hook of the group on the thread they run on.
+     */
+    private static final class GroupAgent implements Agent
+    {
+        private final String roleName;
+        private final Runnable threadStartHook;
+        private final Agent delegate;
+
+        GroupAgent(final String roleName, final Runnable threadStartHook, final Agent delegate)
+        {
+            this.roleName = roleName;
+            this.threadStartHook = threadStartHook;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onStart()
+        {
+            if (threadStartHook != null)
+            {
+                threadStartHook.run();
+            }
+            delegate.onStart();
+        }
+
+        @Override
+        public int doWork() throws Exception
+        {
+            return delegate.doWork();
+        }
+
+        @Override
+        public void onClose()
+        {
+            delegate.onClose();
+        }
+
+        @Override
+        public String roleName()
+        {
+            return roleName;
+        }
+    }
 }
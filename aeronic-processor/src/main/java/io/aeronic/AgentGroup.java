@@ -0,0 +1,89 @@
+package io.aeronic;
+
+import org.agrona.concurrent.BusySpinIdleStrategy;
+import org.agrona.concurrent.IdleStrategy;
+
+/**
+ * Named set of the agents an {@link AeronicWizard} creates, run together either on a thread of their own with the
+ * group's idle strategy or on the caller's thread through an {@link org.agrona.concurrent.AgentInvoker}. Agents are
+ * placed in the group selected by {@link AeronicWizard#useAgentGroup(AgentGroup)} when they are created, so a
+ * dedicated thread per agent is a group per agent.
+ */
+public final class AgentGroup
+{
+    public static final String DEFAULT_NAME = "aeronic";
+
+    /**
+     * The group agents are placed in unless another one is selected, busy spinning on a thread of its own.
+     */
+    public static final AgentGroup DEFAULT = dedicatedThread(DEFAULT_NAME, BusySpinIdleStrategy.INSTANCE);
+
+    private final String name;
+    private final IdleStrategy idleStrategy;
+    private final Runnable threadStartHook;
+    private final boolean isInvoked;
+
+    private AgentGroup(final String name, final IdleStrategy idleStrategy, final Runnable threadStartHook, final boolean isInvoked)
+    {
+        this.name = name;
+        this.idleStrategy = idleStrategy;
+        this.threadStartHook = threadStartHook;
+        this.isInvoked = isInvoked;
+    }
+
+    /**
+     * @param name         name of the group, also given to its thread
+     * @param idleStrategy strategy to idle with when none of the agents has work, such as a
+     *                     {@link org.agrona.concurrent.BackoffIdleStrategy} for quiet streams
+     */
+    public static AgentGroup dedicatedThread(final String name, final IdleStrategy idleStrategy)
+    {
+        return new AgentGroup(name, idleStrategy, null, false);
+    }
+
+    /**
+     * @param threadStartHook run on the thread of the group before its agents start, for example to pin it to a CPU
+     */
+    public static AgentGroup dedicatedThread(final String name, final IdleStrategy idleStrategy, final Runnable threadStartHook)
+    {
+        return new AgentGroup(name, idleStrategy, threadStartHook, false);
+    }
+
+    /**
+     * A group run on the caller's thread by invoking {@link AeronicWizard#getAgentInvoker(String)} in its own loop.
+     */
+    public static AgentGroup invoked(final String name)
+    {
+        return new AgentGroup(name, null, null, true);
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public IdleStrategy getIdleStrategy()
+    {
+        return idleStrategy;
+    }
+
+    public Runnable getThreadStartHook()
+    {
+        return threadStartHook;
+    }
+
+    public boolean isInvoked()
+    {
+        return isInvoked;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "AgentGroup{" +
+            "name='" + name + '\'' +
+            ", idleStrategy=" + idleStrategy +
+            ", isInvoked=" + isInvoked +
+            '}';
+    }
+}
@@ -77,7 +77,7 @@ public class AeronicClusteredServiceContainer implements ClusteredService
         final Header header
     )
     {
-        registry.onSessionMessage(session, buffer, offset);
+        registry.onSessionMessage(session, buffer, offset, length);
         clusteredService.onSessionMessage(session, timestamp, buffer, offset, length, header);
     }
 
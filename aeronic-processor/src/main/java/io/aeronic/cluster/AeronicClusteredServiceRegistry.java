@@ -9,6 +9,7 @@ import io.aeronic.net.NullSubscriberInvokerImpl;
 import io.aeronic.net.ToggledAeronicPublication;
 import org.agrona.DirectBuffer;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
@@ -102,7 +103,7 @@ public class AeronicClusteredServiceRegistry
     public void onSessionOpen(final ClientSession session)
     {
         final byte[] encodedPrincipal = session.encodedPrincipal();
-        final String subscriberName = new String(encodedPrincipal);
+        final String subscriberName = new String(encodedPrincipal, StandardCharsets.UTF_8);
 
         if (encodedPrincipal.length != 0)
         {
@@ -119,8 +120,8 @@ public class AeronicClusteredServiceRegistry
         }
     }
 
-    public void onSessionMessage(final ClientSession session, final DirectBuffer buffer, final int offset)
+    public void onSessionMessage(final ClientSession session, final DirectBuffer buffer, final int offset, final int length)
     {
-        invokersBySessionId.getOrDefault(session.id(), NullSubscriberInvokerImpl.INSTANCE).handle(buffer, offset);
+        invokersBySessionId.getOrDefault(session.id(), NullSubscriberInvokerImpl.INSTANCE).handle(buffer, offset, length);
     }
 }
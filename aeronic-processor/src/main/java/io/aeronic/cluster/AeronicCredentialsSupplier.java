@@ -3,6 +3,8 @@ package io.aeronic.cluster;
 import io.aeron.security.CredentialsSupplier;
 import org.agrona.collections.ArrayUtil;
 
+import java.nio.charset.StandardCharsets;
+
 public class AeronicCredentialsSupplier implements CredentialsSupplier
 {
     private final String name;
@@ -15,7 +17,7 @@ public class AeronicCredentialsSupplier implements CredentialsSupplier
     @Override
     public byte[] encodedCredentials()
     {
-        return name.getBytes();
+        return name.getBytes(StandardCharsets.UTF_8);
     }
 
     @Override
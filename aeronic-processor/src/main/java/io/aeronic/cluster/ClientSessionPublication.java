@@ -1,17 +1,26 @@
 package io.aeronic.cluster;
 
+import io.aeron.Publication;
 import io.aeron.cluster.service.ClientSession;
 import io.aeronic.net.AeronicPublication;
 import org.agrona.DirectBuffer;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Set;
 
+/**
+ * Publishes egress messages to every bound client session. A message that some sessions back pressure is left pending
+ * for those only, so that a retrying {@link io.aeronic.net.BackPressureStrategy} does not deliver it twice to the
+ * sessions that accepted it.
+ */
 public class ClientSessionPublication<T> implements AeronicPublication
 {
     private final String publisherName;
     private final Set<ClientSession> clientSessions = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final List<ClientSession> pendingClientSessions = new ArrayList<>();
     private T publisher;
 
     public ClientSessionPublication(final String publisherName)
@@ -25,10 +34,63 @@ public class ClientSessionPublication<T> implements AeronicPublication
         return !clientSessions.isEmpty() && clientSessions.stream().noneMatch(ClientSession::isClosing);
     }
 
+    /**
+     * Offers the message to every session.
+     *
+     * @return the position of the last session if all accepted the message, {@link Publication#BACK_PRESSURED} if any
+     * may accept it on a retry, otherwise the last failure
+     */
     @Override
-    public void offer(final DirectBuffer buffer)
+    public long offer(final DirectBuffer buffer, final int offset, final int length)
     {
-        clientSessions.forEach(s -> s.offer(buffer, 0, buffer.capacity()));
+        pendingClientSessions.clear();
+        long result = Publication.NOT_CONNECTED;
+        for (final ClientSession clientSession : clientSessions)
+        {
+            final long sessionResult = clientSession.offer(buffer, offset, length);
+            if (isRetryable(sessionResult))
+            {
+                pendingClientSessions.add(clientSession);
+            }
+            else if (result == Publication.NOT_CONNECTED || sessionResult < 0)
+            {
+                result = sessionResult;
+            }
+        }
+        return pendingClientSessions.isEmpty() ? result : Publication.BACK_PRESSURED;
+    }
+
+    /**
+     * Offers the message again to the sessions that did not accept it yet only.
+     */
+    @Override
+    public long retryOffer(final DirectBuffer buffer, final int offset, final int length)
+    {
+        if (pendingClientSessions.isEmpty())
+        {
+            return offer(buffer, offset, length);
+        }
+
+        long result = Publication.NOT_CONNECTED;
+        int pendingCount = 0;
+        for (int i = 0; i < pendingClientSessions.size(); i++)
+        {
+            final ClientSession clientSession = pendingClientSessions.get(i);
+            final long sessionResult = clientSession.offer(buffer, offset, length);
+            if (isRetryable(sessionResult))
+            {
+                pendingClientSessions.set(pendingCount++, clientSession);
+            }
+            else if (result == Publication.NOT_CONNECTED || sessionResult < 0)
+            {
+                result = sessionResult;
+            }
+        }
+        while (pendingClientSessions.size() > pendingCount)
+        {
+            pendingClientSessions.remove(pendingClientSessions.size() - 1);
+        }
+        return pendingCount > 0 ? Publication.BACK_PRESSURED : result;
     }
 
     @Override
@@ -59,4 +121,9 @@ public class ClientSessionPublication<T> implements AeronicPublication
     {
         return publisher;
     }
+
+    private static boolean isRetryable(final long result)
+    {
+        return result == Publication.BACK_PRESSURED || result == Publication.ADMIN_ACTION;
+    }
 }
@@ -0,0 +1,71 @@
+package io.aeronic.codec;
+
+import org.agrona.DirectBuffer;
+
+/**
+ * Base for generated flyweights over the parameters of a single message, which decode each parameter only when its
+ * accessor is called. Parameters in the fixed-size prefix of a message are read at offsets known at generation
+ * time. The offsets of the remaining parameters are discovered by skipping over their predecessors the first time
+ * they are needed and remembered until the flyweight is wrapped around the next message.
+ * <p>
+ * A flyweight is only valid for the duration of the callback it is passed to.
+ */
+public abstract class AbstractFlyweight
+{
+    private final BufferDecoder bufferDecoder;
+    private final int[] parameterOffsets;
+    private final int firstVariableParameter;
+    private final int fixedPrefixLength;
+    private int resolvedParameters;
+    protected DirectBuffer buffer;
+    protected int offset;
+
+    /**
+     * @param parameterCount         number of parameters in the message
+     * @param firstVariableParameter index of the first parameter whose offset is not known at generation time
+     * @param fixedPrefixLength      encoded length of the parameters preceding {@code firstVariableParameter}
+     * @param compact                whether the message uses the compact wire format
+     */
+    protected AbstractFlyweight(
+        final int parameterCount,
+        final int firstVariableParameter,
+        final int fixedPrefixLength,
+        final boolean compact
+    )
+    {
+        this.bufferDecoder = new BufferDecoder(compact);
+        this.parameterOffsets = new int[parameterCount + 1];
+        this.firstVariableParameter = firstVariableParameter;
+        this.fixedPrefixLength = fixedPrefixLength;
+    }
+
+    protected void reset(final DirectBuffer buffer, final int offset)
+    {
+        this.buffer = buffer;
+        this.offset = offset;
+        parameterOffsets[firstVariableParameter] = fixedPrefixLength;
+        resolvedParameters = firstVariableParameter + 1;
+    }
+
+    /**
+     * @return the decoder positioned at the start of the given parameter
+     */
+    protected BufferDecoder seek(final int parameterIndex)
+    {
+        while (resolvedParameters <= parameterIndex)
+        {
+            final int previousParameter = resolvedParameters - 1;
+            bufferDecoder.wrap(buffer, offset + parameterOffsets[previousParameter]);
+            skip(previousParameter, bufferDecoder);
+            parameterOffsets[resolvedParameters++] = bufferDecoder.getOffset() - offset;
+        }
+
+        bufferDecoder.wrap(buffer, offset + parameterOffsets[parameterIndex]);
+        return bufferDecoder;
+    }
+
+    /**
+     * Advances the decoder past the given parameter, which it is positioned at.
+     */
+    protected abstract void skip(int parameterIndex, BufferDecoder bufferDecoder);
+}
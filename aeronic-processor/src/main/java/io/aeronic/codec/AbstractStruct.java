@@ -0,0 +1,46 @@
+package io.aeronic.codec;
+
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+
+/**
+ * Base for flyweights generated from {@link AeronicStruct} interfaces, which read and write fixed-size fields at
+ * fixed offsets of whatever buffer they are wrapped over, without allocating.
+ */
+public abstract class AbstractStruct
+{
+    private final int encodedLength;
+    protected DirectBuffer buffer;
+    protected MutableDirectBuffer mutableBuffer;
+    protected int offset;
+
+    protected AbstractStruct(final int encodedLength)
+    {
+        this.encodedLength = encodedLength;
+    }
+
+    /**
+     * Wraps the flyweight over a struct at the given offset. Setters may only be called if the buffer is mutable.
+     */
+    public void wrap(final DirectBuffer buffer, final int offset)
+    {
+        this.buffer = buffer;
+        this.mutableBuffer = buffer instanceof MutableDirectBuffer ? (MutableDirectBuffer)buffer : null;
+        this.offset = offset;
+    }
+
+    public DirectBuffer buffer()
+    {
+        return buffer;
+    }
+
+    public int offset()
+    {
+        return offset;
+    }
+
+    public int encodedLength()
+    {
+        return encodedLength;
+    }
+}
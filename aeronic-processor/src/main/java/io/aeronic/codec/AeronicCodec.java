@@ -0,0 +1,21 @@
+package io.aeronic.codec;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Selects the {@link Codec} of a parameter of an {@code @Aeronic} interface. On a parameter it applies to that
+ * parameter, whose type must be the type the codec encodes. On the interface it applies to every parameter of
+ * that type which does not select a codec of its own. Either way it overrides the built-in encoding, and the
+ * type's components, elements or flyweight are left to the codec.
+ */
+@Target({ ElementType.TYPE, ElementType.PARAMETER })
+@Retention(RetentionPolicy.CLASS)
+@Repeatable(AeronicCodecs.class)
+public @interface AeronicCodec
+{
+    Class<? extends Codec<?>> value();
+}
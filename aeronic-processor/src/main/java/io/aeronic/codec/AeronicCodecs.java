@@ -0,0 +1,16 @@
+package io.aeronic.codec;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Container of the {@link AeronicCodec} annotations of an {@code @Aeronic} interface selecting codecs for several types.
+ */
+@Target({ ElementType.TYPE, ElementType.PARAMETER })
+@Retention(RetentionPolicy.CLASS)
+public @interface AeronicCodecs
+{
+    AeronicCodec[] value();
+}
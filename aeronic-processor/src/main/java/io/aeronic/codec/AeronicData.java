@@ -0,0 +1,21 @@
+package io.aeronic.codec;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class whose codec is generated inline into the publishers and invokers of {@code @Aeronic} interfaces
+ * using it, instead of being hand-written with {@link Encodable} and {@link DecodedBy}. Its non-static,
+ * non-transient fields are encoded in declaration order, so the class must declare a constructor taking them in
+ * that order, and expose each one either as a non-private field or through a non-private {@code field()},
+ * {@code getField()} or {@code isField()} accessor.
+ * <p>
+ * Records are treated the same way without being annotated, unless they declare a {@link DecodedBy} method.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.CLASS)
+public @interface AeronicData
+{
+}
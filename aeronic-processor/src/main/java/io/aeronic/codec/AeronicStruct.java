@@ -0,0 +1,23 @@
+package io.aeronic.codec;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an interface of primitive getters, and optionally setters, from which a flyweight class named after it with
+ * a {@code Flyweight} suffix is generated. Getters are no-argument methods named {@code field()}, {@code getField()}
+ * or, for booleans, {@code isField()}. Setters take a single value, are named {@code field(value)} or
+ * {@code setField(value)}, and return either nothing or the interface itself. Fields are laid out back to back in
+ * the order their getters are declared.
+ * <p>
+ * An {@code @Aeronic} interface method taking the struct interface as a parameter has its publisher copy the fields
+ * in place into the message, and its invoker pass the subscriber a flyweight wrapped over the received buffer,
+ * which is reused and only valid for the duration of the callback.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.CLASS)
+public @interface AeronicStruct
+{
+}
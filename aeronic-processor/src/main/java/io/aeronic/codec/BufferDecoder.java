@@ -2,17 +2,52 @@ package io.aeronic.codec;
 
 import org.agrona.BitUtil;
 import org.agrona.DirectBuffer;
+import org.agrona.collections.IntArrayList;
+import org.agrona.collections.LongArrayList;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.function.IntFunction;
 import java.util.function.Supplier;
 
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static org.agrona.UnsafeAccess.UNSAFE;
+
 public class BufferDecoder
 {
+    private static final long LONG_ARRAY_BASE_OFFSET = UNSAFE.arrayBaseOffset(long[].class);
+    private static final long INT_ARRAY_BASE_OFFSET = UNSAFE.arrayBaseOffset(int[].class);
+    private static final long FLOAT_ARRAY_BASE_OFFSET = UNSAFE.arrayBaseOffset(float[].class);
+    private static final long DOUBLE_ARRAY_BASE_OFFSET = UNSAFE.arrayBaseOffset(double[].class);
+    private static final long SHORT_ARRAY_BASE_OFFSET = UNSAFE.arrayBaseOffset(short[].class);
+    private static final long CHAR_ARRAY_BASE_OFFSET = UNSAFE.arrayBaseOffset(char[].class);
+    private static final long INT_ARRAY_LIST_ELEMENTS_OFFSET = elementsFieldOffset(IntArrayList.class);
+    private static final long LONG_ARRAY_LIST_ELEMENTS_OFFSET = elementsFieldOffset(LongArrayList.class);
+
+    private final boolean compact;
     private DirectBuffer buffer;
     private int currentOffset = 0;
+    private byte[] stringBytes = new byte[64];
+
+    public BufferDecoder()
+    {
+        this(false);
+    }
+
+    /**
+     * @param compact whether ints and longs are read as zigzag varints, see {@link BufferEncoder#isCompact()}.
+     */
+    public BufferDecoder(final boolean compact)
+    {
+        this.compact = compact;
+    }
+
+    public boolean isCompact()
+    {
+        return compact;
+    }
 
     public void wrap(final DirectBuffer buffer, final int offset)
     {
@@ -20,8 +55,33 @@ public class BufferDecoder
         this.currentOffset = offset;
     }
 
+    public DirectBuffer getBuffer()
+    {
+        return buffer;
+    }
+
+    public int getOffset()
+    {
+        return currentOffset;
+    }
+
+    /**
+     * Skips a length-prefixed run of fixed-size elements, such as a String or a bulk-encoded primitive array.
+     */
+    public void skipArray(final int elementSize)
+    {
+        final int length = decodeInt();
+        currentOffset += length * elementSize;
+    }
+
     public int decodeInt()
     {
+        if (compact)
+        {
+            final int zigzag = (int) getVarLong(5);
+            return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+
         final int intValue = buffer.getInt(currentOffset);
         currentOffset += BitUtil.SIZE_OF_INT;
         return intValue;
@@ -29,11 +89,33 @@ public class BufferDecoder
 
     public long decodeLong()
     {
+        if (compact)
+        {
+            final long zigzag = getVarLong(10);
+            return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+
         final long longValue = buffer.getLong(currentOffset);
         currentOffset += BitUtil.SIZE_OF_LONG;
         return longValue;
     }
 
+    private long getVarLong(final int maxLength)
+    {
+        long value = 0;
+        for (int i = 0; i < maxLength; i++)
+        {
+            final byte b = buffer.getByte(currentOffset++);
+            value |= (long) (b & 0x7F) << (7 * i);
+            if (b >= 0)
+            {
+                return value;
+            }
+        }
+
+        throw new IllegalStateException("malformed varint at offset " + (currentOffset - maxLength));
+    }
+
     public float decodeFloat()
     {
         final float floatValue = buffer.getFloat(currentOffset);
@@ -78,7 +160,67 @@ public class BufferDecoder
 
     public String decodeString()
     {
-        return new String(decodeByteArray());
+        return decodeString(decodeInt());
+    }
+
+    private String decodeString(final int length)
+    {
+        if (length > stringBytes.length)
+        {
+            stringBytes = new byte[Math.max(length, stringBytes.length << 1)];
+        }
+        buffer.getBytes(currentOffset, stringBytes, 0, length);
+        currentOffset += length;
+
+        return new String(stringBytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    public CharSequence decodeCharSequence(final CharSequenceView view)
+    {
+        return decodeCharSequence(view, decodeInt());
+    }
+
+    private CharSequence decodeCharSequence(final CharSequenceView view, final int length)
+    {
+        view.wrap(buffer, currentOffset, length);
+        currentOffset += length;
+
+        return view;
+    }
+
+    /**
+     * Reads an SBE var-data field holding UTF-8 text, as written by {@link BufferEncoder#encodeVarData(CharSequence)}.
+     */
+    public String decodeVarString()
+    {
+        return decodeString(decodeVarDataLength());
+    }
+
+    /**
+     * Reads an SBE var-data field holding UTF-8 text into the view, as with {@link #decodeCharSequence(CharSequenceView)}.
+     */
+    public CharSequence decodeVarCharSequence(final CharSequenceView view)
+    {
+        return decodeCharSequence(view, decodeVarDataLength());
+    }
+
+    /**
+     * Reads an SBE var-data field, as written by {@link BufferEncoder#encodeVarData(byte[])}.
+     */
+    public byte[] decodeVarData()
+    {
+        final byte[] bytes = new byte[decodeVarDataLength()];
+        buffer.getBytes(currentOffset, bytes);
+        currentOffset += bytes.length;
+
+        return bytes;
+    }
+
+    private int decodeVarDataLength()
+    {
+        final int length = buffer.getInt(currentOffset, LITTLE_ENDIAN);
+        currentOffset += BitUtil.SIZE_OF_INT;
+        return length;
     }
 
     public BigInteger decodeBigInteger()
@@ -88,16 +230,45 @@ public class BufferDecoder
 
     public BigDecimal decodeBigDecimal()
     {
-        return new BigDecimal(decodeString());
+        final int scale = decodeInt();
+        if (decodeByte() == BufferEncoder.UNSCALED_LONG)
+        {
+            return BigDecimal.valueOf(decodeLong(), scale);
+        }
+
+        return new BigDecimal(decodeBigInteger(), scale);
+    }
+
+    /**
+     * Decodes a decimal into the given instance, replacing its value.
+     *
+     * @throws ArithmeticException if the encoded unscaled value does not fit in a long
+     */
+    public Decimal decodeDecimal(final Decimal decimal)
+    {
+        final int scale = decodeInt();
+        if (decodeByte() != BufferEncoder.UNSCALED_LONG)
+        {
+            throw new ArithmeticException("unscaled value does not fit in a long");
+        }
+
+        return decimal.set(decodeLong(), scale);
     }
 
     public long[] decodeLongArray()
     {
         final int length = decodeInt();
         final long[] longs = new long[length];
-        for (int i = 0; i < longs.length; i++)
+        if (compact)
         {
-            longs[i] = decodeLong();
+            for (int i = 0; i < length; i++)
+            {
+                longs[i] = decodeLong();
+            }
+        }
+        else
+        {
+            decodeInto(longs, LONG_ARRAY_BASE_OFFSET, length, BitUtil.SIZE_OF_LONG);
         }
 
         return longs;
@@ -107,22 +278,72 @@ public class BufferDecoder
     {
         final int length = decodeInt();
         final int[] ints = new int[length];
-        for (int i = 0; i < ints.length; i++)
+        if (compact)
         {
-            ints[i] = decodeInt();
+            for (int i = 0; i < length; i++)
+            {
+                ints[i] = decodeInt();
+            }
+        }
+        else
+        {
+            decodeInto(ints, INT_ARRAY_BASE_OFFSET, length, BitUtil.SIZE_OF_INT);
         }
 
         return ints;
     }
 
-    public float[] decodeFloatArray()
+    /**
+     * Decodes a long array into the given one if it has as many elements as the encoded array, otherwise into a new
+     * one, so that an array can be reused across messages of the same length.
+     */
+    public long[] decodeLongArray(final long[] longs)
     {
         final int length = decodeInt();
-        final float[] floats = new float[length];
-        for (int i = 0; i < floats.length; i++)
+        final long[] array = longs.length == length ? longs : new long[length];
+        if (compact)
         {
-            floats[i] = decodeFloat();
+            for (int i = 0; i < length; i++)
+            {
+                array[i] = decodeLong();
+            }
         }
+        else
+        {
+            decodeInto(array, LONG_ARRAY_BASE_OFFSET, length, BitUtil.SIZE_OF_LONG);
+        }
+
+        return array;
+    }
+
+    /**
+     * Decodes an int array into the given one if it has as many elements as the encoded array, otherwise into a new
+     * one, as for {@link #decodeLongArray(long[])}.
+     */
+    public int[] decodeIntArray(final int[] ints)
+    {
+        final int length = decodeInt();
+        final int[] array = ints.length == length ? ints : new int[length];
+        if (compact)
+        {
+            for (int i = 0; i < length; i++)
+            {
+                array[i] = decodeInt();
+            }
+        }
+        else
+        {
+            decodeInto(array, INT_ARRAY_BASE_OFFSET, length, BitUtil.SIZE_OF_INT);
+        }
+
+        return array;
+    }
+
+    public float[] decodeFloatArray()
+    {
+        final int length = decodeInt();
+        final float[] floats = new float[length];
+        decodeInto(floats, FLOAT_ARRAY_BASE_OFFSET, length, BitUtil.SIZE_OF_FLOAT);
 
         return floats;
     }
@@ -131,22 +352,29 @@ public class BufferDecoder
     {
         final int length = decodeInt();
         final double[] doubles = new double[length];
-        for (int i = 0; i < doubles.length; i++)
-        {
-            doubles[i] = decodeDouble();
-        }
+        decodeInto(doubles, DOUBLE_ARRAY_BASE_OFFSET, length, BitUtil.SIZE_OF_DOUBLE);
 
         return doubles;
     }
 
+    /**
+     * Decodes a double array into the given one if it has as many elements as the encoded array, otherwise into a new
+     * one, as for {@link #decodeLongArray(long[])}.
+     */
+    public double[] decodeDoubleArray(final double[] doubles)
+    {
+        final int length = decodeInt();
+        final double[] array = doubles.length == length ? doubles : new double[length];
+        decodeInto(array, DOUBLE_ARRAY_BASE_OFFSET, length, BitUtil.SIZE_OF_DOUBLE);
+
+        return array;
+    }
+
     public short[] decodeShortArray()
     {
         final int length = decodeInt();
         final short[] shorts = new short[length];
-        for (int i = 0; i < shorts.length; i++)
-        {
-            shorts[i] = decodeShort();
-        }
+        decodeInto(shorts, SHORT_ARRAY_BASE_OFFSET, length, BitUtil.SIZE_OF_SHORT);
 
         return shorts;
     }
@@ -155,10 +383,8 @@ public class BufferDecoder
     {
         final int length = decodeInt();
         final byte[] bytes = new byte[length];
-        for (int i = 0; i < bytes.length; i++)
-        {
-            bytes[i] = decodeByte();
-        }
+        buffer.getBytes(currentOffset, bytes);
+        currentOffset += length;
 
         return bytes;
     }
@@ -167,12 +393,69 @@ public class BufferDecoder
     {
         final int length = decodeInt();
         final char[] chars = new char[length];
-        for (int i = 0; i < chars.length; i++)
+        decodeInto(chars, CHAR_ARRAY_BASE_OFFSET, length, BitUtil.SIZE_OF_CHAR);
+
+        return chars;
+    }
+
+    private void decodeInto(final Object array, final long arrayBaseOffset, final int length, final int elementSize)
+    {
+        final int byteLength = length * elementSize;
+        buffer.boundsCheck(currentOffset, byteLength);
+        UNSAFE.copyMemory(buffer.byteArray(), buffer.addressOffset() + currentOffset, array, arrayBaseOffset, byteLength);
+        currentOffset += byteLength;
+    }
+
+    /**
+     * Decodes an int array into the given list, replacing its contents. Shares the wire format of int[], which is
+     * copied in bulk into the backing array of the list unless compact.
+     */
+    public IntArrayList decodeIntArrayList(final IntArrayList ints)
+    {
+        final int length = decodeInt();
+        ints.clear();
+        ints.ensureCapacity(length);
+        if (compact || INT_ARRAY_LIST_ELEMENTS_OFFSET < 0)
         {
-            chars[i] = decodeChar();
+            for (int i = 0; i < length; i++)
+            {
+                ints.addInt(decodeInt());
+            }
+        }
+        else
+        {
+            final int[] elements = (int[])UNSAFE.getObject(ints, INT_ARRAY_LIST_ELEMENTS_OFFSET);
+            decodeInto(elements, INT_ARRAY_BASE_OFFSET, length, BitUtil.SIZE_OF_INT);
+            ints.wrap(elements, length);
         }
 
-        return chars;
+        return ints;
+    }
+
+    /**
+     * Decodes a long array into the given list, replacing its contents. Shares the wire format of long[], which is
+     * copied in bulk into the backing array of the list unless compact.
+     */
+    public LongArrayList decodeLongArrayList(final LongArrayList longs)
+    {
+        final int length = decodeInt();
+        longs.clear();
+        longs.ensureCapacity(length);
+        if (compact || LONG_ARRAY_LIST_ELEMENTS_OFFSET < 0)
+        {
+            for (int i = 0; i < length; i++)
+            {
+                longs.addLong(decodeLong());
+            }
+        }
+        else
+        {
+            final long[] elements = (long[])UNSAFE.getObject(longs, LONG_ARRAY_LIST_ELEMENTS_OFFSET);
+            decodeInto(elements, LONG_ARRAY_BASE_OFFSET, length, BitUtil.SIZE_OF_LONG);
+            longs.wrap(elements, length);
+        }
+
+        return longs;
     }
 
     public <T> T[] decodeArray(final Decoder<T> decoder, final IntFunction<T[]> arrayCreator)
@@ -198,4 +481,50 @@ public class BufferDecoder
 
         return list;
     }
+
+    /**
+     * Decodes a list into the given list, replacing its contents, so that the container can be reused across
+     * messages. The elements are decoded into new instances.
+     */
+    public <T> List<T> decodeListInto(final Decoder<T> decoder, final List<T> list)
+    {
+        final int length = decodeInt();
+        list.clear();
+
+        for (int i = 0; i < length; i++)
+        {
+            list.add(decoder.decode(this));
+        }
+
+        return list;
+    }
+
+    /**
+     * Wraps the struct over the next {@link AbstractStruct#encodedLength()} bytes of the buffer and advances past
+     * them. The struct is only valid for as long as the buffer contents are.
+     */
+    public <T extends AbstractStruct> T decodeStruct(final T struct)
+    {
+        final int encodedLength = struct.encodedLength();
+        buffer.boundsCheck(currentOffset, encodedLength);
+        struct.wrap(buffer, currentOffset);
+        currentOffset += encodedLength;
+        return struct;
+    }
+
+    /**
+     * @return the offset of the backing array field of an Agrona primitive list, or -1 if it has none under that name,
+     * in which case the list is filled element by element
+     */
+    private static long elementsFieldOffset(final Class<?> listClass)
+    {
+        try
+        {
+            return UNSAFE.objectFieldOffset(listClass.getDeclaredField("elements"));
+        }
+        catch (final NoSuchFieldException e)
+        {
+            return -1;
+        }
+    }
 }
@@ -2,34 +2,126 @@ package io.aeronic.codec;
 
 import org.agrona.BitUtil;
 import org.agrona.MutableDirectBuffer;
+import org.agrona.collections.IntArrayList;
+import org.agrona.collections.LongArrayList;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Collection;
 import java.util.List;
 
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static org.agrona.UnsafeAccess.UNSAFE;
+
 public class BufferEncoder
 {
-    private final MutableDirectBuffer buffer;
+    private static final long LONG_ARRAY_BASE_OFFSET = UNSAFE.arrayBaseOffset(long[].class);
+    private static final long INT_ARRAY_BASE_OFFSET = UNSAFE.arrayBaseOffset(int[].class);
+    private static final long FLOAT_ARRAY_BASE_OFFSET = UNSAFE.arrayBaseOffset(float[].class);
+    private static final long DOUBLE_ARRAY_BASE_OFFSET = UNSAFE.arrayBaseOffset(double[].class);
+    private static final long SHORT_ARRAY_BASE_OFFSET = UNSAFE.arrayBaseOffset(short[].class);
+    private static final long CHAR_ARRAY_BASE_OFFSET = UNSAFE.arrayBaseOffset(char[].class);
+    private static final int MAX_UTF8_BYTES_PER_CHAR = 3;
+    static final byte UNSCALED_LONG = 0;
+    static final byte UNSCALED_BIG_INTEGER = 1;
+
+    private final boolean compact;
+    private MutableDirectBuffer buffer;
+    private int initialOffset = 0;
     private int currentOffset = 0;
 
     public BufferEncoder(final MutableDirectBuffer buffer)
+    {
+        this(buffer, false);
+    }
+
+    /**
+     * @param buffer  buffer to encode into
+     * @param compact whether ints and longs, including the method index and length prefixes, are written as
+     *                zigzag varints rather than fixed 4 and 8 byte values. Must match the decoding side.
+     */
+    public BufferEncoder(final MutableDirectBuffer buffer, final boolean compact)
     {
         this.buffer = buffer;
+        this.compact = compact;
+    }
+
+    public boolean isCompact()
+    {
+        return compact;
+    }
+
+    public void wrap(final MutableDirectBuffer buffer, final int offset)
+    {
+        this.buffer = buffer;
+        this.initialOffset = offset;
+        this.currentOffset = offset;
+    }
+
+    public MutableDirectBuffer getBuffer()
+    {
+        return buffer;
+    }
+
+    /**
+     * Reserves the next bytes of the buffer for the caller to write directly.
+     *
+     * @return offset of the reserved bytes in {@link #getBuffer()}
+     */
+    public int reserve(final int length)
+    {
+        final int offset = currentOffset;
+        buffer.checkLimit(offset + length);
+        currentOffset += length;
+        return offset;
     }
 
     public void encode(final int intValue)
     {
+        if (compact)
+        {
+            putVarInt((intValue << 1) ^ (intValue >> 31));
+            return;
+        }
+
         buffer.putInt(currentOffset, intValue);
         currentOffset += BitUtil.SIZE_OF_INT;
     }
 
     public void encode(final long longValue)
     {
+        if (compact)
+        {
+            putVarLong((longValue << 1) ^ (longValue >> 63));
+            return;
+        }
+
         buffer.putLong(currentOffset, longValue);
         currentOffset += BitUtil.SIZE_OF_LONG;
     }
 
+    private void putVarInt(final int unsignedValue)
+    {
+        int value = unsignedValue;
+        while ((value & ~0x7F) != 0)
+        {
+            buffer.putByte(currentOffset++, (byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.putByte(currentOffset++, (byte) value);
+    }
+
+    private void putVarLong(final long unsignedValue)
+    {
+        long value = unsignedValue;
+        while ((value & ~0x7FL) != 0)
+        {
+            buffer.putByte(currentOffset++, (byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.putByte(currentOffset++, (byte) value);
+    }
+
     public void encode(final float floatValue)
     {
         buffer.putFloat(currentOffset, floatValue);
@@ -68,7 +160,138 @@ public class BufferEncoder
 
     public void encode(final String stringValue)
     {
-        encode(stringValue.getBytes());
+        encode((CharSequence) stringValue);
+    }
+
+    /**
+     * Writes the character sequence as an int byte length followed by its UTF-8 bytes, encoding straight into the
+     * buffer without an intermediate byte array. ASCII characters take a single byte put each; the first non-ASCII
+     * character switches to the general UTF-8 path for the remainder of the sequence.
+     */
+    public void encode(final CharSequence charSequence)
+    {
+        if (compact)
+        {
+            encode(utf8Length(charSequence));
+            buffer.checkLimit(currentOffset + charSequence.length() * MAX_UTF8_BYTES_PER_CHAR);
+            currentOffset = encodeUtf8(charSequence, 0, charSequence.length(), currentOffset);
+            return;
+        }
+
+        encodeLengthPrefixedUtf8(charSequence);
+    }
+
+    /**
+     * Writes an SBE var-data field: a little-endian uint32 byte length followed by the UTF-8 bytes.
+     */
+    public void encodeVarData(final CharSequence charSequence)
+    {
+        final int lengthOffset = currentOffset;
+        encodeLengthPrefixedUtf8(charSequence);
+        buffer.putInt(lengthOffset, currentOffset - lengthOffset - BitUtil.SIZE_OF_INT, LITTLE_ENDIAN);
+    }
+
+    private void encodeLengthPrefixedUtf8(final CharSequence charSequence)
+    {
+        final int length = charSequence.length();
+        final int lengthOffset = currentOffset;
+        int offset = lengthOffset + BitUtil.SIZE_OF_INT;
+        buffer.checkLimit(offset + length);
+
+        int i = 0;
+        for (; i < length; i++)
+        {
+            final char c = charSequence.charAt(i);
+            if (c >= 0x80)
+            {
+                break;
+            }
+            buffer.putByte(offset++, (byte) c);
+        }
+
+        if (i < length)
+        {
+            buffer.checkLimit(offset + (length - i) * MAX_UTF8_BYTES_PER_CHAR);
+            offset = encodeUtf8(charSequence, i, length, offset);
+        }
+
+        buffer.putInt(lengthOffset, offset - lengthOffset - BitUtil.SIZE_OF_INT);
+        currentOffset = offset;
+    }
+
+    /**
+     * Writes an SBE var-data field: a little-endian uint32 byte length followed by the bytes.
+     */
+    public void encodeVarData(final byte[] bytes)
+    {
+        buffer.checkLimit(currentOffset + BitUtil.SIZE_OF_INT + bytes.length);
+        buffer.putInt(currentOffset, bytes.length, LITTLE_ENDIAN);
+        buffer.putBytes(currentOffset + BitUtil.SIZE_OF_INT, bytes);
+        currentOffset += BitUtil.SIZE_OF_INT + bytes.length;
+    }
+
+    private static int utf8Length(final CharSequence charSequence)
+    {
+        final int length = charSequence.length();
+        int utf8Length = length;
+        for (int i = 0; i < length; i++)
+        {
+            final char c = charSequence.charAt(i);
+            if (c >= 0x800)
+            {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(charSequence.charAt(i + 1)))
+                {
+                    utf8Length += 2;
+                    i++;
+                }
+                else if (!Character.isSurrogate(c))
+                {
+                    utf8Length += 2;
+                }
+            }
+            else if (c >= 0x80)
+            {
+                utf8Length++;
+            }
+        }
+        return utf8Length;
+    }
+
+    private int encodeUtf8(final CharSequence charSequence, final int start, final int length, final int offset)
+    {
+        int index = offset;
+        for (int i = start; i < length; i++)
+        {
+            final char c = charSequence.charAt(i);
+            if (c < 0x80)
+            {
+                buffer.putByte(index++, (byte) c);
+            }
+            else if (c < 0x800)
+            {
+                buffer.putByte(index++, (byte) (0xC0 | (c >> 6)));
+                buffer.putByte(index++, (byte) (0x80 | (c & 0x3F)));
+            }
+            else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(charSequence.charAt(i + 1)))
+            {
+                final int codePoint = Character.toCodePoint(c, charSequence.charAt(++i));
+                buffer.putByte(index++, (byte) (0xF0 | (codePoint >> 18)));
+                buffer.putByte(index++, (byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.putByte(index++, (byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.putByte(index++, (byte) (0x80 | (codePoint & 0x3F)));
+            }
+            else if (Character.isSurrogate(c))
+            {
+                buffer.putByte(index++, (byte) '?');
+            }
+            else
+            {
+                buffer.putByte(index++, (byte) (0xE0 | (c >> 12)));
+                buffer.putByte(index++, (byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.putByte(index++, (byte) (0x80 | (c & 0x3F)));
+            }
+        }
+        return index;
     }
 
     public void encode(final BigInteger bigInteger)
@@ -76,71 +299,114 @@ public class BufferEncoder
         encode(bigInteger.toByteArray());
     }
 
+    /**
+     * Writes the scale followed by the unscaled value, as a long when it fits and as BigInteger bytes otherwise.
+     */
     public void encode(final BigDecimal bigDecimal)
     {
-        encode(bigDecimal.toString());
+        encode(bigDecimal.scale());
+        final BigInteger unscaledValue = bigDecimal.unscaledValue();
+        if (unscaledValue.bitLength() < Long.SIZE)
+        {
+            encode(UNSCALED_LONG);
+            encode(unscaledValue.longValue());
+        }
+        else
+        {
+            encode(UNSCALED_BIG_INTEGER);
+            encode(unscaledValue);
+        }
+    }
+
+    public void encode(final Decimal decimal)
+    {
+        encode(decimal.getScale());
+        encode(UNSCALED_LONG);
+        encode(decimal.getUnscaledValue());
     }
 
     public void encode(final long[] longs)
     {
-        encode(longs.length);
-        for (int i = 0; i < longs.length; i++)
+        if (compact)
         {
-            encode(longs[i]);
+            encode(longs.length);
+            for (int i = 0; i < longs.length; i++)
+            {
+                encode(longs[i]);
+            }
+            return;
         }
+
+        encode(longs, LONG_ARRAY_BASE_OFFSET, longs.length, BitUtil.SIZE_OF_LONG);
     }
 
     public void encode(final int[] ints)
     {
-        encode(ints.length);
-        for (int i = 0; i < ints.length; i++)
+        if (compact)
         {
-            encode(ints[i]);
+            encode(ints.length);
+            for (int i = 0; i < ints.length; i++)
+            {
+                encode(ints[i]);
+            }
+            return;
         }
+
+        encode(ints, INT_ARRAY_BASE_OFFSET, ints.length, BitUtil.SIZE_OF_INT);
     }
 
     public void encode(final float[] floats)
     {
-        encode(floats.length);
-        for (int i = 0; i < floats.length; i++)
-        {
-            encode(floats[i]);
-        }
+        encode(floats, FLOAT_ARRAY_BASE_OFFSET, floats.length, BitUtil.SIZE_OF_FLOAT);
     }
 
     public void encode(final double[] doubles)
     {
-        encode(doubles.length);
-        for (int i = 0; i < doubles.length; i++)
-        {
-            encode(doubles[i]);
-        }
+        encode(doubles, DOUBLE_ARRAY_BASE_OFFSET, doubles.length, BitUtil.SIZE_OF_DOUBLE);
     }
 
     public void encode(final short[] shorts)
     {
-        encode(shorts.length);
-        for (int i = 0; i < shorts.length; i++)
-        {
-            encode(shorts[i]);
-        }
+        encode(shorts, SHORT_ARRAY_BASE_OFFSET, shorts.length, BitUtil.SIZE_OF_SHORT);
     }
 
     public void encode(final byte[] bytes)
     {
         encode(bytes.length);
-        for (int i = 0; i < bytes.length; i++)
+        buffer.putBytes(currentOffset, bytes);
+        currentOffset += bytes.length;
+    }
+
+    public void encode(final char[] chars)
+    {
+        encode(chars, CHAR_ARRAY_BASE_OFFSET, chars.length, BitUtil.SIZE_OF_CHAR);
+    }
+
+    public void encode(final IntArrayList ints)
+    {
+        final int size = ints.size();
+        encode(size);
+        if (!compact)
+        {
+            buffer.checkLimit(currentOffset + size * BitUtil.SIZE_OF_INT);
+        }
+        for (int i = 0; i < size; i++)
         {
-            encode(bytes[i]);
+            encode(ints.getInt(i));
         }
     }
 
-    public void encode(final char[] chars)
+    public void encode(final LongArrayList longs)
     {
-        encode(chars.length);
-        for (int i = 0; i < chars.length; i++)
+        final int size = longs.size();
+        encode(size);
+        if (!compact)
+        {
+            buffer.checkLimit(currentOffset + size * BitUtil.SIZE_OF_LONG);
+        }
+        for (int i = 0; i < size; i++)
         {
-            encode(chars[i]);
+            encode(longs.getLong(i));
         }
     }
 
@@ -167,8 +433,37 @@ public class BufferEncoder
         collection.forEach(e -> encoder.encode(this, e));
     }
 
+    /**
+     * Writes the element count followed by the array contents as a single block copy. Agrona buffers store
+     * multibyte values in native byte order, so the raw array memory is byte-for-byte what per-element puts
+     * would have produced.
+     */
+    private void encode(final Object array, final long arrayBaseOffset, final int length, final int elementSize)
+    {
+        encode(length);
+        final int byteLength = length * elementSize;
+        buffer.checkLimit(currentOffset + byteLength);
+        UNSAFE.copyMemory(array, arrayBaseOffset, buffer.byteArray(), buffer.addressOffset() + currentOffset, byteLength);
+        currentOffset += byteLength;
+    }
+
+    /**
+     * Wraps the struct over the next {@link AbstractStruct#encodedLength()} bytes of the buffer and advances past
+     * them, so that its fields can be written in place.
+     */
+    public <T extends AbstractStruct> T encodeStruct(final T struct)
+    {
+        struct.wrap(buffer, reserve(struct.encodedLength()));
+        return struct;
+    }
+
+    public int getEncodedLength()
+    {
+        return currentOffset - initialOffset;
+    }
+
     public void reset()
     {
-        currentOffset = 0;
+        currentOffset = initialOffset;
     }
 }
@@ -0,0 +1,164 @@
+package io.aeronic.codec;
+
+import org.agrona.DirectBuffer;
+
+/**
+ * Reusable {@link CharSequence} over UTF-8 encoded bytes in a buffer, used by generated invokers for
+ * {@code CharSequence} parameters so that subscribers receive a view rather than a freshly allocated String.
+ * Pure ASCII content, the common case for symbols and identifiers, is read directly from the buffer; anything
+ * else is decoded once into an internal, reused char array.
+ * <p>
+ * A view is only valid for the duration of the callback it is passed to: the underlying buffer is reused
+ * for subsequent messages. Call {@link #toString()} to retain the value.
+ */
+public final class CharSequenceView implements CharSequence
+{
+    private DirectBuffer buffer;
+    private int offset;
+    private int length;
+    private boolean ascii;
+    private char[] chars = new char[0];
+
+    public CharSequenceView wrap(final DirectBuffer buffer, final int offset, final int byteLength)
+    {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = byteLength;
+        this.ascii = true;
+
+        for (int i = 0; i < byteLength; i++)
+        {
+            if (buffer.getByte(offset + i) < 0)
+            {
+                ascii = false;
+                decodeUtf8(byteLength);
+                break;
+            }
+        }
+
+        return this;
+    }
+
+    private void decodeUtf8(final int byteLength)
+    {
+        if (chars.length < byteLength)
+        {
+            chars = new char[byteLength];
+        }
+
+        int charIndex = 0;
+        int i = 0;
+        while (i < byteLength)
+        {
+            final int b = buffer.getByte(offset + i) & 0xFF;
+            if (b < 0x80)
+            {
+                chars[charIndex++] = (char) b;
+                i++;
+            }
+            else if (b < 0xC0)
+            {
+                chars[charIndex++] = '\uFFFD';
+                i++;
+            }
+            else if (b < 0xE0 && i + 1 < byteLength)
+            {
+                chars[charIndex++] = (char) (((b & 0x1F) << 6) | continuation(i + 1));
+                i += 2;
+            }
+            else if (b < 0xF0 && i + 2 < byteLength)
+            {
+                chars[charIndex++] = (char) (((b & 0x0F) << 12) | (continuation(i + 1) << 6) | continuation(i + 2));
+                i += 3;
+            }
+            else if (i + 3 < byteLength)
+            {
+                final int codePoint = ((b & 0x07) << 18) | (continuation(i + 1) << 12) | (continuation(i + 2) << 6) | continuation(i + 3);
+                chars[charIndex++] = Character.highSurrogate(codePoint);
+                chars[charIndex++] = Character.lowSurrogate(codePoint);
+                i += 4;
+            }
+            else
+            {
+                chars[charIndex++] = '\uFFFD';
+                i++;
+            }
+        }
+
+        length = charIndex;
+    }
+
+    private int continuation(final int index)
+    {
+        return buffer.getByte(offset + index) & 0x3F;
+    }
+
+    @Override
+    public int length()
+    {
+        return length;
+    }
+
+    @Override
+    public char charAt(final int index)
+    {
+        if (index < 0 || index >= length)
+        {
+            throw new IndexOutOfBoundsException("index=" + index + " length=" + length);
+        }
+
+        return ascii ? (char) buffer.getByte(offset + index) : chars[index];
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end)
+    {
+        return toString().substring(start, end);
+    }
+
+    /**
+     * Compares the content of this view with the given character sequence without allocating.
+     */
+    public boolean contentEquals(final CharSequence other)
+    {
+        if (other == null || other.length() != length)
+        {
+            return false;
+        }
+
+        for (int i = 0; i < length; i++)
+        {
+            if (charAt(i) != other.charAt(i))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Hash of the current content, equal to {@link String#hashCode()} of the same characters.
+     */
+    public int contentHashCode()
+    {
+        int hash = 0;
+        for (int i = 0; i < length; i++)
+        {
+            hash = 31 * hash + charAt(i);
+        }
+
+        return hash;
+    }
+
+    @Override
+    public String toString()
+    {
+        if (ascii)
+        {
+            return buffer.getStringWithoutLengthAscii(offset, length);
+        }
+
+        return new String(chars, 0, length);
+    }
+}
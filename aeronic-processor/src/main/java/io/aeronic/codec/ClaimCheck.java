@@ -0,0 +1,18 @@
+package io.aeronic.codec;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@code DirectBuffer} parameter of an {@code @Aeronic} interface method as passed through the
+ * {@code ClaimCheckRegion} bound to the publisher and invoker, rather than through the message. The publisher copies
+ * the whole buffer into the shared region and sends only a reference to it, which the invoker resolves to a view of
+ * the region. The view is only valid for the duration of the callback. Not supported by lazy or SBE interfaces.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.SOURCE)
+public @interface ClaimCheck
+{
+}
@@ -0,0 +1,12 @@
+package io.aeronic.codec;
+
+
+/**
+ * Encodes and decodes a parameter type of {@code @Aeronic} interfaces in place of its built-in encoding, once
+ * selected with {@link AeronicCodec}. Generated publishers and invokers create an instance per parameter through
+ * its public no-arg constructor and call it for every message, so an implementation decoding into an instance it
+ * owns receives without allocation; such an instance is only valid for the duration of the callback.
+ */
+public interface Codec<T> extends Encoder<T>, Decoder<T>
+{
+}
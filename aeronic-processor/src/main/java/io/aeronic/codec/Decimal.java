@@ -0,0 +1,86 @@
+package io.aeronic.codec;
+
+import java.math.BigDecimal;
+
+/**
+ * Mutable fixed-point decimal backed by an unscaled long and a scale, with the value
+ * {@code unscaledValue * 10^-scale}. As an {@code @Aeronic} parameter it is decoded into an instance owned by
+ * the generated invoker, so receiving prices and quantities needs no allocation; the instance is only valid for
+ * the duration of the callback. Shares the wire format of a {@link BigDecimal} whose unscaled value fits in a long.
+ */
+public final class Decimal
+{
+    private long unscaledValue;
+    private int scale;
+
+    public Decimal()
+    {
+    }
+
+    public Decimal(final long unscaledValue, final int scale)
+    {
+        set(unscaledValue, scale);
+    }
+
+    public Decimal set(final long unscaledValue, final int scale)
+    {
+        this.unscaledValue = unscaledValue;
+        this.scale = scale;
+        return this;
+    }
+
+    /**
+     * @throws ArithmeticException if the unscaled value of the given decimal does not fit in a long
+     */
+    public Decimal set(final BigDecimal bigDecimal)
+    {
+        return set(bigDecimal.unscaledValue().longValueExact(), bigDecimal.scale());
+    }
+
+    public long getUnscaledValue()
+    {
+        return unscaledValue;
+    }
+
+    public int getScale()
+    {
+        return scale;
+    }
+
+    public double doubleValue()
+    {
+        return scale >= 0 ? unscaledValue / Math.pow(10, scale) : unscaledValue * Math.pow(10, -scale);
+    }
+
+    public BigDecimal toBigDecimal()
+    {
+        return BigDecimal.valueOf(unscaledValue, scale);
+    }
+
+    @Override
+    public boolean equals(final Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass())
+        {
+            return false;
+        }
+        final Decimal decimal = (Decimal) o;
+        return unscaledValue == decimal.unscaledValue && scale == decimal.scale;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return 31 * Long.hashCode(unscaledValue) + scale;
+    }
+
+    @Override
+    public String toString()
+    {
+        return toBigDecimal().toString();
+    }
+}
@@ -0,0 +1,20 @@
+package io.aeronic.codec;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the parameter of an {@code @Aeronic} interface method that a {@code PartitionedSubscriptionAgent} or
+ * {@code ExecutorSubscriptionAgent} routes its messages by, so messages with equal keys are handled in order by the
+ * same worker or lane. The parameter must be a {@code byte}, {@code short}, {@code char}, {@code int} or
+ * {@code long}, and only primitives may precede it, so the key is read without decoding the rest of the message.
+ * Methods without a partition key are all handled by the first worker or lane. Not supported by lazy or SBE
+ * interfaces.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.SOURCE)
+public @interface PartitionKey
+{
+}
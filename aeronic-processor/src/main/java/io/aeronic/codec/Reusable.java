@@ -0,0 +1,25 @@
+package io.aeronic.codec;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@code List} parameter of an {@code @Aeronic} interface method as decoded into a list owned by the
+ * generated invoker and cleared before every message, rather than into a new list each time. The list passed
+ * to the subscriber is only valid for the duration of the callback.
+ * <p>
+ * Only the container is reused: its elements are decoded into new instances for every message, as element types
+ * such as records cannot be decoded into an existing instance. The subscriber may therefore keep the elements, but
+ * not the list.
+ * <p>
+ * A {@code long[]}, {@code int[]} or {@code double[]} parameter is decoded into an array owned by the generated
+ * invoker, which is only replaced when a message carries a different number of elements, and is likewise only valid
+ * for the duration of the callback. The processor rejects the annotation on any other type.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.SOURCE)
+public @interface Reusable
+{
+}
@@ -0,0 +1,59 @@
+package io.aeronic.codec;
+
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+
+/**
+ * The standard SBE message header preceding every message of an {@code @Aeronic(sbe = true)} interface: block
+ * length, template id, schema id and schema version, each a little-endian uint16.
+ */
+public final class SbeMessageHeader
+{
+    public static final int ENCODED_LENGTH = 8;
+
+    private static final int BLOCK_LENGTH_OFFSET = 0;
+    private static final int TEMPLATE_ID_OFFSET = 2;
+    private static final int SCHEMA_ID_OFFSET = 4;
+    private static final int VERSION_OFFSET = 6;
+
+    private SbeMessageHeader()
+    {
+    }
+
+    public static void encode(
+        final MutableDirectBuffer buffer,
+        final int offset,
+        final int blockLength,
+        final int templateId,
+        final int schemaId,
+        final int version
+    )
+    {
+        buffer.putShort(offset + BLOCK_LENGTH_OFFSET, (short)blockLength, LITTLE_ENDIAN);
+        buffer.putShort(offset + TEMPLATE_ID_OFFSET, (short)templateId, LITTLE_ENDIAN);
+        buffer.putShort(offset + SCHEMA_ID_OFFSET, (short)schemaId, LITTLE_ENDIAN);
+        buffer.putShort(offset + VERSION_OFFSET, (short)version, LITTLE_ENDIAN);
+    }
+
+    public static int blockLength(final DirectBuffer buffer, final int offset)
+    {
+        return buffer.getShort(offset + BLOCK_LENGTH_OFFSET, LITTLE_ENDIAN) & 0xFFFF;
+    }
+
+    public static int templateId(final DirectBuffer buffer, final int offset)
+    {
+        return buffer.getShort(offset + TEMPLATE_ID_OFFSET, LITTLE_ENDIAN) & 0xFFFF;
+    }
+
+    public static int schemaId(final DirectBuffer buffer, final int offset)
+    {
+        return buffer.getShort(offset + SCHEMA_ID_OFFSET, LITTLE_ENDIAN) & 0xFFFF;
+    }
+
+    public static int version(final DirectBuffer buffer, final int offset)
+    {
+        return buffer.getShort(offset + VERSION_OFFSET, LITTLE_ENDIAN) & 0xFFFF;
+    }
+}
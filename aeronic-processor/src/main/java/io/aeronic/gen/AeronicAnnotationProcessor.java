@@ -3,25 +3,31 @@ package io.aeronic.gen;
 
 import com.google.auto.service.AutoService;
 import io.aeronic.Aeronic;
+import io.aeronic.codec.AeronicStruct;
 
 import javax.annotation.processing.*;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.TypeElement;
 import javax.tools.Diagnostic;
+import javax.tools.FileObject;
 import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
 import java.io.IOException;
 import java.io.Writer;
 import java.util.List;
 import java.util.Set;
 
-@SupportedAnnotationTypes("io.aeronic.Aeronic")
+@SupportedAnnotationTypes({"io.aeronic.Aeronic", "io.aeronic.codec.AeronicStruct"})
 @SupportedSourceVersion(SourceVersion.RELEASE_17)
 @AutoService(Processor.class)
 public class AeronicAnnotationProcessor extends AbstractProcessor
 {
     private final SubscriberInvokerGenerator subscriberInvokerGenerator = new SubscriberInvokerGenerator();
     private final PublisherGenerator publisherGenerator = new PublisherGenerator();
+    private final LazySubscriberGenerator lazySubscriberGenerator = new LazySubscriberGenerator();
+    private final SbeGenerator sbeGenerator = new SbeGenerator();
+    private final StructFlyweightGenerator structFlyweightGenerator = new StructFlyweightGenerator();
     private final AeronicInterfaceHelper aeronicInterfaceHelper = new AeronicInterfaceHelper();
 
     @Override
@@ -31,50 +37,119 @@ public class AeronicAnnotationProcessor extends AbstractProcessor
 
         aeronicInterfaceHelper.processEnvironment(roundEnvironment);
 
+        for (final Element structElement : roundEnvironment.getElementsAnnotatedWith(AeronicStruct.class))
+        {
+            final String packageName = processingEnv.getElementUtils().getPackageOf(structElement).getQualifiedName().toString();
+            final String elementName = structElement.getSimpleName().toString();
+            final StructInfo struct = aeronicInterfaceHelper.getStructInfo((TypeElement)structElement);
+            writeSource(
+                "%s.%sFlyweight".formatted(packageName, elementName),
+                structFlyweightGenerator.generate(packageName, elementName, struct),
+                structElement
+            );
+        }
+
         for (final Element aeronicElement : aeronicElements)
         {
             final String packageName = processingEnv.getElementUtils().getPackageOf(aeronicElement).getQualifiedName().toString();
             final String elementName = aeronicElement.getSimpleName().toString();
             final List<MethodInfo> methods = aeronicInterfaceHelper.getMethodInfoFor(elementName);
-            final String invokerSource = subscriberInvokerGenerator.generate(packageName, elementName, methods);
-            try
+            final InterfaceOptions options = aeronicInterfaceHelper.getInterfaceOptionsFor(elementName);
+            if (options.isConcurrent())
             {
-                final String invokerPath = "%s.%sInvoker".formatted(packageName, elementName);
-                final JavaFileObject invokerSourceFile = processingEnv.getFiler().createSourceFile(invokerPath, aeronicElement);
-                final Writer writer = invokerSourceFile.openWriter();
-                writer.append(invokerSource);
-                writer.close();
-                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Written file for %s".formatted(invokerPath));
-            }
-            catch (final IOException e)
-            {
-                processingEnv.getMessager().printMessage(
-                    Diagnostic.Kind.WARNING,
-                    "Could not create source file: " + e.getMessage(), aeronicElement
+                writeSource(
+                    "%s.%sConcurrentPublisher".formatted(packageName, elementName),
+                    publisherGenerator.generateConcurrent(packageName, elementName, methods),
+                    aeronicElement
                 );
             }
 
-            final String publisherSource = publisherGenerator.generate(packageName, elementName, methods);
-            try
+            if (options.isSbe())
             {
-                final String publisherPath = "%s.%sPublisher".formatted(packageName, elementName);
-                final JavaFileObject publisherSourceFile = processingEnv.getFiler().createSourceFile(publisherPath, aeronicElement);
-                final Writer writer = publisherSourceFile.openWriter();
-                writer.append(publisherSource);
-                writer.close();
-                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Written file for %s".formatted(publisherPath));
+                writeSource(
+                    "%s.%sInvoker".formatted(packageName, elementName),
+                    sbeGenerator.generateInvoker(packageName, elementName, methods, options),
+                    aeronicElement
+                );
+                writeSource(
+                    "%s.%sPublisher".formatted(packageName, elementName),
+                    sbeGenerator.generatePublisher(packageName, elementName, methods, options),
+                    aeronicElement
+                );
+                writeResource(
+                    packageName,
+                    elementName + ".sbe.xml",
+                    sbeGenerator.generateSchema(packageName, elementName, methods, options),
+                    aeronicElement
+                );
+                continue;
             }
-            catch (final IOException e)
+
+            writeSource(
+                "%s.%sInvoker".formatted(packageName, elementName),
+                subscriberInvokerGenerator.generate(packageName, elementName, methods, options),
+                aeronicElement
+            );
+            writeSource(
+                "%s.%sPublisher".formatted(packageName, elementName),
+                publisherGenerator.generate(packageName, elementName, methods, options),
+                aeronicElement
+            );
+
+            if (options.isLazy())
             {
-                processingEnv.getMessager().printMessage(
-                    Diagnostic.Kind.WARNING,
-                    "Could not create source file: " + e.getMessage(), aeronicElement
+                writeSource(
+                    "%s.%sLazy".formatted(packageName, elementName),
+                    lazySubscriberGenerator.generateInterface(packageName, elementName, methods, options),
+                    aeronicElement
+                );
+                writeSource(
+                    "%s.%sLazyInvoker".formatted(packageName, elementName),
+                    lazySubscriberGenerator.generateInvoker(packageName, elementName, methods, options),
+                    aeronicElement
                 );
             }
-
         }
 
         return true;
     }
-}
 
+    private void writeSource(final String sourcePath, final String source, final Element element)
+    {
+        try
+        {
+            final JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(sourcePath, element);
+            final Writer writer = sourceFile.openWriter();
+            writer.append(source);
+            writer.close();
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Written file for %s".formatted(sourcePath));
+        }
+        catch (final IOException e)
+        {
+            processingEnv.getMessager().printMessage(
+                Diagnostic.Kind.WARNING,
+                "Could not create source file: " + e.getMessage(), element
+            );
+        }
+    }
+
+    private void writeResource(final String packageName, final String relativeName, final String content, final Element element)
+    {
+        try
+        {
+            final FileObject resource =
+                processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, packageName, relativeName, element);
+            final Writer writer = resource.openWriter();
+            writer.append(content);
+            writer.close();
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Written file for %s".formatted(relativeName));
+        }
+        catch (final IOException e)
+        {
+            processingEnv.getMessager().printMessage(
+                Diagnostic.Kind.WARNING,
+                "Could not create resource file: " + e.getMessage(), element
+            );
+        }
+    }
+}
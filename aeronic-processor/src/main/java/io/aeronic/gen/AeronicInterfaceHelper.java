@@ -1,20 +1,39 @@
 package io.aeronic.gen;
 
 import io.aeronic.Aeronic;
+import io.aeronic.codec.AeronicCodec;
+import io.aeronic.codec.AeronicData;
+import io.aeronic.codec.AeronicStruct;
+import io.aeronic.codec.ClaimCheck;
+import io.aeronic.codec.Codec;
+import io.aeronic.codec.DecodedBy;
+import io.aeronic.codec.PartitionKey;
+import io.aeronic.codec.Reusable;
 
 import javax.annotation.processing.RoundEnvironment;
-import javax.lang.model.element.Element;
-import javax.lang.model.element.ExecutableElement;
-import javax.lang.model.element.VariableElement;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
 import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.MirroredTypeException;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
 import javax.lang.model.util.SimpleTypeVisitor14;
 import java.util.*;
 
+import static io.aeronic.gen.StringUtil.capitalize;
+import static io.aeronic.gen.StringUtil.decapitalize;
+import static io.aeronic.gen.TypeUtil.sizeOf;
+
 public class AeronicInterfaceHelper
 {
+    private static final String CLAIM_CHECK_TYPE = "org.agrona.DirectBuffer";
+    private static final List<String> PARTITION_KEY_TYPES = List.of("byte", "short", "char", "int", "long");
+    private static final List<String> REUSABLE_ARRAY_TYPES = List.of("long[]", "int[]", "double[]");
+
     private final Map<String, List<MethodInfo>> methodInfoByElementName = new HashMap<>();
+    private final Map<String, InterfaceOptions> interfaceOptionsByElementName = new HashMap<>();
+    private final Map<String, StructInfo> structInfoByName = new HashMap<>();
     private final GenericParametersExtractor genericParametersExtractor = new GenericParametersExtractor();
 
     public void processEnvironment(final RoundEnvironment roundEnvironment)
@@ -24,39 +43,94 @@ public class AeronicInterfaceHelper
         for (final Element aeronicElement : aeronicElements)
         {
             final String elementName = aeronicElement.getSimpleName().toString();
-            final List<? extends Element> enclosedElements = aeronicElement.getEnclosedElements();
+            final List<ExecutableElement> methodElements = ElementFilter.methodsIn(aeronicElement.getEnclosedElements());
+            final Map<String, String> codecByType = getCodecsByType(aeronicElement);
 
             int methodIndex = 0;
             final List<MethodInfo> methods = new ArrayList<>();
-            for (final Element enclosedElement : enclosedElements)
+            for (final ExecutableElement methodElement : methodElements)
             {
-                final ExecutableElement methodElement = (ExecutableElement)enclosedElement;
                 final List<? extends VariableElement> params = methodElement.getParameters();
 
                 final List<ParameterInfo> parameters = new ArrayList<>();
+                int partitionKeyIndex = -1;
                 for (final VariableElement param : params)
                 {
-                    final List<String> genericParameters = param.asType().accept(genericParametersExtractor, null);
-
-                    final TypeKind typeKind = param.asType().getKind();
-                    final boolean isPrimitive = typeKind.isPrimitive();
-                    final boolean isArray = typeKind == TypeKind.ARRAY;
-                    final ParameterInfo parameter = new ParameterInfo(
-                        param.getSimpleName().toString(),
-                        param.asType().toString(),
-                        isPrimitive,
-                        isArray,
-                        genericParameters
-                    );
-
-                    parameters.add(parameter);
+                    final String paramName = param.getSimpleName().toString();
+                    if (param.getAnnotation(PartitionKey.class) != null)
+                    {
+                        checkPartitionKey(elementName, methodElement, partitionKeyIndex, parameters, param, codecByType);
+                        partitionKeyIndex = parameters.size();
+                    }
+
+                    final boolean isReusable = param.getAnnotation(Reusable.class) != null;
+                    if (isReusable)
+                    {
+                        checkReusable(elementName, methodElement, param);
+                    }
+
+                    if (param.getAnnotation(ClaimCheck.class) != null)
+                    {
+                        parameters.add(toClaimCheckParameterInfo(elementName, paramName, param.asType()));
+                        continue;
+                    }
+
+                    if (isAeronicInterface(param.asType()))
+                    {
+                        parameters.add(toReplyParameterInfo(paramName, param.asType()));
+                        continue;
+                    }
+
+                    final String codec = getCodec(param, codecByType);
+                    if (codec != null)
+                    {
+                        parameters.add(toCodecParameterInfo(paramName, param.asType(), codec));
+                        continue;
+                    }
+
+                    parameters.add(toParameterInfo(paramName, param.asType(), isReusable, new HashSet<>()));
                 }
 
-                final MethodInfo method = new MethodInfo(methodIndex++, methodElement.getSimpleName().toString(), parameters);
+                final MethodInfo method = new MethodInfo(
+                    methodIndex++,
+                    methodElement.getSimpleName().toString(),
+                    parameters,
+                    partitionKeyIndex
+                );
                 methods.add(method);
             }
 
             methodInfoByElementName.put(elementName, methods);
+
+            final Aeronic aeronic = aeronicElement.getAnnotation(Aeronic.class);
+            if (aeronic.sbe() && (aeronic.compact() || aeronic.lazy()))
+            {
+                throw new IllegalStateException("@Aeronic interface %s cannot combine sbe with compact or lazy".formatted(elementName));
+            }
+            final boolean hasClaimCheck = methods.stream()
+                .flatMap(method -> method.getParameters().stream())
+                .anyMatch(ParameterInfo::isClaimCheck);
+            if (hasClaimCheck && (aeronic.sbe() || aeronic.lazy()))
+            {
+                throw new IllegalStateException("@Aeronic interface %s cannot combine @ClaimCheck with sbe or lazy".formatted(elementName));
+            }
+            checkReplies(elementName, aeronic, methods);
+            final boolean hasPartitionKey = methods.stream().anyMatch(MethodInfo::hasPartitionKey);
+            if (hasPartitionKey && (aeronic.sbe() || aeronic.lazy()))
+            {
+                throw new IllegalStateException("@Aeronic interface %s cannot combine @PartitionKey with sbe or lazy".formatted(elementName));
+            }
+            interfaceOptionsByElementName.put(
+                elementName,
+                new InterfaceOptions(
+                    aeronic.compact(),
+                    aeronic.lazy(),
+                    aeronic.concurrent(),
+                    aeronic.sbe(),
+                    aeronic.sbeSchemaId(),
+                    aeronic.sbeSchemaVersion()
+                )
+            );
         }
     }
 
@@ -65,6 +139,467 @@ public class AeronicInterfaceHelper
         return methodInfoByElementName.get(elementName);
     }
 
+    public InterfaceOptions getInterfaceOptionsFor(final String elementName)
+    {
+        return interfaceOptionsByElementName.getOrDefault(elementName, InterfaceOptions.DEFAULT);
+    }
+
+    public StructInfo getStructInfo(final TypeElement structElement)
+    {
+        final String structName = structElement.getQualifiedName().toString();
+        StructInfo structInfo = structInfoByName.get(structName);
+        if (structInfo == null)
+        {
+            structInfo = toStructInfo(structElement);
+            structInfoByName.put(structName, structInfo);
+        }
+        return structInfo;
+    }
+
+    private static Map<String, String> getCodecsByType(final Element aeronicElement)
+    {
+        final Map<String, String> codecByType = new HashMap<>();
+        for (final AeronicCodec aeronicCodec : aeronicElement.getAnnotationsByType(AeronicCodec.class))
+        {
+            final TypeElement codecElement = getCodecElement(aeronicCodec);
+            final String codecType = getCodecType(codecElement);
+            final String previousCodec = codecByType.put(codecType, codecElement.getQualifiedName().toString());
+            if (previousCodec != null)
+            {
+                throw new IllegalStateException(
+                    "@Aeronic interface %s selects both %s and %s for %s"
+                        .formatted(aeronicElement.getSimpleName(), previousCodec, codecElement.getQualifiedName(), codecType)
+                );
+            }
+        }
+        return codecByType;
+    }
+
+    /**
+     * @return the codec selected for the parameter, by its own annotation or else by its interface's, {@code null} if none
+     */
+    private static String getCodec(final VariableElement param, final Map<String, String> codecByType)
+    {
+        final String paramType = param.asType().toString();
+        final AeronicCodec aeronicCodec = param.getAnnotation(AeronicCodec.class);
+        if (aeronicCodec == null)
+        {
+            return codecByType.get(paramType);
+        }
+
+        final TypeElement codecElement = getCodecElement(aeronicCodec);
+        final String codecType = getCodecType(codecElement);
+        if (!codecType.equals(paramType))
+        {
+            throw new IllegalStateException(
+                "Codec %s of parameter %s encodes %s, not %s"
+                    .formatted(codecElement.getQualifiedName(), param.getSimpleName(), codecType, paramType)
+            );
+        }
+        return codecElement.getQualifiedName().toString();
+    }
+
+    private static TypeElement getCodecElement(final AeronicCodec aeronicCodec)
+    {
+        final TypeMirror codecType;
+        try
+        {
+            aeronicCodec.value();
+            throw new IllegalStateException("Codec class of %s is not available as a type mirror".formatted(aeronicCodec));
+        }
+        catch (final MirroredTypeException e)
+        {
+            codecType = e.getTypeMirror();
+        }
+
+        final TypeElement codecElement = (TypeElement)((DeclaredType)codecType).asElement();
+        final Set<Modifier> modifiers = codecElement.getModifiers();
+        final boolean hasNoArgConstructor = ElementFilter.constructorsIn(codecElement.getEnclosedElements()).stream()
+            .anyMatch(constructor -> constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC));
+        if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.ABSTRACT) || !hasNoArgConstructor)
+        {
+            throw new IllegalStateException(
+                "Codec %s must be a public concrete class with a public no-arg constructor".formatted(codecElement.getQualifiedName())
+            );
+        }
+        return codecElement;
+    }
+
+    /**
+     * @return the type argument the codec class, or one of its superclasses, implements {@link Codec} with
+     */
+    private static String getCodecType(final TypeElement codecElement)
+    {
+        for (TypeElement typeElement = codecElement; typeElement != null; )
+        {
+            for (final TypeMirror interfaceType : typeElement.getInterfaces())
+            {
+                final DeclaredType declaredType = (DeclaredType)interfaceType;
+                final TypeElement interfaceElement = (TypeElement)declaredType.asElement();
+                if (interfaceElement.getQualifiedName().contentEquals(Codec.class.getName()) && declaredType.getTypeArguments().size() == 1)
+                {
+                    return declaredType.getTypeArguments().get(0).toString();
+                }
+            }
+
+            final TypeMirror superclass = typeElement.getSuperclass();
+            typeElement = superclass.getKind() == TypeKind.DECLARED ? (TypeElement)((DeclaredType)superclass).asElement() : null;
+        }
+
+        throw new IllegalStateException(
+            "Codec %s must implement Codec<T> for a concrete T".formatted(codecElement.getQualifiedName())
+        );
+    }
+
+    private ParameterInfo toCodecParameterInfo(final String name, final TypeMirror type, final String codec)
+    {
+        final TypeKind typeKind = type.getKind();
+        return ParameterInfo.builder(name, type.toString())
+            .primitive(typeKind.isPrimitive())
+            .array(typeKind == TypeKind.ARRAY)
+            .genericParameters(type.accept(genericParametersExtractor, null))
+            .codec(codec)
+            .build();
+    }
+
+    private static ParameterInfo toClaimCheckParameterInfo(final String elementName, final String name, final TypeMirror type)
+    {
+        if (!type.toString().equals(CLAIM_CHECK_TYPE))
+        {
+            throw new IllegalStateException(
+                "@ClaimCheck parameter %s of @Aeronic interface %s must be a %s".formatted(name, elementName, CLAIM_CHECK_TYPE)
+            );
+        }
+        return ParameterInfo.builder(name, CLAIM_CHECK_TYPE).claimCheck().build();
+    }
+
+    private static boolean isAeronicInterface(final TypeMirror type)
+    {
+        return type.getKind() == TypeKind.DECLARED && ((DeclaredType)type).asElement().getAnnotation(Aeronic.class) != null;
+    }
+
+    private static ParameterInfo toReplyParameterInfo(final String name, final TypeMirror type)
+    {
+        return ParameterInfo.builder(name, type.toString()).reply().build();
+    }
+
+    /**
+     * A request publisher registers its reply callbacks with a single table of pending replies, so all the reply
+     * parameters of an interface must be of the same type, and a method may have only one.
+     */
+    private static void checkReplies(final String elementName, final Aeronic aeronic, final List<MethodInfo> methods)
+    {
+        final Set<String> replyTypes = new HashSet<>();
+        for (final MethodInfo method : methods)
+        {
+            final List<ParameterInfo> replies = method.getParameters().stream().filter(ParameterInfo::isReply).toList();
+            if (replies.size() > 1)
+            {
+                throw new IllegalStateException(
+                    "@Aeronic method %s.%s has more than one reply parameter".formatted(elementName, method.getName())
+                );
+            }
+            replies.forEach(reply -> replyTypes.add(reply.getType()));
+        }
+
+        if (replyTypes.size() > 1)
+        {
+            throw new IllegalStateException("@Aeronic interface %s has reply parameters of types %s".formatted(elementName, replyTypes));
+        }
+        if (!replyTypes.isEmpty() && (aeronic.sbe() || aeronic.lazy()))
+        {
+            throw new IllegalStateException("@Aeronic interface %s cannot combine reply parameters with sbe or lazy".formatted(elementName));
+        }
+    }
+
+    /**
+     * The partition key and the parameters preceding it must be primitives without codecs, so that it can be read by
+     * skipping over them.
+     */
+    private static void checkPartitionKey(
+        final String elementName,
+        final ExecutableElement methodElement,
+        final int partitionKeyIndex,
+        final List<ParameterInfo> precedingParameters,
+        final VariableElement param,
+        final Map<String, String> codecByType
+    )
+    {
+        final String methodName = elementName + "." + methodElement.getSimpleName();
+        final String name = param.getSimpleName().toString();
+        if (partitionKeyIndex >= 0)
+        {
+            throw new IllegalStateException("@Aeronic method %s has more than one @PartitionKey".formatted(methodName));
+        }
+        if (!PARTITION_KEY_TYPES.contains(param.asType().toString()) || getCodec(param, codecByType) != null)
+        {
+            throw new IllegalStateException(
+                "@PartitionKey parameter %s of %s must be one of %s without a codec".formatted(name, methodName, PARTITION_KEY_TYPES)
+            );
+        }
+        if (!precedingParameters.stream().allMatch(parameter -> parameter.isPrimitive() && !parameter.hasCodec()))
+        {
+            throw new IllegalStateException(
+                "@PartitionKey parameter %s of %s may only be preceded by primitive parameters".formatted(name, methodName)
+            );
+        }
+    }
+
+    private static void checkReusable(final String elementName, final ExecutableElement methodElement, final VariableElement param)
+    {
+        final TypeMirror type = param.asType();
+        final boolean isList = type.getKind() == TypeKind.DECLARED &&
+            ((DeclaredType)type).asElement().toString().equals(List.class.getName());
+        final String typeName = type.toString();
+        if (!isList && !REUSABLE_ARRAY_TYPES.contains(typeName) && !TypeUtil.isReusableCodecType(typeName))
+        {
+            throw new IllegalStateException(
+                "@Reusable parameter %s of %s.%s must be a List or one of %s".formatted(
+                    param.getSimpleName(),
+                    elementName,
+                    methodElement.getSimpleName(),
+                    REUSABLE_ARRAY_TYPES
+                )
+            );
+        }
+    }
+
+    private ParameterInfo toParameterInfo(
+        final String name,
+        final TypeMirror type,
+        final boolean isReusable,
+        final Set<String> enclosingDataTypes
+    )
+    {
+        final TypeKind typeKind = type.getKind();
+        final TypeMirror dataType = switch (typeKind)
+        {
+            case ARRAY -> ((ArrayType)type).getComponentType();
+            case DECLARED ->
+            {
+                final List<? extends TypeMirror> typeArguments = ((DeclaredType)type).getTypeArguments();
+                yield typeArguments.size() == 1 ? typeArguments.get(0) : type;
+            }
+            default -> type;
+        };
+
+        return ParameterInfo.builder(name, type.toString())
+            .primitive(typeKind.isPrimitive())
+            .array(typeKind == TypeKind.ARRAY)
+            .genericParameters(type.accept(genericParametersExtractor, null))
+            .reusable(isReusable)
+            .dataComponents(getDataComponents(dataType, enclosingDataTypes))
+            .struct(getStructInfo(type))
+            .build();
+    }
+
+    private StructInfo getStructInfo(final TypeMirror type)
+    {
+        if (type.getKind() != TypeKind.DECLARED)
+        {
+            return null;
+        }
+
+        final TypeElement typeElement = (TypeElement)((DeclaredType)type).asElement();
+        return typeElement.getAnnotation(AeronicStruct.class) != null ? getStructInfo(typeElement) : null;
+    }
+
+    private static StructInfo toStructInfo(final TypeElement structElement)
+    {
+        final String structName = structElement.getQualifiedName().toString();
+        if (structElement.getKind() != ElementKind.INTERFACE)
+        {
+            throw new IllegalStateException("@AeronicStruct %s must be an interface".formatted(structName));
+        }
+
+        final Map<String, ExecutableElement> getters = new LinkedHashMap<>();
+        final Map<String, ExecutableElement> setters = new HashMap<>();
+        for (final ExecutableElement method : ElementFilter.methodsIn(structElement.getEnclosedElements()))
+        {
+            if (!method.getModifiers().contains(Modifier.ABSTRACT))
+            {
+                continue;
+            }
+
+            final String methodName = method.getSimpleName().toString();
+            final List<? extends VariableElement> parameters = method.getParameters();
+            final TypeMirror returnType = method.getReturnType();
+            final boolean isGetter = parameters.isEmpty() && returnType.getKind().isPrimitive();
+            final boolean isSetter = parameters.size() == 1
+                && parameters.get(0).asType().getKind().isPrimitive()
+                && (returnType.getKind() == TypeKind.VOID || returnType.toString().equals(structName));
+
+            final Map<String, ExecutableElement> accessors = isGetter ? getters : setters;
+            final String fieldName = isGetter ? structFieldName(methodName, "get", "is") : structFieldName(methodName, "set");
+            if ((!isGetter && !isSetter) || accessors.put(fieldName, method) != null)
+            {
+                throw new IllegalStateException(
+                    "@AeronicStruct %s method %s is not a unique primitive getter or setter".formatted(structName, methodName)
+                );
+            }
+        }
+
+        if (getters.isEmpty())
+        {
+            throw new IllegalStateException("@AeronicStruct %s declares no getters".formatted(structName));
+        }
+
+        final List<StructFieldInfo> fields = new ArrayList<>();
+        int offset = 0;
+        for (final Map.Entry<String, ExecutableElement> getter : getters.entrySet())
+        {
+            final String fieldName = getter.getKey();
+            final String fieldType = getter.getValue().getReturnType().toString();
+            final ExecutableElement setter = setters.remove(fieldName);
+            if (setter != null && !setter.getParameters().get(0).asType().toString().equals(fieldType))
+            {
+                throw new IllegalStateException(
+                    "@AeronicStruct %s setter %s does not take a %s".formatted(structName, setter.getSimpleName(), fieldType)
+                );
+            }
+
+            fields.add(new StructFieldInfo(
+                fieldName,
+                fieldType,
+                offset,
+                getter.getValue().getSimpleName().toString(),
+                setter != null ? setter.getSimpleName().toString() : null,
+                setter != null && setter.getReturnType().getKind() != TypeKind.VOID
+            ));
+            offset += sizeOf(fieldType);
+        }
+
+        if (!setters.isEmpty())
+        {
+            throw new IllegalStateException("@AeronicStruct %s has setters without getters for %s".formatted(structName, setters.keySet()));
+        }
+
+        return new StructInfo(structName, fields, offset);
+    }
+
+    private static String structFieldName(final String methodName, final String... prefixes)
+    {
+        for (final String prefix : prefixes)
+        {
+            if (methodName.length() > prefix.length()
+                && methodName.startsWith(prefix)
+                && Character.isUpperCase(methodName.charAt(prefix.length())))
+            {
+                return decapitalize(methodName.substring(prefix.length()));
+            }
+        }
+        return methodName;
+    }
+
+    /**
+     * @return the components of the given type if its codec is to be generated inline, {@code null} otherwise
+     */
+    private List<ComponentInfo> getDataComponents(final TypeMirror type, final Set<String> enclosingDataTypes)
+    {
+        if (type.getKind() != TypeKind.DECLARED)
+        {
+            return null;
+        }
+
+        final TypeElement typeElement = (TypeElement)((DeclaredType)type).asElement();
+        final boolean isRecord = typeElement.getKind() == ElementKind.RECORD;
+        if (!isRecord && typeElement.getAnnotation(AeronicData.class) == null)
+        {
+            return null;
+        }
+
+        final boolean hasHandwrittenCodec = ElementFilter.methodsIn(typeElement.getEnclosedElements()).stream()
+            .anyMatch(method -> method.getAnnotation(DecodedBy.class) != null);
+        if (hasHandwrittenCodec || !typeElement.getTypeParameters().isEmpty())
+        {
+            return null;
+        }
+
+        final String typeName = typeElement.getQualifiedName().toString();
+        if (!enclosingDataTypes.add(typeName))
+        {
+            throw new IllegalStateException("Data type %s cannot contain itself".formatted(typeName));
+        }
+
+        final List<ComponentInfo> components = new ArrayList<>();
+        if (isRecord)
+        {
+            for (final RecordComponentElement component : typeElement.getRecordComponents())
+            {
+                final String componentName = component.getSimpleName().toString();
+                final ParameterInfo parameter = toParameterInfo(componentName, component.asType(), false, enclosingDataTypes);
+                checkNotStruct(typeName, parameter);
+                components.add(new ComponentInfo(component.getAccessor().getSimpleName() + "()", parameter));
+            }
+        }
+        else
+        {
+            final List<VariableElement> fields = ElementFilter.fieldsIn(typeElement.getEnclosedElements()).stream()
+                .filter(field -> !field.getModifiers().contains(Modifier.STATIC))
+                .filter(field -> !field.getModifiers().contains(Modifier.TRANSIENT))
+                .toList();
+            checkDataConstructor(typeElement, fields);
+            for (final VariableElement field : fields)
+            {
+                final String fieldName = field.getSimpleName().toString();
+                final ParameterInfo parameter = toParameterInfo(fieldName, field.asType(), false, enclosingDataTypes);
+                checkNotStruct(typeName, parameter);
+                components.add(new ComponentInfo(getDataFieldAccessor(typeElement, field), parameter));
+            }
+        }
+
+        enclosingDataTypes.remove(typeName);
+        return components;
+    }
+
+    private static void checkNotStruct(final String dataTypeName, final ParameterInfo component)
+    {
+        if (component.isStruct())
+        {
+            throw new IllegalStateException(
+                "Data type %s cannot hold @AeronicStruct %s, as a flyweight does not outlive the message it is wrapped over"
+                    .formatted(dataTypeName, component.getName())
+            );
+        }
+    }
+
+    private static void checkDataConstructor(final TypeElement typeElement, final List<VariableElement> fields)
+    {
+        final List<String> fieldTypes = fields.stream().map(field -> field.asType().toString()).toList();
+        final boolean hasConstructor = ElementFilter.constructorsIn(typeElement.getEnclosedElements()).stream()
+            .filter(constructor -> !constructor.getModifiers().contains(Modifier.PRIVATE))
+            .anyMatch(constructor -> constructor.getParameters().stream().map(p -> p.asType().toString()).toList().equals(fieldTypes));
+
+        if (!hasConstructor)
+        {
+            throw new IllegalStateException(
+                "@AeronicData class %s must declare a non-private constructor taking %s".formatted(typeElement.getQualifiedName(), fieldTypes)
+            );
+        }
+    }
+
+    private static String getDataFieldAccessor(final TypeElement typeElement, final VariableElement field)
+    {
+        final String fieldName = field.getSimpleName().toString();
+        if (!field.getModifiers().contains(Modifier.PRIVATE))
+        {
+            return fieldName;
+        }
+
+        final List<String> accessorNames = List.of(fieldName, "get" + capitalize(fieldName), "is" + capitalize(fieldName));
+        return ElementFilter.methodsIn(typeElement.getEnclosedElements()).stream()
+            .filter(method -> method.getParameters().isEmpty())
+            .filter(method -> !method.getModifiers().contains(Modifier.PRIVATE) && !method.getModifiers().contains(Modifier.STATIC))
+            .filter(method -> method.getReturnType().toString().equals(field.asType().toString()))
+            .map(method -> method.getSimpleName().toString())
+            .filter(accessorNames::contains)
+            .findFirst()
+            .map(accessorName -> accessorName + "()")
+            .orElseThrow(() -> new IllegalStateException(
+                "@AeronicData class %s has no accessor for private field %s".formatted(typeElement.getQualifiedName(), fieldName)
+            ));
+    }
+
     private static final class GenericParametersExtractor extends SimpleTypeVisitor14<List<String>, Void>
     {
 
@@ -0,0 +1,40 @@
+package io.aeronic.gen;
+
+/**
+ * A component of a data type whose codec is generated inline, i.e. a record component or a field of an
+ * {@code @AeronicData} class.
+ */
+public class ComponentInfo
+{
+    private final String accessor;
+    private final ParameterInfo parameter;
+
+    /**
+     * @param accessor  expression reading the component from an instance, e.g. {@code price()} or {@code price}
+     * @param parameter the component's name and type
+     */
+    public ComponentInfo(final String accessor, final ParameterInfo parameter)
+    {
+        this.accessor = accessor;
+        this.parameter = parameter;
+    }
+
+    public String getAccessor()
+    {
+        return accessor;
+    }
+
+    public ParameterInfo getParameter()
+    {
+        return parameter;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ComponentInfo{" +
+            "accessor='" + accessor + '\'' +
+            ", parameter=" + parameter +
+            '}';
+    }
+}
@@ -0,0 +1,89 @@
+package io.aeronic.gen;
+
+public class InterfaceOptions
+{
+    public static final InterfaceOptions DEFAULT = new InterfaceOptions(false, false);
+
+    private final boolean compact;
+    private final boolean lazy;
+    private final boolean concurrent;
+    private final boolean sbe;
+    private final int sbeSchemaId;
+    private final int sbeSchemaVersion;
+
+    public InterfaceOptions(final boolean compact, final boolean lazy)
+    {
+        this(compact, lazy, false, 0, 0);
+    }
+
+    public InterfaceOptions(
+        final boolean compact,
+        final boolean lazy,
+        final boolean sbe,
+        final int sbeSchemaId,
+        final int sbeSchemaVersion
+    )
+    {
+        this(compact, lazy, false, sbe, sbeSchemaId, sbeSchemaVersion);
+    }
+
+    public InterfaceOptions(
+        final boolean compact,
+        final boolean lazy,
+        final boolean concurrent,
+        final boolean sbe,
+        final int sbeSchemaId,
+        final int sbeSchemaVersion
+    )
+    {
+        this.compact = compact;
+        this.lazy = lazy;
+        this.concurrent = concurrent;
+        this.sbe = sbe;
+        this.sbeSchemaId = sbeSchemaId;
+        this.sbeSchemaVersion = sbeSchemaVersion;
+    }
+
+    public boolean isCompact()
+    {
+        return compact;
+    }
+
+    public boolean isLazy()
+    {
+        return lazy;
+    }
+
+    public boolean isConcurrent()
+    {
+        return concurrent;
+    }
+
+    public boolean isSbe()
+    {
+        return sbe;
+    }
+
+    public int getSbeSchemaId()
+    {
+        return sbeSchemaId;
+    }
+
+    public int getSbeSchemaVersion()
+    {
+        return sbeSchemaVersion;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "InterfaceOptions{" +
+            "compact=" + compact +
+            ", lazy=" + lazy +
+            ", concurrent=" + concurrent +
+            ", sbe=" + sbe +
+            ", sbeSchemaId=" + sbeSchemaId +
+            ", sbeSchemaVersion=" + sbeSchemaVersion +
+            '}';
+    }
+}
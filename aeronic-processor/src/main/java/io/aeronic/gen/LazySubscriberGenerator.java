@@ -0,0 +1,272 @@
+package io.aeronic.gen;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.aeronic.gen.StringUtil.capitalize;
+import static io.aeronic.gen.TypeUtil.isPrimitive;
+import static io.aeronic.gen.TypeUtil.sizeOf;
+
+/**
+ * Generates the lazy subscriber interface of an {@code @Aeronic(lazy = true)} interface, in which every method
+ * receives a flyweight over its parameters, together with the invoker dispatching to it.
+ */
+public class LazySubscriberGenerator
+{
+    private static final String FIELD_PREFIX = "reused";
+
+    private final List<String> imports = new ArrayList<>();
+    private final ParameterDecoderWriter parameterDecoderWriter = new ParameterDecoderWriter(this::addImport);
+
+    private void addImport(final String importStatement)
+    {
+        if (!imports.contains(importStatement))
+        {
+            imports.add(importStatement);
+        }
+    }
+
+    public String generateInterface(
+        final String packageName,
+        final String interfaceName,
+        final List<MethodInfo> methods,
+        final InterfaceOptions options
+    )
+    {
+        final StringBuilder methodsBuilder = new StringBuilder();
+        final StringBuilder flyweightsBuilder = new StringBuilder();
+        for (final MethodInfo method : methods)
+        {
+            final String flyweightName = flyweightName(methods, method);
+            methodsBuilder.append("""
+                    void %s(%s %s);
+                """.formatted(method.getName(), flyweightName, method.getName()));
+            writeFlyweight(flyweightsBuilder, flyweightName, method, options);
+        }
+
+        final String importsString = imports.stream().reduce("", (e, n) -> e + "\n" + n);
+        return new StringBuilder()
+            .append("""
+                package %s;
+
+                import io.aeronic.codec.AbstractFlyweight;
+                import io.aeronic.codec.BufferDecoder;
+                import org.agrona.DirectBuffer;%s
+
+
+                """.formatted(packageName, importsString))
+            .append("public interface %sLazy".formatted(interfaceName))
+            .append("\n").append("{").append("\n")
+            .append(methodsBuilder)
+            .append(flyweightsBuilder)
+            .append("}").append("\n")
+            .toString();
+    }
+
+    public String generateInvoker(
+        final String packageName,
+        final String interfaceName,
+        final List<MethodInfo> methods,
+        final InterfaceOptions options
+    )
+    {
+        final String lazyInterfaceName = interfaceName + "Lazy";
+        final StringBuilder fieldsBuilder = new StringBuilder();
+        final StringBuilder casesBuilder = new StringBuilder();
+        for (final MethodInfo method : methods)
+        {
+            final String flyweightName = flyweightName(methods, method);
+            fieldsBuilder.append("""
+                    private final %s.%s %s = new %s.%s();
+                """.formatted(lazyInterfaceName, flyweightName, method.getName(), lazyInterfaceName, flyweightName));
+            casesBuilder.append("""
+                            case %s -> subscriber.%s(%s.wrap(bufferDecoder.getBuffer(), bufferDecoder.getOffset()));
+                """.formatted(method.getIndex(), method.getName(), method.getName()));
+        }
+
+        return """
+            package %s;
+
+            import io.aeronic.net.AbstractSubscriberInvoker;
+            import io.aeronic.codec.BufferDecoder;
+
+
+            public class %sInvoker extends AbstractSubscriberInvoker<%s>
+            {
+            %s
+                public %sInvoker(final %s subscriber)
+                {
+                    super(subscriber%s);
+                }
+
+                public void handle(final BufferDecoder bufferDecoder, final int offset)
+                {
+                    final int msgType = bufferDecoder.decodeInt();
+                    switch (msgType)
+                    {
+            %s        }
+                }
+            }
+            """.formatted(
+            packageName,
+            lazyInterfaceName,
+            lazyInterfaceName,
+            fieldsBuilder,
+            lazyInterfaceName,
+            lazyInterfaceName,
+            options.isCompact() ? ", true" : "",
+            casesBuilder
+        );
+    }
+
+    private void writeFlyweight(
+        final StringBuilder flyweightsBuilder,
+        final String flyweightName,
+        final MethodInfo method,
+        final InterfaceOptions options
+    )
+    {
+        final List<ParameterInfo> parameters = method.getParameters();
+        final StringBuilder fieldsBuilder = new StringBuilder();
+        final StringBuilder accessorsBuilder = new StringBuilder();
+        final StringBuilder skipBuilder = new StringBuilder();
+        final StringBuilder decodeMethodsBuilder = new StringBuilder();
+
+        int firstVariableParameter = options.isCompact() ? 0 : parameters.size();
+        int fixedPrefixLength = 0;
+        for (int i = 0; i < parameters.size(); i++)
+        {
+            final ParameterInfo parameter = parameters.get(i);
+            final String declaredType = parameterDecoderWriter.declaredType(parameter);
+
+            if (i < firstVariableParameter && parameter.isPrimitive())
+            {
+                accessorsBuilder.append("""
+
+                            public %s %s()
+                            {
+                                return %s;
+                            }
+                    """.formatted(declaredType, parameter.getName(), fixedOffsetRead(parameter.getType(), fixedPrefixLength)));
+                fixedPrefixLength += sizeOf(parameter.getType());
+                continue;
+            }
+
+            firstVariableParameter = Math.min(firstVariableParameter, i);
+            final String decodeExpression =
+                parameterDecoderWriter.decodeExpression(fieldsBuilder, decodeMethodsBuilder, FIELD_PREFIX, parameter, "seek(%s)".formatted(i));
+            accessorsBuilder.append("""
+
+                        public %s %s()
+                        {
+                            return %s;
+                        }
+                """.formatted(declaredType, parameter.getName(), decodeExpression));
+            skipBuilder.append("""
+                                case %s -> %s;
+                """.formatted(i, skipStatement(parameter, options)));
+        }
+
+        flyweightsBuilder.append("""
+
+                final class %s extends AbstractFlyweight
+                {
+            """.formatted(flyweightName));
+        fieldsBuilder.toString().lines().forEach(line -> flyweightsBuilder.append("    ").append(line).append("\n"));
+        if (fieldsBuilder.length() > 0)
+        {
+            flyweightsBuilder.append("\n");
+        }
+        flyweightsBuilder.append("""
+                    public %s()
+                    {
+                        super(%s, %s, %s, %s);
+                    }
+
+                    public %s wrap(final DirectBuffer buffer, final int offset)
+                    {
+                        reset(buffer, offset);
+                        return this;
+                    }
+            """.formatted(
+            flyweightName,
+            parameters.size(),
+            firstVariableParameter,
+            fixedPrefixLength,
+            options.isCompact(),
+            flyweightName
+        ));
+        flyweightsBuilder.append(accessorsBuilder);
+        flyweightsBuilder.append("""
+
+                    @Override
+                    protected void skip(final int parameterIndex, final BufferDecoder bufferDecoder)
+                    {
+            """);
+        if (skipBuilder.length() > 0)
+        {
+            flyweightsBuilder.append("""
+                            switch (parameterIndex)
+                            {
+                """);
+            flyweightsBuilder.append(skipBuilder);
+            flyweightsBuilder.append("""
+                            }
+                """);
+        }
+        flyweightsBuilder.append("""
+                    }
+            """);
+        decodeMethodsBuilder.toString().lines().forEach(line -> flyweightsBuilder.append(line.isEmpty() ? "" : "    ").append(line).append("\n"));
+        flyweightsBuilder.append("""
+                }
+            """);
+    }
+
+    /**
+     * Skips by decoding where the length of the parameter is not known up front, reusing the fields and decode methods
+     * declared for its accessor.
+     */
+    private String skipStatement(final ParameterInfo parameter, final InterfaceOptions options)
+    {
+        final String parameterType = parameter.getType();
+        if (parameter.hasCodec())
+        {
+            return parameterDecoderWriter.decodeExpression(new StringBuilder(), new StringBuilder(), FIELD_PREFIX, parameter, "bufferDecoder");
+        }
+
+        if (parameterType.equals(String.class.getName()) || parameterType.equals(CharSequence.class.getName()))
+        {
+            return "bufferDecoder.skipArray(1)";
+        }
+
+        if (parameter.isArray())
+        {
+            final String arrayType = parameterType.substring(0, parameterType.length() - 2);
+            final boolean varintElements = options.isCompact() && (arrayType.equals("int") || arrayType.equals("long"));
+            if (isPrimitive(arrayType) && !varintElements)
+            {
+                return "bufferDecoder.skipArray(%s)".formatted(sizeOf(arrayType));
+            }
+        }
+
+        return parameterDecoderWriter.decodeExpression(new StringBuilder(), new StringBuilder(), FIELD_PREFIX, parameter, "bufferDecoder");
+    }
+
+    private static String fixedOffsetRead(final String primitiveType, final int fixedOffset)
+    {
+        final String index = fixedOffset == 0 ? "offset" : "offset + " + fixedOffset;
+        return switch (primitiveType)
+        {
+            case "boolean" -> "buffer.getByte(%s) == 1".formatted(index);
+            default -> "buffer.get%s(%s)".formatted(capitalize(primitiveType), index);
+        };
+    }
+
+    private static String flyweightName(final List<MethodInfo> methods, final MethodInfo method)
+    {
+        final long sameNameCount = methods.stream().filter(m -> m.getName().equals(method.getName())).count();
+        final String flyweightName = capitalize(method.getName());
+        return sameNameCount > 1 ? flyweightName + method.getIndex() : flyweightName;
+    }
+}
@@ -7,12 +7,22 @@ public class MethodInfo
     private final int index;
     private final String name;
     private final List<ParameterInfo> parameters;
+    private final int partitionKeyIndex;
 
     public MethodInfo(final int index, final String name, final List<ParameterInfo> parameters)
+    {
+        this(index, name, parameters, -1);
+    }
+
+    /**
+     * @param partitionKeyIndex index of the {@code @PartitionKey} parameter, or -1 if the method has none
+     */
+    public MethodInfo(final int index, final String name, final List<ParameterInfo> parameters, final int partitionKeyIndex)
     {
         this.index = index;
         this.name = name;
         this.parameters = parameters;
+        this.partitionKeyIndex = partitionKeyIndex;
     }
 
     public int getIndex()
@@ -29,4 +39,14 @@ public class MethodInfo
     {
         return parameters;
     }
+
+    public boolean hasPartitionKey()
+    {
+        return partitionKeyIndex >= 0;
+    }
+
+    public int getPartitionKeyIndex()
+    {
+        return partitionKeyIndex;
+    }
 }
@@ -0,0 +1,361 @@
+package io.aeronic.gen;
+
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+
+import static io.aeronic.gen.StringUtil.capitalize;
+import static io.aeronic.gen.TypeUtil.isPrimitive;
+
+/**
+ * Writes the declared type and decoding expression of a parameter for generated subscriber-side code, registering
+ * the imports and reusable fields they need.
+ */
+class ParameterDecoderWriter
+{
+    private final Consumer<String> importConsumer;
+
+    ParameterDecoderWriter(final Consumer<String> importConsumer)
+    {
+        this.importConsumer = importConsumer;
+    }
+
+    String declaredType(final ParameterInfo parameter)
+    {
+        if (parameter.isData())
+        {
+            for (final ComponentInfo component : parameter.getDataComponents())
+            {
+                if (!component.getParameter().getType().equals(CharSequence.class.getName()))
+                {
+                    declaredType(component.getParameter());
+                }
+            }
+        }
+
+        final String parameterType = parameter.getType();
+        if (parameter.isClaimCheck())
+        {
+            importConsumer.accept("import org.agrona.concurrent.UnsafeBuffer;");
+            return "DirectBuffer";
+        }
+
+        if (parameter.isReply())
+        {
+            importConsumer.accept("import %s;".formatted(parameterType));
+            return TypeUtil.extractClassName(parameterType);
+        }
+
+        if (parameter.hasCodec())
+        {
+            importConsumer.accept("import %s;".formatted(parameter.getCodec()));
+            return TypeUtil.importedTypeName(parameter, importConsumer);
+        }
+
+        if (parameter.isPrimitive())
+        {
+            return parameterType;
+        }
+
+        if (parameter.isArray())
+        {
+            final String arrayType = parameterType.substring(0, parameterType.length() - 2);
+            if (parameter.isData())
+            {
+                importConsumer.accept("import %s;".formatted(arrayType));
+            }
+            return isPrimitive(arrayType) ? parameterType : TypeUtil.extractClassName(arrayType) + "[]";
+        }
+
+        if (parameterType.equals(String.class.getName()))
+        {
+            return "String";
+        }
+
+        if (parameterType.equals(CharSequence.class.getName()))
+        {
+            importConsumer.accept("import io.aeronic.codec.CharSequenceView;");
+            return "CharSequence";
+        }
+
+        if (parameter.isStruct())
+        {
+            importConsumer.accept("import %s;".formatted(parameterType));
+            importConsumer.accept("import %s;".formatted(parameter.getStruct().getFlyweightName()));
+            return TypeUtil.extractClassName(parameterType);
+        }
+
+        if (TypeUtil.isValueCodecType(parameterType) || TypeUtil.isReusableCodecType(parameterType))
+        {
+            importConsumer.accept("import %s;".formatted(parameterType));
+            return TypeUtil.extractClassName(parameterType);
+        }
+
+        final List<String> genericParameters = parameter.getGenericParameters();
+        if (!genericParameters.isEmpty())
+        {
+            final String genericParameter = genericParameters.get(0);
+            final String fullyQualifiedType = parameterType.split("<")[0];
+            importConsumer.accept("import %s;".formatted(genericParameter));
+            importConsumer.accept("import %s;".formatted(fullyQualifiedType));
+            importConsumer.accept("import java.util.ArrayList;");
+            return "%s<%s>".formatted(TypeUtil.extractClassName(fullyQualifiedType), TypeUtil.extractClassName(genericParameter));
+        }
+
+        importConsumer.accept("import %s;".formatted(parameterType));
+        return TypeUtil.extractClassName(parameterType);
+    }
+
+    /**
+     * @param fieldsBuilder  receives declarations of any containers the expression decodes into
+     * @param methodsBuilder receives the methods decoding arrays and lists of objects, which loop over the elements
+     *                       in place rather than through a shared {@code BufferDecoder} method taking a lambda, so
+     *                       that each element is decoded at a call site of its own
+     * @param fieldPrefix    prefix making field and method names unique within the generated class, may be empty
+     * @param parameter      parameter to decode
+     * @param decoder        expression evaluating to the {@code BufferDecoder} positioned at the parameter
+     */
+    String decodeExpression(
+        final StringBuilder fieldsBuilder,
+        final StringBuilder methodsBuilder,
+        final String fieldPrefix,
+        final ParameterInfo parameter,
+        final String decoder
+    )
+    {
+        return decodeExpression(fieldsBuilder, methodsBuilder, fieldPrefix, parameter, decoder, true);
+    }
+
+    /**
+     * @param reuse whether the expression may decode into containers owned by the generated class, which must not be
+     *              the case for components of data types as the instances holding them outlive the callback
+     */
+    private String decodeExpression(
+        final StringBuilder fieldsBuilder,
+        final StringBuilder methodsBuilder,
+        final String fieldPrefix,
+        final ParameterInfo parameter,
+        final String decoder,
+        final boolean reuse
+    )
+    {
+        final String parameterName = parameter.getName();
+        final String parameterType = parameter.getType();
+        if (parameter.isClaimCheck())
+        {
+            final String viewName = fieldName(fieldPrefix, parameterName) + "View";
+            fieldsBuilder.append("""
+                    private final UnsafeBuffer %s = new UnsafeBuffer(0, 0);
+                """.formatted(viewName));
+            return "resolveClaimCheck(%s, %s)".formatted(decoder, viewName);
+        }
+
+        if (parameter.isReply())
+        {
+            return "replyTo(%s, %s.class)".formatted(decoder, TypeUtil.extractClassName(parameterType));
+        }
+
+        if (parameter.hasCodec())
+        {
+            final String codecClassName = TypeUtil.extractClassName(parameter.getCodec());
+            final String fieldName = fieldName(fieldPrefix, parameterName) + "Codec";
+            fieldsBuilder.append("""
+                    private final %s %s = new %s();
+                """.formatted(codecClassName, fieldName, codecClassName));
+            return "%s.decode(%s)".formatted(fieldName, decoder);
+        }
+
+        if (parameter.isPrimitive())
+        {
+            return "%s.decode%s()".formatted(decoder, capitalize(parameterType));
+        }
+
+        if (parameter.isArray())
+        {
+            final String arrayType = parameterType.substring(0, parameterType.length() - 2);
+            if (isPrimitive(arrayType) && parameter.isReusable() && reuse)
+            {
+                final String fieldName = fieldName(fieldPrefix, parameterName);
+                fieldsBuilder.append("""
+                        private %s[] %s = new %s[0];
+                    """.formatted(arrayType, fieldName, arrayType));
+                return "%s = %s.decode%sArray(%s)".formatted(fieldName, decoder, capitalize(arrayType), fieldName);
+            }
+
+            if (isPrimitive(arrayType))
+            {
+                return "%s.decode%sArray()".formatted(decoder, capitalize(arrayType));
+            }
+
+            final String className = TypeUtil.extractClassName(arrayType);
+            final String methodName = "decode" + capitalize(fieldName(fieldPrefix, parameterName));
+            final String elementExpression = elementExpression(fieldsBuilder, methodsBuilder, fieldPrefix, parameter, className);
+            methodsBuilder.append("""
+                
+                    private %s[] %s(final BufferDecoder bufferDecoder)
+                    {
+                        final int length = bufferDecoder.decodeInt();
+                        final %s[] array = new %s[length];
+                        for (int i = 0; i < length; i++)
+                        {
+                            array[i] = %s;
+                        }
+                        return array;
+                    }
+                """.formatted(className, methodName, className, className, elementExpression));
+            return "%s(%s)".formatted(methodName, decoder);
+        }
+
+        if (parameterType.equals(String.class.getName()))
+        {
+            return "%s.decodeString()".formatted(decoder);
+        }
+
+        if (parameterType.equals(CharSequence.class.getName()) && !reuse)
+        {
+            return "%s.decodeString()".formatted(decoder);
+        }
+
+        if (parameterType.equals(CharSequence.class.getName()))
+        {
+            final String viewName = fieldName(fieldPrefix, parameterName) + "View";
+            fieldsBuilder.append("""
+                    private final CharSequenceView %s = new CharSequenceView();
+                """.formatted(viewName));
+            return "%s.decodeCharSequence(%s)".formatted(decoder, viewName);
+        }
+
+        if (TypeUtil.isValueCodecType(parameterType))
+        {
+            return "%s.decode%s()".formatted(decoder, TypeUtil.extractClassName(parameterType));
+        }
+
+        if (TypeUtil.isReusableCodecType(parameterType) && !reuse)
+        {
+            final String className = TypeUtil.extractClassName(parameterType);
+            return "%s.decode%s(new %s())".formatted(decoder, className, className);
+        }
+
+        if (TypeUtil.isReusableCodecType(parameterType))
+        {
+            final String className = TypeUtil.extractClassName(parameterType);
+            final String fieldName = fieldName(fieldPrefix, parameterName);
+            fieldsBuilder.append("""
+                    private final %s %s = new %s();
+                """.formatted(className, fieldName, className));
+            return "%s.decode%s(%s)".formatted(decoder, className, fieldName);
+        }
+
+        if (parameter.isStruct())
+        {
+            final String flyweightClassName = TypeUtil.extractClassName(parameter.getStruct().getFlyweightName());
+            final String fieldName = fieldName(fieldPrefix, parameterName);
+            fieldsBuilder.append("""
+                    private final %s %s = new %s();
+                """.formatted(flyweightClassName, fieldName, flyweightClassName));
+            return "%s.decodeStruct(%s)".formatted(decoder, fieldName);
+        }
+
+        final List<String> genericParameters = parameter.getGenericParameters();
+        if (!genericParameters.isEmpty())
+        {
+            final String genericParameterClassName = TypeUtil.extractClassName(genericParameters.get(0));
+            final String methodName = "decode" + capitalize(fieldName(fieldPrefix, parameterName));
+            final String elementExpression =
+                elementExpression(fieldsBuilder, methodsBuilder, fieldPrefix, parameter, genericParameterClassName);
+            importConsumer.accept("import java.util.List;");
+            if (parameter.isReusable() && reuse)
+            {
+                final String fieldName = fieldName(fieldPrefix, parameterName);
+                fieldsBuilder.append("""
+                        private final ArrayList<%s> %s = new ArrayList<>();
+                    """.formatted(genericParameterClassName, fieldName));
+                methodsBuilder.append("""
+                    
+                        private List<%s> %s(final BufferDecoder bufferDecoder)
+                        {
+                            final int length = bufferDecoder.decodeInt();
+                            final List<%s> list = %s;
+                            list.clear();
+                            for (int i = 0; i < length; i++)
+                            {
+                                list.add(%s);
+                            }
+                            return list;
+                        }
+                    """.formatted(genericParameterClassName, methodName, genericParameterClassName, fieldName, elementExpression));
+                return "%s(%s)".formatted(methodName, decoder);
+            }
+
+            methodsBuilder.append("""
+                
+                    private List<%s> %s(final BufferDecoder bufferDecoder)
+                    {
+                        final int length = bufferDecoder.decodeInt();
+                        final List<%s> list = new ArrayList<>(length);
+                        for (int i = 0; i < length; i++)
+                        {
+                            list.add(%s);
+                        }
+                        return list;
+                    }
+                """.formatted(genericParameterClassName, methodName, genericParameterClassName, elementExpression));
+            return "%s(%s)".formatted(methodName, decoder);
+        }
+
+        final String className = TypeUtil.extractClassName(parameterType);
+        if (parameter.isData())
+        {
+            final String componentPrefix = fieldName(fieldPrefix, parameterName);
+            return newDataExpression(fieldsBuilder, methodsBuilder, componentPrefix, className, parameter.getDataComponents(), decoder);
+        }
+
+        return "%s.decode(%s)".formatted(className, decoder);
+    }
+
+    /**
+     * Decodes an element from the {@code bufferDecoder} parameter of the method looping over the elements.
+     */
+    private String elementExpression(
+        final StringBuilder fieldsBuilder,
+        final StringBuilder methodsBuilder,
+        final String fieldPrefix,
+        final ParameterInfo parameter,
+        final String elementClassName
+    )
+    {
+        if (!parameter.isData())
+        {
+            return "%s.decode(bufferDecoder)".formatted(elementClassName);
+        }
+
+        final String componentPrefix = fieldName(fieldPrefix, parameter.getName());
+        return newDataExpression(fieldsBuilder, methodsBuilder, componentPrefix, elementClassName, parameter.getDataComponents(), "bufferDecoder");
+    }
+
+    /**
+     * Java evaluates constructor arguments left to right, so the components are decoded in the order they were
+     * encoded in.
+     */
+    private String newDataExpression(
+        final StringBuilder fieldsBuilder,
+        final StringBuilder methodsBuilder,
+        final String fieldPrefix,
+        final String className,
+        final List<ComponentInfo> components,
+        final String decoder
+    )
+    {
+        final StringJoiner arguments = new StringJoiner(", ", "new %s(".formatted(className), ")");
+        for (final ComponentInfo component : components)
+        {
+            arguments.add(decodeExpression(fieldsBuilder, methodsBuilder, fieldPrefix, component.getParameter(), decoder, false));
+        }
+        return arguments.toString();
+    }
+
+    private static String fieldName(final String fieldPrefix, final String parameterName)
+    {
+        return fieldPrefix.isEmpty() ? parameterName : fieldPrefix + capitalize(parameterName);
+    }
+}
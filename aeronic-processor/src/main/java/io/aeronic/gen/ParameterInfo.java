@@ -9,14 +9,31 @@ public class ParameterInfo
     private final boolean isPrimitive;
     private final boolean isArray;
     private final List<String> genericParameters;
+    private final boolean isReusable;
+    private final List<ComponentInfo> dataComponents;
+    private final StructInfo struct;
+    private final String codec;
+    private final boolean isClaimCheck;
+    private final boolean isReply;
 
-    public ParameterInfo(final String name, final String type, final boolean isPrimitive, final boolean isArray, final List<String> genericParameters)
+    private ParameterInfo(final Builder builder)
     {
-        this.name = name;
-        this.type = type;
-        this.isPrimitive = isPrimitive;
-        this.isArray = isArray;
-        this.genericParameters = genericParameters;
+        this.name = builder.name;
+        this.type = builder.type;
+        this.isPrimitive = builder.isPrimitive;
+        this.isArray = builder.isArray;
+        this.genericParameters = builder.genericParameters;
+        this.isReusable = builder.isReusable;
+        this.dataComponents = builder.dataComponents;
+        this.struct = builder.struct;
+        this.codec = builder.codec;
+        this.isClaimCheck = builder.isClaimCheck;
+        this.isReply = builder.isReply;
+    }
+
+    public static Builder builder(final String name, final String type)
+    {
+        return new Builder(name, type);
     }
 
     public String getName()
@@ -44,6 +61,55 @@ public class ParameterInfo
         return genericParameters;
     }
 
+    public boolean isReusable()
+    {
+        return isReusable;
+    }
+
+    /**
+     * @return whether the parameter, or its elements if it is an array or a list, is of a data type whose codec is
+     * generated inline
+     */
+    public boolean isData()
+    {
+        return dataComponents != null;
+    }
+
+    public List<ComponentInfo> getDataComponents()
+    {
+        return dataComponents;
+    }
+
+    public boolean isStruct()
+    {
+        return struct != null;
+    }
+
+    public StructInfo getStruct()
+    {
+        return struct;
+    }
+
+    public boolean hasCodec()
+    {
+        return codec != null;
+    }
+
+    public String getCodec()
+    {
+        return codec;
+    }
+
+    public boolean isClaimCheck()
+    {
+        return isClaimCheck;
+    }
+
+    public boolean isReply()
+    {
+        return isReply;
+    }
+
     @Override
     public String toString()
     {
@@ -53,6 +119,117 @@ public class ParameterInfo
             ", isPrimitive=" + isPrimitive +
             ", isArray=" + isArray +
             ", genericParameters=" + genericParameters +
+            ", isReusable=" + isReusable +
+            ", dataComponents=" + dataComponents +
+            ", struct=" + struct +
+            ", codec='" + codec + '\'' +
+            ", isClaimCheck=" + isClaimCheck +
+            ", isReply=" + isReply +
             '}';
     }
+
+    /**
+     * Collects the properties of a parameter, all of which but its name and type are optional.
+     */
+    public static final class Builder
+    {
+        private final String name;
+        private final String type;
+        private boolean isPrimitive;
+        private boolean isArray;
+        private List<String> genericParameters = List.of();
+        private boolean isReusable;
+        private List<ComponentInfo> dataComponents;
+        private StructInfo struct;
+        private String codec;
+        private boolean isClaimCheck;
+        private boolean isReply;
+
+        private Builder(final String name, final String type)
+        {
+            this.name = name;
+            this.type = type;
+        }
+
+        public Builder primitive(final boolean isPrimitive)
+        {
+            this.isPrimitive = isPrimitive;
+            return this;
+        }
+
+        public Builder array(final boolean isArray)
+        {
+            this.isArray = isArray;
+            return this;
+        }
+
+        public Builder genericParameters(final List<String> genericParameters)
+        {
+            this.genericParameters = genericParameters;
+            return this;
+        }
+
+        /**
+         * @param isReusable whether the parameter is decoded into a container owned by the generated invoker
+         */
+        public Builder reusable(final boolean isReusable)
+        {
+            this.isReusable = isReusable;
+            return this;
+        }
+
+        /**
+         * @param dataComponents components of the data type this parameter is, or holds the elements of when it is an
+         *                       array or a list, or {@code null} if that type is not a data type
+         */
+        public Builder dataComponents(final List<ComponentInfo> dataComponents)
+        {
+            this.dataComponents = dataComponents;
+            return this;
+        }
+
+        /**
+         * @param struct layout of the parameter's type if it is an {@code @AeronicStruct} interface, {@code null}
+         *               otherwise
+         */
+        public Builder struct(final StructInfo struct)
+        {
+            this.struct = struct;
+            return this;
+        }
+
+        /**
+         * @param codec fully qualified name of the {@code Codec} selected for the parameter, {@code null} if it has the
+         *              built-in encoding
+         */
+        public Builder codec(final String codec)
+        {
+            this.codec = codec;
+            return this;
+        }
+
+        /**
+         * Marks the parameter as a {@code @ClaimCheck} buffer passed through a shared region.
+         */
+        public Builder claimCheck()
+        {
+            this.isClaimCheck = true;
+            return this;
+        }
+
+        /**
+         * Marks the parameter as a reply callback of another {@code @Aeronic} interface, sent as the correlation id of
+         * the request.
+         */
+        public Builder reply()
+        {
+            this.isReply = true;
+            return this;
+        }
+
+        public ParameterInfo build()
+        {
+            return new ParameterInfo(this);
+        }
+    }
 }
@@ -2,11 +2,20 @@ package io.aeronic.gen;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.StringJoiner;
 
+import static io.aeronic.gen.StringUtil.capitalize;
 import static io.aeronic.gen.TypeUtil.isPrimitive;
+import static io.aeronic.gen.TypeUtil.sizeOf;
 
 public class PublisherGenerator
 {
+    /**
+     * Region id, generation, offset and length of a {@code @ClaimCheck} payload, as encoded by
+     * {@code AbstractPublisher.encodeClaimCheck}.
+     */
+    private static final int CLAIM_CHECK_REFERENCE_LENGTH = 4 * sizeOf("int");
+
     private final List<String> imports = new ArrayList<>();
 
     private void addImport(final String importStatement)
@@ -19,19 +28,145 @@ public class PublisherGenerator
 
     public String generate(final String packageName, final String interfaceName, final List<MethodInfo> methods)
     {
-        final String generatedMethods = generateMethods(methods);
+        return generate(packageName, interfaceName, methods, InterfaceOptions.DEFAULT);
+    }
+
+    public String generate(
+        final String packageName,
+        final String interfaceName,
+        final List<MethodInfo> methods,
+        final InterfaceOptions options
+    )
+    {
+        final StringBuilder fieldsBuilder = new StringBuilder();
+        final String generatedMethods = generateMethods(fieldsBuilder, methods, options);
 
         return new StringBuilder()
             .append(generatePackageAndImports(packageName))
             .append(generateClassDeclaration(interfaceName))
             .append("\n").append("{").append("\n")
-            .append(generateConstructor(interfaceName))
+            .append(fieldsBuilder)
+            .append(generateConstructor(interfaceName, options))
             .append(generatedMethods)
             .append("}").append("\n")
             .toString();
     }
 
-    private String generateMethods(final List<MethodInfo> methods)
+    /**
+     * Generates a publisher safe for many threads, delegating every call to a publisher of the calling thread over the
+     * shared publication, which must itself be thread-safe.
+     */
+    public String generateConcurrent(final String packageName, final String interfaceName, final List<MethodInfo> methods)
+    {
+        final StringBuilder methodsBuilder = new StringBuilder();
+        for (final MethodInfo interfaceMethod : methods)
+        {
+            final String methodName = interfaceMethod.getName();
+            final List<ParameterInfo> parameters = interfaceMethod.getParameters();
+            final StringBuilder parametersBuilder = new StringBuilder();
+            final StringJoiner argumentsJoiner = new StringJoiner(", ");
+            for (int j = 0; j < parameters.size(); j++)
+            {
+                writeParameter(new StringBuilder(), parametersBuilder, new StringBuilder(), methodName, parameters.get(j));
+                argumentsJoiner.add(parameters.get(j).getName());
+                if (j < parameters.size() - 1)
+                {
+                    parametersBuilder.append(",\n");
+                }
+            }
+
+            methodsBuilder.append("\n    @Override\n");
+            writeMethod(
+                methodsBuilder,
+                "void",
+                methodName,
+                parametersBuilder,
+                "",
+                "publishers.get().%s(%s);".formatted(methodName, argumentsJoiner)
+            );
+            methodsBuilder.append("\n");
+            writeMethod(
+                methodsBuilder,
+                "long",
+                "try" + capitalize(methodName),
+                parametersBuilder,
+                "",
+                "return publishers.get().try%s(%s);".formatted(capitalize(methodName), argumentsJoiner)
+            );
+        }
+
+        final String importsString = imports.stream().reduce("", (e, n) -> e + "\n" + n);
+        return """
+            package %s;
+
+            import io.aeronic.net.AeronicPublication;
+            import io.aeronic.net.BackPressureStrategy;
+            import io.aeronic.net.PendingReplies;
+            import java.util.function.Supplier;%s
+
+
+            public class %sConcurrentPublisher implements %s
+            {
+                private final ThreadLocal<%sPublisher> publishers;
+                private volatile PendingReplies<?> pendingReplies;
+
+                public %sConcurrentPublisher(final AeronicPublication publication)
+                {
+                    this.publishers = ThreadLocal.withInitial(() -> bind(new %sPublisher(publication)));
+                }
+
+                /**
+                 * @param backPressureStrategySupplier supplies the strategy of each thread, as strategies are not thread-safe
+                 */
+                public %sConcurrentPublisher(
+                    final AeronicPublication publication,
+                    final Supplier<BackPressureStrategy> backPressureStrategySupplier
+                )
+                {
+                    this.publishers = ThreadLocal.withInitial(() -> bind(new %sPublisher(publication, backPressureStrategySupplier.get())));
+                }
+
+                /**
+                 * Binds the table the callbacks of reply parameters are registered with to the publishers of the threads
+                 * calling from now on, so it must be bound before the first call.
+                 */
+                public void bindPendingReplies(final PendingReplies<?> pendingReplies)
+                {
+                    this.pendingReplies = pendingReplies;
+                }
+
+                /**
+                 * @return the publisher of the calling thread, through which it can also batch its calls
+                 */
+                public %sPublisher forCurrentThread()
+                {
+                    return publishers.get();
+                }
+
+                private %sPublisher bind(final %sPublisher publisher)
+                {
+                    publisher.bindPendingReplies(pendingReplies);
+                    return publisher;
+                }
+            %s}
+            """.formatted(
+            packageName,
+            importsString,
+            interfaceName,
+            interfaceName,
+            interfaceName,
+            interfaceName,
+            interfaceName,
+            interfaceName,
+            interfaceName,
+            interfaceName,
+            interfaceName,
+            interfaceName,
+            methodsBuilder
+        );
+    }
+
+    private String generateMethods(final StringBuilder fieldsBuilder, final List<MethodInfo> methods, final InterfaceOptions options)
     {
         final StringBuilder methodsBuilder = new StringBuilder();
         for (int i = 0; i < methods.size(); i++)
@@ -40,63 +175,291 @@ public class PublisherGenerator
             final String methodName = interfaceMethod.getName();
             final List<ParameterInfo> parameters = interfaceMethod.getParameters();
 
-            methodsBuilder.append("    @Override\n");
-            methodsBuilder.append("    public void %s(\n".formatted(methodName));
-
-            final StringBuilder methodBodyBuilder = new StringBuilder();
-            methodBodyBuilder.append("""
+            final StringBuilder parametersBuilder = new StringBuilder();
+            final StringBuilder encodingBuilder = new StringBuilder();
+            encodingBuilder.append("""
                         bufferEncoder.encode(%s);
                 """.formatted(interfaceMethod.getIndex()));
 
             for (int j = 0; j < parameters.size(); j++)
             {
-                writeParameter(methodsBuilder, methodBodyBuilder, parameters.get(j));
+                writeParameter(fieldsBuilder, parametersBuilder, encodingBuilder, methodName, parameters.get(j));
 
                 if (j < parameters.size() - 1)
                 {
-                    methodsBuilder.append(",\n");
+                    parametersBuilder.append(",\n");
                 }
             }
 
-            methodBodyBuilder.append("""
-                        offer();
-                """);
+            final StringBuilder methodBodyBuilder = new StringBuilder();
+            writeStaging(methodBodyBuilder, parameters);
+            if (!options.isCompact() && parameters.stream().allMatch(PublisherGenerator::isFixedSize))
+            {
+                writeClaimedEncoding(methodBodyBuilder, parameters, encodingBuilder);
+            }
+            else
+            {
+                methodBodyBuilder.append(encodingBuilder);
+            }
 
-            methodsBuilder.append("\n    )");
-            methodsBuilder.append("""
-                    
-                    {
-                """);
+            methodsBuilder.append("    @Override\n");
+            writeMethod(methodsBuilder, "void", methodName, parametersBuilder, methodBodyBuilder, "offer();");
+            methodsBuilder.append("\n");
+            writeMethod(methodsBuilder, "long", "try" + capitalize(methodName), parametersBuilder, methodBodyBuilder, "return tryOffer();");
 
             if (i < methods.size() - 1)
+            {
+                methodsBuilder.append("\n");
+            }
+        }
+
+        return methodsBuilder.toString();
+    }
+
+    private static void writeMethod(
+        final StringBuilder methodsBuilder,
+        final String returnType,
+        final String methodName,
+        final CharSequence parameters,
+        final CharSequence methodBody,
+        final String lastStatement
+    )
+    {
+        methodsBuilder.append("    public %s %s(\n".formatted(returnType, methodName));
+        methodsBuilder.append(parameters);
+        methodsBuilder.append("\n    )\n");
+        methodsBuilder.append("    {\n");
+        methodsBuilder.append(methodBody);
+        methodsBuilder.append("        %s\n".formatted(lastStatement));
+        methodsBuilder.append("    }\n");
+    }
+
+    /**
+     * Writes the work that may fail or take long before the message is claimed: {@code @ClaimCheck} payloads are
+     * copied into their region and reply callbacks registered up front, leaving only their references to encode.
+     */
+    private static void writeStaging(final StringBuilder methodBodyBuilder, final List<ParameterInfo> parameters)
+    {
+        for (final ParameterInfo parameter : parameters)
+        {
+            if (parameter.isClaimCheck())
             {
                 methodBodyBuilder.append("""
-                        }
-                        
-                    """);
+                            final long %sReference = appendClaimCheck(%s);
+                    """.formatted(parameter.getName(), parameter.getName()));
+            }
+            else if (parameter.isReply())
+            {
+                methodBodyBuilder.append("""
+                            final long %sCorrelationId = registerReply(%s);
+                    """.formatted(parameter.getName(), parameter.getName()));
             }
+        }
+    }
 
-            methodsBuilder.append(methodBodyBuilder);
+    /**
+     * Writes the claim of a fixed-size message followed by its encoding. Unless every parameter is encoded without
+     * dereferencing an argument, the encoding aborts the claim if it throws, so that the claimed range is padded out
+     * rather than left uncommitted, blocking the stream.
+     */
+    private static void writeClaimedEncoding(
+        final StringBuilder methodBodyBuilder,
+        final List<ParameterInfo> parameters,
+        final CharSequence encoding
+    )
+    {
+        methodBodyBuilder.append("""
+                    claim(%s);
+            """.formatted(fixedEncodedLength(parameters)));
+        if (parameters.stream().allMatch(PublisherGenerator::isEncodedWithoutFailure))
+        {
+            methodBodyBuilder.append(encoding);
+            return;
         }
 
-        methodsBuilder.append("""
-                }
-            """);
+        methodBodyBuilder.append("""
+                    try
+                    {
+            %s        }
+                    catch (final Throwable throwable)
+                    {
+                        abortClaim();
+                        throw throwable;
+                    }
+            """.formatted(encoding.toString().indent(4)));
+    }
 
-        return methodsBuilder.toString();
+    private static boolean isEncodedWithoutFailure(final ParameterInfo parameter)
+    {
+        return (parameter.isPrimitive() && !parameter.hasCodec()) || parameter.isClaimCheck() || parameter.isReply();
+    }
+
+    private static boolean isFixedSize(final ParameterInfo parameter)
+    {
+        if (parameter.isPrimitive() || parameter.isStruct() || parameter.isClaimCheck() || parameter.isReply())
+        {
+            return true;
+        }
+
+        return isInlineData(parameter)
+            && parameter.getDataComponents().stream().map(ComponentInfo::getParameter).allMatch(PublisherGenerator::isFixedSize);
+    }
+
+    private static int fixedEncodedLength(final List<ParameterInfo> parameters)
+    {
+        return sizeOf("int") + encodedLength(parameters);
+    }
+
+    private static int encodedLength(final List<ParameterInfo> parameters)
+    {
+        int length = 0;
+        for (final ParameterInfo parameter : parameters)
+        {
+            if (parameter.isPrimitive())
+            {
+                length += sizeOf(parameter.getType());
+            }
+            else if (parameter.isStruct())
+            {
+                length += parameter.getStruct().getEncodedLength();
+            }
+            else if (parameter.isClaimCheck())
+            {
+                length += CLAIM_CHECK_REFERENCE_LENGTH;
+            }
+            else if (parameter.isReply())
+            {
+                length += sizeOf("long");
+            }
+            else
+            {
+                length += encodedLength(parameter.getDataComponents().stream().map(ComponentInfo::getParameter).toList());
+            }
+        }
+        return length;
+    }
+
+    /**
+     * @return whether the parameter is itself of a data type, rather than an array or a list of one
+     */
+    private static boolean isInlineData(final ParameterInfo parameter)
+    {
+        return parameter.isData() && !parameter.isArray() && !isGeneric(parameter);
+    }
+
+    private static boolean isGeneric(final ParameterInfo parameter)
+    {
+        return parameter.getGenericParameters() != null && !parameter.getGenericParameters().isEmpty();
+    }
+
+    /**
+     * Writes straight-line statements encoding every component of a data type instance, descending into nested
+     * data types and looping over arrays and lists of them.
+     */
+    private static void writeDataEncoding(
+        final StringBuilder methodBodyBuilder,
+        final List<ComponentInfo> components,
+        final String value,
+        final String indent
+    )
+    {
+        for (final ComponentInfo component : components)
+        {
+            writeEncoding(methodBodyBuilder, component.getParameter(), value + "." + component.getAccessor(), indent);
+        }
+    }
+
+    private static void writeEncoding(
+        final StringBuilder methodBodyBuilder,
+        final ParameterInfo parameter,
+        final String value,
+        final String indent
+    )
+    {
+        if (isInlineData(parameter))
+        {
+            writeDataEncoding(methodBodyBuilder, parameter.getDataComponents(), value, indent);
+            return;
+        }
+
+        if (parameter.isData())
+        {
+            final String element = parameter.getName() + "Element";
+            methodBodyBuilder.append("%sbufferEncoder.encode(%s.%s);\n".formatted(indent, value, parameter.isArray() ? "length" : "size()"));
+            methodBodyBuilder.append("%sfor (final var %s : %s)\n".formatted(indent, element, value));
+            methodBodyBuilder.append("%s{\n".formatted(indent));
+            writeDataEncoding(methodBodyBuilder, parameter.getDataComponents(), element, indent + "    ");
+            methodBodyBuilder.append("%s}\n".formatted(indent));
+            return;
+        }
+
+        final String parameterType = parameter.getType();
+        final boolean isEncodedByBufferEncoder = parameter.isPrimitive()
+            || parameter.isArray()
+            || parameterType.equals(String.class.getName())
+            || parameterType.equals(CharSequence.class.getName())
+            || TypeUtil.isReusableCodecType(parameterType)
+            || TypeUtil.isValueCodecType(parameterType)
+            || isGeneric(parameter);
+        if (isEncodedByBufferEncoder)
+        {
+            methodBodyBuilder.append("%sbufferEncoder.encode(%s);\n".formatted(indent, value));
+        }
+        else
+        {
+            methodBodyBuilder.append("%s%s.encode(bufferEncoder);\n".formatted(indent, value));
+        }
     }
 
     private void writeParameter(
-        final StringBuilder methodsBuilder,
+        final StringBuilder fieldsBuilder,
+        final StringBuilder parametersBuilder,
         final StringBuilder methodBodyBuilder,
+        final String methodName,
         final ParameterInfo parameter
     )
     {
         final String parameterType = parameter.getType();
         final String parameterName = parameter.getName();
+        if (parameter.isClaimCheck())
+        {
+            parametersBuilder.append("        final DirectBuffer %s".formatted(parameterName));
+            methodBodyBuilder.append("""
+                        encodeClaimCheck(%sReference, %s.capacity());
+                """.formatted(parameterName, parameterName));
+            addImport("import org.agrona.DirectBuffer;");
+            return;
+        }
+
+        if (parameter.isReply())
+        {
+            final String typeName = TypeUtil.importedTypeName(parameter, this::addImport);
+            parametersBuilder.append("        final %s %s".formatted(typeName, parameterName));
+            methodBodyBuilder.append("""
+                        bufferEncoder.encode(%sCorrelationId);
+                """.formatted(parameterName));
+            return;
+        }
+
+        if (parameter.hasCodec())
+        {
+            final String codecClassName = TypeUtil.extractClassName(parameter.getCodec());
+            final String fieldName = methodName + capitalize(parameterName) + "Codec";
+            fieldsBuilder.append("""
+                    private final %s %s = new %s();
+                """.formatted(codecClassName, fieldName, codecClassName));
+            final String typeName = TypeUtil.importedTypeName(parameter, this::addImport);
+            parametersBuilder.append("        final %s %s".formatted(typeName, parameterName));
+            methodBodyBuilder.append("""
+                        %s.encode(bufferEncoder, %s);
+                """.formatted(fieldName, parameterName));
+            addImport("import %s;".formatted(parameter.getCodec()));
+            return;
+        }
+
         if (parameter.isPrimitive())
         {
-            methodsBuilder.append("        final %s %s".formatted(parameterType, parameterName));
+            parametersBuilder.append("        final %s %s".formatted(parameterType, parameterName));
             methodBodyBuilder.append("""
                         bufferEncoder.encode(%s);
                 """.formatted(parameterName));
@@ -108,12 +471,19 @@ public class PublisherGenerator
             final String arrayType = parameterType.substring(0, parameterType.length() - 2);
             if (isPrimitive(arrayType))
             {
-                methodsBuilder.append("        final %s %s".formatted(parameterType, parameterName));
+                parametersBuilder.append("        final %s %s".formatted(parameterType, parameterName));
             }
             else
             {
                 final String className = TypeUtil.extractClassName(arrayType);
-                methodsBuilder.append("        final %s[] %s".formatted(className, parameterName));
+                parametersBuilder.append("        final %s[] %s".formatted(className, parameterName));
+            }
+
+            if (parameter.isData())
+            {
+                addImport("import %s;".formatted(arrayType));
+                writeEncoding(methodBodyBuilder, parameter, parameterName, "        ");
+                return;
             }
             methodBodyBuilder.append("""
                         bufferEncoder.encode(%s);
@@ -123,13 +493,51 @@ public class PublisherGenerator
 
         if (parameterType.equals(String.class.getName()))
         {
-            methodsBuilder.append("        final String %s".formatted(parameterName));
+            parametersBuilder.append("        final String %s".formatted(parameterName));
             methodBodyBuilder.append("""
                         bufferEncoder.encode(%s);
                 """.formatted(parameterName));
             return;
         }
 
+        if (parameterType.equals(CharSequence.class.getName()))
+        {
+            parametersBuilder.append("        final CharSequence %s".formatted(parameterName));
+            methodBodyBuilder.append("""
+                        bufferEncoder.encode(%s);
+                """.formatted(parameterName));
+            return;
+        }
+
+        if (TypeUtil.isReusableCodecType(parameterType) || TypeUtil.isValueCodecType(parameterType))
+        {
+            final String className = TypeUtil.extractClassName(parameterType);
+            parametersBuilder.append("        final %s %s".formatted(className, parameterName));
+            methodBodyBuilder.append("""
+                        bufferEncoder.encode(%s);
+                """.formatted(parameterName));
+            addImport("import %s;".formatted(parameterType));
+            return;
+        }
+
+        if (parameter.isStruct())
+        {
+            final String className = TypeUtil.extractClassName(parameterType);
+            final String flyweightName = parameter.getStruct().getFlyweightName();
+            final String flyweightClassName = TypeUtil.extractClassName(flyweightName);
+            final String fieldName = methodName + capitalize(parameterName);
+            fieldsBuilder.append("""
+                    private final %s %s = new %s();
+                """.formatted(flyweightClassName, fieldName, flyweightClassName));
+            parametersBuilder.append("        final %s %s".formatted(className, parameterName));
+            methodBodyBuilder.append("""
+                        bufferEncoder.encodeStruct(%s).copyFrom(%s);
+                """.formatted(fieldName, parameterName));
+            addImport("import %s;".formatted(parameterType));
+            addImport("import %s;".formatted(flyweightName));
+            return;
+        }
+
         final List<String> genericParameters = parameter.getGenericParameters();
         if (!genericParameters.isEmpty())
         {
@@ -138,10 +546,17 @@ public class PublisherGenerator
             final String fullyQualifiedType = parameterType.split("<")[0];
             final String className = TypeUtil.extractClassName(fullyQualifiedType);
 
-            methodsBuilder.append("        final %s<%s> %s".formatted(className, genericParameterClassName, parameterName));
-            methodBodyBuilder.append("""
-                        bufferEncoder.encode(%s);
-                """.formatted(parameterName));
+            parametersBuilder.append("        final %s<%s> %s".formatted(className, genericParameterClassName, parameterName));
+            if (parameter.isData())
+            {
+                writeEncoding(methodBodyBuilder, parameter, parameterName, "        ");
+            }
+            else
+            {
+                methodBodyBuilder.append("""
+                            bufferEncoder.encode(%s);
+                    """.formatted(parameterName));
+            }
 
             addImport("import %s;".formatted(genericParameter));
             addImport("import %s;".formatted(fullyQualifiedType));
@@ -150,23 +565,36 @@ public class PublisherGenerator
         }
 
         final String className = TypeUtil.extractClassName(parameterType);
-        methodsBuilder.append("        final %s %s".formatted(className, parameterName));
-        methodBodyBuilder.append("""
-                    %s.encode(bufferEncoder);
-            """.formatted(parameterName));
+        parametersBuilder.append("        final %s %s".formatted(className, parameterName));
+        if (parameter.isData())
+        {
+            writeEncoding(methodBodyBuilder, parameter, parameterName, "        ");
+        }
+        else
+        {
+            methodBodyBuilder.append("""
+                        %s.encode(bufferEncoder);
+                """.formatted(parameterName));
+        }
         addImport("import %s;".formatted(parameterType));
     }
 
-    private String generateConstructor(final String interfaceName)
+    private String generateConstructor(final String interfaceName, final InterfaceOptions options)
     {
+        final String compactArgument = options.isCompact() ? ", true" : "";
         return """
                 
                 public %sPublisher(final AeronicPublication publication)
                 {
-                    super(publication);
+                    super(publication%s);
+                }
+
+                public %sPublisher(final AeronicPublication publication, final BackPressureStrategy backPressureStrategy)
+                {
+                    super(publication, backPressureStrategy%s);
                 }
                 
-            """.formatted(interfaceName);
+            """.formatted(interfaceName, compactArgument, interfaceName, compactArgument);
     }
 
     private String generateClassDeclaration(final String interfaceName)
@@ -183,6 +611,7 @@ public class PublisherGenerator
             import io.aeron.Publication;
             import io.aeronic.net.AbstractPublisher;
             import io.aeronic.net.AeronicPublication;
+            import io.aeronic.net.BackPressureStrategy;
             import org.agrona.BitUtil;%s
 
                         
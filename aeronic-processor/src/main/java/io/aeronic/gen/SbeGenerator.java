@@ -0,0 +1,421 @@
+package io.aeronic.gen;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+import static io.aeronic.gen.StringUtil.capitalize;
+import static io.aeronic.gen.TypeUtil.sizeOf;
+
+/**
+ * Generates the publisher, invoker and SBE schema of an {@code @Aeronic(sbe = true)} interface. Each message is the
+ * standard SBE message header followed by a block of the primitive parameters, each at an offset aligned to its
+ * size, followed by var-data fields for the String, CharSequence and byte[] parameters, all in declaration order.
+ */
+public class SbeGenerator
+{
+    private static final String STRING = String.class.getName();
+    private static final String CHAR_SEQUENCE = CharSequence.class.getName();
+    private static final String BYTES = "byte[]";
+
+    public String generatePublisher(
+        final String packageName,
+        final String interfaceName,
+        final List<MethodInfo> methods,
+        final InterfaceOptions options
+    )
+    {
+        final StringBuilder methodsBuilder = new StringBuilder();
+        for (final MethodInfo method : methods)
+        {
+            final List<ParameterInfo> parameters = method.getParameters();
+            final String methodName = method.getName();
+            final String encodeMethodName = "encode" + capitalize(methodName);
+            final int[] offsets = blockOffsets(interfaceName, method);
+            final int blockLength = offsets[parameters.size()];
+
+            final StringJoiner parametersJoiner = new StringJoiner(",\n");
+            final StringJoiner argumentsJoiner = new StringJoiner(", ");
+            final StringBuilder encodeBuilder = new StringBuilder();
+            for (int i = 0; i < parameters.size(); i++)
+            {
+                final ParameterInfo parameter = parameters.get(i);
+                final String parameterName = parameter.getName();
+                parametersJoiner.add("        final %s %s".formatted(declaredType(parameter), parameterName));
+                argumentsJoiner.add(parameterName);
+                if (parameter.isPrimitive())
+                {
+                    encodeBuilder.append("""
+                                %s;
+                        """.formatted(write(parameter.getType(), blockIndex(offsets[i]), parameterName)));
+                }
+                else
+                {
+                    encodeBuilder.append("""
+                                bufferEncoder.encodeVarData(%s);
+                        """.formatted(parameterName));
+                }
+            }
+
+            final String claim = parameters.stream().allMatch(ParameterInfo::isPrimitive)
+                ? "        claim(SbeMessageHeader.ENCODED_LENGTH + %s);\n".formatted(blockLength)
+                : "";
+            methodsBuilder.append("""
+
+                    @Override
+                    public void %s(
+                %s
+                    )
+                    {
+                        %s(%s);
+                        offer();
+                    }
+
+                    public long try%s(
+                %s
+                    )
+                    {
+                        %s(%s);
+                        return tryOffer();
+                    }
+
+                    private void %s(
+                %s
+                    )
+                    {
+                %s        final int sbeHeaderOffset = bufferEncoder.reserve(SbeMessageHeader.ENCODED_LENGTH + %s);
+                        final MutableDirectBuffer sbeBuffer = bufferEncoder.getBuffer();
+                        SbeMessageHeader.encode(sbeBuffer, sbeHeaderOffset, %s, %s, SCHEMA_ID, SCHEMA_VERSION);
+                        final int sbeBlockOffset = sbeHeaderOffset + SbeMessageHeader.ENCODED_LENGTH;
+                %s    }
+                """.formatted(
+                methodName,
+                parametersJoiner,
+                encodeMethodName,
+                argumentsJoiner,
+                capitalize(methodName),
+                parametersJoiner,
+                encodeMethodName,
+                argumentsJoiner,
+                encodeMethodName,
+                parametersJoiner,
+                claim,
+                blockLength,
+                blockLength,
+                method.getIndex(),
+                encodeBuilder
+            ));
+        }
+
+        return """
+            package %s;
+
+            import io.aeronic.codec.SbeMessageHeader;
+            import io.aeronic.net.AbstractPublisher;
+            import io.aeronic.net.AeronicPublication;
+            import io.aeronic.net.BackPressureStrategy;
+            import org.agrona.MutableDirectBuffer;
+
+            import static java.nio.ByteOrder.LITTLE_ENDIAN;
+
+
+            public class %sPublisher extends AbstractPublisher implements %s
+            {
+                public static final int SCHEMA_ID = %s;
+                public static final int SCHEMA_VERSION = %s;
+
+                public %sPublisher(final AeronicPublication publication)
+                {
+                    super(publication);
+                }
+
+                public %sPublisher(final AeronicPublication publication, final BackPressureStrategy backPressureStrategy)
+                {
+                    super(publication, backPressureStrategy);
+                }
+            %s}
+            """.formatted(
+            packageName,
+            interfaceName,
+            interfaceName,
+            options.getSbeSchemaId(),
+            options.getSbeSchemaVersion(),
+            interfaceName,
+            interfaceName,
+            methodsBuilder
+        );
+    }
+
+    public String generateInvoker(
+        final String packageName,
+        final String interfaceName,
+        final List<MethodInfo> methods,
+        final InterfaceOptions options
+    )
+    {
+        final StringBuilder fieldsBuilder = new StringBuilder();
+        final StringBuilder casesBuilder = new StringBuilder();
+        for (final MethodInfo method : methods)
+        {
+            final List<ParameterInfo> parameters = method.getParameters();
+            final int[] offsets = blockOffsets(interfaceName, method);
+
+            final StringJoiner argumentsJoiner = new StringJoiner(",\n");
+            final StringBuilder decodeBuilder = new StringBuilder();
+            for (int i = 0; i < parameters.size(); i++)
+            {
+                final ParameterInfo parameter = parameters.get(i);
+                final String parameterName = parameter.getName();
+                final String parameterType = parameter.getType();
+                final String decodeExpression;
+                if (parameter.isPrimitive())
+                {
+                    decodeExpression = read(parameterType, blockIndex(offsets[i]));
+                }
+                else if (parameterType.equals(CHAR_SEQUENCE))
+                {
+                    final String viewName = method.getName() + capitalize(parameterName) + "View";
+                    fieldsBuilder.append("""
+                            private final CharSequenceView %s = new CharSequenceView();
+                        """.formatted(viewName));
+                    decodeExpression = "bufferDecoder.decodeVarCharSequence(%s)".formatted(viewName);
+                }
+                else
+                {
+                    decodeExpression = parameterType.equals(STRING) ? "bufferDecoder.decodeVarString()" : "bufferDecoder.decodeVarData()";
+                }
+
+                decodeBuilder.append("""
+                                    final %s %s = %s;
+                    """.formatted(declaredType(parameter), parameterName, decodeExpression));
+                argumentsJoiner.add("                    " + parameterName);
+            }
+
+            casesBuilder.append("""
+                            case %s -> {
+                %s                subscriber.%s(
+                %s
+                                );
+                            }
+                """.formatted(method.getIndex(), decodeBuilder, method.getName(), argumentsJoiner));
+        }
+
+        return """
+            package %s;
+
+            import io.aeronic.codec.BufferDecoder;
+            import io.aeronic.codec.CharSequenceView;
+            import io.aeronic.codec.SbeMessageHeader;
+            import io.aeronic.net.AbstractSubscriberInvoker;
+            import org.agrona.DirectBuffer;
+
+            import static java.nio.ByteOrder.LITTLE_ENDIAN;
+
+
+            public class %sInvoker extends AbstractSubscriberInvoker<%s>
+            {
+                public static final int SCHEMA_ID = %s;
+            %s
+                public %sInvoker(final %s subscriber)
+                {
+                    super(subscriber);
+                }
+
+                public void handle(final BufferDecoder bufferDecoder, final int offset)
+                {
+                    final DirectBuffer sbeBuffer = bufferDecoder.getBuffer();
+                    if (SbeMessageHeader.schemaId(sbeBuffer, offset) != SCHEMA_ID)
+                    {
+                        return;
+                    }
+
+                    final int sbeBlockOffset = offset + SbeMessageHeader.ENCODED_LENGTH;
+                    bufferDecoder.wrap(sbeBuffer, sbeBlockOffset + SbeMessageHeader.blockLength(sbeBuffer, offset));
+                    switch (SbeMessageHeader.templateId(sbeBuffer, offset))
+                    {
+            %s        }
+                }
+            }
+            """.formatted(
+            packageName,
+            interfaceName,
+            interfaceName,
+            options.getSbeSchemaId(),
+            fieldsBuilder,
+            interfaceName,
+            interfaceName,
+            casesBuilder
+        );
+    }
+
+    public String generateSchema(
+        final String packageName,
+        final String interfaceName,
+        final List<MethodInfo> methods,
+        final InterfaceOptions options
+    )
+    {
+        final StringBuilder messagesBuilder = new StringBuilder();
+        for (final MethodInfo method : methods)
+        {
+            final List<ParameterInfo> parameters = method.getParameters();
+            final int[] offsets = blockOffsets(interfaceName, method);
+            final long sameNameCount = methods.stream().filter(m -> m.getName().equals(method.getName())).count();
+            final String messageName = capitalize(method.getName()) + (sameNameCount > 1 ? method.getIndex() : "");
+
+            messagesBuilder.append("""
+                    <sbe:message name="%s" id="%s" blockLength="%s">
+                """.formatted(messageName, method.getIndex(), offsets[parameters.size()]));
+            for (int i = 0; i < parameters.size(); i++)
+            {
+                final ParameterInfo parameter = parameters.get(i);
+                if (parameter.isPrimitive())
+                {
+                    messagesBuilder.append("""
+                                <field name="%s" id="%s" type="%s" offset="%s"/>
+                        """.formatted(parameter.getName(), i + 1, sbeType(parameter.getType()), offsets[i]));
+                }
+            }
+            for (int i = 0; i < parameters.size(); i++)
+            {
+                final ParameterInfo parameter = parameters.get(i);
+                if (!parameter.isPrimitive())
+                {
+                    final String encoding = parameter.getType().equals(BYTES) ? "varDataEncoding" : "varStringEncoding";
+                    messagesBuilder.append("""
+                                <data name="%s" id="%s" type="%s"/>
+                        """.formatted(parameter.getName(), i + 1, encoding));
+                }
+            }
+            messagesBuilder.append("""
+                    </sbe:message>
+                """);
+        }
+
+        return """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <sbe:messageSchema xmlns:sbe="http://fixprotocol.io/2016/sbe"
+                               package="%s"
+                               id="%s"
+                               version="%s"
+                               byteOrder="littleEndian"
+                               description="%s">
+                <types>
+                    <composite name="messageHeader">
+                        <type name="blockLength" primitiveType="uint16"/>
+                        <type name="templateId" primitiveType="uint16"/>
+                        <type name="schemaId" primitiveType="uint16"/>
+                        <type name="version" primitiveType="uint16"/>
+                    </composite>
+                    <composite name="varStringEncoding">
+                        <type name="length" primitiveType="uint32" maxValue="1073741824"/>
+                        <type name="varData" primitiveType="uint8" length="0" characterEncoding="UTF-8"/>
+                    </composite>
+                    <composite name="varDataEncoding">
+                        <type name="length" primitiveType="uint32" maxValue="1073741824"/>
+                        <type name="varData" primitiveType="uint8" length="0"/>
+                    </composite>
+                </types>
+            %s</sbe:messageSchema>
+            """.formatted(
+            packageName,
+            options.getSbeSchemaId(),
+            options.getSbeSchemaVersion(),
+            interfaceName,
+            messagesBuilder
+        );
+    }
+
+    /**
+     * @return the block offset of each primitive parameter, aligned to its size, followed by the block length
+     */
+    private static int[] blockOffsets(final String interfaceName, final MethodInfo method)
+    {
+        final List<ParameterInfo> parameters = method.getParameters();
+        final List<String> unsupported = new ArrayList<>();
+        final int[] offsets = new int[parameters.size() + 1];
+        int offset = 0;
+        for (int i = 0; i < parameters.size(); i++)
+        {
+            final ParameterInfo parameter = parameters.get(i);
+            final String parameterType = parameter.getType();
+            if (parameter.hasCodec())
+            {
+                unsupported.add(parameter.getName());
+            }
+            else if (parameter.isPrimitive())
+            {
+                final int size = sizeOf(parameterType);
+                offset = (offset + size - 1) / size * size;
+                offsets[i] = offset;
+                offset += size;
+            }
+            else if (!parameterType.equals(STRING) && !parameterType.equals(CHAR_SEQUENCE) && !parameterType.equals(BYTES))
+            {
+                unsupported.add(parameter.getName());
+            }
+        }
+
+        if (!unsupported.isEmpty())
+        {
+            throw new IllegalStateException(
+                "SBE interface %s method %s has parameters %s with a codec or not of a primitive, String, CharSequence or byte[] type"
+                    .formatted(interfaceName, method.getName(), unsupported)
+            );
+        }
+
+        offsets[parameters.size()] = offset;
+        return offsets;
+    }
+
+    private static String declaredType(final ParameterInfo parameter)
+    {
+        final String parameterType = parameter.getType();
+        if (parameterType.equals(STRING))
+        {
+            return "String";
+        }
+        return parameterType.equals(CHAR_SEQUENCE) ? "CharSequence" : parameterType;
+    }
+
+    private static String blockIndex(final int offset)
+    {
+        return offset == 0 ? "sbeBlockOffset" : "sbeBlockOffset + " + offset;
+    }
+
+    private static String read(final String type, final String index)
+    {
+        return switch (type)
+        {
+            case "boolean" -> "sbeBuffer.getByte(%s) == 1".formatted(index);
+            case "byte" -> "sbeBuffer.getByte(%s)".formatted(index);
+            default -> "sbeBuffer.get%s(%s, LITTLE_ENDIAN)".formatted(capitalize(type), index);
+        };
+    }
+
+    private static String write(final String type, final String index, final String value)
+    {
+        return switch (type)
+        {
+            case "boolean" -> "sbeBuffer.putByte(%s, (byte) (%s ? 1 : 0))".formatted(index, value);
+            case "byte" -> "sbeBuffer.putByte(%s, %s)".formatted(index, value);
+            default -> "sbeBuffer.put%s(%s, %s, LITTLE_ENDIAN)".formatted(capitalize(type), index, value);
+        };
+    }
+
+    private static String sbeType(final String primitiveType)
+    {
+        return switch (primitiveType)
+        {
+            case "byte" -> "int8";
+            case "short" -> "int16";
+            case "int" -> "int32";
+            case "long" -> "int64";
+            case "float" -> "float";
+            case "double" -> "double";
+            case "char" -> "uint16";
+            case "boolean" -> "uint8";
+            default -> throw new IllegalArgumentException("Not a primitive type: " + primitiveType);
+        };
+    }
+}
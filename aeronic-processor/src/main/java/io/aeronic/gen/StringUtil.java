@@ -10,4 +10,9 @@ public final class StringUtil
     {
         return str.substring(0, 1).toUpperCase() + str.substring(1);
     }
+
+    public static String decapitalize(final String str)
+    {
+        return str.substring(0, 1).toLowerCase() + str.substring(1);
+    }
 }
@@ -0,0 +1,80 @@
+package io.aeronic.gen;
+
+public class StructFieldInfo
+{
+    private final String name;
+    private final String type;
+    private final int offset;
+    private final String getterName;
+    private final String setterName;
+    private final boolean isFluentSetter;
+
+    /**
+     * @param setterName     name of the setter, or {@code null} if the field is read-only
+     * @param isFluentSetter whether the setter returns the struct rather than nothing
+     */
+    public StructFieldInfo(
+        final String name,
+        final String type,
+        final int offset,
+        final String getterName,
+        final String setterName,
+        final boolean isFluentSetter
+    )
+    {
+        this.name = name;
+        this.type = type;
+        this.offset = offset;
+        this.getterName = getterName;
+        this.setterName = setterName;
+        this.isFluentSetter = isFluentSetter;
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public String getType()
+    {
+        return type;
+    }
+
+    public int getOffset()
+    {
+        return offset;
+    }
+
+    public String getGetterName()
+    {
+        return getterName;
+    }
+
+    public String getSetterName()
+    {
+        return setterName;
+    }
+
+    public boolean hasSetter()
+    {
+        return setterName != null;
+    }
+
+    public boolean isFluentSetter()
+    {
+        return isFluentSetter;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "StructFieldInfo{" +
+            "name='" + name + '\'' +
+            ", type='" + type + '\'' +
+            ", offset=" + offset +
+            ", getterName='" + getterName + '\'' +
+            ", setterName='" + setterName + '\'' +
+            ", isFluentSetter=" + isFluentSetter +
+            '}';
+    }
+}
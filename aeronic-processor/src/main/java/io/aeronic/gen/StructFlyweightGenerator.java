@@ -0,0 +1,105 @@
+package io.aeronic.gen;
+
+import static io.aeronic.gen.StringUtil.capitalize;
+
+/**
+ * Generates the flyweight implementing an {@code @AeronicStruct} interface, whose accessors read and write the
+ * buffer it is wrapped over at offsets fixed at generation time.
+ */
+public class StructFlyweightGenerator
+{
+    public String generate(final String packageName, final String interfaceName, final StructInfo struct)
+    {
+        final String flyweightName = interfaceName + "Flyweight";
+        final StringBuilder copyFromBuilder = new StringBuilder();
+        final StringBuilder accessorsBuilder = new StringBuilder();
+        for (final StructFieldInfo field : struct.getFields())
+        {
+            final String index = field.getOffset() == 0 ? "offset" : "offset + " + field.getOffset();
+            copyFromBuilder.append("""
+                        %s;
+                """.formatted(write(field.getType(), index, "source.%s()".formatted(field.getGetterName()))));
+
+            accessorsBuilder.append("""
+
+                    @Override
+                    public %s %s()
+                    {
+                        return %s;
+                    }
+                """.formatted(field.getType(), field.getGetterName(), read(field.getType(), index)));
+
+            if (field.hasSetter())
+            {
+                accessorsBuilder.append("""
+
+                        @Override
+                        public %s %s(final %s %s)
+                        {
+                            %s;%s
+                        }
+                    """.formatted(
+                    field.isFluentSetter() ? flyweightName : "void",
+                    field.getSetterName(),
+                    field.getType(),
+                    field.getName(),
+                    write(field.getType(), index, field.getName()),
+                    field.isFluentSetter() ? "\n        return this;" : ""
+                ));
+            }
+        }
+
+        return """
+            package %s;
+
+            import io.aeronic.codec.AbstractStruct;
+
+
+            public class %s extends AbstractStruct implements %s
+            {
+                public static final int ENCODED_LENGTH = %s;
+
+                public %s()
+                {
+                    super(ENCODED_LENGTH);
+                }
+
+                /**
+                 * Writes every field of the source into the buffer this flyweight is wrapped over.
+                 */
+                public %s copyFrom(final %s source)
+                {
+            %s        return this;
+                }
+            %s}
+            """.formatted(
+            packageName,
+            flyweightName,
+            interfaceName,
+            struct.getEncodedLength(),
+            flyweightName,
+            flyweightName,
+            interfaceName,
+            copyFromBuilder,
+            accessorsBuilder
+        );
+    }
+
+    private static String read(final String type, final String index)
+    {
+        return switch (type)
+        {
+            case "boolean" -> "buffer.getByte(%s) == 1".formatted(index);
+            default -> "buffer.get%s(%s)".formatted(capitalize(type), index);
+        };
+    }
+
+    private static String write(final String type, final String index, final String value)
+    {
+        return switch (type)
+        {
+            case "boolean" -> "mutableBuffer.putByte(%s, (byte) (%s ? 1 : 0))".formatted(index, value);
+            default -> "mutableBuffer.put%s(%s, %s)".formatted(capitalize(type), index, value);
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package io.aeronic.gen;
+
+import java.util.List;
+
+/**
+ * Layout of an {@code @AeronicStruct} interface.
+ */
+public class StructInfo
+{
+    private final String name;
+    private final List<StructFieldInfo> fields;
+    private final int encodedLength;
+
+    /**
+     * @param name fully qualified name of the struct interface
+     */
+    public StructInfo(final String name, final List<StructFieldInfo> fields, final int encodedLength)
+    {
+        this.name = name;
+        this.fields = fields;
+        this.encodedLength = encodedLength;
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * @return fully qualified name of the generated flyweight class
+     */
+    public String getFlyweightName()
+    {
+        return name + "Flyweight";
+    }
+
+    public List<StructFieldInfo> getFields()
+    {
+        return fields;
+    }
+
+    public int getEncodedLength()
+    {
+        return encodedLength;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "StructInfo{" +
+            "name='" + name + '\'' +
+            ", fields=" + fields +
+            ", encodedLength=" + encodedLength +
+            '}';
+    }
+}
@@ -4,11 +4,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static io.aeronic.gen.StringUtil.capitalize;
-import static io.aeronic.gen.TypeUtil.isPrimitive;
 
 public class SubscriberInvokerGenerator
 {
     private final List<String> imports = new ArrayList<>();
+    private final ParameterDecoderWriter parameterDecoderWriter = new ParameterDecoderWriter(this::addImport);
 
     private void addImport(final String importStatement)
     {
@@ -20,31 +20,60 @@ public class SubscriberInvokerGenerator
 
     public String generate(final String packageName, final String interfaceName, final List<MethodInfo> methods)
     {
-        final String handleMethod = generateHandleMethod(methods);
+        return generate(packageName, interfaceName, methods, InterfaceOptions.DEFAULT);
+    }
+
+    public String generate(
+        final String packageName,
+        final String interfaceName,
+        final List<MethodInfo> methods,
+        final InterfaceOptions options
+    )
+    {
+        final StringBuilder fieldsBuilder = new StringBuilder();
+        final StringBuilder methodsBuilder = new StringBuilder();
+        final String handleMethod = generateHandleMethod(fieldsBuilder, methodsBuilder, interfaceName, methods);
 
         return new StringBuilder()
             .append(generatePackageAndImports(packageName, interfaceName))
             .append(generateClassDeclaration(interfaceName))
             .append("\n").append("{").append("\n")
-            .append(generateConstructor(interfaceName))
+            .append(fieldsBuilder)
+            .append(generateConstructor(interfaceName, options))
             .append(handleMethod)
+            .append(generatePartitionKeyMethod(methods))
+            .append(methodsBuilder)
             .append("}").append("\n")
             .toString();
     }
 
-    private String generateHandleMethod(final List<MethodInfo> methods)
+    /**
+     * Invokes the subscriber by default, or the reply callback it is passed, so that the subscriber is never swapped
+     * for a callback.
+     */
+    private String generateHandleMethod(
+        final StringBuilder fieldsBuilder,
+        final StringBuilder methodsBuilder,
+        final String interfaceName,
+        final List<MethodInfo> methods
+    )
     {
         final StringBuilder handleMethodBuilder = new StringBuilder("""
                 public void handle(final BufferDecoder bufferDecoder, final int offset)
+                {
+                    handle(bufferDecoder, offset, subscriber);
+                }
+            
+                public void handle(final BufferDecoder bufferDecoder, final int offset, final %s subscriber)
                 {
                     final int msgType = bufferDecoder.decodeInt();
                     switch (msgType)
                     {
-            """);
+            """.formatted(interfaceName));
 
         for (final MethodInfo interfaceMethod : methods)
         {
-            writeMethodCase(handleMethodBuilder, interfaceMethod);
+            writeMethodCase(fieldsBuilder, methodsBuilder, handleMethodBuilder, interfaceMethod);
         }
 
         handleMethodBuilder.append("""
@@ -55,7 +84,64 @@ public class SubscriberInvokerGenerator
         return handleMethodBuilder.toString();
     }
 
-    private void writeMethodCase(final StringBuilder handleMethodBuilder, final MethodInfo interfaceMethod)
+    /**
+     * Reads the partition key of a message by skipping over the primitives preceding it, for the methods that have
+     * one.
+     */
+    private String generatePartitionKeyMethod(final List<MethodInfo> methods)
+    {
+        if (methods.stream().noneMatch(MethodInfo::hasPartitionKey))
+        {
+            return "";
+        }
+
+        final StringBuilder partitionKeyMethodBuilder = new StringBuilder("""
+            
+                public long partitionKey(final BufferDecoder bufferDecoder)
+                {
+                    final int msgType = bufferDecoder.decodeInt();
+                    switch (msgType)
+                    {
+            """);
+
+        for (final MethodInfo interfaceMethod : methods)
+        {
+            if (!interfaceMethod.hasPartitionKey())
+            {
+                continue;
+            }
+
+            partitionKeyMethodBuilder.append("""
+                            case %s -> {
+                """.formatted(interfaceMethod.getIndex()));
+            final List<ParameterInfo> parameters = interfaceMethod.getParameters();
+            for (int i = 0; i < interfaceMethod.getPartitionKeyIndex(); i++)
+            {
+                partitionKeyMethodBuilder.append("""
+                                    bufferDecoder.decode%s();
+                    """.formatted(capitalize(parameters.get(i).getType())));
+            }
+            partitionKeyMethodBuilder.append("""
+                                return bufferDecoder.decode%s();
+                            }
+                """.formatted(capitalize(parameters.get(interfaceMethod.getPartitionKeyIndex()).getType())));
+        }
+
+        partitionKeyMethodBuilder.append("""
+                    }
+                    return 0;
+                }
+            """);
+
+        return partitionKeyMethodBuilder.toString();
+    }
+
+    private void writeMethodCase(
+        final StringBuilder fieldsBuilder,
+        final StringBuilder methodsBuilder,
+        final StringBuilder handleMethodBuilder,
+        final MethodInfo interfaceMethod
+    )
     {
         final String methodName = interfaceMethod.getName();
         final List<ParameterInfo> parameters = interfaceMethod.getParameters();
@@ -68,7 +154,7 @@ public class SubscriberInvokerGenerator
 
         for (int i = 0; i < parameters.size(); i++)
         {
-            writeParameter(handleMethodBuilder, subscriberInvocation, parameters.get(i));
+            writeParameter(fieldsBuilder, methodsBuilder, handleMethodBuilder, subscriberInvocation, methodName, parameters.get(i));
 
             if (i < parameters.size() - 1)
             {
@@ -88,90 +174,35 @@ public class SubscriberInvokerGenerator
     }
 
     private void writeParameter(
+        final StringBuilder fieldsBuilder,
+        final StringBuilder methodsBuilder,
         final StringBuilder handleMethodBuilder,
         final StringBuilder subscriberInvocation,
+        final String methodName,
         final ParameterInfo parameter
     )
     {
         final String parameterName = parameter.getName();
-        final String parameterType = parameter.getType();
-        if (parameter.isPrimitive())
-        {
-            handleMethodBuilder.append("""
-                                final %s %s = bufferDecoder.decode%s();
-                """.formatted(parameterType, parameterName, capitalize(parameterType)));
-            subscriberInvocation.append("                    %s".formatted(parameterName));
-            return;
-        }
-
-        if (parameter.isArray())
-        {
-            final String arrayType = parameterType.substring(0, parameterType.length() - 2);
-            if (isPrimitive(arrayType))
-            {
-                handleMethodBuilder.append("""
-                                final %s %s = bufferDecoder.decode%sArray();
-                """.formatted(parameterType, parameterName, capitalize(arrayType)));
-            }
-            else
-            {
-                final String className = TypeUtil.extractClassName(arrayType);
-                handleMethodBuilder.append("""
-                                final %s[] %s = bufferDecoder.decodeArray(%s::decode, %s[]::new);
-                """.formatted(className, parameterName, className, className));
-            }
-
-            subscriberInvocation.append("                    %s".formatted(parameterName));
-            return;
-        }
-
-        if (parameterType.equals(String.class.getName()))
-        {
-            handleMethodBuilder.append("""
-                                final String %s = bufferDecoder.decodeString();
-                """.formatted(parameterName));
-            subscriberInvocation.append("                    %s".formatted(parameterName));
-            return;
-        }
-
-        final List<String> genericParameters = parameter.getGenericParameters();
-
-        if (!genericParameters.isEmpty())
-        {
-            final String genericParameter = genericParameters.get(0);
-            final String genericParameterClassName = TypeUtil.extractClassName(genericParameter);
-            final String fullyQualifiedType = parameterType.split("<")[0];
-            final String className = TypeUtil.extractClassName(fullyQualifiedType);
-
-            handleMethodBuilder.append("""
-                                final %s<%s> %s = bufferDecoder.decodeList(%s::decode, ArrayList::new);
-                """.formatted(className, genericParameterClassName, parameterName, genericParameterClassName));
-            subscriberInvocation.append("                    %s".formatted(parameterName));
-
-            addImport("import %s;".formatted(genericParameter));
-            addImport("import %s;".formatted(fullyQualifiedType));
-            addImport("import java.util.ArrayList;");
-            return;
-        }
-
-        final String className = TypeUtil.extractClassName(parameterType);
+        final String declaredType = parameterDecoderWriter.declaredType(parameter);
+        final String decodeExpression =
+            parameterDecoderWriter.decodeExpression(fieldsBuilder, methodsBuilder, methodName, parameter, "bufferDecoder");
         handleMethodBuilder.append("""
-                            final %s %s = %s.decode(bufferDecoder);
-            """.formatted(className, parameterName, className));
+                            final %s %s = %s;
+            """.formatted(declaredType, parameterName, decodeExpression));
         subscriberInvocation.append("                    %s".formatted(parameterName));
-        addImport("import %s;".formatted(parameterType));
     }
 
-    private String generateConstructor(final String interfaceName)
+    private String generateConstructor(final String interfaceName, final InterfaceOptions options)
     {
+        final String compactArgument = options.isCompact() ? ", true" : "";
         return """
                 
                 public %sInvoker(final %s subscriber)
                 {
-                    super(subscriber);
+                    super(subscriber%s);
                 }
                         
-            """.formatted(interfaceName, interfaceName);
+            """.formatted(interfaceName, interfaceName, compactArgument);
     }
 
     private String generateClassDeclaration(final String interfaceName)
@@ -1,6 +1,7 @@
 package io.aeronic.gen;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public final class TypeUtil
 {
@@ -14,6 +15,17 @@ public final class TypeUtil
         "long"
     );
 
+    private static final List<String> REUSABLE_CODEC_TYPES = List.of(
+        "org.agrona.collections.IntArrayList",
+        "org.agrona.collections.LongArrayList",
+        "io.aeronic.codec.Decimal"
+    );
+
+    private static final List<String> VALUE_CODEC_TYPES = List.of(
+        "java.math.BigInteger",
+        "java.math.BigDecimal"
+    );
+
     private TypeUtil()
     {
     }
@@ -23,6 +35,53 @@ public final class TypeUtil
         return PRIMITIVES.contains(type);
     }
 
+    /**
+     * Types decoded by {@code BufferDecoder} into a caller-supplied instance, which generated invokers own and reuse.
+     */
+    public static boolean isReusableCodecType(final String type)
+    {
+        return REUSABLE_CODEC_TYPES.contains(type);
+    }
+
+    /**
+     * Immutable types encoded and decoded directly by {@code BufferEncoder} and {@code BufferDecoder}.
+     */
+    public static boolean isValueCodecType(final String type)
+    {
+        return VALUE_CODEC_TYPES.contains(type);
+    }
+
+    public static int sizeOf(final String primitiveType)
+    {
+        return switch (primitiveType)
+        {
+            case "byte", "boolean" -> 1;
+            case "char", "short" -> 2;
+            case "int", "float" -> 4;
+            case "long", "double" -> 8;
+            default -> throw new IllegalArgumentException("Not a primitive type: " + primitiveType);
+        };
+    }
+
+    /**
+     * @return the simple name of a plain declared type, registering its import, or otherwise the type as written
+     */
+    public static String importedTypeName(final ParameterInfo parameter, final Consumer<String> importConsumer)
+    {
+        final String type = parameter.getType();
+        final boolean isGeneric = parameter.getGenericParameters() != null && !parameter.getGenericParameters().isEmpty();
+        if (parameter.isPrimitive() || parameter.isArray() || isGeneric)
+        {
+            return type;
+        }
+
+        if (!type.equals("java.lang." + extractClassName(type)))
+        {
+            importConsumer.accept("import %s;".formatted(type));
+        }
+        return extractClassName(type);
+    }
+
     public static String extractClassName(final String fullyQualifiedType)
     {
         final String[] split = fullyQualifiedType.split("\\.");
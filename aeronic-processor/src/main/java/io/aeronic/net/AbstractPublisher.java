@@ -1,29 +1,412 @@
 package io.aeronic.net;
 
+import io.aeron.logbuffer.BufferClaim;
 import io.aeronic.codec.BufferEncoder;
+import org.agrona.BitUtil;
+import org.agrona.DirectBuffer;
 import org.agrona.ExpandableDirectByteBuffer;
 import org.agrona.MutableDirectBuffer;
 
 public abstract class AbstractPublisher
 {
+    /**
+     * First int of a batch frame, which no single message starts with. It is followed by the int count of messages
+     * in the batch, then by each message prefixed with its int length, all in native byte order.
+     */
+    public static final int BATCH_MARKER = -1;
+    public static final int BATCH_HEADER_LENGTH = BitUtil.SIZE_OF_INT + BitUtil.SIZE_OF_INT;
+
+    /**
+     * First int of a reply frame, followed by the long correlation id of the request replied to and the reply message,
+     * in native byte order.
+     */
+    public static final int REPLY_MARKER = -3;
+    public static final int REPLY_HEADER_LENGTH = BitUtil.SIZE_OF_INT + BitUtil.SIZE_OF_LONG;
+
     private final AeronicPublication publication;
+    private final BackPressureStrategy backPressureStrategy;
     private final MutableDirectBuffer buffer;
+    private final BufferClaim bufferClaim = new BufferClaim();
     protected final BufferEncoder bufferEncoder;
+    private long claimedPosition;
+    private int stagedIndex = AeronicPublication.STAGING_NOT_SUPPORTED;
+    private ClaimCheckRegion claimCheckRegion;
+    private PendingReplies<?> pendingReplies;
+    private boolean replying;
+    private long replyCorrelationId;
+    private boolean batching;
+    private int batchCount;
+    private int batchMessageOffset;
 
     public AbstractPublisher(final AeronicPublication publication)
+    {
+        this(publication, new DroppingBackPressureStrategy());
+    }
+
+    public AbstractPublisher(final AeronicPublication publication, final BackPressureStrategy backPressureStrategy)
+    {
+        this(publication, backPressureStrategy, false);
+    }
+
+    public AbstractPublisher(final AeronicPublication publication, final boolean compact)
+    {
+        this(publication, new DroppingBackPressureStrategy(), compact);
+    }
+
+    public AbstractPublisher(
+        final AeronicPublication publication,
+        final BackPressureStrategy backPressureStrategy,
+        final boolean compact
+    )
     {
         this.publication = publication;
+        this.backPressureStrategy = backPressureStrategy;
         this.buffer = new ExpandableDirectByteBuffer(128);
-        this.bufferEncoder = new BufferEncoder(buffer);
+        this.bufferEncoder = new BufferEncoder(buffer, compact);
+    }
+
+    /**
+     * Binds the region the payloads of {@code @ClaimCheck} parameters are copied into, which this publisher must be
+     * the only writer of.
+     */
+    public void bindClaimCheckRegion(final ClaimCheckRegion claimCheckRegion)
+    {
+        this.claimCheckRegion = claimCheckRegion;
+    }
+
+    /**
+     * Binds the table the callbacks of reply parameters are registered with.
+     */
+    public void bindPendingReplies(final PendingReplies<?> pendingReplies)
+    {
+        this.pendingReplies = pendingReplies;
+    }
+
+    /**
+     * Prefixes the messages published from now on with a reply header, so that they are delivered to the callback of
+     * the request on the requester side, until {@link #endReply()}. Called by invokers for the duration of a request
+     * callback, so that a reply parameter is only valid within it.
+     *
+     * @throws IllegalStateException if a batch is open
+     */
+    public void beginReply(final long correlationId)
+    {
+        if (batching)
+        {
+            throw new IllegalStateException("A reply cannot be published within a batch");
+        }
+
+        replying = true;
+        replyCorrelationId = correlationId;
+        bufferEncoder.reset();
+        reserveReplyHeader();
+    }
+
+    public void endReply()
+    {
+        if (replying)
+        {
+            replying = false;
+            bufferEncoder.reset();
+        }
+    }
+
+    /**
+     * Redirects the encoder straight into the publication log, or into the buffer the publication stages messages in,
+     * for a message of known length. If neither range can be claimed, the message is encoded into the scratch buffer
+     * and copied by {@link #offer()} as usual.
+     *
+     * @param length exact encoded length of the message about to be written
+     */
+    protected void claim(final int length)
+    {
+        if (batching)
+        {
+            return;
+        }
+
+        final int claimLength = replying ? REPLY_HEADER_LENGTH + length : length;
+        claimedPosition = publication.tryClaim(claimLength, bufferClaim);
+        if (claimedPosition > 0)
+        {
+            wrapClaimed(bufferClaim.buffer(), bufferClaim.offset());
+            return;
+        }
+
+        stagedIndex = publication.tryClaimStaged(claimLength);
+        if (stagedIndex >= 0)
+        {
+            wrapClaimed(publication.stagingBuffer(), stagedIndex);
+        }
+    }
+
+    /**
+     * Registers the callback of a request with the bound table, before the request is claimed, so that a missing
+     * table fails without holding up the stream. A request that then fails to be published times out.
+     *
+     * @return the correlation id to encode in place of the callback
+     * @throws IllegalStateException if no table is bound, or it cannot take the registration
+     */
+    @SuppressWarnings("unchecked")
+    protected long registerReply(final Object reply)
+    {
+        if (pendingReplies == null)
+        {
+            throw new IllegalStateException("No pending replies are bound to " + getClass().getSimpleName());
+        }
+
+        return ((PendingReplies<Object>)pendingReplies).register(reply);
+    }
+
+    /**
+     * Copies the whole payload into the bound region, before the message referring to it is claimed, so that neither
+     * a failure nor the copy of a large payload happens while the claim holds up the stream.
+     *
+     * @return the generation and offset of the payload, for {@link #encodeClaimCheck(long, int)}
+     * @throws IllegalStateException    if no region is bound
+     * @throws IllegalArgumentException if the payload is longer than the region
+     */
+    protected long appendClaimCheck(final DirectBuffer payload)
+    {
+        if (claimCheckRegion == null)
+        {
+            throw new IllegalStateException("No claim check region is bound to " + getClass().getSimpleName());
+        }
+
+        final int offset = claimCheckRegion.append(payload, 0, payload.capacity());
+        return ((long)claimCheckRegion.getGeneration() << 32) | (offset & 0xFFFF_FFFFL);
     }
 
+    /**
+     * Encodes the reference to a payload appended by {@link #appendClaimCheck(DirectBuffer)}.
+     */
+    protected void encodeClaimCheck(final long reference, final int length)
+    {
+        bufferEncoder.encode(claimCheckRegion.getRegionId());
+        bufferEncoder.encode((int)(reference >>> 32));
+        bufferEncoder.encode((int)reference);
+        bufferEncoder.encode(length);
+    }
+
+    /**
+     * Discards the message being encoded after a failure, aborting its claim if it was claimed, so that the claimed
+     * range is padded out rather than left uncommitted, and the next message is encoded from the start again.
+     */
+    protected void abortClaim()
+    {
+        if (batching)
+        {
+            bufferEncoder.wrap(buffer, 0);
+            bufferEncoder.reserve(batchMessageOffset + BitUtil.SIZE_OF_INT);
+            return;
+        }
+
+        if (claimedPosition > 0)
+        {
+            bufferClaim.abort();
+            claimedPosition = 0;
+        }
+        if (stagedIndex >= 0)
+        {
+            publication.abortStaged(stagedIndex);
+            stagedIndex = AeronicPublication.STAGING_NOT_SUPPORTED;
+        }
+        bufferEncoder.wrap(buffer, 0);
+        reserveReplyHeader();
+    }
+
+    /**
+     * Publishes the encoded message, applying the {@link BackPressureStrategy} if it is not accepted straight away.
+     */
     protected void offer()
     {
-        if (publication.isConnected())
+        if (batching)
+        {
+            appendToBatch();
+            return;
+        }
+
+        if (claimedPosition > 0 || stagedIndex >= 0)
+        {
+            commit();
+            return;
+        }
+
+        backPressureStrategy.offer(publication, buffer, 0, bufferEncoder.getEncodedLength());
+        bufferEncoder.reset();
+        reserveReplyHeader();
+    }
+
+    /**
+     * Publishes the encoded message with a single attempt.
+     *
+     * @return the new position on success, otherwise one of the negative results of {@link io.aeron.Publication#offer},
+     * or 0 while a batch is open as the message is only published by {@link #commitBatch()} or {@link #tryCommitBatch()}
+     */
+    protected long tryOffer()
+    {
+        if (batching)
+        {
+            appendToBatch();
+            return 0;
+        }
+
+        if (claimedPosition > 0 || stagedIndex >= 0)
+        {
+            return commit();
+        }
+
+        final long result = publication.offer(buffer, 0, bufferEncoder.getEncodedLength());
+        bufferEncoder.reset();
+        reserveReplyHeader();
+        return result;
+    }
+
+    /**
+     * Starts collecting the messages of subsequent calls into a single batch frame, published by {@link #commitBatch()}
+     * as one message and dispatched in order within one poll on the subscriber side. A batch must fit in the maximum
+     * payload length of the publication to be delivered as a single fragment.
+     *
+     * @throws IllegalStateException if a batch is already open, or a reply is
+     */
+    public void beginBatch()
+    {
+        if (batching)
         {
-            publication.offer(buffer);
+            throw new IllegalStateException("A batch is already open");
+        }
+        if (replying)
+        {
+            throw new IllegalStateException("A batch cannot be opened within a reply");
         }
 
+        batching = true;
+        batchCount = 0;
+        bufferEncoder.reserve(BATCH_HEADER_LENGTH);
+        batchMessageOffset = bufferEncoder.reserve(BitUtil.SIZE_OF_INT);
+    }
+
+    /**
+     * Publishes the open batch, applying the {@link BackPressureStrategy} if it is not accepted straight away. An empty
+     * batch is not published.
+     *
+     * @throws IllegalStateException if no batch is open
+     */
+    public void commitBatch()
+    {
+        final int length = closeBatch();
+        if (length > 0)
+        {
+            backPressureStrategy.offer(publication, buffer, 0, length);
+        }
         bufferEncoder.reset();
     }
+
+    /**
+     * Publishes the open batch with a single attempt. Either way the batch is closed, as with {@link #commitBatch()}.
+     *
+     * @return the new position on success, otherwise one of the negative results of {@link io.aeron.Publication#offer},
+     * or 0 if the batch was empty
+     * @throws IllegalStateException if no batch is open
+     */
+    public long tryCommitBatch()
+    {
+        final int length = closeBatch();
+        final long result = length > 0 ? publication.offer(buffer, 0, length) : 0;
+        bufferEncoder.reset();
+        return result;
+    }
+
+    /**
+     * Discards the open batch, if any, together with a message partially encoded into it.
+     */
+    public void abortBatch()
+    {
+        batching = false;
+        bufferEncoder.reset();
+    }
+
+    public boolean isBatching()
+    {
+        return batching;
+    }
+
+    private void appendToBatch()
+    {
+        buffer.putInt(batchMessageOffset, bufferEncoder.getEncodedLength() - batchMessageOffset - BitUtil.SIZE_OF_INT);
+        batchCount++;
+        batchMessageOffset = bufferEncoder.reserve(BitUtil.SIZE_OF_INT);
+    }
+
+    /**
+     * @return the length of the batch frame, excluding the length slot reserved for a next message, or 0 if it is empty
+     */
+    private int closeBatch()
+    {
+        if (!batching)
+        {
+            throw new IllegalStateException("No batch is open");
+        }
+
+        batching = false;
+        if (batchCount == 0)
+        {
+            return 0;
+        }
+
+        buffer.putInt(0, BATCH_MARKER);
+        buffer.putInt(BitUtil.SIZE_OF_INT, batchCount);
+        return batchMessageOffset;
+    }
+
+    private long commit()
+    {
+        final long position;
+        if (stagedIndex >= 0)
+        {
+            position = publication.commitStaged(stagedIndex);
+            stagedIndex = AeronicPublication.STAGING_NOT_SUPPORTED;
+        }
+        else
+        {
+            position = claimedPosition;
+            bufferClaim.commit();
+            claimedPosition = 0;
+        }
+        bufferEncoder.wrap(buffer, 0);
+        reserveReplyHeader();
+        return position;
+    }
+
+    /**
+     * Encodes the message about to be written into a claimed range, after the reply header while replying.
+     */
+    private void wrapClaimed(final MutableDirectBuffer claimedBuffer, final int offset)
+    {
+        if (replying)
+        {
+            putReplyHeader(claimedBuffer, offset);
+            bufferEncoder.wrap(claimedBuffer, offset + REPLY_HEADER_LENGTH);
+            return;
+        }
+
+        bufferEncoder.wrap(claimedBuffer, offset);
+    }
+
+    /**
+     * Starts the next message in the scratch buffer with the reply header while replying.
+     */
+    private void reserveReplyHeader()
+    {
+        if (replying)
+        {
+            putReplyHeader(buffer, bufferEncoder.reserve(REPLY_HEADER_LENGTH));
+        }
+    }
+
+    private void putReplyHeader(final MutableDirectBuffer headerBuffer, final int offset)
+    {
+        headerBuffer.putInt(offset, REPLY_MARKER);
+        headerBuffer.putLong(offset + BitUtil.SIZE_OF_INT, replyCorrelationId);
+    }
 }
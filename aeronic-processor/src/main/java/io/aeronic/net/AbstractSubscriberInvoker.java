@@ -1,16 +1,35 @@
 package io.aeronic.net;
 
 import io.aeronic.codec.BufferDecoder;
+import org.agrona.BitUtil;
 import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 
 public abstract class AbstractSubscriberInvoker<T>
 {
     protected final T subscriber;
-    protected final BufferDecoder bufferDecoder = new BufferDecoder();
+    protected final BufferDecoder bufferDecoder;
+    private final BufferDecoder partitionKeyDecoder;
+    private final Map<Class<?>, AbstractPublisher> replyPublisherByInterface = new IdentityHashMap<>();
+    private final List<AbstractPublisher> replyPublishers = new ArrayList<>();
+    private ClaimCheckRegion claimCheckRegion;
+    private PendingReplies<T> pendingReplies;
 
     public AbstractSubscriberInvoker(final T subscriber)
+    {
+        this(subscriber, false);
+    }
+
+    public AbstractSubscriberInvoker(final T subscriber, final boolean compact)
     {
         this.subscriber = subscriber;
+        this.bufferDecoder = new BufferDecoder(compact);
+        this.partitionKeyDecoder = new BufferDecoder(compact);
     }
 
     public T getSubscriber()
@@ -18,11 +37,218 @@ public abstract class AbstractSubscriberInvoker<T>
         return subscriber;
     }
 
+    /**
+     * Binds the region the payloads of {@code @ClaimCheck} parameters are resolved from.
+     */
+    public void bindClaimCheckRegion(final ClaimCheckRegion claimCheckRegion)
+    {
+        this.claimCheckRegion = claimCheckRegion;
+    }
+
+    /**
+     * Binds the publisher the reply parameters of the given {@code @Aeronic} interface are answered with, which must
+     * only be used by this invoker.
+     */
+    public void bindReplyPublisher(final Class<?> replyInterface, final AbstractPublisher replyPublisher)
+    {
+        replyPublisherByInterface.put(replyInterface, replyPublisher);
+        replyPublishers.add(replyPublisher);
+    }
+
+    /**
+     * Binds the table of pending requests the reply frames received by this invoker complete, making it the invoker of
+     * a reply interface which dispatches each reply to the callback of its request rather than to the subscriber.
+     */
+    public void bindPendingReplies(final PendingReplies<T> pendingReplies)
+    {
+        this.pendingReplies = pendingReplies;
+    }
+
     protected abstract void handle(final BufferDecoder bufferDecoder, final int offset);
 
-    public void handle(final DirectBuffer buffer, final int offset)
+    /**
+     * Decodes a message and invokes it on the given target rather than the subscriber. Overridden by the generated
+     * invokers, which dispatch replies to the callbacks of their requests with it.
+     *
+     * @throws UnsupportedOperationException unless overridden
+     */
+    protected void handle(final BufferDecoder bufferDecoder, final int offset, final T target)
+    {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " cannot dispatch replies");
+    }
+
+    public void handle(final DirectBuffer buffer, final int offset, final int length)
     {
+        if (hasMarker(buffer, offset, length, AbstractPublisher.BATCH_MARKER))
+        {
+            handleBatch(buffer, offset);
+            return;
+        }
+
+        if (hasMarker(buffer, offset, length, ChunkedPublisher.CHUNK_MARKER))
+        {
+            onChunk(
+                buffer.getLong(offset + ChunkedPublisher.TRANSFER_ID_OFFSET),
+                buffer.getInt(offset + ChunkedPublisher.SEQUENCE_OFFSET),
+                buffer,
+                offset + ChunkedPublisher.CHUNK_HEADER_LENGTH,
+                buffer.getInt(offset + ChunkedPublisher.PAYLOAD_LENGTH_OFFSET),
+                (buffer.getInt(offset + ChunkedPublisher.FLAGS_OFFSET) & ChunkedPublisher.LAST_CHUNK_FLAG) != 0
+            );
+            return;
+        }
+
+        if (hasMarker(buffer, offset, length, AbstractPublisher.REPLY_MARKER))
+        {
+            handleReply(buffer, offset);
+            return;
+        }
+
         bufferDecoder.wrap(buffer, offset);
-        handle(bufferDecoder, offset);
+        dispatch(bufferDecoder, offset);
+    }
+
+    /**
+     * Reads the {@code @PartitionKey} of a message without decoding the rest of it. Uses a decoder of its own, so it
+     * may be called on the thread routing messages while the invoker handles them on another.
+     *
+     * @return the partition key, or 0 if the method of the message has none
+     */
+    public long partitionKey(final DirectBuffer buffer, final int offset)
+    {
+        partitionKeyDecoder.wrap(buffer, offset);
+        return partitionKey(partitionKeyDecoder);
+    }
+
+    /**
+     * Overridden by invokers of interfaces with {@code @PartitionKey} parameters.
+     */
+    protected long partitionKey(final BufferDecoder bufferDecoder)
+    {
+        return 0;
+    }
+
+    /**
+     * Handles the messages of a batch frame written by {@link AbstractPublisher#beginBatch()} in order. Each may be a
+     * frame itself, as a {@link BatchingPublication} packs the batches and replies of its publisher into its own.
+     */
+    private void handleBatch(final DirectBuffer buffer, final int offset)
+    {
+        final int count = buffer.getInt(offset + BitUtil.SIZE_OF_INT);
+        int messageOffset = offset + AbstractPublisher.BATCH_HEADER_LENGTH;
+        for (int i = 0; i < count; i++)
+        {
+            final int length = buffer.getInt(messageOffset);
+            messageOffset += BitUtil.SIZE_OF_INT;
+            handle(buffer, messageOffset, length);
+            messageOffset += length;
+        }
+    }
+
+    /**
+     * Hands a reply written by {@link AbstractPublisher#beginReply(long)} to the callback of its request, dropping it
+     * if the request is not pending, as it was made by another requester on the stream, has timed out or has already
+     * been replied to.
+     */
+    private void handleReply(final DirectBuffer buffer, final int offset)
+    {
+        final T reply = pendingReplies != null ? pendingReplies.complete(buffer.getLong(offset + BitUtil.SIZE_OF_INT)) : null;
+        if (reply == null)
+        {
+            return;
+        }
+
+        final int messageOffset = offset + AbstractPublisher.REPLY_HEADER_LENGTH;
+        bufferDecoder.wrap(buffer, messageOffset);
+        handle(bufferDecoder, messageOffset, reply);
+    }
+
+    /**
+     * Invokes the subscriber, closing the replies it was passed once it returns.
+     */
+    private void dispatch(final BufferDecoder bufferDecoder, final int offset)
+    {
+        try
+        {
+            handle(bufferDecoder, offset);
+        }
+        finally
+        {
+            for (int i = 0; i < replyPublishers.size(); i++)
+            {
+                replyPublishers.get(i).endReply();
+            }
+        }
+    }
+
+    /**
+     * Decodes the correlation id of a request and opens a reply to it on the bound reply publisher, which is only valid
+     * until the subscriber returns.
+     *
+     * @throws IllegalStateException if no reply publisher is bound for the interface
+     */
+    protected <R> R replyTo(final BufferDecoder bufferDecoder, final Class<R> replyInterface)
+    {
+        final long correlationId = bufferDecoder.decodeLong();
+        final AbstractPublisher replyPublisher = replyPublisherByInterface.get(replyInterface);
+        if (replyPublisher == null)
+        {
+            throw new IllegalStateException(
+                "No reply publisher for %s is bound to %s".formatted(replyInterface.getSimpleName(), getClass().getSimpleName())
+            );
+        }
+
+        replyPublisher.beginReply(correlationId);
+        return replyInterface.cast(replyPublisher);
+    }
+
+    /**
+     * Decodes a reference to a {@code @ClaimCheck} payload and wraps the view over it in the bound region.
+     *
+     * @throws IllegalStateException if no region is bound, or the payload is not in it as the reference is to another
+     *                               region or the publisher has since overwritten it
+     */
+    protected DirectBuffer resolveClaimCheck(final BufferDecoder bufferDecoder, final UnsafeBuffer view)
+    {
+        final int regionId = bufferDecoder.decodeInt();
+        final int generation = bufferDecoder.decodeInt();
+        final int offset = bufferDecoder.decodeInt();
+        final int length = bufferDecoder.decodeInt();
+        if (claimCheckRegion == null)
+        {
+            throw new IllegalStateException("No claim check region is bound to " + getClass().getSimpleName());
+        }
+        if (!claimCheckRegion.wrap(regionId, generation, offset, length, view))
+        {
+            throw new IllegalStateException(
+                "Claim check payload at generation %d offset %d of region %d is no longer held by region %d"
+                    .formatted(generation, offset, regionId, claimCheckRegion.getRegionId())
+            );
+        }
+        return view;
+    }
+
+    /**
+     * Receives a chunk streamed by a {@link ChunkedPublisher} on the stream, which is ignored unless overridden.
+     */
+    protected void onChunk(
+        final long transferId,
+        final int sequence,
+        final DirectBuffer buffer,
+        final int offset,
+        final int length,
+        final boolean isLast
+    )
+    {
+    }
+
+    /**
+     * Messages start with their method index, which is never negative, or, in the SBE format, a block length, which
+     * never has all its bits set, so the batch, chunk and reply markers are unambiguous. Messages shorter than an int
+     * are compact and so cannot be frames of any.
+     */
+    static boolean hasMarker(final DirectBuffer buffer, final int offset, final int length, final int marker)
+    {
+        return length >= BitUtil.SIZE_OF_INT && buffer.getInt(offset) == marker;
     }
 }
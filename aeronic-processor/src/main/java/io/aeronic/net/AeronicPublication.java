@@ -1,10 +1,97 @@
 package io.aeronic.net;
 
+import io.aeron.logbuffer.BufferClaim;
 import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
 
 public interface AeronicPublication
 {
+    /**
+     * Result of {@link #tryClaim(int, BufferClaim)} for publications that cannot encode in place.
+     */
+    long CLAIM_NOT_SUPPORTED = 0;
+
+    /**
+     * Result of {@link #tryClaimStaged(int)} for publications that do not stage messages in a buffer of their own.
+     */
+    int STAGING_NOT_SUPPORTED = -1;
+
     boolean isConnected();
-    void offer(DirectBuffer buffer);
+
+    /**
+     * Offers an encoded message.
+     *
+     * @param buffer buffer containing the encoded message
+     * @param offset offset of the message in the buffer
+     * @param length length of the message
+     * @return the new position on success, otherwise one of the negative results of {@link io.aeron.Publication#offer}
+     */
+    long offer(DirectBuffer buffer, int offset, int length);
+
+    /**
+     * Offers the message of the previous {@link #offer(DirectBuffer, int, int)} again after it was back pressured or
+     * met an admin action, as done by a {@link BackPressureStrategy} retrying it. A publication fanning the message out
+     * to several destinations only offers it to those that did not accept it yet, so that none receives it twice.
+     *
+     * @return the new position once every destination has accepted the message, otherwise one of the negative results
+     * of {@link io.aeron.Publication#offer}
+     */
+    default long retryOffer(final DirectBuffer buffer, final int offset, final int length)
+    {
+        return offer(buffer, offset, length);
+    }
+
     void close();
+
+    /**
+     * Attempts to claim a range of the underlying log so that a message of known length can be encoded in place.
+     *
+     * @param length      exact length of the message to be written
+     * @param bufferClaim claim to be initialised over the log
+     * @return the new position if the range was claimed and must be committed, otherwise a value less than or equal to
+     * {@link #CLAIM_NOT_SUPPORTED}, in which case the message should be offered instead
+     */
+    default long tryClaim(final int length, final BufferClaim bufferClaim)
+    {
+        return CLAIM_NOT_SUPPORTED;
+    }
+
+    /**
+     * Attempts to claim a range of the buffer the publication stages messages in before sending them on, so that a
+     * message of known length can be encoded in place rather than copied in by {@link #offer(DirectBuffer, int, int)}.
+     *
+     * @param length exact length of the message to be written
+     * @return the index of the range in {@link #stagingBuffer()}, to be passed to {@link #commitStaged(int)} or
+     * {@link #abortStaged(int)}, otherwise a negative value, in which case the message should be offered instead
+     */
+    default int tryClaimStaged(final int length)
+    {
+        return STAGING_NOT_SUPPORTED;
+    }
+
+    /**
+     * @return the buffer the ranges claimed by {@link #tryClaimStaged(int)} lie in
+     */
+    default MutableDirectBuffer stagingBuffer()
+    {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not stage messages");
+    }
+
+    /**
+     * Makes a message encoded into a range claimed by {@link #tryClaimStaged(int)} available to be sent.
+     *
+     * @return the new position of the staging buffer
+     */
+    default long commitStaged(final int index)
+    {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not stage messages");
+    }
+
+    /**
+     * Discards a range claimed by {@link #tryClaimStaged(int)}, which is skipped rather than sent.
+     */
+    default void abortStaged(final int index)
+    {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not stage messages");
+    }
 }
@@ -0,0 +1,172 @@
+package io.aeronic.net;
+
+import io.aeron.Publication;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.ControlledMessageHandler;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.ringbuffer.ManyToOneRingBuffer;
+import org.agrona.concurrent.ringbuffer.RingBuffer;
+import org.agrona.concurrent.ringbuffer.RingBufferDescriptor;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Thread-safe publication handing messages over to a sender thread through a many-to-one ring buffer, from which
+ * {@link AsyncPublicationAgent} offers them to the underlying publication. Publishing threads encode messages of
+ * known length straight into a range claimed in the ring buffer, and copy the others in from their scratch buffer, so
+ * they never wait on the network. Messages refused by a back-pressured publication are retried by the sender on its
+ * next duty cycle, holding back the messages behind them, while those refused otherwise are dropped and counted.
+ * <p>
+ * A full ring buffer is reported to the publisher as {@link Publication#BACK_PRESSURED}, to be handled by its
+ * {@link BackPressureStrategy}. Messages longer than {@link #maxMessageLength()}, an eighth of the capacity of the
+ * ring buffer, are rejected.
+ */
+public class AsyncPublication implements AeronicPublication
+{
+    public static final int DEFAULT_CAPACITY = 1024 * 1024;
+
+    private static final int MESSAGE_TYPE_ID = 1;
+    private static final int SEND_LIMIT = 256;
+
+    private final AeronicPublication publication;
+    private final RingBuffer ringBuffer;
+    private final ControlledMessageHandler sender = this::send;
+    private long droppedCount;
+
+    public AsyncPublication(final AeronicPublication publication)
+    {
+        this(publication, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity capacity of the ring buffer, a power of two, which bounds the length of a message to an eighth
+     *                 of it
+     */
+    public AsyncPublication(final AeronicPublication publication, final int capacity)
+    {
+        this.publication = publication;
+        this.ringBuffer = new ManyToOneRingBuffer(
+            new UnsafeBuffer(ByteBuffer.allocateDirect(capacity + RingBufferDescriptor.TRAILER_LENGTH))
+        );
+    }
+
+    @Override
+    public boolean isConnected()
+    {
+        return publication.isConnected();
+    }
+
+    /**
+     * Hands the message over to the sender thread.
+     *
+     * @return the position of the ring buffer after the message, or {@link Publication#BACK_PRESSURED} if it is full
+     * @throws IllegalArgumentException if the message is longer than {@link #maxMessageLength()}
+     */
+    @Override
+    public long offer(final DirectBuffer buffer, final int offset, final int length)
+    {
+        if (length > ringBuffer.maxMsgLength())
+        {
+            throw new IllegalArgumentException(
+                "Message of " + length + " bytes exceeds the max message length of " + ringBuffer.maxMsgLength()
+            );
+        }
+
+        if (!ringBuffer.write(MESSAGE_TYPE_ID, buffer, offset, length))
+        {
+            return Publication.BACK_PRESSURED;
+        }
+        return ringBuffer.producerPosition();
+    }
+
+    /**
+     * Claims a range of the ring buffer for the message to be encoded in place. A message too long for the ring buffer
+     * is left to {@link #offer(DirectBuffer, int, int)} to reject.
+     */
+    @Override
+    public int tryClaimStaged(final int length)
+    {
+        if (length > ringBuffer.maxMsgLength())
+        {
+            return STAGING_NOT_SUPPORTED;
+        }
+        return ringBuffer.tryClaim(MESSAGE_TYPE_ID, length);
+    }
+
+    @Override
+    public MutableDirectBuffer stagingBuffer()
+    {
+        return ringBuffer.buffer();
+    }
+
+    @Override
+    public long commitStaged(final int index)
+    {
+        ringBuffer.commit(index);
+        return ringBuffer.producerPosition();
+    }
+
+    @Override
+    public void abortStaged(final int index)
+    {
+        ringBuffer.abort(index);
+    }
+
+    /**
+     * @return the longest message the ring buffer can hold
+     */
+    public int maxMessageLength()
+    {
+        return ringBuffer.maxMsgLength();
+    }
+
+    /**
+     * Makes a last attempt at sending the handed over messages and closes the underlying publication. The publishing
+     * threads and the agent must have stopped.
+     */
+    @Override
+    public void close()
+    {
+        ringBuffer.controlledRead(sender);
+        publication.close();
+    }
+
+    /**
+     * Offers handed over messages to the underlying publication, in order, until one is back-pressured.
+     *
+     * @return the number of messages sent or dropped
+     */
+    public int sendMessages()
+    {
+        return ringBuffer.controlledRead(sender, SEND_LIMIT);
+    }
+
+    /**
+     * @return the number of messages dropped by the sender, to be read on its thread
+     */
+    public long getDroppedCount()
+    {
+        return droppedCount;
+    }
+
+    private ControlledMessageHandler.Action send(
+        final int msgTypeId,
+        final MutableDirectBuffer buffer,
+        final int index,
+        final int length
+    )
+    {
+        final long result = publication.offer(buffer, index, length);
+        if (result == Publication.BACK_PRESSURED || result == Publication.ADMIN_ACTION)
+        {
+            return ControlledMessageHandler.Action.ABORT;
+        }
+
+        if (result < 0)
+        {
+            droppedCount++;
+        }
+        return ControlledMessageHandler.Action.CONTINUE;
+    }
+}
@@ -0,0 +1,27 @@
+package io.aeronic.net;
+
+import org.agrona.concurrent.Agent;
+
+public class AsyncPublicationAgent implements Agent
+{
+    private final AsyncPublication publication;
+    private final String publisherName;
+
+    public AsyncPublicationAgent(final AsyncPublication publication, final String publisherName)
+    {
+        this.publication = publication;
+        this.publisherName = publisherName;
+    }
+
+    @Override
+    public int doWork()
+    {
+        return publication.sendMessages();
+    }
+
+    @Override
+    public String roleName()
+    {
+        return publisherName;
+    }
+}
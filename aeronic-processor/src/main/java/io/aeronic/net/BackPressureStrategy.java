@@ -0,0 +1,22 @@
+package io.aeronic.net;
+
+import org.agrona.DirectBuffer;
+
+/**
+ * Decides what happens to a message when the publication does not accept it straight away.
+ * Implementations must not allocate, as they are invoked on the publishing thread for every message.
+ */
+@FunctionalInterface
+public interface BackPressureStrategy
+{
+    /**
+     * Offers an encoded message to the publication.
+     *
+     * @param publication publication to offer to
+     * @param buffer      buffer containing the encoded message
+     * @param offset      offset of the message in the buffer
+     * @param length      length of the message
+     * @return the new position of the publication or the last negative result of {@link io.aeron.Publication#offer}
+     */
+    long offer(AeronicPublication publication, DirectBuffer buffer, int offset, int length);
+}
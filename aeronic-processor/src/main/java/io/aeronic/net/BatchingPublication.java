@@ -0,0 +1,243 @@
+package io.aeronic.net;
+
+import io.aeron.Publication;
+import org.agrona.BitUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableDirectByteBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.ControlledMessageHandler;
+import org.agrona.concurrent.NanoClock;
+import org.agrona.concurrent.SystemNanoClock;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.ringbuffer.OneToOneRingBuffer;
+import org.agrona.concurrent.ringbuffer.RingBuffer;
+import org.agrona.concurrent.ringbuffer.RingBufferDescriptor;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import static io.aeronic.net.AbstractPublisher.BATCH_HEADER_LENGTH;
+import static io.aeronic.net.AbstractPublisher.BATCH_MARKER;
+
+/**
+ * Publication staging the messages of a single publisher thread in a ring buffer, from which
+ * {@link BatchingPublicationAgent} packs them into batch frames. A batch is sent as soon as no further message is
+ * staged, when it reaches the maximum batch length, or when its first message has waited for the maximum delay,
+ * so a quiet stream sends every message on its own while a busy one sends fewer, larger frames.
+ * <p>
+ * A full staging buffer is reported to the publisher as {@link Publication#BACK_PRESSURED}, to be handled by its
+ * {@link BackPressureStrategy}. Batches refused by a back-pressured publication are retried on the next duty cycle,
+ * while those refused otherwise are dropped and counted.
+ * <p>
+ * A message longer than the maximum batch length is sent on its own, in order with the batches around it. A message
+ * longer than {@link #maxMessageLength()}, an eighth of the staging capacity, is rejected.
+ */
+public class BatchingPublication implements AeronicPublication
+{
+    public static final int DEFAULT_STAGING_CAPACITY = 64 * 1024;
+    public static final long DEFAULT_MAX_DELAY_NS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private static final int MESSAGE_TYPE_ID = 1;
+
+    private final AeronicPublication publication;
+    private final RingBuffer stagingBuffer;
+    private final int maxBatchLength;
+    private final long maxDelayNs;
+    private final NanoClock nanoClock;
+    private final MutableDirectBuffer batchBuffer = new ExpandableDirectByteBuffer(1024);
+    private final ControlledMessageHandler batchAppender = this::appendToBatch;
+    private int batchLength = BATCH_HEADER_LENGTH;
+    private int batchCount;
+    private long batchStartNs;
+    private boolean batchFull;
+    private long droppedCount;
+
+    public BatchingPublication(final AeronicPublication publication, final int maxBatchLength)
+    {
+        this(publication, maxBatchLength, DEFAULT_MAX_DELAY_NS, stagingCapacityFor(maxBatchLength), SystemNanoClock.INSTANCE);
+    }
+
+    /**
+     * @param publication     publication the batches are offered to
+     * @param maxBatchLength  length a batch is sent at, normally the maximum payload length of the publication
+     * @param maxDelayNs      longest a staged message waits for further messages under sustained load
+     * @param stagingCapacity capacity of the staging ring buffer, a power of two of at least eight times the maximum
+     *                        batch length, so that any message fitting in a batch can be staged
+     * @param nanoClock       clock the delay is measured with
+     * @throws IllegalArgumentException if the staging capacity is too small for the maximum batch length
+     */
+    public BatchingPublication(
+        final AeronicPublication publication,
+        final int maxBatchLength,
+        final long maxDelayNs,
+        final int stagingCapacity,
+        final NanoClock nanoClock
+    )
+    {
+        if (stagingCapacity / 8 < maxBatchLength)
+        {
+            throw new IllegalArgumentException(
+                "stagingCapacity=%d cannot stage messages of maxBatchLength=%d".formatted(stagingCapacity, maxBatchLength)
+            );
+        }
+
+        this.publication = publication;
+        this.maxBatchLength = maxBatchLength;
+        this.maxDelayNs = maxDelayNs;
+        this.nanoClock = nanoClock;
+        this.stagingBuffer = new OneToOneRingBuffer(
+            new UnsafeBuffer(ByteBuffer.allocateDirect(stagingCapacity + RingBufferDescriptor.TRAILER_LENGTH))
+        );
+    }
+
+    /**
+     * @return the {@link #DEFAULT_STAGING_CAPACITY}, or the smallest capacity able to stage messages of the maximum
+     * batch length if larger
+     */
+    public static int stagingCapacityFor(final int maxBatchLength)
+    {
+        return Math.max(DEFAULT_STAGING_CAPACITY, BitUtil.findNextPositivePowerOfTwo(8 * maxBatchLength));
+    }
+
+    @Override
+    public boolean isConnected()
+    {
+        return publication.isConnected();
+    }
+
+    /**
+     * Stages the message, to be sent by {@link #sendBatches()}.
+     *
+     * @return the position of the staging buffer after the message, or {@link Publication#BACK_PRESSURED} if it is full
+     * @throws IllegalArgumentException if the message is longer than {@link #maxMessageLength()}
+     */
+    @Override
+    public long offer(final DirectBuffer buffer, final int offset, final int length)
+    {
+        if (length > stagingBuffer.maxMsgLength())
+        {
+            throw new IllegalArgumentException(
+                "Message of " + length + " bytes exceeds the max message length of " + stagingBuffer.maxMsgLength()
+            );
+        }
+
+        if (!stagingBuffer.write(MESSAGE_TYPE_ID, buffer, offset, length))
+        {
+            return Publication.BACK_PRESSURED;
+        }
+        return stagingBuffer.producerPosition();
+    }
+
+    /**
+     * Makes a last attempt at sending the staged messages and closes the underlying publication. The publisher and the
+     * agent must have stopped.
+     */
+    @Override
+    public void close()
+    {
+        sendBatches();
+        publication.close();
+    }
+
+    /**
+     * Moves staged messages into the current batch and sends it when it is due.
+     *
+     * @return the number of messages moved and batches sent
+     */
+    public int sendBatches()
+    {
+        int workCount = 0;
+        if (!batchFull)
+        {
+            workCount += stagingBuffer.controlledRead(batchAppender);
+        }
+
+        final boolean isDue = batchFull
+            || stagingBuffer.consumerPosition() == stagingBuffer.producerPosition()
+            || nanoClock.nanoTime() - batchStartNs >= maxDelayNs;
+        if (batchCount > 0 && isDue && sendBatch())
+        {
+            workCount++;
+        }
+        return workCount;
+    }
+
+    /**
+     * @return the longest message the staging buffer can hold
+     */
+    public int maxMessageLength()
+    {
+        return stagingBuffer.maxMsgLength();
+    }
+
+    public long getDroppedCount()
+    {
+        return droppedCount;
+    }
+
+    private ControlledMessageHandler.Action appendToBatch(
+        final int msgTypeId,
+        final MutableDirectBuffer buffer,
+        final int index,
+        final int length
+    )
+    {
+        final int appendedLength = BitUtil.SIZE_OF_INT + length;
+        if (batchCount > 0 && batchLength + appendedLength > maxBatchLength)
+        {
+            batchFull = true;
+            return ControlledMessageHandler.Action.ABORT;
+        }
+
+        if (batchCount == 0)
+        {
+            batchStartNs = nanoClock.nanoTime();
+        }
+        batchBuffer.putInt(batchLength, length);
+        batchBuffer.putBytes(batchLength + BitUtil.SIZE_OF_INT, buffer, index, length);
+        batchLength += appendedLength;
+        batchCount++;
+
+        if (batchLength >= maxBatchLength)
+        {
+            batchFull = true;
+            return ControlledMessageHandler.Action.BREAK;
+        }
+        return ControlledMessageHandler.Action.CONTINUE;
+    }
+
+    /**
+     * A batch of one message is sent as that message alone, saving the batch header.
+     *
+     * @return whether the batch was accepted by the publication
+     */
+    private boolean sendBatch()
+    {
+        final long result;
+        if (batchCount == 1)
+        {
+            final int messageOffset = BATCH_HEADER_LENGTH + BitUtil.SIZE_OF_INT;
+            result = publication.offer(batchBuffer, messageOffset, batchLength - messageOffset);
+        }
+        else
+        {
+            batchBuffer.putInt(0, BATCH_MARKER);
+            batchBuffer.putInt(BitUtil.SIZE_OF_INT, batchCount);
+            result = publication.offer(batchBuffer, 0, batchLength);
+        }
+
+        if (result == Publication.BACK_PRESSURED || result == Publication.ADMIN_ACTION)
+        {
+            return false;
+        }
+
+        if (result < 0)
+        {
+            droppedCount += batchCount;
+        }
+        batchLength = BATCH_HEADER_LENGTH;
+        batchCount = 0;
+        batchFull = false;
+        return result >= 0;
+    }
+}
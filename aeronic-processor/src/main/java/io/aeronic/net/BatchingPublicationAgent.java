@@ -0,0 +1,27 @@
+package io.aeronic.net;
+
+import org.agrona.concurrent.Agent;
+
+public class BatchingPublicationAgent implements Agent
+{
+    private final BatchingPublication publication;
+    private final String publisherName;
+
+    public BatchingPublicationAgent(final BatchingPublication publication, final String publisherName)
+    {
+        this.publication = publication;
+        this.publisherName = publisherName;
+    }
+
+    @Override
+    public int doWork()
+    {
+        return publication.sendBatches();
+    }
+
+    @Override
+    public String roleName()
+    {
+        return publisherName;
+    }
+}
@@ -0,0 +1,42 @@
+package io.aeronic.net;
+
+import org.agrona.DirectBuffer;
+
+/**
+ * Offers each message once and hands messages that were not accepted to a {@link OfferFailureHandler}.
+ */
+public class CallbackBackPressureStrategy implements BackPressureStrategy
+{
+    private final OfferFailureHandler offerFailureHandler;
+
+    public CallbackBackPressureStrategy(final OfferFailureHandler offerFailureHandler)
+    {
+        this.offerFailureHandler = offerFailureHandler;
+    }
+
+    @Override
+    public long offer(final AeronicPublication publication, final DirectBuffer buffer, final int offset, final int length)
+    {
+        final long result = publication.offer(buffer, offset, length);
+        if (result < 0)
+        {
+            offerFailureHandler.onOfferFailure(result, buffer, offset, length);
+        }
+        return result;
+    }
+
+    @FunctionalInterface
+    public interface OfferFailureHandler
+    {
+        /**
+         * Called on the publishing thread with a message the publication did not accept. The buffer is only valid for
+         * the duration of the call.
+         *
+         * @param result negative result of {@link io.aeron.Publication#offer}
+         * @param buffer buffer containing the encoded message
+         * @param offset offset of the message in the buffer
+         * @param length length of the message
+         */
+        void onOfferFailure(long result, DirectBuffer buffer, int offset, int length);
+    }
+}
@@ -0,0 +1,20 @@
+package io.aeronic.net;
+
+import org.agrona.DirectBuffer;
+
+/**
+ * Receives the chunks of transfers streamed by a {@link ChunkedPublisher}, in order for each publisher.
+ */
+@FunctionalInterface
+public interface ChunkHandler
+{
+    /**
+     * @param transferId id of the transfer the chunk belongs to
+     * @param sequence   sequence of the chunk within the transfer, starting from 0
+     * @param buffer     buffer containing the chunk payload, valid only for the duration of the call
+     * @param offset     offset of the payload in the buffer
+     * @param length     length of the payload
+     * @param isLast     whether the chunk completes the transfer
+     */
+    void onChunk(long transferId, int sequence, DirectBuffer buffer, int offset, int length, boolean isLast);
+}
@@ -0,0 +1,33 @@
+package io.aeronic.net;
+
+import io.aeronic.codec.BufferDecoder;
+import org.agrona.DirectBuffer;
+
+/**
+ * Hands the chunks of a stream to a {@link ChunkHandler}, ignoring any other message.
+ */
+public class ChunkSubscriberInvoker extends AbstractSubscriberInvoker<ChunkHandler>
+{
+    public ChunkSubscriberInvoker(final ChunkHandler chunkHandler)
+    {
+        super(chunkHandler);
+    }
+
+    @Override
+    protected void handle(final BufferDecoder bufferDecoder, final int offset)
+    {
+    }
+
+    @Override
+    protected void onChunk(
+        final long transferId,
+        final int sequence,
+        final DirectBuffer buffer,
+        final int offset,
+        final int length,
+        final boolean isLast
+    )
+    {
+        subscriber.onChunk(transferId, sequence, buffer, offset, length, isLast);
+    }
+}
@@ -0,0 +1,133 @@
+package io.aeronic.net;
+
+import org.agrona.BitUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Streams payloads of any length as a transfer of sequenced chunks, each small enough to be sent as a single frame.
+ * Every chunk starts with {@link #CHUNK_MARKER}, which no message starts with, followed by its sequence within the
+ * transfer, the transfer id, the length of its payload and its flags, all in native byte order. The last chunk of a
+ * transfer carries {@link #LAST_CHUNK_FLAG} and may be empty when the payload ends on a chunk boundary.
+ * <p>
+ * Chunks are received by a {@link ChunkHandler} registered on the stream, such as {@link FileChunkHandler}, while
+ * generated invokers ignore them. A transfer that fails part way is abandoned, leaving the subscriber to discard it
+ * on the gap in sequence.
+ */
+public class ChunkedPublisher
+{
+    public static final int CHUNK_MARKER = -2;
+    public static final int LAST_CHUNK_FLAG = 1;
+
+    static final int SEQUENCE_OFFSET = BitUtil.SIZE_OF_INT;
+    static final int TRANSFER_ID_OFFSET = SEQUENCE_OFFSET + BitUtil.SIZE_OF_INT;
+    static final int PAYLOAD_LENGTH_OFFSET = TRANSFER_ID_OFFSET + BitUtil.SIZE_OF_LONG;
+    static final int FLAGS_OFFSET = PAYLOAD_LENGTH_OFFSET + BitUtil.SIZE_OF_INT;
+    public static final int CHUNK_HEADER_LENGTH = FLAGS_OFFSET + BitUtil.SIZE_OF_INT;
+
+    private final AeronicPublication publication;
+    private final BackPressureStrategy backPressureStrategy;
+    private final int maxChunkLength;
+    private final ByteBuffer chunkByteBuffer;
+    private final UnsafeBuffer chunkBuffer;
+
+    /**
+     * @param publication          publication the chunks are offered to
+     * @param backPressureStrategy strategy applied to every chunk, which should retry, as a dropped chunk fails the
+     *                             transfer
+     * @param maxChunkLength       longest chunk payload, normally the maximum payload length of the publication less
+     *                             {@link #CHUNK_HEADER_LENGTH}
+     */
+    public ChunkedPublisher(
+        final AeronicPublication publication,
+        final BackPressureStrategy backPressureStrategy,
+        final int maxChunkLength
+    )
+    {
+        this.publication = publication;
+        this.backPressureStrategy = backPressureStrategy;
+        this.maxChunkLength = maxChunkLength;
+        this.chunkByteBuffer = ByteBuffer.allocateDirect(CHUNK_HEADER_LENGTH + maxChunkLength);
+        this.chunkBuffer = new UnsafeBuffer(chunkByteBuffer);
+        chunkBuffer.putInt(0, CHUNK_MARKER);
+    }
+
+    public int getMaxChunkLength()
+    {
+        return maxChunkLength;
+    }
+
+    /**
+     * Streams a payload held in a buffer.
+     *
+     * @return the position of the publication after the last chunk, otherwise the negative result of the chunk that
+     * failed, which ends the transfer
+     */
+    public long publish(final long transferId, final DirectBuffer buffer, final int offset, final int length)
+    {
+        int sequence = 0;
+        int chunkOffset = 0;
+        long result;
+        do
+        {
+            final int payloadLength = Math.min(maxChunkLength, length - chunkOffset);
+            chunkBuffer.putBytes(CHUNK_HEADER_LENGTH, buffer, offset + chunkOffset, payloadLength);
+            chunkOffset += payloadLength;
+            result = offerChunk(transferId, sequence++, payloadLength, chunkOffset == length);
+        }
+        while (result > 0 && chunkOffset < length);
+        return result;
+    }
+
+    /**
+     * Streams the remaining content of a blocking channel, such as a {@link java.nio.channels.FileChannel}, reading it
+     * a chunk at a time. The channel is left open.
+     *
+     * @return the position of the publication after the last chunk, otherwise the negative result of the chunk that
+     * failed, which ends the transfer
+     */
+    public long publish(final long transferId, final ReadableByteChannel channel) throws IOException
+    {
+        int sequence = 0;
+        boolean isLast;
+        long result;
+        do
+        {
+            chunkByteBuffer.limit(CHUNK_HEADER_LENGTH + maxChunkLength).position(CHUNK_HEADER_LENGTH);
+            isLast = false;
+            while (chunkByteBuffer.hasRemaining() && !isLast)
+            {
+                isLast = channel.read(chunkByteBuffer) < 0;
+            }
+            result = offerChunk(transferId, sequence++, chunkByteBuffer.position() - CHUNK_HEADER_LENGTH, isLast);
+        }
+        while (result > 0 && !isLast);
+        return result;
+    }
+
+    /**
+     * Streams the remaining content of an input stream. The stream is left open.
+     *
+     * @return the position of the publication after the last chunk, otherwise the negative result of the chunk that
+     * failed, which ends the transfer
+     */
+    public long publish(final long transferId, final InputStream inputStream) throws IOException
+    {
+        return publish(transferId, Channels.newChannel(inputStream));
+    }
+
+    private long offerChunk(final long transferId, final int sequence, final int payloadLength, final boolean isLast)
+    {
+        chunkBuffer.putInt(SEQUENCE_OFFSET, sequence);
+        chunkBuffer.putLong(TRANSFER_ID_OFFSET, transferId);
+        chunkBuffer.putInt(PAYLOAD_LENGTH_OFFSET, payloadLength);
+        chunkBuffer.putInt(FLAGS_OFFSET, isLast ? LAST_CHUNK_FLAG : 0);
+        return backPressureStrategy.offer(publication, chunkBuffer, 0, CHUNK_HEADER_LENGTH + payloadLength);
+    }
+}
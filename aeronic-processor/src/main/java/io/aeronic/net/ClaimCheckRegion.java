@@ -0,0 +1,153 @@
+package io.aeronic.net;
+
+import org.agrona.BitUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.IoUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.io.File;
+import java.nio.MappedByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Memory-mapped file shared by a publisher and the subscribers on its host, holding the {@code @ClaimCheck} payloads
+ * their messages only refer to. The publisher appends payloads one after another, wrapping around to the start of
+ * the region with a new generation when one does not fit. A payload stays valid until the publisher wraps around to
+ * it again, so the region should be sized to hold every payload published while a subscriber may still be handling
+ * an earlier one.
+ * <p>
+ * The region is created by its single writer and opened by any number of readers, each from a single thread.
+ */
+public final class ClaimCheckRegion implements AutoCloseable
+{
+    public static final int ALIGNMENT = 64;
+    public static final int HEADER_LENGTH = 64;
+
+    private static final int REGION_ID_OFFSET = 0;
+    private static final int CAPACITY_OFFSET = REGION_ID_OFFSET + BitUtil.SIZE_OF_INT;
+    private static final int POSITION_OFFSET = CAPACITY_OFFSET + BitUtil.SIZE_OF_INT;
+
+    private final MappedByteBuffer mappedBuffer;
+    private final UnsafeBuffer buffer;
+    private final boolean isWriter;
+    private final int regionId;
+    private final int capacity;
+    private int generation;
+    private int tail;
+
+    private ClaimCheckRegion(final MappedByteBuffer mappedBuffer, final boolean isWriter)
+    {
+        this.mappedBuffer = mappedBuffer;
+        this.buffer = new UnsafeBuffer(mappedBuffer);
+        this.isWriter = isWriter;
+        this.regionId = buffer.getInt(REGION_ID_OFFSET);
+        this.capacity = buffer.getInt(CAPACITY_OFFSET);
+    }
+
+    /**
+     * Creates the region for the publisher, replacing any file at the location, such as one under {@code /dev/shm}.
+     *
+     * @param capacity length available to payloads, rounded up to the {@link #ALIGNMENT}
+     */
+    public static ClaimCheckRegion create(final File location, final int capacity)
+    {
+        final int alignedCapacity = BitUtil.align(capacity, ALIGNMENT);
+        final MappedByteBuffer mappedBuffer = IoUtil.mapNewFile(location, HEADER_LENGTH + (long)alignedCapacity);
+        final UnsafeBuffer header = new UnsafeBuffer(mappedBuffer);
+        header.putInt(REGION_ID_OFFSET, ThreadLocalRandom.current().nextInt());
+        header.putInt(CAPACITY_OFFSET, alignedCapacity);
+        header.putLongVolatile(POSITION_OFFSET, 0);
+        return new ClaimCheckRegion(mappedBuffer, true);
+    }
+
+    /**
+     * Opens a region created by a publisher for a subscriber.
+     */
+    public static ClaimCheckRegion open(final File location)
+    {
+        return new ClaimCheckRegion(IoUtil.mapExistingFile(location, "claim check region"), false);
+    }
+
+    public int getRegionId()
+    {
+        return regionId;
+    }
+
+    public int getCapacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * @return the generation of the last appended payload
+     */
+    public int getGeneration()
+    {
+        return generation;
+    }
+
+    /**
+     * Copies a payload into the region. The new position is published before the copy, so that readers of a
+     * payload being overwritten see it as lost.
+     *
+     * @return the offset of the payload in the current {@link #getGeneration() generation}
+     * @throws IllegalArgumentException if the payload is longer than the region
+     * @throws IllegalStateException    if the region was opened rather than created
+     */
+    public int append(final DirectBuffer payload, final int offset, final int length)
+    {
+        if (!isWriter)
+        {
+            throw new IllegalStateException("Claim check region " + regionId + " is opened for reading");
+        }
+        if (length > capacity)
+        {
+            throw new IllegalArgumentException("Payload of " + length + " bytes exceeds the claim check region of " + capacity);
+        }
+
+        int payloadOffset = tail;
+        if (payloadOffset + length > capacity)
+        {
+            generation++;
+            payloadOffset = 0;
+        }
+        tail = BitUtil.align(payloadOffset + length, ALIGNMENT);
+
+        buffer.putLongVolatile(POSITION_OFFSET, ((long)generation << 32) | tail);
+        buffer.putBytes(HEADER_LENGTH + payloadOffset, payload, offset, length);
+        return payloadOffset;
+    }
+
+    /**
+     * Wraps the view over a payload of the region, if it has not been overwritten yet.
+     *
+     * @return whether the reference is to this region and its payload is intact
+     */
+    public boolean wrap(final int regionId, final int generation, final int offset, final int length, final UnsafeBuffer view)
+    {
+        if (regionId != this.regionId || !isIntact(generation, offset))
+        {
+            return false;
+        }
+
+        view.wrap(buffer, HEADER_LENGTH + offset, length);
+        return true;
+    }
+
+    @Override
+    public void close()
+    {
+        IoUtil.unmap(mappedBuffer);
+    }
+
+    /**
+     * A payload is intact while the writer is in its generation, or in the next one without having reached it.
+     */
+    private boolean isIntact(final int generation, final int offset)
+    {
+        final long position = buffer.getLongVolatile(POSITION_OFFSET);
+        final int currentGeneration = (int)(position >>> 32);
+        final int currentTail = (int)position;
+        return currentGeneration == generation || (currentGeneration == generation + 1 && currentTail <= offset);
+    }
+}
@@ -0,0 +1,29 @@
+package io.aeronic.net;
+
+import org.agrona.DirectBuffer;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Offers each message once and counts the messages that were not accepted.
+ */
+public class DroppingBackPressureStrategy implements BackPressureStrategy
+{
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    @Override
+    public long offer(final AeronicPublication publication, final DirectBuffer buffer, final int offset, final int length)
+    {
+        final long result = publication.offer(buffer, offset, length);
+        if (result < 0)
+        {
+            droppedCount.incrementAndGet();
+        }
+        return result;
+    }
+
+    public long getDroppedCount()
+    {
+        return droppedCount.get();
+    }
+}
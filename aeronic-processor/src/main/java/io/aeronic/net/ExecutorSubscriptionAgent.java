@@ -0,0 +1,289 @@
+package io.aeronic.net;
+
+import io.aeron.ControlledFragmentAssembler;
+import io.aeron.Subscription;
+import io.aeron.logbuffer.ControlledFragmentHandler;
+import io.aeron.logbuffer.Header;
+import org.agrona.BitUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.ErrorHandler;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.Agent;
+import org.agrona.concurrent.OneToOneConcurrentArrayQueue;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Polls a subscription for a subscriber doing blocking work, such as database writes, handing each message to an
+ * executor rather than invoking the subscriber on the polling thread. Messages are routed by their
+ * {@code @PartitionKey} to serial lanes, each with an invoker of its own, which handle their messages one at a time
+ * and in order, while different lanes run concurrently. Methods without a partition key are all handled by the first
+ * lane, so a subscriber without any is invoked in order, only off the polling thread.
+ * <p>
+ * Messages are copied to be handed over, and at most the given number are in flight at once: the polling stops at
+ * the limit, leaving later messages on the subscription until the subscriber catches up. The messages of a batch are
+ * handed over together, so a batch may take the count past the limit.
+ * <p>
+ * The copies are pooled per lane, each returned to its lane once handled, so a lane in a steady state reuses its
+ * buffers, which only grow for longer messages than before. Only the node queueing a copy on its lane is allocated
+ * per message.
+ */
+public class ExecutorSubscriptionAgent<T> implements Agent
+{
+    public static final int DEFAULT_LANE_COUNT = 256;
+    public static final int DEFAULT_MAX_IN_FLIGHT = 4096;
+
+    private static final int POOLED_MESSAGES_PER_LANE = 16;
+
+    private final Subscription subscription;
+    private final ControlledFragmentAssembler fragmentAssembler;
+    private final Executor executor;
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AbstractSubscriberInvoker<T> keyReader;
+    private final Lane[] lanes;
+
+    /**
+     * @param invokers    invokers of the lanes, all for the same thread-safe subscriber
+     * @param executor    executor running the lanes, such as {@link #newVirtualThreadExecutor(ErrorHandler)}, which is
+     *                    shut down on close if it is an {@link ExecutorService}
+     * @param maxInFlight number of messages handed over but not yet handled past which polling stops
+     */
+    public ExecutorSubscriptionAgent(
+        final Subscription subscription,
+        final List<AbstractSubscriberInvoker<T>> invokers,
+        final Executor executor,
+        final int maxInFlight,
+        final ErrorHandler errorHandler
+    )
+    {
+        this(subscription, invokers, executor, maxInFlight, errorHandler, SubscriptionAgent.DEFAULT_REASSEMBLY_BUFFER_LENGTH);
+    }
+
+    /**
+     * @param initialReassemblyBufferLength length the reassembly buffers start at, see {@link SubscriptionAgent}
+     */
+    public ExecutorSubscriptionAgent(
+        final Subscription subscription,
+        final List<AbstractSubscriberInvoker<T>> invokers,
+        final Executor executor,
+        final int maxInFlight,
+        final ErrorHandler errorHandler,
+        final int initialReassemblyBufferLength
+    )
+    {
+        if (invokers.isEmpty())
+        {
+            throw new IllegalArgumentException("An executor subscription needs at least one lane");
+        }
+
+        this.subscription = subscription;
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        this.keyReader = invokers.get(0);
+        this.lanes = new Lane[invokers.size()];
+        for (int i = 0; i < lanes.length; i++)
+        {
+            lanes[i] = new Lane(invokers.get(i), executor, inFlight, errorHandler);
+        }
+        this.fragmentAssembler = new ControlledFragmentAssembler(
+            this::dispatch,
+            initialReassemblyBufferLength,
+            true
+        );
+    }
+
+    /**
+     * Creates an executor starting a virtual thread per task where the runtime has them. Otherwise, as before Java 21,
+     * reports as much to the error handler and falls back to a cached thread pool, whose threads are still bounded by
+     * the lane count as a lane runs one task at a time.
+     */
+    public static ExecutorService newVirtualThreadExecutor(final ErrorHandler errorHandler)
+    {
+        try
+        {
+            return (ExecutorService)Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        }
+        catch (final ReflectiveOperationException e)
+        {
+            errorHandler.onError(new UnsupportedOperationException(
+                "Virtual threads are unavailable on Java %s, falling back to a cached thread pool".formatted(Runtime.version().feature()),
+                e
+            ));
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    @Override
+    public int doWork()
+    {
+        if (inFlight.get() >= maxInFlight)
+        {
+            return 0;
+        }
+        return subscription.controlledPoll(fragmentAssembler, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Stops the executor if it is an {@link ExecutorService}, letting the lanes finish the messages already handed over.
+     */
+    @Override
+    public void onClose()
+    {
+        if (executor instanceof ExecutorService executorService)
+        {
+            executorService.shutdown();
+        }
+    }
+
+    @Override
+    public String roleName()
+    {
+        return keyReader.getSubscriber().getClass().getSimpleName() + "__Dispatcher";
+    }
+
+    /**
+     * @return the number of messages handed over but not yet handled
+     */
+    public int getInFlightCount()
+    {
+        return inFlight.get();
+    }
+
+    public ControlledFragmentHandler.Action dispatch(final DirectBuffer buffer, final int offset, final int length, final Header header)
+    {
+        if (inFlight.get() >= maxInFlight)
+        {
+            return ControlledFragmentHandler.Action.ABORT;
+        }
+
+        dispatchMessages(buffer, offset, length);
+        return ControlledFragmentHandler.Action.CONTINUE;
+    }
+
+    /**
+     * Enqueues the message on the lane of its partition, or each message of a batch, including those of the batches
+     * nested in it. Chunks are partitioned by their transfer id, so that all the chunks of a transfer are handled in order.
+     */
+    private void dispatchMessages(final DirectBuffer buffer, final int offset, final int length)
+    {
+        if (AbstractSubscriberInvoker.hasMarker(buffer, offset, length, ChunkedPublisher.CHUNK_MARKER))
+        {
+            laneFor(buffer.getLong(offset + ChunkedPublisher.TRANSFER_ID_OFFSET)).enqueue(buffer, offset, length);
+            return;
+        }
+
+        if (!AbstractSubscriberInvoker.hasMarker(buffer, offset, length, AbstractPublisher.BATCH_MARKER))
+        {
+            laneFor(keyReader.partitionKey(buffer, offset)).enqueue(buffer, offset, length);
+            return;
+        }
+
+        final int count = buffer.getInt(offset + BitUtil.SIZE_OF_INT);
+        int messageOffset = offset + AbstractPublisher.BATCH_HEADER_LENGTH;
+        for (int i = 0; i < count; i++)
+        {
+            final int messageLength = buffer.getInt(messageOffset);
+            messageOffset += BitUtil.SIZE_OF_INT;
+            dispatchMessages(buffer, messageOffset, messageLength);
+            messageOffset += messageLength;
+        }
+    }
+
+    private Lane laneFor(final long partitionKey)
+    {
+        return lanes[Math.floorMod(Long.hashCode(partitionKey), lanes.length)];
+    }
+
+    /**
+     * Serial executor of the messages of a partition: at most one task drains its queue at a time, submitted when a
+     * message arrives while none is.
+     */
+    private static final class Lane implements Runnable
+    {
+        private final AbstractSubscriberInvoker<?> invoker;
+        private final Executor executor;
+        private final AtomicInteger inFlight;
+        private final ErrorHandler errorHandler;
+        private final Queue<LaneMessage> messages = new ConcurrentLinkedQueue<>();
+        private final Queue<LaneMessage> freeMessages = new OneToOneConcurrentArrayQueue<>(POOLED_MESSAGES_PER_LANE);
+        private final AtomicBoolean isScheduled = new AtomicBoolean();
+
+        private Lane(
+            final AbstractSubscriberInvoker<?> invoker,
+            final Executor executor,
+            final AtomicInteger inFlight,
+            final ErrorHandler errorHandler
+        )
+        {
+            this.invoker = invoker;
+            this.executor = executor;
+            this.inFlight = inFlight;
+            this.errorHandler = errorHandler;
+        }
+
+        void enqueue(final DirectBuffer buffer, final int offset, final int length)
+        {
+            LaneMessage message = freeMessages.poll();
+            if (message == null)
+            {
+                message = new LaneMessage();
+            }
+            message.buffer.putBytes(0, buffer, offset, length);
+            message.length = length;
+            inFlight.incrementAndGet();
+            messages.add(message);
+            if (isScheduled.compareAndSet(false, true))
+            {
+                executor.execute(this);
+            }
+        }
+
+        /**
+         * Drains the queue, returning each message to the pool unless it is full, then checks it again once
+         * unscheduled, as a message may have been added after the last poll but before the flag was cleared.
+         */
+        @Override
+        public void run()
+        {
+            do
+            {
+                LaneMessage message;
+                while ((message = messages.poll()) != null)
+                {
+                    try
+                    {
+                        invoker.handle(message.buffer, 0, message.length);
+                    }
+                    catch (final Throwable throwable)
+                    {
+                        errorHandler.onError(throwable);
+                    }
+                    finally
+                    {
+                        freeMessages.offer(message);
+                        inFlight.decrementAndGet();
+                    }
+                }
+                isScheduled.set(false);
+            }
+            while (!messages.isEmpty() && isScheduled.compareAndSet(false, true));
+        }
+    }
+
+    /**
+     * Copy of a message handed to a lane, written by the polling thread and read by the lane.
+     */
+    private static final class LaneMessage
+    {
+        private final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
+        private int length;
+    }
+}
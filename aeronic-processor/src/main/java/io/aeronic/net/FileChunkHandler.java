@@ -0,0 +1,204 @@
+package io.aeronic.net;
+
+import org.agrona.CloseHelper;
+import org.agrona.DirectBuffer;
+import org.agrona.IoUtil;
+import org.agrona.collections.Long2ObjectHashMap;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reassembles transfers into files of a directory, named after their transfer id, by copying chunks into a window of
+ * the file mapped into memory. The window is remapped further along the file as it fills, and the file is truncated
+ * to the length of the payload once its last chunk arrives.
+ * <p>
+ * A transfer missing a chunk is abandoned and its file deleted, while one restarted from its first chunk replaces
+ * the file. Files are created on the subscriber thread, so transfers should be sized well above the window.
+ */
+public class FileChunkHandler implements ChunkHandler, AutoCloseable
+{
+    public static final long DEFAULT_WINDOW_LENGTH = 64 * 1024 * 1024;
+
+    private final Path directory;
+    private final long windowLength;
+    private final TransferListener transferListener;
+    private final Long2ObjectHashMap<Transfer> transferById = new Long2ObjectHashMap<>();
+    private long failedCount;
+
+    public FileChunkHandler(final Path directory, final TransferListener transferListener)
+    {
+        this(directory, DEFAULT_WINDOW_LENGTH, transferListener);
+    }
+
+    /**
+     * @param directory        directory the files are written to
+     * @param windowLength     length of the file mapped at a time
+     * @param transferListener notified of every completed transfer
+     */
+    public FileChunkHandler(final Path directory, final long windowLength, final TransferListener transferListener)
+    {
+        this.directory = directory;
+        this.windowLength = windowLength;
+        this.transferListener = transferListener;
+    }
+
+    @Override
+    public void onChunk(
+        final long transferId,
+        final int sequence,
+        final DirectBuffer buffer,
+        final int offset,
+        final int length,
+        final boolean isLast
+    )
+    {
+        Transfer transfer = transferById.get(transferId);
+        if (sequence == 0)
+        {
+            if (transfer != null)
+            {
+                abandon(transferId, transfer);
+            }
+            transfer = new Transfer(directory.resolve(Long.toString(transferId)));
+            transferById.put(transferId, transfer);
+        }
+        else if (transfer == null)
+        {
+            return;
+        }
+        else if (sequence != transfer.nextSequence)
+        {
+            abandon(transferId, transfer);
+            return;
+        }
+
+        try
+        {
+            transfer.append(buffer, offset, length, windowLength);
+            if (isLast)
+            {
+                transferById.remove(transferId);
+                transfer.complete();
+                transferListener.onTransferComplete(transferId, transfer.file);
+            }
+        }
+        catch (final IOException e)
+        {
+            abandon(transferId, transfer);
+        }
+    }
+
+    /**
+     * @return the number of transfers abandoned, to be read on the subscriber thread
+     */
+    public long getFailedCount()
+    {
+        return failedCount;
+    }
+
+    /**
+     * Abandons the transfers still in progress.
+     */
+    @Override
+    public void close()
+    {
+        transferById.forEach((transferId, transfer) -> transfer.delete());
+        transferById.clear();
+    }
+
+    private void abandon(final long transferId, final Transfer transfer)
+    {
+        transferById.remove(transferId);
+        transfer.delete();
+        failedCount++;
+    }
+
+    @FunctionalInterface
+    public interface TransferListener
+    {
+        void onTransferComplete(long transferId, Path file);
+    }
+
+    private static class Transfer
+    {
+        private final Path file;
+        private final UnsafeBuffer window = new UnsafeBuffer(0, 0);
+        private FileChannel fileChannel;
+        private MappedByteBuffer mappedWindow;
+        private long windowPosition;
+        private long length;
+        private int nextSequence;
+
+        Transfer(final Path file)
+        {
+            this.file = file;
+        }
+
+        void append(final DirectBuffer buffer, final int offset, final int chunkLength, final long windowLength) throws IOException
+        {
+            if (fileChannel == null)
+            {
+                fileChannel = FileChannel.open(
+                    file,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ,
+                    StandardOpenOption.WRITE
+                );
+            }
+
+            if (mappedWindow == null || length + chunkLength > windowPosition + window.capacity())
+            {
+                unmap();
+                windowPosition = length;
+                mappedWindow = fileChannel.map(FileChannel.MapMode.READ_WRITE, windowPosition, Math.max(windowLength, chunkLength));
+                window.wrap(mappedWindow);
+            }
+
+            window.putBytes((int)(length - windowPosition), buffer, offset, chunkLength);
+            length += chunkLength;
+            nextSequence++;
+        }
+
+        void complete() throws IOException
+        {
+            unmap();
+            if (fileChannel == null)
+            {
+                Files.deleteIfExists(file);
+                Files.createFile(file);
+                return;
+            }
+            fileChannel.truncate(length);
+            fileChannel.close();
+        }
+
+        void delete()
+        {
+            unmap();
+            CloseHelper.quietClose(fileChannel);
+            try
+            {
+                Files.deleteIfExists(file);
+            }
+            catch (final IOException ignore)
+            {
+            }
+        }
+
+        private void unmap()
+        {
+            if (mappedWindow != null)
+            {
+                IoUtil.unmap(mappedWindow);
+                mappedWindow = null;
+            }
+        }
+    }
+}
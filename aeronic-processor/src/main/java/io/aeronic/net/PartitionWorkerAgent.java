@@ -0,0 +1,80 @@
+package io.aeronic.net;
+
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.Agent;
+import org.agrona.concurrent.MessageHandler;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.ringbuffer.OneToOneRingBuffer;
+import org.agrona.concurrent.ringbuffer.RingBuffer;
+import org.agrona.concurrent.ringbuffer.RingBufferDescriptor;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Worker of a {@link PartitionedSubscriptionAgent}, handing the messages routed to it through a one-to-one ring
+ * buffer to an invoker of its own.
+ */
+public class PartitionWorkerAgent<T> implements Agent
+{
+    private static final int MESSAGE_TYPE_ID = 1;
+    private static final int READ_LIMIT = 256;
+
+    private final AbstractSubscriberInvoker<T> invoker;
+    private final String roleName;
+    private final RingBuffer ringBuffer;
+    private final MessageHandler messageHandler = this::onMessage;
+
+    /**
+     * @param ringBufferCapacity capacity of the ring buffer, a power of two of at least eight times the longest message,
+     *                           as longer ones are dropped
+     */
+    public PartitionWorkerAgent(final AbstractSubscriberInvoker<T> invoker, final String roleName, final int ringBufferCapacity)
+    {
+        this.invoker = invoker;
+        this.roleName = roleName;
+        this.ringBuffer = new OneToOneRingBuffer(
+            new UnsafeBuffer(ByteBuffer.allocateDirect(ringBufferCapacity + RingBufferDescriptor.TRAILER_LENGTH))
+        );
+    }
+
+    public AbstractSubscriberInvoker<T> getInvoker()
+    {
+        return invoker;
+    }
+
+    @Override
+    public int doWork()
+    {
+        return ringBuffer.read(messageHandler, READ_LIMIT);
+    }
+
+    @Override
+    public String roleName()
+    {
+        return roleName;
+    }
+
+    /**
+     * Copies a message into the ring buffer, to be called by the routing thread only.
+     *
+     * @return whether there was room for the message
+     */
+    boolean offer(final DirectBuffer buffer, final int offset, final int length)
+    {
+        return ringBuffer.write(MESSAGE_TYPE_ID, buffer, offset, length);
+    }
+
+    /**
+     * @return the longest message the ring buffer can hold, an eighth of its capacity
+     */
+    int maxMessageLength()
+    {
+        return ringBuffer.maxMsgLength();
+    }
+
+    private void onMessage(final int msgTypeId, final MutableDirectBuffer buffer, final int index, final int length)
+    {
+        invoker.handle(buffer, index, length);
+    }
+}
@@ -0,0 +1,173 @@
+package io.aeronic.net;
+
+import io.aeron.ControlledFragmentAssembler;
+import io.aeron.Subscription;
+import io.aeron.logbuffer.ControlledFragmentHandler;
+import io.aeron.logbuffer.Header;
+import org.agrona.BitUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.Agent;
+
+import java.util.List;
+
+/**
+ * Polls a subscription and routes each message to one of several {@link PartitionWorkerAgent workers} by its
+ * {@code @PartitionKey}, reading only the key. Messages with equal keys go to the same worker and so are handled in
+ * the order they were published, while messages with different keys are handled in parallel. The messages of a batch
+ * are routed one by one, and the chunks of a {@link ChunkedPublisher} transfer by its transfer id.
+ * <p>
+ * A message is left on the subscription while the ring buffer of its worker is full, holding back the stream until
+ * the worker catches up. The workers must therefore run on threads other than the one polling. Messages longer than
+ * the ring buffer of their worker can hold are dropped and counted.
+ */
+public class PartitionedSubscriptionAgent<T> implements Agent
+{
+    public static final int DEFAULT_RING_BUFFER_CAPACITY = 1024 * 1024;
+
+    private final Subscription subscription;
+    private final ControlledFragmentAssembler fragmentAssembler;
+    private final AbstractSubscriberInvoker<T> keyReader;
+    private final PartitionWorkerAgent<T>[] workers;
+    private int batchMessageIndex;
+    private int batchRoutedCount;
+    private long droppedCount;
+
+    public PartitionedSubscriptionAgent(final Subscription subscription, final List<PartitionWorkerAgent<T>> workers)
+    {
+        this(subscription, workers, SubscriptionAgent.DEFAULT_REASSEMBLY_BUFFER_LENGTH);
+    }
+
+    /**
+     * @param workers                       workers to route messages to, each with an invoker of its own
+     * @param initialReassemblyBufferLength length the reassembly buffers start at, see {@link SubscriptionAgent}
+     */
+    @SuppressWarnings("unchecked")
+    public PartitionedSubscriptionAgent(
+        final Subscription subscription,
+        final List<PartitionWorkerAgent<T>> workers,
+        final int initialReassemblyBufferLength
+    )
+    {
+        if (workers.isEmpty())
+        {
+            throw new IllegalArgumentException("A partitioned subscription needs at least one worker");
+        }
+
+        this.subscription = subscription;
+        this.workers = workers.toArray(new PartitionWorkerAgent[0]);
+        this.keyReader = workers.get(0).getInvoker();
+        this.fragmentAssembler = new ControlledFragmentAssembler(
+            this::route,
+            initialReassemblyBufferLength,
+            true
+        );
+    }
+
+    @Override
+    public int doWork()
+    {
+        return subscription.controlledPoll(fragmentAssembler, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public String roleName()
+    {
+        return keyReader.getSubscriber().getClass().getSimpleName() + "__Router";
+    }
+
+    public ControlledFragmentHandler.Action route(final DirectBuffer buffer, final int offset, final int length, final Header header)
+    {
+        if (!AbstractSubscriberInvoker.hasMarker(buffer, offset, length, AbstractPublisher.BATCH_MARKER))
+        {
+            return routeMessage(buffer, offset, length)
+                ? ControlledFragmentHandler.Action.CONTINUE
+                : ControlledFragmentHandler.Action.ABORT;
+        }
+
+        batchMessageIndex = 0;
+        if (!routeBatch(buffer, offset, length))
+        {
+            return ControlledFragmentHandler.Action.ABORT;
+        }
+        batchRoutedCount = 0;
+        return ControlledFragmentHandler.Action.CONTINUE;
+    }
+
+    /**
+     * @return the number of messages dropped as longer than a worker can hold, to be read on the routing thread
+     */
+    public long getDroppedCount()
+    {
+        return droppedCount;
+    }
+
+    /**
+     * Routes the messages of a batch, including those of the batches nested in it, in order until a worker is full.
+     * The batch is then retried from the first message not yet routed, so it never holds back the stream for longer
+     * than its messages take to fit, however many of them there are.
+     *
+     * @return whether every message of the batch was routed
+     */
+    private boolean routeBatch(final DirectBuffer buffer, final int offset, final int length)
+    {
+        if (!AbstractSubscriberInvoker.hasMarker(buffer, offset, length, AbstractPublisher.BATCH_MARKER))
+        {
+            if (batchMessageIndex++ < batchRoutedCount)
+            {
+                return true;
+            }
+            if (!routeMessage(buffer, offset, length))
+            {
+                return false;
+            }
+            batchRoutedCount++;
+            return true;
+        }
+
+        final int count = buffer.getInt(offset + BitUtil.SIZE_OF_INT);
+        int messageOffset = offset + AbstractPublisher.BATCH_HEADER_LENGTH;
+        for (int i = 0; i < count; i++)
+        {
+            final int messageLength = buffer.getInt(messageOffset);
+            messageOffset += BitUtil.SIZE_OF_INT;
+            if (!routeBatch(buffer, messageOffset, messageLength))
+            {
+                return false;
+            }
+            messageOffset += messageLength;
+        }
+        return true;
+    }
+
+    /**
+     * Messages longer than the worker can hold would never fit its ring buffer, so they are dropped and counted rather
+     * than holding back the stream for good.
+     *
+     * @return false if the worker has no room for the message yet
+     */
+    private boolean routeMessage(final DirectBuffer buffer, final int offset, final int length)
+    {
+        final PartitionWorkerAgent<T> worker = workerFor(partitionKey(buffer, offset, length));
+        if (length > worker.maxMessageLength())
+        {
+            droppedCount++;
+            return true;
+        }
+        return worker.offer(buffer, offset, length);
+    }
+
+    /**
+     * Chunks are routed by their transfer id, so that all the chunks of a transfer are handled in order.
+     */
+    private long partitionKey(final DirectBuffer buffer, final int offset, final int length)
+    {
+        return AbstractSubscriberInvoker.hasMarker(buffer, offset, length, ChunkedPublisher.CHUNK_MARKER)
+            ? buffer.getLong(offset + ChunkedPublisher.TRANSFER_ID_OFFSET)
+            : keyReader.partitionKey(buffer, offset);
+    }
+
+    private PartitionWorkerAgent<T> workerFor(final long partitionKey)
+    {
+        return workers[Math.floorMod(Long.hashCode(partitionKey), workers.length)];
+    }
+}
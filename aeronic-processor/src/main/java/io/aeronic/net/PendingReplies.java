@@ -0,0 +1,169 @@
+package io.aeronic.net;
+
+import org.agrona.DeadlineTimerWheel;
+import org.agrona.collections.Long2LongHashMap;
+import org.agrona.collections.Long2ObjectHashMap;
+import org.agrona.concurrent.ManyToManyConcurrentArrayQueue;
+import org.agrona.concurrent.ManyToOneConcurrentArrayQueue;
+import org.agrona.concurrent.NanoClock;
+import org.agrona.concurrent.SystemNanoClock;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Reply callbacks of the requests published by request publishers, keyed by the correlation id sent in their place,
+ * until the reply arrives or the request times out. Correlation ids are primitive longs counting up from a random
+ * start, so that replies meant for other requesters sharing the reply stream are ignored, and timeouts are tracked by
+ * a timer wheel.
+ * <p>
+ * Requests may be registered from any thread: each registration is handed over to the agent polling the reply stream
+ * through a many-to-one queue, and recycled once the agent has added it to the table, which only that agent touches.
+ * Replies are completed, timeouts expired and the timeout handler called on the thread running the agent.
+ */
+public final class PendingReplies<R>
+{
+    public static final long DEFAULT_TICK_RESOLUTION_NS = TimeUnit.MILLISECONDS.toNanos(1);
+    public static final int DEFAULT_TICKS_PER_WHEEL = 1024;
+
+    private static final long NULL_VALUE = Long.MIN_VALUE;
+    private static final int REGISTRATION_QUEUE_CAPACITY = 1024;
+
+    private final Long2ObjectHashMap<R> replyByCorrelationId = new Long2ObjectHashMap<>();
+    private final Long2LongHashMap timerIdByCorrelationId = new Long2LongHashMap(NULL_VALUE);
+    private final Long2LongHashMap correlationIdByTimerId = new Long2LongHashMap(NULL_VALUE);
+    private final ManyToOneConcurrentArrayQueue<Registration<R>> registrations =
+        new ManyToOneConcurrentArrayQueue<>(REGISTRATION_QUEUE_CAPACITY);
+    private final ManyToManyConcurrentArrayQueue<Registration<R>> freeRegistrations =
+        new ManyToManyConcurrentArrayQueue<>(REGISTRATION_QUEUE_CAPACITY);
+    private final Consumer<Registration<R>> registrationHandler = this::onRegistration;
+    private final DeadlineTimerWheel timerWheel;
+    private final DeadlineTimerWheel.TimerHandler timerHandler = this::onTimerExpiry;
+    private final NanoClock nanoClock;
+    private final long timeoutNs;
+    private final ObjLongConsumer<R> timeoutHandler;
+    private final AtomicLong nextCorrelationId = new AtomicLong(ThreadLocalRandom.current().nextLong());
+
+    /**
+     * @param timeoutNs      time after which a request without a reply is timed out
+     * @param timeoutHandler receives the reply callback and correlation id of each timed out request
+     */
+    public PendingReplies(final long timeoutNs, final ObjLongConsumer<R> timeoutHandler)
+    {
+        this(timeoutNs, timeoutHandler, SystemNanoClock.INSTANCE);
+    }
+
+    public PendingReplies(final long timeoutNs, final ObjLongConsumer<R> timeoutHandler, final NanoClock nanoClock)
+    {
+        this.timeoutNs = timeoutNs;
+        this.timeoutHandler = timeoutHandler;
+        this.nanoClock = nanoClock;
+        this.timerWheel = new DeadlineTimerWheel(
+            TimeUnit.NANOSECONDS,
+            nanoClock.nanoTime(),
+            DEFAULT_TICK_RESOLUTION_NS,
+            DEFAULT_TICKS_PER_WHEEL
+        );
+    }
+
+    /**
+     * Registers the reply callback of a request about to be published, from any thread.
+     *
+     * @return the correlation id to send with the request
+     * @throws IllegalStateException if the agent has fallen too far behind to take the registration
+     */
+    public long register(final R reply)
+    {
+        Registration<R> registration = freeRegistrations.poll();
+        if (registration == null)
+        {
+            registration = new Registration<>();
+        }
+
+        final long correlationId = nextCorrelationId.getAndIncrement();
+        registration.correlationId = correlationId;
+        registration.deadlineNs = nanoClock.nanoTime() + timeoutNs;
+        registration.reply = reply;
+        if (!registrations.offer(registration))
+        {
+            throw new IllegalStateException("Too many requests awaiting registration with the reply agent");
+        }
+        return correlationId;
+    }
+
+    /**
+     * Removes the reply callback of a request on its reply, cancelling its timeout. Called by the agent, which looks
+     * for the request among the registrations handed over since it last took them if it is not in the table yet.
+     *
+     * @return the reply callback, or null if the request is unknown, has timed out or was replied to already
+     */
+    public R complete(final long correlationId)
+    {
+        R reply = replyByCorrelationId.remove(correlationId);
+        if (reply == null && registrations.drain(registrationHandler) > 0)
+        {
+            reply = replyByCorrelationId.remove(correlationId);
+        }
+
+        if (reply != null)
+        {
+            final long timerId = timerIdByCorrelationId.remove(correlationId);
+            correlationIdByTimerId.remove(timerId);
+            timerWheel.cancelTimer(timerId);
+        }
+        return reply;
+    }
+
+    /**
+     * Times out the requests whose deadline has passed, passing their callbacks to the timeout handler.
+     *
+     * @return the number of requests timed out
+     */
+    public int expireTimeouts()
+    {
+        registrations.drain(registrationHandler);
+        return timerWheel.poll(nanoClock.nanoTime(), timerHandler, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return the number of requests awaiting their reply that the agent has taken the registration of
+     */
+    public int size()
+    {
+        return replyByCorrelationId.size();
+    }
+
+    private void onRegistration(final Registration<R> registration)
+    {
+        final long correlationId = registration.correlationId;
+        final long timerId = timerWheel.scheduleTimer(registration.deadlineNs);
+        replyByCorrelationId.put(correlationId, registration.reply);
+        timerIdByCorrelationId.put(correlationId, timerId);
+        correlationIdByTimerId.put(timerId, correlationId);
+
+        registration.reply = null;
+        freeRegistrations.offer(registration);
+    }
+
+    private boolean onTimerExpiry(final TimeUnit timeUnit, final long now, final long timerId)
+    {
+        final long correlationId = correlationIdByTimerId.remove(timerId);
+        timerIdByCorrelationId.remove(correlationId);
+        final R reply = replyByCorrelationId.remove(correlationId);
+        if (reply != null)
+        {
+            timeoutHandler.accept(reply, correlationId);
+        }
+        return true;
+    }
+
+    private static final class Registration<R>
+    {
+        private long correlationId;
+        private long deadlineNs;
+        private R reply;
+    }
+}
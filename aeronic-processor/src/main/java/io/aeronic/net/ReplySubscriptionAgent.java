@@ -0,0 +1,50 @@
+package io.aeronic.net;
+
+import io.aeron.Subscription;
+import io.aeron.logbuffer.Header;
+import org.agrona.DirectBuffer;
+
+/**
+ * Polls the reply stream of a requester, handing each reply to the callback of its request, and times out the
+ * requests left without one, taking the registrations of requests made on any thread. Messages other than replies on
+ * the stream are ignored.
+ */
+public class ReplySubscriptionAgent<R> extends SubscriptionAgent<R>
+{
+    private final PendingReplies<R> pendingReplies;
+    private final String roleName;
+
+    public ReplySubscriptionAgent(
+        final Subscription subscription,
+        final AbstractSubscriberInvoker<R> invoker,
+        final PendingReplies<R> pendingReplies,
+        final String roleName
+    )
+    {
+        super(subscription, invoker);
+        this.pendingReplies = pendingReplies;
+        this.roleName = roleName;
+        invoker.bindPendingReplies(pendingReplies);
+    }
+
+    @Override
+    public int doWork()
+    {
+        return super.doWork() + pendingReplies.expireTimeouts();
+    }
+
+    @Override
+    public String roleName()
+    {
+        return roleName;
+    }
+
+    @Override
+    public void handle(final DirectBuffer buffer, final int offset, final int length, final Header header)
+    {
+        if (AbstractSubscriberInvoker.hasMarker(buffer, offset, length, AbstractPublisher.REPLY_MARKER))
+        {
+            invoker.handle(buffer, offset, length);
+        }
+    }
+}
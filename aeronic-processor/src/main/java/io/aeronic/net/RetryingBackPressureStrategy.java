@@ -0,0 +1,74 @@
+package io.aeronic.net;
+
+import io.aeron.Publication;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.IdleStrategy;
+import org.agrona.concurrent.NanoClock;
+import org.agrona.concurrent.SystemNanoClock;
+
+import java.time.Duration;
+
+/**
+ * Retries the offer while the publication is back pressured or performing an admin action, idling between attempts.
+ * Results that cannot be resolved by retrying, such as {@link Publication#NOT_CONNECTED}, are returned immediately.
+ */
+public class RetryingBackPressureStrategy implements BackPressureStrategy
+{
+    private final IdleStrategy idleStrategy;
+    private final long timeoutNs;
+    private final NanoClock nanoClock;
+
+    /**
+     * Retries until the offer succeeds.
+     *
+     * @param idleStrategy strategy to idle with between attempts
+     */
+    public RetryingBackPressureStrategy(final IdleStrategy idleStrategy)
+    {
+        this(idleStrategy, Long.MAX_VALUE, SystemNanoClock.INSTANCE);
+    }
+
+    /**
+     * Retries until the offer succeeds or the timeout elapses, whichever comes first.
+     *
+     * @param idleStrategy strategy to idle with between attempts
+     * @param timeout      maximum time to spend retrying a single message
+     */
+    public RetryingBackPressureStrategy(final IdleStrategy idleStrategy, final Duration timeout)
+    {
+        this(idleStrategy, timeout.toNanos(), SystemNanoClock.INSTANCE);
+    }
+
+    public RetryingBackPressureStrategy(final IdleStrategy idleStrategy, final long timeoutNs, final NanoClock nanoClock)
+    {
+        this.idleStrategy = idleStrategy;
+        this.timeoutNs = timeoutNs;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public long offer(final AeronicPublication publication, final DirectBuffer buffer, final int offset, final int length)
+    {
+        long result = publication.offer(buffer, offset, length);
+        if (result > 0 || !isRetryable(result))
+        {
+            return result;
+        }
+
+        final long startNs = nanoClock.nanoTime();
+        idleStrategy.reset();
+        do
+        {
+            idleStrategy.idle();
+            result = publication.retryOffer(buffer, offset, length);
+        }
+        while (result < 0 && isRetryable(result) && nanoClock.nanoTime() - startNs < timeoutNs);
+
+        return result;
+    }
+
+    private static boolean isRetryable(final long result)
+    {
+        return result == Publication.BACK_PRESSURED || result == Publication.ADMIN_ACTION;
+    }
+}
@@ -1,6 +1,7 @@
 package io.aeronic.net;
 
 import io.aeron.Publication;
+import io.aeron.logbuffer.BufferClaim;
 import org.agrona.DirectBuffer;
 
 public class SimplePublication implements AeronicPublication
@@ -20,9 +21,19 @@ public class SimplePublication implements AeronicPublication
     }
 
     @Override
-    public void offer(final DirectBuffer buffer)
+    public long offer(final DirectBuffer buffer, final int offset, final int length)
     {
-        publication.offer(buffer);
+        return publication.offer(buffer, offset, length);
+    }
+
+    @Override
+    public long tryClaim(final int length, final BufferClaim bufferClaim)
+    {
+        if (length > publication.maxPayloadLength())
+        {
+            return CLAIM_NOT_SUPPORTED;
+        }
+        return publication.tryClaim(length, bufferClaim);
     }
 
     @Override
@@ -1,25 +1,51 @@
 package io.aeronic.net;
 
+import io.aeron.FragmentAssembler;
 import io.aeron.Subscription;
 import io.aeron.logbuffer.Header;
 import org.agrona.DirectBuffer;
 import org.agrona.concurrent.Agent;
 
+/**
+ * Polls a subscription, reassembling messages longer than the MTU before handing them to the invoker. Fragments are
+ * gathered into a buffer kept per publisher session and reused for every message, so only a message longer than any
+ * before it on the session grows its buffer.
+ */
 public class SubscriptionAgent<T> implements Agent
 {
+    /**
+     * Initial length of the reassembly buffers when none is configured.
+     */
+    public static final int DEFAULT_REASSEMBLY_BUFFER_LENGTH = 4096;
+
     private final Subscription subscription;
+    private final FragmentAssembler fragmentAssembler;
     protected final AbstractSubscriberInvoker<T> invoker;
 
     public SubscriptionAgent(final Subscription subscription, final AbstractSubscriberInvoker<T> invoker)
+    {
+        this(subscription, invoker, DEFAULT_REASSEMBLY_BUFFER_LENGTH);
+    }
+
+    /**
+     * @param initialReassemblyBufferLength length the reassembly buffers start at, such as that of the longest message
+     *                                      expected on the stream, which is not a limit as longer messages grow them
+     */
+    public SubscriptionAgent(
+        final Subscription subscription,
+        final AbstractSubscriberInvoker<T> invoker,
+        final int initialReassemblyBufferLength
+    )
     {
         this.subscription = subscription;
         this.invoker = invoker;
+        this.fragmentAssembler = new FragmentAssembler(this::handle, initialReassemblyBufferLength, true);
     }
 
     @Override
     public int doWork()
     {
-        return subscription.poll(this::handle, Integer.MAX_VALUE);
+        return subscription.poll(fragmentAssembler, Integer.MAX_VALUE);
     }
 
     @Override
@@ -30,6 +56,6 @@ public class SubscriptionAgent<T> implements Agent
 
     public void handle(final DirectBuffer buffer, final int offset, final int length, final Header header)
     {
-        invoker.handle(buffer, offset);
+        invoker.handle(buffer, offset, length);
     }
 }
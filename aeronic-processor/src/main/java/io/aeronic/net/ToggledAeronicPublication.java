@@ -1,6 +1,7 @@
 package io.aeronic.net;
 
 import io.aeron.Publication;
+import io.aeron.logbuffer.BufferClaim;
 import org.agrona.DirectBuffer;
 
 import java.util.function.Supplier;
@@ -23,9 +24,23 @@ public class ToggledAeronicPublication<T> implements AeronicPublication
     }
 
     @Override
-    public void offer(final DirectBuffer buffer)
+    public long offer(final DirectBuffer buffer, final int offset, final int length)
     {
-        publication.offer(buffer);
+        if (publication == null)
+        {
+            return Publication.NOT_CONNECTED;
+        }
+        return publication.offer(buffer, offset, length);
+    }
+
+    @Override
+    public long tryClaim(final int length, final BufferClaim bufferClaim)
+    {
+        if (publication == null || length > publication.maxPayloadLength())
+        {
+            return CLAIM_NOT_SUPPORTED;
+        }
+        return publication.tryClaim(length, bufferClaim);
     }
 
     @Override
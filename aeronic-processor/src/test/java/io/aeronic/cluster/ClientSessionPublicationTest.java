@@ -0,0 +1,90 @@
+package io.aeronic.cluster;
+
+import io.aeron.Publication;
+import io.aeron.cluster.service.ClientSession;
+import io.aeronic.net.RetryingBackPressureStrategy;
+import org.agrona.concurrent.NoOpIdleStrategy;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ClientSessionPublicationTest
+{
+    private final UnsafeBuffer buffer = new UnsafeBuffer(new byte[16]);
+    private final ClientSessionPublication<Object> publication = new ClientSessionPublication<>("publisher");
+    private final RetryingBackPressureStrategy strategy = new RetryingBackPressureStrategy(NoOpIdleStrategy.INSTANCE);
+
+    @Test
+    public void shouldRetryOnlyTheBackPressuredSessions()
+    {
+        final ScriptedClientSession accepting = bindClientSession(64L);
+        final ScriptedClientSession backPressured = bindClientSession(Publication.BACK_PRESSURED, Publication.ADMIN_ACTION, 128L);
+
+        assertEquals(128L, strategy.offer(publication, buffer, 0, 8));
+
+        assertEquals(1, accepting.offers);
+        assertEquals(3, backPressured.offers);
+    }
+
+    @Test
+    public void shouldReportFailureOfSessionThatStopsAcceptingWhileRetrying()
+    {
+        final ScriptedClientSession accepting = bindClientSession(64L);
+        final ScriptedClientSession closed = bindClientSession(Publication.BACK_PRESSURED, Publication.CLOSED);
+
+        assertEquals(Publication.CLOSED, strategy.offer(publication, buffer, 0, 8));
+
+        assertEquals(1, accepting.offers);
+        assertEquals(2, closed.offers);
+    }
+
+    @Test
+    public void shouldOfferNextMessageToEverySession()
+    {
+        final ScriptedClientSession accepting = bindClientSession(64L);
+        final ScriptedClientSession backPressured = bindClientSession(Publication.BACK_PRESSURED, 128L);
+
+        strategy.offer(publication, buffer, 0, 8);
+        strategy.offer(publication, buffer, 0, 8);
+
+        assertEquals(2, accepting.offers);
+        assertEquals(3, backPressured.offers);
+    }
+
+    private ScriptedClientSession bindClientSession(final long... results)
+    {
+        final ScriptedClientSession scriptedClientSession = new ScriptedClientSession(results);
+        publication.bindClientSession((ClientSession)Proxy.newProxyInstance(
+            ClientSession.class.getClassLoader(),
+            new Class<?>[] { ClientSession.class },
+            (proxy, method, args) -> switch (method.getName())
+            {
+                case "offer" -> scriptedClientSession.offer();
+                case "isClosing" -> false;
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(method.getName());
+            }
+        ));
+        return scriptedClientSession;
+    }
+
+    private static class ScriptedClientSession
+    {
+        private final long[] results;
+        private int offers;
+
+        ScriptedClientSession(final long... results)
+        {
+            this.results = results;
+        }
+
+        long offer()
+        {
+            return results[Math.min(offers++, results.length - 1)];
+        }
+    }
+}
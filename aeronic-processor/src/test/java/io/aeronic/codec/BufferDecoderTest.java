@@ -2,11 +2,14 @@ package io.aeronic.codec;
 
 import org.agrona.BitUtil;
 import org.agrona.ExpandableDirectByteBuffer;
+import org.agrona.collections.IntArrayList;
+import org.agrona.collections.LongArrayList;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -239,6 +242,45 @@ public class BufferDecoderTest
         assertEquals(stringValue, bufferDecoder.decodeString());
     }
 
+    @Test
+    public void shouldDecodeUtf8StringsSuccessively()
+    {
+        final String longString = "x".repeat(100) + "\u20AC";
+        final String shortString = "\u03A9mega-\uD83D\uDE80";
+        final BufferEncoder bufferEncoder = new BufferEncoder(buffer);
+        bufferEncoder.encode(longString);
+        bufferEncoder.encode(shortString);
+        bufferDecoder.wrap(buffer, 0);
+
+        assertEquals(longString, bufferDecoder.decodeString());
+        assertEquals(shortString, bufferDecoder.decodeString());
+    }
+
+    @Test
+    public void shouldDecodeCharSequenceViewsWithoutCopying()
+    {
+        final String asciiString = "EURUSD";
+        final String utf8String = "\u03A9mega-\uD83D\uDE80";
+        final BufferEncoder bufferEncoder = new BufferEncoder(buffer);
+        bufferEncoder.encode(asciiString);
+        bufferEncoder.encode(utf8String);
+        bufferEncoder.encode(42);
+        bufferDecoder.wrap(buffer, 0);
+
+        final CharSequenceView view = new CharSequenceView();
+        final CharSequence ascii = bufferDecoder.decodeCharSequence(view);
+        assertTrue(view.contentEquals(asciiString));
+        assertEquals(asciiString.hashCode(), view.contentHashCode());
+        assertEquals(asciiString, ascii.toString());
+
+        final CharSequence utf8 = bufferDecoder.decodeCharSequence(view);
+        assertSame(ascii, utf8);
+        assertEquals(utf8String.length(), utf8.length());
+        assertTrue(view.contentEquals(utf8String));
+        assertEquals(utf8String, utf8.toString());
+        assertEquals(42, bufferDecoder.decodeInt());
+    }
+
     @Test
     public void shouldDecodeBigInteger()
     {
@@ -253,12 +295,53 @@ public class BufferDecoderTest
     @Test
     public void shouldDecodeBigDecimal()
     {
-        final BigDecimal bigDecimal = BigDecimal.ONE;
-        buffer.putInt(0, bigDecimal.toString().length());
-        buffer.putBytes(BitUtil.SIZE_OF_INT, bigDecimal.toString().getBytes());
+        buffer.putInt(0, 3);
+        buffer.putByte(BitUtil.SIZE_OF_INT, BufferEncoder.UNSCALED_LONG);
+        buffer.putLong(BitUtil.SIZE_OF_INT + BitUtil.SIZE_OF_BYTE, 1000L);
         bufferDecoder.wrap(buffer, 0);
 
-        assertEquals(bigDecimal, bufferDecoder.decodeBigDecimal());
+        assertEquals(new BigDecimal("1.000"), bufferDecoder.decodeBigDecimal());
+    }
+
+    @Test
+    public void shouldRoundTripBigDecimals()
+    {
+        final BigDecimal[] values = {
+            BigDecimal.ZERO,
+            new BigDecimal("-0.000001"),
+            new BigDecimal("1E+10"),
+            new BigDecimal("123412341234.123412341234"),
+            new BigDecimal(BigInteger.valueOf(Long.MIN_VALUE), 4),
+            new BigDecimal(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE), 4)
+        };
+        final BufferEncoder bufferEncoder = new BufferEncoder(buffer);
+        for (final BigDecimal value : values)
+        {
+            bufferEncoder.encode(value);
+        }
+
+        bufferDecoder.wrap(buffer, 0);
+        for (final BigDecimal value : values)
+        {
+            assertEquals(value, bufferDecoder.decodeBigDecimal());
+        }
+    }
+
+    @Test
+    public void shouldDecodeDecimalIntoGivenInstance()
+    {
+        final BufferEncoder bufferEncoder = new BufferEncoder(buffer);
+        bufferEncoder.encode(new BigDecimal("99.5"));
+        bufferEncoder.encode(new BigDecimal(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE), 0));
+        bufferDecoder.wrap(buffer, 0);
+
+        final Decimal decimal = new Decimal();
+        assertSame(decimal, bufferDecoder.decodeDecimal(decimal));
+        assertEquals(995L, decimal.getUnscaledValue());
+        assertEquals(1, decimal.getScale());
+        assertEquals(99.5, decimal.doubleValue());
+        assertEquals(new BigDecimal("99.5"), decimal.toBigDecimal());
+        assertThrows(ArithmeticException.class, () -> bufferDecoder.decodeDecimal(decimal));
     }
 
     @Test
@@ -278,4 +361,149 @@ public class BufferDecoderTest
         final Collection<Long> decodeCollection = bufferDecoder.decodeList(BufferDecoder::decodeLong, ArrayList::new);
         assertEquals(list, decodeCollection);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldDecodeIntoReusableContainers()
+    {
+        final BufferEncoder bufferEncoder = new BufferEncoder(buffer);
+        bufferEncoder.encode(new int[]{ 1, 2, 3 });
+        bufferEncoder.encode(new long[]{ Long.MIN_VALUE, Long.MAX_VALUE });
+        bufferEncoder.encode(List.of(4L, 5L), BufferEncoder::encode);
+
+        final IntArrayList ints = new IntArrayList();
+        ints.addInt(42);
+        final LongArrayList longs = new LongArrayList();
+        final List<Long> list = new ArrayList<>(List.of(7L, 8L, 9L));
+
+        bufferDecoder.wrap(buffer, 0);
+        assertSame(ints, bufferDecoder.decodeIntArrayList(ints));
+        assertSame(longs, bufferDecoder.decodeLongArrayList(longs));
+        assertSame(list, bufferDecoder.decodeListInto(BufferDecoder::decodeLong, list));
+
+        assertEquals(List.of(1, 2, 3), ints);
+        assertEquals(List.of(Long.MIN_VALUE, Long.MAX_VALUE), longs);
+        assertEquals(List.of(4L, 5L), list);
+    }
+
+    @Test
+    public void shouldBulkDecodeIntoGrowingPrimitiveLists()
+    {
+        final BufferEncoder bufferEncoder = new BufferEncoder(buffer);
+        final int[] ints = new int[100];
+        final long[] longs = new long[100];
+        for (int i = 0; i < ints.length; i++)
+        {
+            ints[i] = i - 50;
+            longs[i] = Long.MAX_VALUE - i;
+        }
+        bufferEncoder.encode(ints);
+        bufferEncoder.encode(longs);
+        bufferEncoder.encode(new int[]{ 7 });
+
+        final IntArrayList intList = new IntArrayList();
+        final LongArrayList longList = new LongArrayList();
+
+        bufferDecoder.wrap(buffer, 0);
+        bufferDecoder.decodeIntArrayList(intList);
+        bufferDecoder.decodeLongArrayList(longList);
+
+        assertArrayEquals(ints, intList.toIntArray());
+        assertArrayEquals(longs, longList.toLongArray());
+
+        bufferDecoder.decodeIntArrayList(intList);
+        assertEquals(List.of(7), intList);
+    }
+
+    @Test
+    public void shouldDecodeIntoReusableArraysOfTheSameLength()
+    {
+        final BufferEncoder bufferEncoder = new BufferEncoder(buffer);
+        bufferEncoder.encode(new long[]{ 1L, 2L });
+        bufferEncoder.encode(new int[]{ 3, 4 });
+        bufferEncoder.encode(new double[]{ 5.5, 6.5 });
+        bufferEncoder.encode(new long[]{ 7L, 8L, 9L });
+
+        final long[] longs = new long[2];
+        final int[] ints = new int[2];
+        final double[] doubles = new double[2];
+
+        bufferDecoder.wrap(buffer, 0);
+        assertSame(longs, bufferDecoder.decodeLongArray(longs));
+        assertSame(ints, bufferDecoder.decodeIntArray(ints));
+        assertSame(doubles, bufferDecoder.decodeDoubleArray(doubles));
+        final long[] resized = bufferDecoder.decodeLongArray(longs);
+
+        assertArrayEquals(new long[]{ 1L, 2L }, longs);
+        assertArrayEquals(new int[]{ 3, 4 }, ints);
+        assertArrayEquals(new double[]{ 5.5, 6.5 }, doubles);
+        assertArrayEquals(new long[]{ 7L, 8L, 9L }, resized);
+    }
+
+    @Test
+    public void shouldDecodeLargeDoubleArrayAtUnalignedOffset()
+    {
+        final double[] doubles = new double[10_000];
+        for (int i = 0; i < doubles.length; i++)
+        {
+            doubles[i] = i * 0.25;
+        }
+        buffer.putByte(0, (byte) 1);
+        buffer.putInt(BitUtil.SIZE_OF_BYTE, doubles.length);
+
+        int idx = BitUtil.SIZE_OF_BYTE + BitUtil.SIZE_OF_INT;
+        for (int i = 0; i < doubles.length; i++)
+        {
+            buffer.putDouble(idx, doubles[i]);
+            idx += BitUtil.SIZE_OF_DOUBLE;
+        }
+        buffer.putInt(idx, 42);
+
+        bufferDecoder.wrap(buffer, 0);
+        assertEquals(1, bufferDecoder.decodeByte());
+        assertArrayEquals(doubles, bufferDecoder.decodeDoubleArray());
+        assertEquals(42, bufferDecoder.decodeInt());
+    }
+
+    @Test
+    public void shouldRoundTripCompactEncoding()
+    {
+        final BufferEncoder bufferEncoder = new BufferEncoder(buffer, true);
+        final long[] longs = { 0L, -1L, Long.MIN_VALUE, Long.MAX_VALUE };
+        final int[] ints = { 0, 1, -64, Integer.MIN_VALUE, Integer.MAX_VALUE };
+        bufferEncoder.encode(Integer.MIN_VALUE);
+        bufferEncoder.encode(Long.MAX_VALUE);
+        bufferEncoder.encode(-1L);
+        bufferEncoder.encode(longs);
+        bufferEncoder.encode(ints);
+        bufferEncoder.encode(new double[]{ 1.5, -2.5 });
+        bufferEncoder.encode("\u03A9mega");
+        bufferEncoder.encode(List.of(7L, 8L), BufferEncoder::encode);
+
+        final BufferDecoder compactDecoder = new BufferDecoder(true);
+        compactDecoder.wrap(buffer, 0);
+        assertEquals(Integer.MIN_VALUE, compactDecoder.decodeInt());
+        assertEquals(Long.MAX_VALUE, compactDecoder.decodeLong());
+        assertEquals(-1L, compactDecoder.decodeLong());
+        assertArrayEquals(longs, compactDecoder.decodeLongArray());
+        assertArrayEquals(ints, compactDecoder.decodeIntArray());
+        assertArrayEquals(new double[]{ 1.5, -2.5 }, compactDecoder.decodeDoubleArray());
+        assertEquals("\u03A9mega", compactDecoder.decodeString());
+        assertEquals(List.of(7L, 8L), compactDecoder.decodeList(BufferDecoder::decodeLong, ArrayList::new));
+    }
+
+    @Test
+    public void shouldRoundTripVarData()
+    {
+        final BufferEncoder bufferEncoder = new BufferEncoder(buffer);
+        bufferEncoder.encodeVarData("\u03A9mega");
+        bufferEncoder.encodeVarData(new byte[]{ 1, 2, 3 });
+        bufferEncoder.encodeVarData("view");
+
+        assertEquals(6, buffer.getInt(0, ByteOrder.LITTLE_ENDIAN));
+        bufferDecoder.wrap(buffer, 0);
+        assertEquals("\u03A9mega", bufferDecoder.decodeVarString());
+        assertArrayEquals(new byte[]{ 1, 2, 3 }, bufferDecoder.decodeVarData());
+        assertEquals("view", bufferDecoder.decodeVarCharSequence(new CharSequenceView()).toString());
+        assertEquals(bufferEncoder.getEncodedLength(), bufferDecoder.getOffset());
+    }
+}
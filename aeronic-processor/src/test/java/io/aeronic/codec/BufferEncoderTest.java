@@ -2,11 +2,14 @@ package io.aeronic.codec;
 
 import org.agrona.BitUtil;
 import org.agrona.ExpandableDirectByteBuffer;
+import org.agrona.collections.IntArrayList;
+import org.agrona.collections.LongArrayList;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -110,6 +113,19 @@ public class BufferEncoderTest
         assertArrayEquals(stringValue.getBytes(), encodedBytes);
     }
 
+    @Test
+    public void shouldEncodeStringAsUtf8()
+    {
+        final String stringValue = "EUR\u20AC/\u03A9mega-\uD83D\uDE80-end";
+        bufferEncoder.encode(stringValue);
+        final int encodedLength = buffer.getInt(0);
+        final byte[] encodedBytes = new byte[encodedLength];
+        buffer.getBytes(BitUtil.SIZE_OF_INT, encodedBytes);
+
+        assertArrayEquals(stringValue.getBytes(StandardCharsets.UTF_8), encodedBytes);
+        assertEquals(BitUtil.SIZE_OF_INT + encodedLength, bufferEncoder.getEncodedLength());
+    }
+
     @Test
     public void shouldEncodeLongArray()
     {
@@ -246,12 +262,35 @@ public class BufferEncoderTest
     @Test
     public void shouldEncodeBigDecimal()
     {
-        bufferEncoder.encode(BigDecimal.TEN);
-        final int arrLen = buffer.getInt(0);
-        final byte[] bigDecimalBytes = new byte[arrLen];
-        buffer.getBytes(BitUtil.SIZE_OF_INT, bigDecimalBytes);
-        final BigDecimal actual = new BigDecimal(new String(bigDecimalBytes));
-        assertEquals(BigDecimal.TEN, actual);
+        bufferEncoder.encode(new BigDecimal("123.45"));
+        assertEquals(2, buffer.getInt(0));
+        assertEquals(BufferEncoder.UNSCALED_LONG, buffer.getByte(BitUtil.SIZE_OF_INT));
+        assertEquals(12345L, buffer.getLong(BitUtil.SIZE_OF_INT + BitUtil.SIZE_OF_BYTE));
+        assertEquals(BitUtil.SIZE_OF_INT + BitUtil.SIZE_OF_BYTE + BitUtil.SIZE_OF_LONG, bufferEncoder.getEncodedLength());
+    }
+
+    @Test
+    public void shouldEncodeBigDecimalBeyondLongRangeAsBigInteger()
+    {
+        final BigInteger unscaledValue = BigInteger.valueOf(Long.MAX_VALUE).multiply(BigInteger.TEN);
+        bufferEncoder.encode(new BigDecimal(unscaledValue, 3));
+        assertEquals(3, buffer.getInt(0));
+        assertEquals(BufferEncoder.UNSCALED_BIG_INTEGER, buffer.getByte(BitUtil.SIZE_OF_INT));
+
+        final int arrLen = buffer.getInt(BitUtil.SIZE_OF_INT + BitUtil.SIZE_OF_BYTE);
+        final byte[] unscaledBytes = new byte[arrLen];
+        buffer.getBytes(2 * BitUtil.SIZE_OF_INT + BitUtil.SIZE_OF_BYTE, unscaledBytes);
+        assertEquals(unscaledValue, new BigInteger(unscaledBytes));
+    }
+
+    @Test
+    public void shouldEncodeDecimalAsBigDecimal()
+    {
+        bufferEncoder.encode(new Decimal(-12345L, 2));
+
+        final BufferDecoder bufferDecoder = new BufferDecoder();
+        bufferDecoder.wrap(buffer, 0);
+        assertEquals(new BigDecimal("-123.45"), bufferDecoder.decodeBigDecimal());
     }
 
     @Test
@@ -272,4 +311,88 @@ public class BufferEncoderTest
 
         assertEquals(longList, encodedCollection);
     }
+
+    @Test
+    public void shouldEncodePrimitiveListsAsArrays()
+    {
+        final IntArrayList ints = new IntArrayList();
+        ints.addInt(1);
+        ints.addInt(2);
+        final LongArrayList longs = new LongArrayList();
+        longs.addLong(Long.MAX_VALUE);
+        bufferEncoder.encode(ints);
+        bufferEncoder.encode(longs);
+
+        final BufferDecoder bufferDecoder = new BufferDecoder();
+        bufferDecoder.wrap(buffer, 0);
+        assertArrayEquals(new int[]{ 1, 2 }, bufferDecoder.decodeIntArray());
+        assertArrayEquals(new long[]{ Long.MAX_VALUE }, bufferDecoder.decodeLongArray());
+    }
+
+    @Test
+    public void shouldTrackEncodedLength()
+    {
+        bufferEncoder.encode(123);
+        bufferEncoder.encode(456L);
+        bufferEncoder.encode(new byte[]{ 0x1, 0x2, 0x3 });
+        assertEquals(BitUtil.SIZE_OF_INT + BitUtil.SIZE_OF_LONG + BitUtil.SIZE_OF_INT + 3, bufferEncoder.getEncodedLength());
+
+        bufferEncoder.reset();
+        assertEquals(0, bufferEncoder.getEncodedLength());
+    }
+
+    @Test
+    public void shouldEncodeIntoWrappedBufferAtOffset()
+    {
+        final ExpandableDirectByteBuffer claimedBuffer = new ExpandableDirectByteBuffer();
+        bufferEncoder.wrap(claimedBuffer, 32);
+        bufferEncoder.encode(123);
+        bufferEncoder.encode(456L);
+
+        assertEquals(123, claimedBuffer.getInt(32));
+        assertEquals(456L, claimedBuffer.getLong(32 + BitUtil.SIZE_OF_INT));
+        assertEquals(BitUtil.SIZE_OF_INT + BitUtil.SIZE_OF_LONG, bufferEncoder.getEncodedLength());
+
+        bufferEncoder.reset();
+        assertEquals(0, bufferEncoder.getEncodedLength());
+    }
+
+    @Test
+    public void shouldEncodeLargeDoubleArrayBeyondInitialCapacity()
+    {
+        final double[] doubles = new double[10_000];
+        for (int i = 0; i < doubles.length; i++)
+        {
+            doubles[i] = i * 0.25;
+        }
+        bufferEncoder.encode((byte) 1);
+        bufferEncoder.encode(doubles);
+
+        assertEquals(doubles.length, buffer.getInt(BitUtil.SIZE_OF_BYTE));
+        int idx = BitUtil.SIZE_OF_BYTE + BitUtil.SIZE_OF_INT;
+        for (int i = 0; i < doubles.length; i++)
+        {
+            assertEquals(doubles[i], buffer.getDouble(idx));
+            idx += BitUtil.SIZE_OF_DOUBLE;
+        }
+        assertEquals(idx, bufferEncoder.getEncodedLength());
+    }
+
+    @Test
+    public void shouldEncodeSmallValuesCompactly()
+    {
+        final BufferEncoder compactEncoder = new BufferEncoder(buffer, true);
+        compactEncoder.encode(1);
+        compactEncoder.encode(-1);
+        compactEncoder.encode(63L);
+        assertEquals(3, compactEncoder.getEncodedLength());
+
+        compactEncoder.reset();
+        compactEncoder.encode(new long[]{ 1L, 2L, 3L });
+        assertEquals(4, compactEncoder.getEncodedLength());
+
+        compactEncoder.reset();
+        compactEncoder.encode(Long.MIN_VALUE);
+        assertEquals(10, compactEncoder.getEncodedLength());
+    }
 }
\ No newline at end of file
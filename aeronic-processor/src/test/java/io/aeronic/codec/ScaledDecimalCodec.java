@@ -0,0 +1,32 @@
+package io.aeronic.codec;
+
+/**
+ * Encodes a {@link Decimal} as a single long holding its value at a fixed scale of four, decoding into a reused instance.
+ */
+public class ScaledDecimalCodec implements Codec<Decimal>
+{
+    private static final int SCALE = 4;
+
+    private final Decimal decimal = new Decimal();
+
+    @Override
+    public void encode(final BufferEncoder bufferEncoder, final Decimal value)
+    {
+        long unscaledValue = value.getUnscaledValue();
+        for (int scale = value.getScale(); scale < SCALE; scale++)
+        {
+            unscaledValue *= 10;
+        }
+        for (int scale = value.getScale(); scale > SCALE; scale--)
+        {
+            unscaledValue /= 10;
+        }
+        bufferEncoder.encode(unscaledValue);
+    }
+
+    @Override
+    public Decimal decode(final BufferDecoder bufferDecoder)
+    {
+        return decimal.set(bufferDecoder.decodeLong(), SCALE);
+    }
+}
@@ -0,0 +1,26 @@
+package io.aeronic.codec;
+
+@AeronicData
+public class SimpleData
+{
+    private final String name;
+    private final SimpleRecord simpleRecord;
+    public final double[] weights;
+
+    public SimpleData(final String name, final SimpleRecord simpleRecord, final double[] weights)
+    {
+        this.name = name;
+        this.simpleRecord = simpleRecord;
+        this.weights = weights;
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public SimpleRecord getSimpleRecord()
+    {
+        return simpleRecord;
+    }
+}
@@ -0,0 +1,5 @@
+package io.aeronic.codec;
+
+public record SimpleRecord(int id, long quantity, boolean firm)
+{
+}
@@ -0,0 +1,15 @@
+package io.aeronic.codec;
+
+@AeronicStruct
+public interface SimpleStruct
+{
+    long price();
+
+    SimpleStruct price(long price);
+
+    int getQuantity();
+
+    void setQuantity(int quantity);
+
+    boolean isFirm();
+}
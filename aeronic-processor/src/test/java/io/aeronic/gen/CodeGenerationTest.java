@@ -1,6 +1,9 @@
 package io.aeronic.gen;
 
 import com.google.auto.service.AutoService;
+import io.aeronic.codec.AbstractStruct;
+import io.aeronic.codec.SimpleStruct;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.joor.CompileOptions;
 import org.joor.Reflect;
 import org.junit.jupiter.api.Test;
@@ -14,6 +17,7 @@ import java.util.Set;
 import static io.aeronic.gen.Samples.SAMPLE_PUBLISHER;
 import static io.aeronic.gen.Samples.SAMPLE_SUBSCRIBER;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class CodeGenerationTest
@@ -28,8 +32,16 @@ public class CodeGenerationTest
             """
                 package io.aeronic;
                                    
+                import java.math.BigDecimal;
                 import java.util.List;
+                import io.aeronic.codec.Decimal;
+                import io.aeronic.codec.Reusable;
+                import io.aeronic.codec.SimpleData;
                 import io.aeronic.codec.SimpleImpl;
+                import io.aeronic.codec.SimpleRecord;
+                import io.aeronic.codec.SimpleStruct;
+                import org.agrona.collections.IntArrayList;
+                import org.agrona.collections.LongArrayList;
                                                     
                 @Aeronic
                 public interface TestEvents
@@ -55,13 +67,25 @@ public class CodeGenerationTest
                     );
 
                     void onTimer(long timestamp);
+
+                    void onQuote(CharSequence symbol, long price);
+
+                    void onBatch(IntArrayList ids, LongArrayList sizes, @Reusable List<SimpleImpl> simples);
+
+                    void onPrice(Decimal price, BigDecimal notional);
+
+                    void onRecord(SimpleRecord simpleRecord);
+
+                    void onData(SimpleData simpleData, SimpleRecord[] records, List<SimpleRecord> recordList);
+
+                    void onLevel(long sequence, SimpleStruct level);
                 } 
                 """,
             new CompileOptions().processors(processor)
         );
 
         final List<MethodInfo> methodInfoList = processor.aeronicInterfaceHelper.getMethodInfoFor("TestEvents");
-        assertThat(methodInfoList).hasSize(2);
+        assertThat(methodInfoList).hasSize(8);
 
         final SubscriberInvokerGenerator subscriberInvokerGenerator = new SubscriberInvokerGenerator();
         final PublisherGenerator publisherGenerator = new PublisherGenerator();
@@ -73,6 +97,447 @@ public class CodeGenerationTest
         assertEquals(SAMPLE_PUBLISHER, generatedPubSrc);
     }
 
+    @Test
+    public void shouldGenerateCompactCode()
+    {
+        final TestAeronicAnnotationProcessor processor = new TestAeronicAnnotationProcessor();
+        Reflect.compile(
+            "io.aeronic.CompactEvents",
+            """
+                package io.aeronic;
+
+                @Aeronic(compact = true)
+                public interface CompactEvents
+                {
+                    void onTick(long timestamp, int quantity);
+                }
+                """,
+            new CompileOptions().processors(processor)
+        );
+
+        final List<MethodInfo> methodInfoList = processor.aeronicInterfaceHelper.getMethodInfoFor("CompactEvents");
+        final InterfaceOptions options = processor.aeronicInterfaceHelper.getInterfaceOptionsFor("CompactEvents");
+        assertThat(options.isCompact()).isTrue();
+
+        final String generatedSubSrc = new SubscriberInvokerGenerator().generate("io.aeronic", "CompactEvents", methodInfoList, options);
+        final String generatedPubSrc = new PublisherGenerator().generate("io.aeronic", "CompactEvents", methodInfoList, options);
+
+        assertThat(generatedSubSrc).contains("super(subscriber, true);");
+        assertThat(generatedPubSrc)
+            .contains("super(publication, true);")
+            .contains("super(publication, backPressureStrategy, true);")
+            .doesNotContain("claim(");
+    }
+
+    @Test
+    public void shouldGenerateLazyCode()
+    {
+        final TestAeronicAnnotationProcessor processor = new TestAeronicAnnotationProcessor();
+        Reflect.compile(
+            "io.aeronic.LazyEvents",
+            """
+                package io.aeronic;
+
+                @Aeronic(lazy = true)
+                public interface LazyEvents
+                {
+                    void onQuote(long timestamp, int quantity, String symbol, double price);
+                }
+                """,
+            new CompileOptions().processors(processor)
+        );
+
+        final List<MethodInfo> methodInfoList = processor.aeronicInterfaceHelper.getMethodInfoFor("LazyEvents");
+        final InterfaceOptions options = processor.aeronicInterfaceHelper.getInterfaceOptionsFor("LazyEvents");
+        assertThat(options.isLazy()).isTrue();
+
+        final LazySubscriberGenerator lazySubscriberGenerator = new LazySubscriberGenerator();
+        final String generatedInterfaceSrc = lazySubscriberGenerator.generateInterface("io.aeronic", "LazyEvents", methodInfoList, options);
+        final String generatedInvokerSrc = lazySubscriberGenerator.generateInvoker("io.aeronic", "LazyEvents", methodInfoList, options);
+
+        assertThat(generatedInterfaceSrc)
+            .contains("public interface LazyEventsLazy")
+            .contains("void onQuote(OnQuote onQuote);")
+            .contains("super(4, 2, 12, false);")
+            .contains("return buffer.getLong(offset);")
+            .contains("return buffer.getInt(offset + 8);")
+            .contains("return seek(2).decodeString();")
+            .contains("return seek(3).decodeDouble();")
+            .contains("case 2 -> bufferDecoder.skipArray(1);");
+        assertThat(generatedInvokerSrc)
+            .contains("public class LazyEventsLazyInvoker extends AbstractSubscriberInvoker<LazyEventsLazy>")
+            .contains("case 0 -> subscriber.onQuote(onQuote.wrap(bufferDecoder.getBuffer(), bufferDecoder.getOffset()));");
+    }
+
+    @Test
+    public void shouldGenerateStructFlyweight()
+    {
+        final TestAeronicAnnotationProcessor processor = new TestAeronicAnnotationProcessor();
+        Reflect.compile(
+            "io.aeronic.StructEvents",
+            """
+                package io.aeronic;
+
+                import io.aeronic.codec.SimpleStruct;
+
+                @Aeronic
+                public interface StructEvents
+                {
+                    void onLevel(SimpleStruct level);
+                }
+                """,
+            new CompileOptions().processors(processor)
+        );
+
+        final ParameterInfo level = processor.aeronicInterfaceHelper.getMethodInfoFor("StructEvents").get(0).getParameters().get(0);
+        assertThat(level.isStruct()).isTrue();
+        assertThat(level.getStruct().getEncodedLength()).isEqualTo(13);
+
+        final String flyweightSrc = new StructFlyweightGenerator().generate("io.aeronic.codec", "SimpleStruct", level.getStruct());
+        final SimpleStruct flyweight = Reflect.compile("io.aeronic.codec.SimpleStructFlyweight", flyweightSrc).create().get();
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[32]);
+        ((AbstractStruct)flyweight).wrap(buffer, 3);
+
+        flyweight.price(12345L).setQuantity(67);
+        buffer.putByte(3 + 12, (byte)1);
+
+        assertEquals(12345L, buffer.getLong(3));
+        assertEquals(67, buffer.getInt(3 + 8));
+        assertEquals(12345L, flyweight.price());
+        assertEquals(67, flyweight.getQuantity());
+        assertThat(flyweight.isFirm()).isTrue();
+
+        final List<MethodInfo> methodInfoList = processor.aeronicInterfaceHelper.getMethodInfoFor("StructEvents");
+        final String generatedPublisherSrc = new PublisherGenerator().generate("io.aeronic", "StructEvents", methodInfoList);
+        assertThat(generatedPublisherSrc).contains("""
+                    claim(17);
+                    try
+                    {
+                        bufferEncoder.encode(0);
+                        bufferEncoder.encodeStruct(onLevelLevel).copyFrom(level);
+                    }
+                    catch (final Throwable throwable)
+                    {
+                        abortClaim();
+                        throw throwable;
+                    }
+                    offer();
+            """);
+    }
+
+    @Test
+    public void shouldGenerateSbeCode()
+    {
+        final TestAeronicAnnotationProcessor processor = new TestAeronicAnnotationProcessor();
+        Reflect.compile(
+            "io.aeronic.SbeEvents",
+            """
+                package io.aeronic;
+
+                @Aeronic(sbe = true, sbeSchemaId = 7, sbeSchemaVersion = 2)
+                public interface SbeEvents
+                {
+                    void onQuote(byte venue, long price, boolean firm, int quantity, String symbol, byte[] payload);
+                }
+                """,
+            new CompileOptions().processors(processor)
+        );
+
+        final List<MethodInfo> methodInfoList = processor.aeronicInterfaceHelper.getMethodInfoFor("SbeEvents");
+        final InterfaceOptions options = processor.aeronicInterfaceHelper.getInterfaceOptionsFor("SbeEvents");
+        assertThat(options.isSbe()).isTrue();
+
+        final SbeGenerator sbeGenerator = new SbeGenerator();
+        final String generatedPublisherSrc = sbeGenerator.generatePublisher("io.aeronic", "SbeEvents", methodInfoList, options);
+        final String generatedInvokerSrc = sbeGenerator.generateInvoker("io.aeronic", "SbeEvents", methodInfoList, options);
+        final String generatedSchema = sbeGenerator.generateSchema("io.aeronic", "SbeEvents", methodInfoList, options);
+
+        assertThat(generatedPublisherSrc)
+            .contains("public static final int SCHEMA_ID = 7;")
+            .contains("SbeMessageHeader.encode(sbeBuffer, sbeHeaderOffset, 24, 0, SCHEMA_ID, SCHEMA_VERSION);")
+            .contains("sbeBuffer.putByte(sbeBlockOffset, venue);")
+            .contains("sbeBuffer.putLong(sbeBlockOffset + 8, price, LITTLE_ENDIAN);")
+            .contains("sbeBuffer.putByte(sbeBlockOffset + 16, (byte) (firm ? 1 : 0));")
+            .contains("sbeBuffer.putInt(sbeBlockOffset + 20, quantity, LITTLE_ENDIAN);")
+            .contains("bufferEncoder.encodeVarData(symbol);")
+            .contains("bufferEncoder.encodeVarData(payload);");
+        assertThat(generatedInvokerSrc)
+            .contains("if (SbeMessageHeader.schemaId(sbeBuffer, offset) != SCHEMA_ID)")
+            .contains("final long price = sbeBuffer.getLong(sbeBlockOffset + 8, LITTLE_ENDIAN);")
+            .contains("final String symbol = bufferDecoder.decodeVarString();")
+            .contains("final byte[] payload = bufferDecoder.decodeVarData();");
+        assertThat(generatedSchema)
+            .contains("id=\"7\"")
+            .contains("version=\"2\"")
+            .contains("<sbe:message name=\"OnQuote\" id=\"0\" blockLength=\"24\">")
+            .contains("<field name=\"price\" id=\"2\" type=\"int64\" offset=\"8\"/>")
+            .contains("<data name=\"symbol\" id=\"5\" type=\"varStringEncoding\"/>");
+    }
+
+    @Test
+    public void shouldGenerateCodecCode()
+    {
+        final TestAeronicAnnotationProcessor processor = new TestAeronicAnnotationProcessor();
+        Reflect.compile(
+            "io.aeronic.CodecEvents",
+            """
+                package io.aeronic;
+
+                import io.aeronic.codec.AeronicCodec;
+                import io.aeronic.codec.Decimal;
+                import io.aeronic.codec.ScaledDecimalCodec;
+
+                @Aeronic
+                @AeronicCodec(ScaledDecimalCodec.class)
+                public interface CodecEvents
+                {
+                    void onPrice(long id, Decimal price, Decimal quantity);
+
+                    void onTrade(Decimal price, @AeronicCodec(ScaledDecimalCodec.class) Decimal quantity);
+                }
+                """,
+            new CompileOptions().processors(processor)
+        );
+
+        final List<MethodInfo> methodInfoList = processor.aeronicInterfaceHelper.getMethodInfoFor("CodecEvents");
+        assertThat(methodInfoList.get(0).getParameters().get(1).getCodec()).isEqualTo("io.aeronic.codec.ScaledDecimalCodec");
+        assertThat(methodInfoList.get(0).getParameters().get(0).hasCodec()).isFalse();
+
+        final String generatedPublisherSrc = new PublisherGenerator().generate("io.aeronic", "CodecEvents", methodInfoList);
+        final String generatedInvokerSrc = new SubscriberInvokerGenerator().generate("io.aeronic", "CodecEvents", methodInfoList);
+
+        assertThat(generatedPublisherSrc)
+            .contains("import io.aeronic.codec.ScaledDecimalCodec;")
+            .contains("private final ScaledDecimalCodec onPricePriceCodec = new ScaledDecimalCodec();")
+            .contains("private final ScaledDecimalCodec onTradeQuantityCodec = new ScaledDecimalCodec();")
+            .contains("final Decimal price,")
+            .contains("onPriceQuantityCodec.encode(bufferEncoder, quantity);")
+            .doesNotContain("claim(");
+        assertThat(generatedInvokerSrc)
+            .contains("private final ScaledDecimalCodec onPriceQuantityCodec = new ScaledDecimalCodec();")
+            .contains("final Decimal price = onPricePriceCodec.decode(bufferDecoder);")
+            .contains("final Decimal quantity = onTradeQuantityCodec.decode(bufferDecoder);");
+    }
+
+    @Test
+    public void shouldGenerateConcurrentPublisher()
+    {
+        final TestAeronicAnnotationProcessor processor = new TestAeronicAnnotationProcessor();
+        Reflect.compile(
+            "io.aeronic.SharedEvents",
+            """
+                package io.aeronic;
+
+                @Aeronic(concurrent = true)
+                public interface SharedEvents
+                {
+                    void onUpdate(long id, String name);
+                }
+                """,
+            new CompileOptions().processors(processor)
+        );
+
+        final List<MethodInfo> methodInfoList = processor.aeronicInterfaceHelper.getMethodInfoFor("SharedEvents");
+        assertThat(processor.aeronicInterfaceHelper.getInterfaceOptionsFor("SharedEvents").isConcurrent()).isTrue();
+
+        final String generatedConcurrentPublisherSrc = new PublisherGenerator().generateConcurrent("io.aeronic", "SharedEvents", methodInfoList);
+
+        assertThat(generatedConcurrentPublisherSrc)
+            .contains("public class SharedEventsConcurrentPublisher implements SharedEvents")
+            .contains("ThreadLocal.withInitial(() -> bind(new SharedEventsPublisher(publication)))")
+            .contains("public void bindPendingReplies(final PendingReplies<?> pendingReplies)")
+            .contains("publishers.get().onUpdate(id, name);")
+            .contains("return publishers.get().tryOnUpdate(id, name);")
+            .contains("public SharedEventsPublisher forCurrentThread()");
+    }
+
+    @Test
+    public void shouldGenerateClaimCheckCode()
+    {
+        final TestAeronicAnnotationProcessor processor = new TestAeronicAnnotationProcessor();
+        Reflect.compile(
+            "io.aeronic.MatrixEvents",
+            """
+                package io.aeronic;
+
+                import io.aeronic.codec.ClaimCheck;
+                import org.agrona.DirectBuffer;
+
+                @Aeronic
+                public interface MatrixEvents
+                {
+                    void onMatrix(long id, @ClaimCheck DirectBuffer data);
+                }
+                """,
+            new CompileOptions().processors(processor)
+        );
+
+        final List<MethodInfo> methodInfoList = processor.aeronicInterfaceHelper.getMethodInfoFor("MatrixEvents");
+        assertThat(methodInfoList.get(0).getParameters().get(1).isClaimCheck()).isTrue();
+
+        final String generatedPublisherSrc = new PublisherGenerator().generate("io.aeronic", "MatrixEvents", methodInfoList);
+        final String generatedInvokerSrc = new SubscriberInvokerGenerator().generate("io.aeronic", "MatrixEvents", methodInfoList);
+
+        assertThat(generatedPublisherSrc)
+            .contains("import org.agrona.DirectBuffer;")
+            .contains("final DirectBuffer data")
+            .contains("""
+                        final long dataReference = appendClaimCheck(data);
+                        claim(28);
+                        bufferEncoder.encode(0);
+                        bufferEncoder.encode(id);
+                        encodeClaimCheck(dataReference, data.capacity());
+                        offer();
+                """);
+        assertThat(generatedInvokerSrc)
+            .contains("import org.agrona.concurrent.UnsafeBuffer;")
+            .contains("private final UnsafeBuffer onMatrixDataView = new UnsafeBuffer(0, 0);")
+            .contains("final DirectBuffer data = resolveClaimCheck(bufferDecoder, onMatrixDataView);");
+    }
+
+    @Test
+    public void shouldGeneratePartitionKeyReader()
+    {
+        final TestAeronicAnnotationProcessor processor = new TestAeronicAnnotationProcessor();
+        Reflect.compile(
+            "io.aeronic.RiskEvents",
+            """
+                package io.aeronic;
+
+                import io.aeronic.codec.PartitionKey;
+
+                @Aeronic
+                public interface RiskEvents
+                {
+                    void onTrade(int venue, @PartitionKey long instrumentId, double price, String trader);
+
+                    void onHeartbeat(long timestamp);
+                }
+                """,
+            new CompileOptions().processors(processor)
+        );
+
+        final List<MethodInfo> methodInfoList = processor.aeronicInterfaceHelper.getMethodInfoFor("RiskEvents");
+        assertThat(methodInfoList.get(0).getPartitionKeyIndex()).isEqualTo(1);
+        assertThat(methodInfoList.get(1).hasPartitionKey()).isFalse();
+
+        final String generatedInvokerSrc = new SubscriberInvokerGenerator().generate("io.aeronic", "RiskEvents", methodInfoList);
+
+        assertThat(generatedInvokerSrc).contains("""
+                public long partitionKey(final BufferDecoder bufferDecoder)
+                {
+                    final int msgType = bufferDecoder.decodeInt();
+                    switch (msgType)
+                    {
+                        case 0 -> {
+                            bufferDecoder.decodeInt();
+                            return bufferDecoder.decodeLong();
+                        }
+                    }
+                    return 0;
+                }
+            """);
+    }
+
+    @Test
+    public void shouldGenerateReplyCorrelation()
+    {
+        final TestAeronicAnnotationProcessor processor = new TestAeronicAnnotationProcessor();
+        Reflect.compile(
+            "io.aeronic.QuoteRequests",
+            """
+                package io.aeronic;
+
+                @Aeronic
+                public interface QuoteRequests
+                {
+                    void requestQuote(long instrumentId, QuoteReplies reply);
+
+                    @Aeronic
+                    interface QuoteReplies
+                    {
+                        void onQuote(long instrumentId, long bid, long ask);
+                    }
+                }
+                """,
+            new CompileOptions().processors(processor)
+        );
+
+        final List<MethodInfo> methodInfoList = processor.aeronicInterfaceHelper.getMethodInfoFor("QuoteRequests");
+        assertThat(methodInfoList.get(0).getParameters().get(1).isReply()).isTrue();
+
+        final String generatedPublisherSrc = new PublisherGenerator().generate("io.aeronic", "QuoteRequests", methodInfoList);
+        final String generatedInvokerSrc = new SubscriberInvokerGenerator().generate("io.aeronic", "QuoteRequests", methodInfoList);
+
+        assertThat(generatedPublisherSrc).contains("""
+                    final long replyCorrelationId = registerReply(reply);
+                    claim(20);
+                    bufferEncoder.encode(0);
+                    bufferEncoder.encode(instrumentId);
+                    bufferEncoder.encode(replyCorrelationId);
+                    offer();
+            """);
+        assertThat(generatedInvokerSrc).contains("""
+                            final QuoteReplies reply = replyTo(bufferDecoder, QuoteReplies.class);
+            """);
+    }
+
+    @Test
+    public void shouldDecodeIntoReusablePrimitiveArrays()
+    {
+        final TestAeronicAnnotationProcessor processor = new TestAeronicAnnotationProcessor();
+        Reflect.compile(
+            "io.aeronic.PriceEvents",
+            """
+                package io.aeronic;
+
+                import io.aeronic.codec.Reusable;
+
+                @Aeronic
+                public interface PriceEvents
+                {
+                    void onPrices(@Reusable long[] prices, @Reusable double[] weights, int[] levels);
+                }
+                """,
+            new CompileOptions().processors(processor)
+        );
+
+        final List<MethodInfo> methodInfoList = processor.aeronicInterfaceHelper.getMethodInfoFor("PriceEvents");
+        final String generatedInvokerSrc = new SubscriberInvokerGenerator().generate("io.aeronic", "PriceEvents", methodInfoList);
+
+        assertThat(generatedInvokerSrc).contains("""
+                private long[] onPricesPrices = new long[0];
+                private double[] onPricesWeights = new double[0];
+            """);
+        assertThat(generatedInvokerSrc).contains("""
+                            final long[] prices = onPricesPrices = bufferDecoder.decodeLongArray(onPricesPrices);
+                            final double[] weights = onPricesWeights = bufferDecoder.decodeDoubleArray(onPricesWeights);
+                            final int[] levels = bufferDecoder.decodeIntArray();
+            """);
+    }
+
+    @Test
+    public void shouldRejectReusableOnUnsupportedType()
+    {
+        final TestAeronicAnnotationProcessor processor = new TestAeronicAnnotationProcessor();
+
+        assertThatThrownBy(() -> Reflect.compile(
+            "io.aeronic.NameEvents",
+            """
+                package io.aeronic;
+
+                import io.aeronic.codec.Reusable;
+
+                @Aeronic
+                public interface NameEvents
+                {
+                    void onNames(@Reusable String[] names);
+                }
+                """,
+            new CompileOptions().processors(processor)
+        )).hasStackTraceContaining("@Reusable parameter names of NameEvents.onNames must be a List");
+    }
+
     @SupportedAnnotationTypes("io.aeronic.Aeronic")
     @SupportedSourceVersion(SourceVersion.RELEASE_17)
     @AutoService(Processor.class)
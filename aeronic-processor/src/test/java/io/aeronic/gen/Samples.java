@@ -16,10 +16,25 @@ public class Samples
             import io.aeronic.MyEnum;
             import java.util.List;
             import java.util.ArrayList;
+            import io.aeronic.codec.CharSequenceView;
+            import org.agrona.collections.IntArrayList;
+            import org.agrona.collections.LongArrayList;
+            import io.aeronic.codec.Decimal;
+            import java.math.BigDecimal;
+            import io.aeronic.codec.SimpleRecord;
+            import io.aeronic.codec.SimpleData;
+            import io.aeronic.codec.SimpleStruct;
+            import io.aeronic.codec.SimpleStructFlyweight;
                         
                     
             public class TestEventsInvoker extends AbstractSubscriberInvoker<TestEvents>
             {
+                private final CharSequenceView onQuoteSymbolView = new CharSequenceView();
+                private final IntArrayList onBatchIds = new IntArrayList();
+                private final LongArrayList onBatchSizes = new LongArrayList();
+                private final ArrayList<SimpleImpl> onBatchSimples = new ArrayList<>();
+                private final Decimal onPricePrice = new Decimal();
+                private final SimpleStructFlyweight onLevelLevel = new SimpleStructFlyweight();
                
                 public TestEventsInvoker(final TestEvents subscriber)
                 {
@@ -27,6 +42,11 @@ public class Samples
                 }
                     
                 public void handle(final BufferDecoder bufferDecoder, final int offset)
+                {
+                    handle(bufferDecoder, offset, subscriber);
+                }
+            
+                public void handle(final BufferDecoder bufferDecoder, final int offset, final TestEvents subscriber)
                 {
                     final int msgType = bufferDecoder.decodeInt();
                     switch (msgType)
@@ -46,9 +66,9 @@ public class Samples
                             final double[] doubles = bufferDecoder.decodeDoubleArray();
                             final byte[] bytes = bufferDecoder.decodeByteArray();
                             final char[] chars = bufferDecoder.decodeCharArray();
-                            final SimpleImpl[] simples = bufferDecoder.decodeArray(SimpleImpl::decode, SimpleImpl[]::new);
+                            final SimpleImpl[] simples = decodeOnEventSimples(bufferDecoder);
                             final MyEnum myEnum = MyEnum.decode(bufferDecoder);
-                            final List<SimpleImpl> simpleList = bufferDecoder.decodeList(SimpleImpl::decode, ArrayList::new);
+                            final List<SimpleImpl> simpleList = decodeOnEventSimpleList(bufferDecoder);
                             subscriber.onEvent(
                                 aLong,
                                 intValue,
@@ -75,7 +95,113 @@ public class Samples
                                 timestamp
                             );
                         }
+                        case 2 -> {
+                            final CharSequence symbol = bufferDecoder.decodeCharSequence(onQuoteSymbolView);
+                            final long price = bufferDecoder.decodeLong();
+                            subscriber.onQuote(
+                                symbol,
+                                price
+                            );
+                        }
+                        case 3 -> {
+                            final IntArrayList ids = bufferDecoder.decodeIntArrayList(onBatchIds);
+                            final LongArrayList sizes = bufferDecoder.decodeLongArrayList(onBatchSizes);
+                            final List<SimpleImpl> simples = decodeOnBatchSimples(bufferDecoder);
+                            subscriber.onBatch(
+                                ids,
+                                sizes,
+                                simples
+                            );
+                        }
+                        case 4 -> {
+                            final Decimal price = bufferDecoder.decodeDecimal(onPricePrice);
+                            final BigDecimal notional = bufferDecoder.decodeBigDecimal();
+                            subscriber.onPrice(
+                                price,
+                                notional
+                            );
+                        }
+                        case 5 -> {
+                            final SimpleRecord simpleRecord = new SimpleRecord(bufferDecoder.decodeInt(), bufferDecoder.decodeLong(), bufferDecoder.decodeBoolean());
+                            subscriber.onRecord(
+                                simpleRecord
+                            );
+                        }
+                        case 6 -> {
+                            final SimpleData simpleData = new SimpleData(bufferDecoder.decodeString(), new SimpleRecord(bufferDecoder.decodeInt(), bufferDecoder.decodeLong(), bufferDecoder.decodeBoolean()), bufferDecoder.decodeDoubleArray());
+                            final SimpleRecord[] records = decodeOnDataRecords(bufferDecoder);
+                            final List<SimpleRecord> recordList = decodeOnDataRecordList(bufferDecoder);
+                            subscriber.onData(
+                                simpleData,
+                                records,
+                                recordList
+                            );
+                        }
+                        case 7 -> {
+                            final long sequence = bufferDecoder.decodeLong();
+                            final SimpleStruct level = bufferDecoder.decodeStruct(onLevelLevel);
+                            subscriber.onLevel(
+                                sequence,
+                                level
+                            );
+                        }
+                    }
+                }
+
+                private SimpleImpl[] decodeOnEventSimples(final BufferDecoder bufferDecoder)
+                {
+                    final int length = bufferDecoder.decodeInt();
+                    final SimpleImpl[] array = new SimpleImpl[length];
+                    for (int i = 0; i < length; i++)
+                    {
+                        array[i] = SimpleImpl.decode(bufferDecoder);
+                    }
+                    return array;
+                }
+
+                private List<SimpleImpl> decodeOnEventSimpleList(final BufferDecoder bufferDecoder)
+                {
+                    final int length = bufferDecoder.decodeInt();
+                    final List<SimpleImpl> list = new ArrayList<>(length);
+                    for (int i = 0; i < length; i++)
+                    {
+                        list.add(SimpleImpl.decode(bufferDecoder));
+                    }
+                    return list;
+                }
+
+                private List<SimpleImpl> decodeOnBatchSimples(final BufferDecoder bufferDecoder)
+                {
+                    final int length = bufferDecoder.decodeInt();
+                    final List<SimpleImpl> list = onBatchSimples;
+                    list.clear();
+                    for (int i = 0; i < length; i++)
+                    {
+                        list.add(SimpleImpl.decode(bufferDecoder));
+                    }
+                    return list;
+                }
+
+                private SimpleRecord[] decodeOnDataRecords(final BufferDecoder bufferDecoder)
+                {
+                    final int length = bufferDecoder.decodeInt();
+                    final SimpleRecord[] array = new SimpleRecord[length];
+                    for (int i = 0; i < length; i++)
+                    {
+                        array[i] = new SimpleRecord(bufferDecoder.decodeInt(), bufferDecoder.decodeLong(), bufferDecoder.decodeBoolean());
                     }
+                    return array;
+                }
+
+                private List<SimpleRecord> decodeOnDataRecordList(final BufferDecoder bufferDecoder)
+                {
+                    final int length = bufferDecoder.decodeInt();
+                    final List<SimpleRecord> list = new ArrayList<>(length);
+                    for (int i = 0; i < length; i++)
+                    {
+                        list.add(new SimpleRecord(bufferDecoder.decodeInt(), bufferDecoder.decodeLong(), bufferDecoder.decodeBoolean()));
+                    }
+                    return list;
                 }
             }     
             """;
@@ -88,19 +214,34 @@ public class Samples
             import io.aeron.Publication;
             import io.aeronic.net.AbstractPublisher;
             import io.aeronic.net.AeronicPublication;
+            import io.aeronic.net.BackPressureStrategy;
             import org.agrona.BitUtil;
             import io.aeronic.codec.SimpleImpl;
             import io.aeronic.MyEnum;
             import java.util.List;
+            import org.agrona.collections.IntArrayList;
+            import org.agrona.collections.LongArrayList;
+            import io.aeronic.codec.Decimal;
+            import java.math.BigDecimal;
+            import io.aeronic.codec.SimpleRecord;
+            import io.aeronic.codec.SimpleData;
+            import io.aeronic.codec.SimpleStruct;
+            import io.aeronic.codec.SimpleStructFlyweight;
             
                     
             public class TestEventsPublisher extends AbstractPublisher implements TestEvents
             {
+                private final SimpleStructFlyweight onLevelLevel = new SimpleStructFlyweight();
                     
                 public TestEventsPublisher(final AeronicPublication publication)
                 {
                     super(publication);
                 }
+
+                public TestEventsPublisher(final AeronicPublication publication, final BackPressureStrategy backPressureStrategy)
+                {
+                    super(publication, backPressureStrategy);
+                }
                     
                 @Override
                 public void onEvent(
@@ -144,15 +285,281 @@ public class Samples
                     offer();
                 }
                 
+                public long tryOnEvent(
+                    final long aLong,
+                    final int intValue,
+                    final float floatValue,
+                    final double doubleValue,
+                    final byte byteValue,
+                    final char charValue,
+                    final SimpleImpl simpleImpl,
+                    final String stringValue,
+                    final long[] longs,
+                    final int[] ints,
+                    final float[] floats,
+                    final double[] doubles,
+                    final byte[] bytes,
+                    final char[] chars,
+                    final SimpleImpl[] simples,
+                    final MyEnum myEnum,
+                    final List<SimpleImpl> simpleList
+                )
+                {
+                    bufferEncoder.encode(0);
+                    bufferEncoder.encode(aLong);
+                    bufferEncoder.encode(intValue);
+                    bufferEncoder.encode(floatValue);
+                    bufferEncoder.encode(doubleValue);
+                    bufferEncoder.encode(byteValue);
+                    bufferEncoder.encode(charValue);
+                    simpleImpl.encode(bufferEncoder);
+                    bufferEncoder.encode(stringValue);
+                    bufferEncoder.encode(longs);
+                    bufferEncoder.encode(ints);
+                    bufferEncoder.encode(floats);
+                    bufferEncoder.encode(doubles);
+                    bufferEncoder.encode(bytes);
+                    bufferEncoder.encode(chars);
+                    bufferEncoder.encode(simples);
+                    myEnum.encode(bufferEncoder);
+                    bufferEncoder.encode(simpleList);
+                    return tryOffer();
+                }
+
                 @Override
                 public void onTimer(
                     final long timestamp
                 )
                 {
+                    claim(12);
                     bufferEncoder.encode(1);
                     bufferEncoder.encode(timestamp);
                     offer();
                 }
+
+                public long tryOnTimer(
+                    final long timestamp
+                )
+                {
+                    claim(12);
+                    bufferEncoder.encode(1);
+                    bufferEncoder.encode(timestamp);
+                    return tryOffer();
+                }
+
+                @Override
+                public void onQuote(
+                    final CharSequence symbol,
+                    final long price
+                )
+                {
+                    bufferEncoder.encode(2);
+                    bufferEncoder.encode(symbol);
+                    bufferEncoder.encode(price);
+                    offer();
+                }
+
+                public long tryOnQuote(
+                    final CharSequence symbol,
+                    final long price
+                )
+                {
+                    bufferEncoder.encode(2);
+                    bufferEncoder.encode(symbol);
+                    bufferEncoder.encode(price);
+                    return tryOffer();
+                }
+
+                @Override
+                public void onBatch(
+                    final IntArrayList ids,
+                    final LongArrayList sizes,
+                    final List<SimpleImpl> simples
+                )
+                {
+                    bufferEncoder.encode(3);
+                    bufferEncoder.encode(ids);
+                    bufferEncoder.encode(sizes);
+                    bufferEncoder.encode(simples);
+                    offer();
+                }
+
+                public long tryOnBatch(
+                    final IntArrayList ids,
+                    final LongArrayList sizes,
+                    final List<SimpleImpl> simples
+                )
+                {
+                    bufferEncoder.encode(3);
+                    bufferEncoder.encode(ids);
+                    bufferEncoder.encode(sizes);
+                    bufferEncoder.encode(simples);
+                    return tryOffer();
+                }
+
+                @Override
+                public void onPrice(
+                    final Decimal price,
+                    final BigDecimal notional
+                )
+                {
+                    bufferEncoder.encode(4);
+                    bufferEncoder.encode(price);
+                    bufferEncoder.encode(notional);
+                    offer();
+                }
+
+                public long tryOnPrice(
+                    final Decimal price,
+                    final BigDecimal notional
+                )
+                {
+                    bufferEncoder.encode(4);
+                    bufferEncoder.encode(price);
+                    bufferEncoder.encode(notional);
+                    return tryOffer();
+                }
+
+                @Override
+                public void onRecord(
+                    final SimpleRecord simpleRecord
+                )
+                {
+                    claim(17);
+                    try
+                    {
+                        bufferEncoder.encode(5);
+                        bufferEncoder.encode(simpleRecord.id());
+                        bufferEncoder.encode(simpleRecord.quantity());
+                        bufferEncoder.encode(simpleRecord.firm());
+                    }
+                    catch (final Throwable throwable)
+                    {
+                        abortClaim();
+                        throw throwable;
+                    }
+                    offer();
+                }
+
+                public long tryOnRecord(
+                    final SimpleRecord simpleRecord
+                )
+                {
+                    claim(17);
+                    try
+                    {
+                        bufferEncoder.encode(5);
+                        bufferEncoder.encode(simpleRecord.id());
+                        bufferEncoder.encode(simpleRecord.quantity());
+                        bufferEncoder.encode(simpleRecord.firm());
+                    }
+                    catch (final Throwable throwable)
+                    {
+                        abortClaim();
+                        throw throwable;
+                    }
+                    return tryOffer();
+                }
+
+                @Override
+                public void onData(
+                    final SimpleData simpleData,
+                    final SimpleRecord[] records,
+                    final List<SimpleRecord> recordList
+                )
+                {
+                    bufferEncoder.encode(6);
+                    bufferEncoder.encode(simpleData.getName());
+                    bufferEncoder.encode(simpleData.getSimpleRecord().id());
+                    bufferEncoder.encode(simpleData.getSimpleRecord().quantity());
+                    bufferEncoder.encode(simpleData.getSimpleRecord().firm());
+                    bufferEncoder.encode(simpleData.weights);
+                    bufferEncoder.encode(records.length);
+                    for (final var recordsElement : records)
+                    {
+                        bufferEncoder.encode(recordsElement.id());
+                        bufferEncoder.encode(recordsElement.quantity());
+                        bufferEncoder.encode(recordsElement.firm());
+                    }
+                    bufferEncoder.encode(recordList.size());
+                    for (final var recordListElement : recordList)
+                    {
+                        bufferEncoder.encode(recordListElement.id());
+                        bufferEncoder.encode(recordListElement.quantity());
+                        bufferEncoder.encode(recordListElement.firm());
+                    }
+                    offer();
+                }
+
+                public long tryOnData(
+                    final SimpleData simpleData,
+                    final SimpleRecord[] records,
+                    final List<SimpleRecord> recordList
+                )
+                {
+                    bufferEncoder.encode(6);
+                    bufferEncoder.encode(simpleData.getName());
+                    bufferEncoder.encode(simpleData.getSimpleRecord().id());
+                    bufferEncoder.encode(simpleData.getSimpleRecord().quantity());
+                    bufferEncoder.encode(simpleData.getSimpleRecord().firm());
+                    bufferEncoder.encode(simpleData.weights);
+                    bufferEncoder.encode(records.length);
+                    for (final var recordsElement : records)
+                    {
+                        bufferEncoder.encode(recordsElement.id());
+                        bufferEncoder.encode(recordsElement.quantity());
+                        bufferEncoder.encode(recordsElement.firm());
+                    }
+                    bufferEncoder.encode(recordList.size());
+                    for (final var recordListElement : recordList)
+                    {
+                        bufferEncoder.encode(recordListElement.id());
+                        bufferEncoder.encode(recordListElement.quantity());
+                        bufferEncoder.encode(recordListElement.firm());
+                    }
+                    return tryOffer();
+                }
+
+                @Override
+                public void onLevel(
+                    final long sequence,
+                    final SimpleStruct level
+                )
+                {
+                    claim(25);
+                    try
+                    {
+                        bufferEncoder.encode(7);
+                        bufferEncoder.encode(sequence);
+                        bufferEncoder.encodeStruct(onLevelLevel).copyFrom(level);
+                    }
+                    catch (final Throwable throwable)
+                    {
+                        abortClaim();
+                        throw throwable;
+                    }
+                    offer();
+                }
+
+                public long tryOnLevel(
+                    final long sequence,
+                    final SimpleStruct level
+                )
+                {
+                    claim(25);
+                    try
+                    {
+                        bufferEncoder.encode(7);
+                        bufferEncoder.encode(sequence);
+                        bufferEncoder.encodeStruct(onLevelLevel).copyFrom(level);
+                    }
+                    catch (final Throwable throwable)
+                    {
+                        abortClaim();
+                        throw throwable;
+                    }
+                    return tryOffer();
+                }
             }
             """;
 }
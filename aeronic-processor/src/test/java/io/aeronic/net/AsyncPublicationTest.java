@@ -0,0 +1,207 @@
+package io.aeronic.net;
+
+import io.aeron.Publication;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AsyncPublicationTest
+{
+    private final UnsafeBuffer message = new UnsafeBuffer(new byte[16]);
+    private final RecordingPublication recordingPublication = new RecordingPublication();
+    private final AsyncPublication publication = new AsyncPublication(recordingPublication, 1024);
+
+    @Test
+    public void shouldSendHandedOverMessagesInOrder()
+    {
+        for (int i = 0; i < 3; i++)
+        {
+            message.putInt(0, i);
+            assertTrue(publication.offer(message, 0, 16) > 0);
+        }
+        assertEquals(0, recordingPublication.sent.size());
+
+        assertEquals(3, publication.sendMessages());
+
+        assertEquals(3, recordingPublication.sent.size());
+        for (int i = 0; i < 3; i++)
+        {
+            assertEquals(16, recordingPublication.sent.get(i).capacity());
+            assertEquals(i, recordingPublication.sent.get(i).getInt(0));
+        }
+    }
+
+    @Test
+    public void shouldRetryBackPressuredMessage()
+    {
+        recordingPublication.results.add(Publication.BACK_PRESSURED);
+        message.putInt(0, 1);
+        publication.offer(message, 0, 16);
+        message.putInt(0, 2);
+        publication.offer(message, 0, 16);
+
+        assertEquals(0, publication.sendMessages());
+        assertEquals(0, recordingPublication.sent.size());
+        assertEquals(2, publication.sendMessages());
+
+        assertEquals(1, recordingPublication.sent.get(0).getInt(0));
+        assertEquals(2, recordingPublication.sent.get(1).getInt(0));
+        assertEquals(0, publication.getDroppedCount());
+    }
+
+    @Test
+    public void shouldDropMessageWhenNotConnected()
+    {
+        recordingPublication.results.add(Publication.NOT_CONNECTED);
+        publication.offer(message, 0, 16);
+        publication.offer(message, 0, 16);
+
+        assertEquals(2, publication.sendMessages());
+
+        assertEquals(1, recordingPublication.sent.size());
+        assertEquals(1, publication.getDroppedCount());
+    }
+
+    @Test
+    public void shouldReportFullRingBufferAsBackPressure()
+    {
+        long result;
+        do
+        {
+            result = publication.offer(message, 0, 16);
+        }
+        while (result > 0);
+
+        assertEquals(Publication.BACK_PRESSURED, result);
+        publication.sendMessages();
+        assertTrue(publication.offer(message, 0, 16) > 0);
+    }
+
+    @Test
+    public void shouldSendMessageEncodedIntoClaimedRange()
+    {
+        final int index = publication.tryClaimStaged(16);
+        assertTrue(index >= 0);
+        publication.stagingBuffer().putInt(index, 7);
+        assertEquals(0, publication.sendMessages());
+
+        assertTrue(publication.commitStaged(index) > 0);
+        assertEquals(1, publication.sendMessages());
+
+        assertEquals(16, recordingPublication.sent.get(0).capacity());
+        assertEquals(7, recordingPublication.sent.get(0).getInt(0));
+    }
+
+    @Test
+    public void shouldSkipAbortedRange()
+    {
+        publication.abortStaged(publication.tryClaimStaged(16));
+        message.putInt(0, 1);
+        publication.offer(message, 0, 16);
+
+        assertEquals(1, publication.sendMessages());
+
+        assertEquals(1, recordingPublication.sent.size());
+        assertEquals(1, recordingPublication.sent.get(0).getInt(0));
+    }
+
+    @Test
+    public void shouldRejectMessageLongerThanMaxMessageLength()
+    {
+        final int length = publication.maxMessageLength() + 1;
+
+        assertTrue(publication.tryClaimStaged(length) < 0);
+        assertThrows(IllegalArgumentException.class, () -> publication.offer(new UnsafeBuffer(new byte[length]), 0, length));
+        assertEquals(0, publication.sendMessages());
+    }
+
+    @Test
+    public void shouldAcceptMessagesFromManyThreads() throws InterruptedException
+    {
+        final AsyncPublication sharedPublication = new AsyncPublication(recordingPublication);
+        final int threadCount = 4;
+        final int messageCount = 1_000;
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++)
+        {
+            final int threadId = t;
+            threads.add(new Thread(() -> {
+                final UnsafeBuffer threadMessage = new UnsafeBuffer(new byte[8]);
+                for (int i = 0; i < messageCount; i++)
+                {
+                    threadMessage.putInt(0, threadId);
+                    threadMessage.putInt(4, i);
+                    while (sharedPublication.offer(threadMessage, 0, 8) < 0)
+                    {
+                        Thread.onSpinWait();
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (final Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        while (sharedPublication.sendMessages() > 0)
+        {
+        }
+
+        assertEquals(threadCount * messageCount, recordingPublication.sent.size());
+        final Set<Long> distinctMessages = new HashSet<>();
+        final int[] lastSequence = {-1, -1, -1, -1};
+        for (final DirectBuffer sent : recordingPublication.sent)
+        {
+            final int threadId = sent.getInt(0);
+            final int sequence = sent.getInt(4);
+            assertEquals(lastSequence[threadId] + 1, sequence);
+            lastSequence[threadId] = sequence;
+            distinctMessages.add(sent.getLong(0));
+        }
+        assertEquals(threadCount * messageCount, distinctMessages.size());
+    }
+
+    private static class RecordingPublication implements AeronicPublication
+    {
+        private final Queue<Long> results = new ArrayDeque<>();
+        private final List<DirectBuffer> sent = new ArrayList<>();
+
+        @Override
+        public boolean isConnected()
+        {
+            return true;
+        }
+
+        @Override
+        public long offer(final DirectBuffer buffer, final int offset, final int length)
+        {
+            final Long result = results.poll();
+            if (result != null)
+            {
+                return result;
+            }
+
+            final UnsafeBuffer copy = new UnsafeBuffer(new byte[length]);
+            copy.putBytes(0, buffer, offset, length);
+            sent.add(copy);
+            return 64L;
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package io.aeronic.net;
+
+import io.aeron.Publication;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.NoOpIdleStrategy;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BackPressureStrategyTest
+{
+    private final UnsafeBuffer buffer = new UnsafeBuffer(new byte[16]);
+
+    @Test
+    public void shouldRetryUntilOfferSucceeds()
+    {
+        final ScriptedPublication publication = new ScriptedPublication(Publication.BACK_PRESSURED, Publication.ADMIN_ACTION, 64L);
+        final RetryingBackPressureStrategy strategy = new RetryingBackPressureStrategy(NoOpIdleStrategy.INSTANCE);
+
+        assertEquals(64L, strategy.offer(publication, buffer, 0, 8));
+        assertEquals(3, publication.attempts);
+    }
+
+    @Test
+    public void shouldNotRetryWhenNotConnected()
+    {
+        final ScriptedPublication publication = new ScriptedPublication(Publication.NOT_CONNECTED, 64L);
+        final RetryingBackPressureStrategy strategy = new RetryingBackPressureStrategy(NoOpIdleStrategy.INSTANCE);
+
+        assertEquals(Publication.NOT_CONNECTED, strategy.offer(publication, buffer, 0, 8));
+        assertEquals(1, publication.attempts);
+    }
+
+    @Test
+    public void shouldGiveUpRetryingAfterTimeout()
+    {
+        final ScriptedPublication publication = new ScriptedPublication(Publication.BACK_PRESSURED);
+        final long[] nanoTime = { 0 };
+        final RetryingBackPressureStrategy strategy = new RetryingBackPressureStrategy(
+            NoOpIdleStrategy.INSTANCE,
+            100,
+            () -> nanoTime[0] += 10
+        );
+
+        assertEquals(Publication.BACK_PRESSURED, strategy.offer(publication, buffer, 0, 8));
+        assertEquals(11, publication.attempts);
+    }
+
+    @Test
+    public void shouldCountDroppedMessages()
+    {
+        final ScriptedPublication publication = new ScriptedPublication(Publication.BACK_PRESSURED, 64L, Publication.NOT_CONNECTED);
+        final DroppingBackPressureStrategy strategy = new DroppingBackPressureStrategy();
+
+        strategy.offer(publication, buffer, 0, 8);
+        strategy.offer(publication, buffer, 0, 8);
+        strategy.offer(publication, buffer, 0, 8);
+
+        assertEquals(2, strategy.getDroppedCount());
+    }
+
+    @Test
+    public void shouldInvokeCallbackWithRejectedMessage()
+    {
+        final ScriptedPublication publication = new ScriptedPublication(Publication.BACK_PRESSURED);
+        final List<Long> failedResults = new ArrayList<>();
+        final List<Integer> failedLengths = new ArrayList<>();
+        final CallbackBackPressureStrategy strategy = new CallbackBackPressureStrategy(
+            (result, buffer, offset, length) ->
+            {
+                failedResults.add(result);
+                failedLengths.add(length);
+            }
+        );
+
+        strategy.offer(publication, buffer, 0, 8);
+
+        assertEquals(List.of(Publication.BACK_PRESSURED), failedResults);
+        assertEquals(List.of(8), failedLengths);
+    }
+
+    private static class ScriptedPublication implements AeronicPublication
+    {
+        private final long[] results;
+        private int attempts;
+
+        ScriptedPublication(final long... results)
+        {
+            this.results = results;
+        }
+
+        @Override
+        public boolean isConnected()
+        {
+            return true;
+        }
+
+        @Override
+        public long offer(final DirectBuffer buffer, final int offset, final int length)
+        {
+            return results[Math.min(attempts++, results.length - 1)];
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
+}
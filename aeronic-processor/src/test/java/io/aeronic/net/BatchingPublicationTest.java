@@ -0,0 +1,178 @@
+package io.aeronic.net;
+
+import io.aeron.Publication;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BatchingPublicationTest
+{
+    private final UnsafeBuffer message = new UnsafeBuffer(new byte[16]);
+    private final RecordingPublication recordingPublication = new RecordingPublication();
+    private final BatchingPublication publication = new BatchingPublication(recordingPublication, 50, 1_000, 1024, () -> 0);
+
+    @Test
+    public void shouldSendLoneMessageWithoutBatchFrame()
+    {
+        message.putInt(0, 7);
+        publication.offer(message, 0, 16);
+
+        assertEquals(2, publication.sendBatches());
+        assertEquals(1, recordingPublication.sent.size());
+        assertEquals(16, recordingPublication.sent.get(0).capacity());
+        assertEquals(7, recordingPublication.sent.get(0).getInt(0));
+    }
+
+    @Test
+    public void shouldPackStagedMessagesUpToMaxBatchLength()
+    {
+        for (int i = 0; i < 3; i++)
+        {
+            message.putInt(0, i);
+            publication.offer(message, 0, 16);
+        }
+
+        publication.sendBatches();
+        publication.sendBatches();
+
+        assertEquals(2, recordingPublication.sent.size());
+        final DirectBuffer batch = recordingPublication.sent.get(0);
+        assertEquals(AbstractPublisher.BATCH_HEADER_LENGTH + 2 * (4 + 16), batch.capacity());
+        assertEquals(AbstractPublisher.BATCH_MARKER, batch.getInt(0));
+        assertEquals(2, batch.getInt(4));
+        assertEquals(16, batch.getInt(8));
+        assertEquals(0, batch.getInt(12));
+        assertEquals(1, batch.getInt(12 + 16 + 4));
+        assertEquals(2, recordingPublication.sent.get(1).getInt(0));
+    }
+
+    @Test
+    public void shouldRetryBackPressuredBatch()
+    {
+        recordingPublication.results.add(Publication.BACK_PRESSURED);
+        publication.offer(message, 0, 16);
+        publication.offer(message, 0, 16);
+
+        publication.sendBatches();
+        assertEquals(0, recordingPublication.sent.size());
+        publication.sendBatches();
+
+        assertEquals(1, recordingPublication.sent.size());
+        assertEquals(2, recordingPublication.sent.get(0).getInt(4));
+        assertEquals(0, publication.getDroppedCount());
+    }
+
+    @Test
+    public void shouldDropBatchWhenNotConnected()
+    {
+        recordingPublication.results.add(Publication.NOT_CONNECTED);
+        publication.offer(message, 0, 16);
+        publication.offer(message, 0, 16);
+
+        publication.sendBatches();
+        publication.sendBatches();
+
+        assertEquals(0, recordingPublication.sent.size());
+        assertEquals(2, publication.getDroppedCount());
+    }
+
+    @Test
+    public void shouldReportFullStagingBufferAsBackPressure()
+    {
+        final BatchingPublication smallPublication = new BatchingPublication(recordingPublication, 8, 1_000, 64, () -> 0);
+
+        assertEquals(Publication.BACK_PRESSURED, offerUntilRejected(smallPublication));
+        smallPublication.sendBatches();
+        assertTrue(smallPublication.offer(message, 0, 8) > 0);
+    }
+
+    @Test
+    public void shouldSendMessageLongerThanMaxBatchLengthOnItsOwn()
+    {
+        final UnsafeBuffer longMessage = new UnsafeBuffer(new byte[100]);
+        longMessage.putInt(0, 2);
+        message.putInt(0, 1);
+        publication.offer(message, 0, 16);
+        publication.offer(longMessage, 0, 100);
+        message.putInt(0, 3);
+        publication.offer(message, 0, 16);
+
+        publication.sendBatches();
+        publication.sendBatches();
+        publication.sendBatches();
+
+        assertEquals(3, recordingPublication.sent.size());
+        for (int i = 0; i < 3; i++)
+        {
+            assertEquals(i == 1 ? 100 : 16, recordingPublication.sent.get(i).capacity());
+            assertEquals(i + 1, recordingPublication.sent.get(i).getInt(0));
+        }
+    }
+
+    @Test
+    public void shouldRejectMessageLongerThanMaxMessageLength()
+    {
+        final int length = publication.maxMessageLength() + 1;
+
+        assertThrows(IllegalArgumentException.class, () -> publication.offer(new UnsafeBuffer(new byte[length]), 0, length));
+        assertEquals(0, publication.sendBatches());
+    }
+
+    @Test
+    public void shouldRejectStagingCapacityTooSmallForMaxBatchLength()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new BatchingPublication(recordingPublication, 50, 1_000, 256, () -> 0));
+    }
+
+    private long offerUntilRejected(final BatchingPublication publication)
+    {
+        long result;
+        do
+        {
+            result = publication.offer(message, 0, 8);
+        }
+        while (result > 0);
+        return result;
+    }
+
+    private static class RecordingPublication implements AeronicPublication
+    {
+        private final Queue<Long> results = new ArrayDeque<>();
+        private final List<DirectBuffer> sent = new ArrayList<>();
+
+        @Override
+        public boolean isConnected()
+        {
+            return true;
+        }
+
+        @Override
+        public long offer(final DirectBuffer buffer, final int offset, final int length)
+        {
+            final Long result = results.poll();
+            if (result != null)
+            {
+                return result;
+            }
+
+            final UnsafeBuffer copy = new UnsafeBuffer(new byte[length]);
+            copy.putBytes(0, buffer, offset, length);
+            sent.add(copy);
+            return 64L;
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package io.aeronic.net;
+
+import io.aeronic.codec.BufferDecoder;
+import org.agrona.DirectBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BatchingTest
+{
+    private final List<String> received = new ArrayList<>();
+    private final LoopbackPublication publication = new LoopbackPublication(new UpdateInvoker(received));
+    private final UpdatePublisher publisher = new UpdatePublisher(publication);
+
+    @Test
+    public void shouldPublishBatchAsOneMessage()
+    {
+        publisher.beginBatch();
+        publisher.onUpdate(1, 100L);
+        publisher.onUpdate(2, 200L);
+        publisher.onUpdate(3, 300L);
+        assertEquals(0, publication.offers);
+        assertEquals(List.of(), received);
+
+        publisher.commitBatch();
+
+        assertEquals(1, publication.offers);
+        assertEquals(List.of("1:100", "2:200", "3:300"), received);
+    }
+
+    @Test
+    public void shouldPublishSingleMessagesAroundBatch()
+    {
+        publisher.onUpdate(1, 100L);
+        publisher.beginBatch();
+        publisher.onUpdate(2, 200L);
+        assertEquals(0, publisher.tryOnUpdate(3, 300L));
+        assertEquals(64L, publisher.tryCommitBatch());
+        publisher.onUpdate(4, 400L);
+
+        assertEquals(3, publication.offers);
+        assertEquals(List.of("1:100", "2:200", "3:300", "4:400"), received);
+    }
+
+    @Test
+    public void shouldNotPublishEmptyOrAbortedBatch()
+    {
+        publisher.beginBatch();
+        publisher.commitBatch();
+        publisher.beginBatch();
+        publisher.onUpdate(1, 100L);
+        publisher.abortBatch();
+
+        assertEquals(0, publication.offers);
+        publisher.onUpdate(2, 200L);
+        assertEquals(List.of("2:200"), received);
+    }
+
+    @Test
+    public void shouldHandleBatchesNestedInBatchOfBatchingPublication()
+    {
+        final BatchingPublication batchingPublication = new BatchingPublication(publication, 1024);
+        final UpdatePublisher batchingPublisher = new UpdatePublisher(batchingPublication);
+
+        batchingPublisher.onUpdate(1, 100L);
+        batchingPublisher.beginBatch();
+        batchingPublisher.onUpdate(2, 200L);
+        batchingPublisher.onUpdate(3, 300L);
+        batchingPublisher.commitBatch();
+        batchingPublisher.onUpdate(4, 400L);
+        batchingPublication.sendBatches();
+
+        assertEquals(1, publication.offers);
+        assertEquals(List.of("1:100", "2:200", "3:300", "4:400"), received);
+    }
+
+    @Test
+    public void shouldRejectUnbalancedBatchCalls()
+    {
+        assertThrows(IllegalStateException.class, publisher::commitBatch);
+        publisher.beginBatch();
+        assertThrows(IllegalStateException.class, publisher::beginBatch);
+    }
+
+    private static class UpdatePublisher extends AbstractPublisher
+    {
+        UpdatePublisher(final AeronicPublication publication)
+        {
+            super(publication);
+        }
+
+        void onUpdate(final int id, final long price)
+        {
+            bufferEncoder.encode(0);
+            bufferEncoder.encode(id);
+            bufferEncoder.encode(price);
+            offer();
+        }
+
+        long tryOnUpdate(final int id, final long price)
+        {
+            bufferEncoder.encode(0);
+            bufferEncoder.encode(id);
+            bufferEncoder.encode(price);
+            return tryOffer();
+        }
+    }
+
+    private static class UpdateInvoker extends AbstractSubscriberInvoker<List<String>>
+    {
+        UpdateInvoker(final List<String> subscriber)
+        {
+            super(subscriber);
+        }
+
+        @Override
+        protected void handle(final BufferDecoder bufferDecoder, final int offset)
+        {
+            final int msgType = bufferDecoder.decodeInt();
+            assertEquals(0, msgType);
+            subscriber.add(bufferDecoder.decodeInt() + ":" + bufferDecoder.decodeLong());
+        }
+    }
+
+    private static class LoopbackPublication implements AeronicPublication
+    {
+        private final AbstractSubscriberInvoker<?> invoker;
+        private int offers;
+
+        LoopbackPublication(final AbstractSubscriberInvoker<?> invoker)
+        {
+            this.invoker = invoker;
+        }
+
+        @Override
+        public boolean isConnected()
+        {
+            return true;
+        }
+
+        /**
+         * Hands the message over in place, so that the invoker must bound it by its length rather than the buffer.
+         */
+        @Override
+        public long offer(final DirectBuffer buffer, final int offset, final int length)
+        {
+            offers++;
+            invoker.handle(buffer, offset, length);
+            return 64L;
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package io.aeronic.net;
+
+import io.aeron.Publication;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ChunkedPublisherTest
+{
+    private static final int MAX_CHUNK_LENGTH = 100;
+
+    private final List<String> chunks = new ArrayList<>();
+    private final RecordingChunkHandler recordingHandler = new RecordingChunkHandler(chunks);
+    private final LoopbackPublication publication = new LoopbackPublication(new ChunkSubscriberInvoker(recordingHandler));
+    private final ChunkedPublisher publisher = new ChunkedPublisher(publication, new DroppingBackPressureStrategy(), MAX_CHUNK_LENGTH);
+    private final Path directory;
+
+    public ChunkedPublisherTest() throws IOException
+    {
+        directory = Files.createTempDirectory("chunks");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException
+    {
+        try (Stream<Path> files = Files.walk(directory))
+        {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void shouldSplitBufferIntoSequencedChunks()
+    {
+        final byte[] payload = randomBytes(250);
+
+        assertTrue(publisher.publish(7L, new UnsafeBuffer(payload), 0, payload.length) > 0);
+
+        assertEquals(List.of("7:0:100", "7:1:100", "7:2:50:last"), chunks);
+        assertArrayEquals(payload, recordingHandler.payload(7L));
+    }
+
+    @Test
+    public void shouldEndStreamOnChunkBoundaryWithEmptyLastChunk() throws IOException
+    {
+        final byte[] payload = randomBytes(200);
+
+        assertTrue(publisher.publish(3L, new ByteArrayInputStream(payload)) > 0);
+
+        assertEquals(List.of("3:0:100", "3:1:100", "3:2:0:last"), chunks);
+        assertArrayEquals(payload, recordingHandler.payload(3L));
+    }
+
+    @Test
+    public void shouldStreamFileChannel() throws IOException
+    {
+        final byte[] payload = randomBytes(1_234);
+        final Path file = Files.write(directory.resolve("source"), payload);
+
+        try (FileChannel fileChannel = FileChannel.open(file))
+        {
+            assertTrue(publisher.publish(5L, fileChannel) > 0);
+        }
+
+        assertEquals(13, chunks.size());
+        assertArrayEquals(payload, recordingHandler.payload(5L));
+    }
+
+    @Test
+    public void shouldStopTransferOnFailedChunk()
+    {
+        publication.results.add(64L);
+        publication.results.add((long)Publication.NOT_CONNECTED);
+
+        assertEquals(Publication.NOT_CONNECTED, publisher.publish(1L, new UnsafeBuffer(new byte[300]), 0, 300));
+        assertEquals(List.of("1:0:100"), chunks);
+    }
+
+    @Test
+    public void shouldReassembleTransfersIntoFiles() throws IOException
+    {
+        final Map<Long, Path> completed = new HashMap<>();
+        final FileChunkHandler fileChunkHandler = new FileChunkHandler(directory, 128, completed::put);
+        final ChunkedPublisher filePublisher = new ChunkedPublisher(
+            new LoopbackPublication(new ChunkSubscriberInvoker(fileChunkHandler)),
+            new DroppingBackPressureStrategy(),
+            MAX_CHUNK_LENGTH
+        );
+        final byte[] payload = randomBytes(1_000);
+        final byte[] emptyPayload = new byte[0];
+
+        filePublisher.publish(11L, new UnsafeBuffer(payload), 0, payload.length);
+        filePublisher.publish(12L, new UnsafeBuffer(emptyPayload), 0, 0);
+
+        assertEquals(2, completed.size());
+        assertArrayEquals(payload, Files.readAllBytes(completed.get(11L)));
+        assertArrayEquals(emptyPayload, Files.readAllBytes(completed.get(12L)));
+        assertEquals(0, fileChunkHandler.getFailedCount());
+    }
+
+    @Test
+    public void shouldAbandonTransferMissingChunk()
+    {
+        final Map<Long, Path> completed = new HashMap<>();
+        final FileChunkHandler fileChunkHandler = new FileChunkHandler(directory, 128, completed::put);
+        final UnsafeBuffer chunk = new UnsafeBuffer(new byte[10]);
+
+        fileChunkHandler.onChunk(9L, 0, chunk, 0, 10, false);
+        fileChunkHandler.onChunk(9L, 2, chunk, 0, 10, false);
+        fileChunkHandler.onChunk(9L, 3, chunk, 0, 10, true);
+
+        assertTrue(completed.isEmpty());
+        assertFalse(Files.exists(directory.resolve("9")));
+        assertEquals(1, fileChunkHandler.getFailedCount());
+    }
+
+    private static byte[] randomBytes(final int length)
+    {
+        final byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static class RecordingChunkHandler implements ChunkHandler
+    {
+        private final List<String> chunks;
+        private final Map<Long, ByteArrayOutputStream> payloads = new HashMap<>();
+
+        RecordingChunkHandler(final List<String> chunks)
+        {
+            this.chunks = chunks;
+        }
+
+        @Override
+        public void onChunk(
+            final long transferId,
+            final int sequence,
+            final DirectBuffer buffer,
+            final int offset,
+            final int length,
+            final boolean isLast
+        )
+        {
+            chunks.add(transferId + ":" + sequence + ":" + length + (isLast ? ":last" : ""));
+            final byte[] bytes = new byte[length];
+            buffer.getBytes(offset, bytes);
+            payloads.computeIfAbsent(transferId, id -> new ByteArrayOutputStream()).writeBytes(bytes);
+        }
+
+        byte[] payload(final long transferId)
+        {
+            return payloads.get(transferId).toByteArray();
+        }
+    }
+
+    private static class LoopbackPublication implements AeronicPublication
+    {
+        private final AbstractSubscriberInvoker<?> invoker;
+        private final Queue<Long> results = new ArrayDeque<>();
+
+        LoopbackPublication(final AbstractSubscriberInvoker<?> invoker)
+        {
+            this.invoker = invoker;
+        }
+
+        @Override
+        public boolean isConnected()
+        {
+            return true;
+        }
+
+        @Override
+        public long offer(final DirectBuffer buffer, final int offset, final int length)
+        {
+            final Long result = results.poll();
+            if (result != null && result < 0)
+            {
+                return result;
+            }
+
+            final UnsafeBuffer fragment = new UnsafeBuffer(new byte[length]);
+            fragment.putBytes(0, buffer, offset, length);
+            invoker.handle(fragment, 0, length);
+            return 64L;
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
+}
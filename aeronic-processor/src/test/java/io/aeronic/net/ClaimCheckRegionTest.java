@@ -0,0 +1,96 @@
+package io.aeronic.net;
+
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ClaimCheckRegionTest
+{
+    private final File file;
+    private final ClaimCheckRegion writer;
+    private final ClaimCheckRegion reader;
+    private final UnsafeBuffer payload = new UnsafeBuffer(new byte[100]);
+    private final UnsafeBuffer view = new UnsafeBuffer(0, 0);
+
+    public ClaimCheckRegionTest() throws IOException
+    {
+        file = Files.createTempFile("claim-check", ".region").toFile();
+        writer = ClaimCheckRegion.create(file, 250);
+        reader = ClaimCheckRegion.open(file);
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        reader.close();
+        writer.close();
+        file.delete();
+    }
+
+    @Test
+    public void shouldShareRegionBetweenWriterAndReader()
+    {
+        assertEquals(256, writer.getCapacity());
+        assertEquals(writer.getCapacity(), reader.getCapacity());
+        assertEquals(writer.getRegionId(), reader.getRegionId());
+
+        payload.putLong(0, 42L);
+        payload.putLong(92, 43L);
+        final int offset = writer.append(payload, 0, 100);
+
+        assertTrue(reader.wrap(writer.getRegionId(), writer.getGeneration(), offset, 100, view));
+        assertEquals(100, view.capacity());
+        assertEquals(42L, view.getLong(0));
+        assertEquals(43L, view.getLong(92));
+    }
+
+    @Test
+    public void shouldAppendAtAlignedOffsetsAndWrapAroundWithNewGeneration()
+    {
+        assertEquals(0, writer.append(payload, 0, 100));
+        assertEquals(128, writer.append(payload, 0, 100));
+        assertEquals(0, writer.getGeneration());
+
+        assertEquals(0, writer.append(payload, 0, 100));
+        assertEquals(1, writer.getGeneration());
+    }
+
+    @Test
+    public void shouldKeepPayloadOfPreviousGenerationUntilOverwritten()
+    {
+        writer.append(payload, 0, 100);
+        final int secondOffset = writer.append(payload, 0, 100);
+        writer.append(payload, 0, 100);
+
+        assertTrue(reader.wrap(writer.getRegionId(), 0, secondOffset, 100, view));
+        assertFalse(reader.wrap(writer.getRegionId(), 0, 0, 100, view));
+
+        writer.append(payload, 0, 100);
+
+        assertFalse(reader.wrap(writer.getRegionId(), 0, secondOffset, 100, view));
+    }
+
+    @Test
+    public void shouldRejectReferenceToAnotherRegion()
+    {
+        final int offset = writer.append(payload, 0, 100);
+
+        assertFalse(reader.wrap(writer.getRegionId() + 1, 0, offset, 100, view));
+    }
+
+    @Test
+    public void shouldRejectPayloadLongerThanRegionAndAppendByReader()
+    {
+        assertThrows(IllegalArgumentException.class, () -> writer.append(new UnsafeBuffer(new byte[257]), 0, 257));
+        assertThrows(IllegalStateException.class, () -> reader.append(payload, 0, 100));
+    }
+}
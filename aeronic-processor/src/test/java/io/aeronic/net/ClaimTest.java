@@ -0,0 +1,239 @@
+package io.aeronic.net;
+
+import io.aeron.logbuffer.BufferClaim;
+import io.aeronic.codec.BufferDecoder;
+import org.agrona.BitUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ClaimTest
+{
+    private static final int FRAME_HEADER_LENGTH = 32;
+    private static final int TYPE_OFFSET = 6;
+    private static final short PADDING_FRAME_TYPE = 0;
+    private static final short DATA_FRAME_TYPE = 1;
+
+    private final List<String> received = new ArrayList<>();
+    private final ClaimingPublication publication = new ClaimingPublication(new PriceInvoker(received));
+    private final PricePublisher publisher = new PricePublisher(publication);
+
+    @Test
+    public void shouldEncodeFixedSizeMessageIntoClaim()
+    {
+        publisher.onPrice(1, new Price(100));
+
+        assertEquals(1, publication.frameOffsets.size());
+        assertEquals(DATA_FRAME_TYPE, publication.frameType(0));
+        publication.handleFrame(0);
+        assertEquals(List.of("1:100"), received);
+    }
+
+    @Test
+    public void shouldAbortClaimWhenEncodingFails()
+    {
+        assertThrows(NullPointerException.class, () -> publisher.onPrice(1, null));
+        publisher.onPrice(2, new Price(200));
+
+        assertEquals(2, publication.frameOffsets.size());
+        assertEquals(PADDING_FRAME_TYPE, publication.frameType(0));
+        assertEquals(FRAME_HEADER_LENGTH + 20, publication.frameLength(0));
+        assertEquals(DATA_FRAME_TYPE, publication.frameType(1));
+        publication.handleFrame(1);
+        assertEquals(List.of("2:200"), received);
+    }
+
+    @Test
+    public void shouldNotClaimWhenClaimCheckCannotBeAppended()
+    {
+        final UnsafeBuffer payload = new UnsafeBuffer(new byte[64]);
+
+        assertThrows(IllegalStateException.class, () -> publisher.onPayload(1, payload));
+        assertEquals(0, publication.frameOffsets.size());
+
+        publisher.onPrice(2, new Price(200));
+        publication.handleFrame(0);
+        assertEquals(List.of("2:200"), received);
+    }
+
+    @Test
+    public void shouldNotClaimWhenReplyCannotBeRegistered()
+    {
+        assertThrows(IllegalStateException.class, () -> publisher.onRequest(1, new Object()));
+        assertEquals(0, publication.frameOffsets.size());
+
+        publisher.onPrice(2, new Price(200));
+        publication.handleFrame(0);
+        assertEquals(List.of("2:200"), received);
+    }
+
+    @Test
+    public void shouldDiscardFailedMessageFromBatch()
+    {
+        publisher.beginBatch();
+        publisher.onPrice(1, new Price(100));
+        assertThrows(NullPointerException.class, () -> publisher.onPrice(2, null));
+        publisher.onPrice(3, new Price(300));
+        publisher.commitBatch();
+
+        assertEquals(0, publication.frameOffsets.size());
+        assertEquals(List.of("1:100", "3:300"), received);
+    }
+
+    @Test
+    public void shouldEncodeFixedSizeMessageIntoAsyncRingBuffer()
+    {
+        final List<Integer> offeredLengths = new ArrayList<>();
+        final AsyncPublication asyncPublication = new AsyncPublication(publication, 1024)
+        {
+            @Override
+            public long offer(final DirectBuffer buffer, final int offset, final int length)
+            {
+                offeredLengths.add(length);
+                return super.offer(buffer, offset, length);
+            }
+        };
+        final PricePublisher asyncPublisher = new PricePublisher(asyncPublication);
+
+        asyncPublisher.onPrice(1, new Price(100));
+        assertThrows(NullPointerException.class, () -> asyncPublisher.onPrice(2, null));
+        asyncPublisher.onPrice(3, new Price(300));
+
+        assertEquals(List.of(), offeredLengths);
+        assertEquals(2, asyncPublication.sendMessages());
+        assertEquals(List.of("1:100", "3:300"), received);
+    }
+
+    private record Price(long value)
+    {
+    }
+
+    private static class PricePublisher extends AbstractPublisher
+    {
+        PricePublisher(final AeronicPublication publication)
+        {
+            super(publication);
+        }
+
+        void onPrice(final long id, final Price price)
+        {
+            claim(20);
+            try
+            {
+                bufferEncoder.encode(0);
+                bufferEncoder.encode(id);
+                bufferEncoder.encode(price.value());
+            }
+            catch (final Throwable throwable)
+            {
+                abortClaim();
+                throw throwable;
+            }
+            offer();
+        }
+
+        void onPayload(final long id, final DirectBuffer payload)
+        {
+            final long payloadReference = appendClaimCheck(payload);
+            claim(28);
+            bufferEncoder.encode(1);
+            bufferEncoder.encode(id);
+            encodeClaimCheck(payloadReference, payload.capacity());
+            offer();
+        }
+
+        void onRequest(final long id, final Object reply)
+        {
+            final long replyCorrelationId = registerReply(reply);
+            claim(20);
+            bufferEncoder.encode(2);
+            bufferEncoder.encode(id);
+            bufferEncoder.encode(replyCorrelationId);
+            offer();
+        }
+    }
+
+    private static class PriceInvoker extends AbstractSubscriberInvoker<List<String>>
+    {
+        PriceInvoker(final List<String> subscriber)
+        {
+            super(subscriber);
+        }
+
+        @Override
+        protected void handle(final BufferDecoder bufferDecoder, final int offset)
+        {
+            assertEquals(0, bufferDecoder.decodeInt());
+            subscriber.add(bufferDecoder.decodeLong() + ":" + bufferDecoder.decodeLong());
+        }
+    }
+
+    /**
+     * Claims frames laid out as in a term of the log buffer, and hands offered messages straight to the invoker.
+     */
+    private static class ClaimingPublication implements AeronicPublication
+    {
+        private final UnsafeBuffer termBuffer = new UnsafeBuffer(new byte[1024]);
+        private final List<Integer> frameOffsets = new ArrayList<>();
+        private final AbstractSubscriberInvoker<?> invoker;
+        private int tail;
+
+        ClaimingPublication(final AbstractSubscriberInvoker<?> invoker)
+        {
+            this.invoker = invoker;
+        }
+
+        @Override
+        public boolean isConnected()
+        {
+            return true;
+        }
+
+        @Override
+        public long tryClaim(final int length, final BufferClaim bufferClaim)
+        {
+            final int frameLength = FRAME_HEADER_LENGTH + length;
+            termBuffer.putShort(tail + TYPE_OFFSET, DATA_FRAME_TYPE, ByteOrder.LITTLE_ENDIAN);
+            bufferClaim.wrap(termBuffer, tail, frameLength);
+            frameOffsets.add(tail);
+            tail += BitUtil.align(frameLength, FRAME_HEADER_LENGTH);
+            return tail;
+        }
+
+        @Override
+        public long offer(final DirectBuffer buffer, final int offset, final int length)
+        {
+            final UnsafeBuffer fragment = new UnsafeBuffer(new byte[length]);
+            fragment.putBytes(0, buffer, offset, length);
+            invoker.handle(fragment, 0, length);
+            return 64L;
+        }
+
+        @Override
+        public void close()
+        {
+        }
+
+        short frameType(final int frame)
+        {
+            return termBuffer.getShort(frameOffsets.get(frame) + TYPE_OFFSET, ByteOrder.LITTLE_ENDIAN);
+        }
+
+        int frameLength(final int frame)
+        {
+            return termBuffer.getInt(frameOffsets.get(frame));
+        }
+
+        void handleFrame(final int frame)
+        {
+            invoker.handle(termBuffer, frameOffsets.get(frame) + FRAME_HEADER_LENGTH, frameLength(frame) - FRAME_HEADER_LENGTH);
+        }
+    }
+}
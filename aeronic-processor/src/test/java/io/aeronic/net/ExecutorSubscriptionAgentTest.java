@@ -0,0 +1,199 @@
+package io.aeronic.net;
+
+import io.aeron.logbuffer.ControlledFragmentHandler;
+import io.aeronic.codec.BufferDecoder;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ExecutorSubscriptionAgentTest
+{
+    private static final int MESSAGE_LENGTH = 20;
+
+    private final List<String> handled = new ArrayList<>();
+    private final List<Throwable> errors = new ArrayList<>();
+    private final ManualExecutor executor = new ManualExecutor();
+    private final UnsafeBuffer message = new UnsafeBuffer(new byte[MESSAGE_LENGTH]);
+
+    @Test
+    public void shouldScheduleEachLaneOnceAndHandleItsMessagesInOrder()
+    {
+        final ExecutorSubscriptionAgent<Object> agent = newAgent(3, 100);
+        for (int i = 0; i < 9; i++)
+        {
+            encodeMessage(i % 3, i);
+            assertEquals(ControlledFragmentHandler.Action.CONTINUE, agent.dispatch(message, 0, MESSAGE_LENGTH, null));
+        }
+
+        assertEquals(3, executor.tasks.size());
+        assertEquals(9, agent.getInFlightCount());
+
+        executor.runAll();
+
+        assertEquals(List.of("0:0", "0:3", "0:6", "1:1", "1:4", "1:7", "2:2", "2:5", "2:8"), handled);
+        assertEquals(0, agent.getInFlightCount());
+    }
+
+    @Test
+    public void shouldStopPollingAtInFlightLimit()
+    {
+        final ExecutorSubscriptionAgent<Object> agent = newAgent(2, 2);
+        encodeMessage(0, 1);
+        assertEquals(ControlledFragmentHandler.Action.CONTINUE, agent.dispatch(message, 0, MESSAGE_LENGTH, null));
+        encodeMessage(1, 2);
+        assertEquals(ControlledFragmentHandler.Action.CONTINUE, agent.dispatch(message, 0, MESSAGE_LENGTH, null));
+        encodeMessage(0, 3);
+        assertEquals(ControlledFragmentHandler.Action.ABORT, agent.dispatch(message, 0, MESSAGE_LENGTH, null));
+        assertEquals(0, agent.doWork());
+
+        executor.runAll();
+
+        assertEquals(ControlledFragmentHandler.Action.CONTINUE, agent.dispatch(message, 0, MESSAGE_LENGTH, null));
+    }
+
+    @Test
+    public void shouldReportFailedMessageAndCarryOnWithLane()
+    {
+        final ExecutorSubscriptionAgent<Object> agent = newAgent(1, 100);
+        encodeMessage(0, -1);
+        agent.dispatch(message, 0, MESSAGE_LENGTH, null);
+        encodeMessage(0, 2);
+        agent.dispatch(message, 0, MESSAGE_LENGTH, null);
+
+        executor.runAll();
+
+        assertEquals(1, errors.size());
+        assertEquals(List.of("0:2"), handled);
+        assertEquals(0, agent.getInFlightCount());
+    }
+
+    @Test
+    public void shouldRunLanesOnPlainExecutor()
+    {
+        final List<AbstractSubscriberInvoker<Object>> invokers = List.of(new KeyedInvoker(handled));
+        final ExecutorSubscriptionAgent<Object> agent = new ExecutorSubscriptionAgent<>(null, invokers, Runnable::run, 100, errors::add);
+        encodeMessage(0, 1);
+        agent.dispatch(message, 0, MESSAGE_LENGTH, null);
+        encodeMessage(0, 2);
+        agent.dispatch(message, 0, MESSAGE_LENGTH, null);
+        agent.onClose();
+
+        assertEquals(List.of("0:1", "0:2"), handled);
+        assertEquals(0, agent.getInFlightCount());
+    }
+
+    @Test
+    public void shouldReportFallbackFromVirtualThreads()
+    {
+        final ExecutorService virtualThreadExecutor = ExecutorSubscriptionAgent.newVirtualThreadExecutor(errors::add);
+        virtualThreadExecutor.shutdown();
+
+        assertEquals(Runtime.version().feature() < 21 ? 1 : 0, errors.size());
+    }
+
+    private ExecutorSubscriptionAgent<Object> newAgent(final int laneCount, final int maxInFlight)
+    {
+        final List<AbstractSubscriberInvoker<Object>> invokers = new ArrayList<>();
+        for (int i = 0; i < laneCount; i++)
+        {
+            invokers.add(new KeyedInvoker(handled));
+        }
+        return new ExecutorSubscriptionAgent<>(null, invokers, executor, maxInFlight, errors::add);
+    }
+
+    /**
+     * Encodes a message of a method with a long partition key followed by a long value.
+     */
+    private void encodeMessage(final long partitionKey, final long value)
+    {
+        message.putInt(0, 0);
+        message.putLong(4, partitionKey);
+        message.putLong(12, value);
+    }
+
+    private static class KeyedInvoker extends AbstractSubscriberInvoker<Object>
+    {
+        private final List<String> handled;
+
+        KeyedInvoker(final List<String> handled)
+        {
+            super(new Object());
+            this.handled = handled;
+        }
+
+        @Override
+        protected void handle(final BufferDecoder bufferDecoder, final int offset)
+        {
+            bufferDecoder.decodeInt();
+            final long partitionKey = bufferDecoder.decodeLong();
+            final long value = bufferDecoder.decodeLong();
+            if (value < 0)
+            {
+                throw new IllegalArgumentException("Negative value");
+            }
+            handled.add(partitionKey + ":" + value);
+        }
+
+        @Override
+        protected long partitionKey(final BufferDecoder bufferDecoder)
+        {
+            bufferDecoder.decodeInt();
+            return bufferDecoder.decodeLong();
+        }
+    }
+
+    private static class ManualExecutor extends AbstractExecutorService
+    {
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        void runAll()
+        {
+            while (!tasks.isEmpty())
+            {
+                tasks.remove(0).run();
+            }
+        }
+
+        @Override
+        public void execute(final Runnable command)
+        {
+            tasks.add(command);
+        }
+
+        @Override
+        public void shutdown()
+        {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow()
+        {
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown()
+        {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated()
+        {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(final long timeout, final TimeUnit unit)
+        {
+            return true;
+        }
+    }
+}
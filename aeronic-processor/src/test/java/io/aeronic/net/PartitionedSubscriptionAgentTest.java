@@ -0,0 +1,194 @@
+package io.aeronic.net;
+
+import io.aeron.logbuffer.ControlledFragmentHandler;
+import io.aeronic.codec.BufferDecoder;
+import org.agrona.BitUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PartitionedSubscriptionAgentTest
+{
+    private static final int MESSAGE_LENGTH = 24;
+
+    private final List<List<Long>> handledByWorker = List.of(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+    private final List<PartitionWorkerAgent<Object>> workers = List.of(worker(0, 1024), worker(1, 1024), worker(2, 1024));
+    private final PartitionedSubscriptionAgent<Object> agent = new PartitionedSubscriptionAgent<>(null, workers);
+    private final UnsafeBuffer message = new UnsafeBuffer(new byte[MESSAGE_LENGTH]);
+
+    @Test
+    public void shouldRouteMessagesWithEqualKeysToSameWorkerInOrder()
+    {
+        for (int i = 0; i < 12; i++)
+        {
+            encodeMessage(message, 0, i % 3, i);
+            assertEquals(ControlledFragmentHandler.Action.CONTINUE, agent.route(message, 0, MESSAGE_LENGTH, null));
+        }
+
+        workers.forEach(PartitionWorkerAgent::doWork);
+
+        assertEquals(List.of(0L, 3L, 6L, 9L), handledByWorker.get(0));
+        assertEquals(List.of(1L, 4L, 7L, 10L), handledByWorker.get(1));
+        assertEquals(List.of(2L, 5L, 8L, 11L), handledByWorker.get(2));
+    }
+
+    @Test
+    public void shouldRouteMessagesOfBatchOneByOne()
+    {
+        final int messageCount = 4;
+        final UnsafeBuffer batch = new UnsafeBuffer(new byte[AbstractPublisher.BATCH_HEADER_LENGTH + messageCount * (BitUtil.SIZE_OF_INT + MESSAGE_LENGTH)]);
+        batch.putInt(0, AbstractPublisher.BATCH_MARKER);
+        batch.putInt(BitUtil.SIZE_OF_INT, messageCount);
+        int offset = AbstractPublisher.BATCH_HEADER_LENGTH;
+        for (int i = 0; i < messageCount; i++)
+        {
+            batch.putInt(offset, MESSAGE_LENGTH);
+            encodeMessage(batch, offset + BitUtil.SIZE_OF_INT, i % 2, 100 + i);
+            offset += BitUtil.SIZE_OF_INT + MESSAGE_LENGTH;
+        }
+
+        assertEquals(ControlledFragmentHandler.Action.CONTINUE, agent.route(batch, 0, batch.capacity(), null));
+        workers.forEach(PartitionWorkerAgent::doWork);
+
+        assertEquals(List.of(100L, 102L), handledByWorker.get(0));
+        assertEquals(List.of(101L, 103L), handledByWorker.get(1));
+        assertTrue(handledByWorker.get(2).isEmpty());
+    }
+
+    @Test
+    public void shouldRouteMessagesOfNestedBatchOneByOne()
+    {
+        final int innerBatchLength = AbstractPublisher.BATCH_HEADER_LENGTH + 2 * (BitUtil.SIZE_OF_INT + MESSAGE_LENGTH);
+        final UnsafeBuffer batch = new UnsafeBuffer(new byte[AbstractPublisher.BATCH_HEADER_LENGTH + 2 * BitUtil.SIZE_OF_INT + MESSAGE_LENGTH + innerBatchLength]);
+        batch.putInt(0, AbstractPublisher.BATCH_MARKER);
+        batch.putInt(BitUtil.SIZE_OF_INT, 2);
+        int offset = AbstractPublisher.BATCH_HEADER_LENGTH;
+        batch.putInt(offset, MESSAGE_LENGTH);
+        encodeMessage(batch, offset + BitUtil.SIZE_OF_INT, 0, 200);
+        offset += BitUtil.SIZE_OF_INT + MESSAGE_LENGTH;
+        batch.putInt(offset, innerBatchLength);
+        offset += BitUtil.SIZE_OF_INT;
+        batch.putInt(offset, AbstractPublisher.BATCH_MARKER);
+        batch.putInt(offset + BitUtil.SIZE_OF_INT, 2);
+        offset += AbstractPublisher.BATCH_HEADER_LENGTH;
+        for (int i = 0; i < 2; i++)
+        {
+            batch.putInt(offset, MESSAGE_LENGTH);
+            encodeMessage(batch, offset + BitUtil.SIZE_OF_INT, 1 - i, 201 + i);
+            offset += BitUtil.SIZE_OF_INT + MESSAGE_LENGTH;
+        }
+
+        assertEquals(ControlledFragmentHandler.Action.CONTINUE, agent.route(batch, 0, batch.capacity(), null));
+        workers.forEach(PartitionWorkerAgent::doWork);
+
+        assertEquals(List.of(200L, 202L), handledByWorker.get(0));
+        assertEquals(List.of(201L), handledByWorker.get(1));
+        assertTrue(handledByWorker.get(2).isEmpty());
+    }
+
+    @Test
+    public void shouldLeaveMessageOnSubscriptionWhileWorkerIsFull()
+    {
+        final PartitionedSubscriptionAgent<Object> smallAgent = new PartitionedSubscriptionAgent<>(null, List.of(worker(0, 256)));
+        int routedCount = 0;
+        encodeMessage(message, 0, 0, 1);
+        while (smallAgent.route(message, 0, MESSAGE_LENGTH, null) == ControlledFragmentHandler.Action.CONTINUE)
+        {
+            routedCount++;
+        }
+
+        assertEquals(256 / 32, routedCount);
+        assertTrue(handledByWorker.get(0).isEmpty());
+    }
+
+    @Test
+    public void shouldDropMessageLongerThanWorkerCanHold()
+    {
+        final PartitionWorkerAgent<Object> smallWorker = worker(0, 256);
+        final PartitionedSubscriptionAgent<Object> smallAgent = new PartitionedSubscriptionAgent<>(null, List.of(smallWorker));
+        final UnsafeBuffer longMessage = new UnsafeBuffer(new byte[64]);
+        encodeMessage(longMessage, 0, 0, 1);
+        encodeMessage(message, 0, 0, 2);
+
+        assertEquals(ControlledFragmentHandler.Action.CONTINUE, smallAgent.route(longMessage, 0, longMessage.capacity(), null));
+        assertEquals(ControlledFragmentHandler.Action.CONTINUE, smallAgent.route(message, 0, MESSAGE_LENGTH, null));
+        smallWorker.doWork();
+
+        assertEquals(1, smallAgent.getDroppedCount());
+        assertEquals(List.of(2L), handledByWorker.get(0));
+    }
+
+    @Test
+    public void shouldRouteBatchLongerThanWorkerCanHoldAsRoomFrees()
+    {
+        final PartitionWorkerAgent<Object> smallWorker = worker(0, 256);
+        final PartitionedSubscriptionAgent<Object> smallAgent = new PartitionedSubscriptionAgent<>(null, List.of(smallWorker));
+        final int messageCount = 12;
+        final UnsafeBuffer batch = new UnsafeBuffer(new byte[AbstractPublisher.BATCH_HEADER_LENGTH + messageCount * (BitUtil.SIZE_OF_INT + MESSAGE_LENGTH)]);
+        batch.putInt(0, AbstractPublisher.BATCH_MARKER);
+        batch.putInt(BitUtil.SIZE_OF_INT, messageCount);
+        int offset = AbstractPublisher.BATCH_HEADER_LENGTH;
+        for (int i = 0; i < messageCount; i++)
+        {
+            batch.putInt(offset, MESSAGE_LENGTH);
+            encodeMessage(batch, offset + BitUtil.SIZE_OF_INT, 0, i);
+            offset += BitUtil.SIZE_OF_INT + MESSAGE_LENGTH;
+        }
+
+        assertEquals(ControlledFragmentHandler.Action.ABORT, smallAgent.route(batch, 0, batch.capacity(), null));
+        smallWorker.doWork();
+        assertEquals(ControlledFragmentHandler.Action.CONTINUE, smallAgent.route(batch, 0, batch.capacity(), null));
+        smallWorker.doWork();
+
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L), handledByWorker.get(0));
+    }
+
+    private PartitionWorkerAgent<Object> worker(final int index, final int ringBufferCapacity)
+    {
+        return new PartitionWorkerAgent<>(new KeyedInvoker(handledByWorker.get(index)), "worker-" + index, ringBufferCapacity);
+    }
+
+    /**
+     * Encodes a message of a method with an int before its long partition key, followed by a long value.
+     */
+    private static void encodeMessage(final UnsafeBuffer buffer, final int offset, final long partitionKey, final long value)
+    {
+        buffer.putInt(offset, 0);
+        buffer.putInt(offset + 4, 7);
+        buffer.putLong(offset + 8, partitionKey);
+        buffer.putLong(offset + 16, value);
+    }
+
+    private static class KeyedInvoker extends AbstractSubscriberInvoker<Object>
+    {
+        private final List<Long> handled;
+
+        KeyedInvoker(final List<Long> handled)
+        {
+            super(new Object());
+            this.handled = handled;
+        }
+
+        @Override
+        protected void handle(final BufferDecoder bufferDecoder, final int offset)
+        {
+            bufferDecoder.decodeInt();
+            bufferDecoder.decodeInt();
+            bufferDecoder.decodeLong();
+            handled.add(bufferDecoder.decodeLong());
+        }
+
+        @Override
+        protected long partitionKey(final BufferDecoder bufferDecoder)
+        {
+            bufferDecoder.decodeInt();
+            bufferDecoder.decodeInt();
+            return bufferDecoder.decodeLong();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package io.aeronic.net;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class PendingRepliesTest
+{
+    private static final long TIMEOUT_NS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final List<String> timedOut = new ArrayList<>();
+    private long nowNs = TimeUnit.SECONDS.toNanos(1);
+    private final PendingReplies<String> pendingReplies = new PendingReplies<>(
+        TIMEOUT_NS,
+        (reply, correlationId) -> timedOut.add(reply),
+        () -> nowNs
+    );
+
+    @Test
+    public void shouldCompleteRequestOnceWithItsCallback()
+    {
+        final long firstCorrelationId = pendingReplies.register("first");
+        final long secondCorrelationId = pendingReplies.register("second");
+        assertNotEquals(firstCorrelationId, secondCorrelationId);
+
+        assertSame("second", pendingReplies.complete(secondCorrelationId));
+        assertEquals(1, pendingReplies.size());
+        assertNull(pendingReplies.complete(secondCorrelationId));
+        assertSame("first", pendingReplies.complete(firstCorrelationId));
+        assertEquals(0, pendingReplies.size());
+
+        nowNs += 2 * TIMEOUT_NS;
+        assertEquals(0, pendingReplies.expireTimeouts());
+        assertEquals(List.of(), timedOut);
+    }
+
+    @Test
+    public void shouldTimeOutRequestsWithoutReply()
+    {
+        final long correlationId = pendingReplies.register("late");
+        nowNs += TIMEOUT_NS / 2;
+        pendingReplies.register("later");
+
+        assertEquals(0, pendingReplies.expireTimeouts());
+
+        nowNs += TIMEOUT_NS / 2 + PendingReplies.DEFAULT_TICK_RESOLUTION_NS;
+        assertEquals(1, pendingReplies.expireTimeouts());
+        assertEquals(List.of("late"), timedOut);
+        assertNull(pendingReplies.complete(correlationId));
+        assertEquals(1, pendingReplies.size());
+
+        nowNs += TIMEOUT_NS;
+        assertEquals(1, pendingReplies.expireTimeouts());
+        assertEquals(List.of("late", "later"), timedOut);
+        assertEquals(0, pendingReplies.size());
+    }
+
+    @Test
+    public void shouldIgnoreUnknownCorrelationId()
+    {
+        final long correlationId = pendingReplies.register("pending");
+
+        assertNull(pendingReplies.complete(correlationId + 1));
+        assertEquals(1, pendingReplies.size());
+    }
+
+    @Test
+    public void shouldTakeRegistrationsFromManyThreads() throws InterruptedException
+    {
+        final int threadCount = 4;
+        final int requestCount = 100;
+        final long[][] correlationIds = new long[threadCount][requestCount];
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++)
+        {
+            final int threadId = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < requestCount; i++)
+                {
+                    correlationIds[threadId][i] = pendingReplies.register(threadId + ":" + i);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (final Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        assertEquals(0, pendingReplies.expireTimeouts());
+        assertEquals(threadCount * requestCount, pendingReplies.size());
+        for (int t = 0; t < threadCount; t++)
+        {
+            for (int i = 0; i < requestCount; i++)
+            {
+                assertEquals(t + ":" + i, pendingReplies.complete(correlationIds[t][i]));
+            }
+        }
+        assertEquals(0, pendingReplies.size());
+    }
+}
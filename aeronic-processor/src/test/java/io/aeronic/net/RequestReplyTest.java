@@ -0,0 +1,242 @@
+package io.aeronic.net;
+
+import io.aeronic.codec.BufferDecoder;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RequestReplyTest
+{
+    private final List<String> unsolicited = new ArrayList<>();
+    private final List<Long> timedOut = new ArrayList<>();
+    private long nowNs;
+    private final PendingReplies<QuoteReplies> pendingReplies = new PendingReplies<>(
+        1_000_000_000L,
+        (reply, correlationId) -> timedOut.add(correlationId),
+        () -> nowNs
+    );
+    private final QuoteRepliesInvoker replyInvoker = new QuoteRepliesInvoker((id, price) -> unsolicited.add(id + ":" + price));
+    private final QuoteRepliesPublisher replyPublisher = new QuoteRepliesPublisher(new LoopbackPublication(replyInvoker));
+    private final QuoteServiceImpl service = new QuoteServiceImpl(replyPublisher);
+    private final QuoteServiceInvoker requestInvoker = new QuoteServiceInvoker(service);
+    private final QuoteServicePublisher requestPublisher = new QuoteServicePublisher(new LoopbackPublication(requestInvoker));
+
+    {
+        replyInvoker.bindPendingReplies(pendingReplies);
+        requestInvoker.bindReplyPublisher(QuoteReplies.class, replyPublisher);
+        requestPublisher.bindPendingReplies(pendingReplies);
+    }
+
+    @Test
+    public void shouldDeliverEachReplyToTheCallbackOfItsRequest()
+    {
+        final List<String> first = new ArrayList<>();
+        final List<String> second = new ArrayList<>();
+        requestPublisher.requestQuote(1, (id, price) -> first.add(id + ":" + price));
+        requestPublisher.requestQuote(2, (id, price) -> second.add(id + ":" + price));
+
+        assertEquals(List.of("1:100"), first);
+        assertEquals(List.of("2:200"), second);
+        assertEquals(0, pendingReplies.size());
+        assertEquals(List.of(), unsolicited);
+    }
+
+    @Test
+    public void shouldDropRepliesToCompletedRequest()
+    {
+        final List<String> received = new ArrayList<>();
+        service.repliesPerRequest = 2;
+        requestPublisher.requestQuote(3, (id, price) -> received.add(id + ":" + price));
+
+        assertEquals(List.of("3:300"), received);
+        assertEquals(List.of(), unsolicited);
+    }
+
+    @Test
+    public void shouldPublishPlainMessagesOutsideRequests()
+    {
+        requestPublisher.requestQuote(1, (id, price) -> {});
+        replyPublisher.onQuote(9, 900);
+
+        assertEquals(List.of("9:900"), unsolicited);
+    }
+
+    @Test
+    public void shouldTimeOutRequestWithoutReply()
+    {
+        final List<String> received = new ArrayList<>();
+        service.repliesPerRequest = 0;
+        requestPublisher.requestQuote(4, (id, price) -> received.add(id + ":" + price));
+        assertEquals(0, pendingReplies.expireTimeouts());
+        assertEquals(1, pendingReplies.size());
+
+        nowNs += 2_000_000_000L;
+        assertEquals(1, pendingReplies.expireTimeouts());
+        assertEquals(0, pendingReplies.size());
+
+        assertEquals(1, timedOut.size());
+        assertEquals(List.of(), received);
+    }
+
+    @Test
+    public void shouldKeepSubscriberWhenReplyCallbackThrows()
+    {
+        assertThrows(IllegalStateException.class, () -> requestPublisher.requestQuote(5, (id, price) ->
+        {
+            throw new IllegalStateException("callback failed");
+        }));
+        replyPublisher.onQuote(9, 900);
+
+        assertEquals(List.of("9:900"), unsolicited);
+        assertEquals(0, pendingReplies.size());
+    }
+
+    @Test
+    public void shouldRejectRequestWithoutPendingReplies()
+    {
+        final QuoteServicePublisher unboundPublisher = new QuoteServicePublisher(new LoopbackPublication(requestInvoker));
+
+        assertThrows(IllegalStateException.class, () -> unboundPublisher.requestQuote(1, (id, price) -> {}));
+    }
+
+    interface QuoteReplies
+    {
+        void onQuote(long id, long price);
+    }
+
+    interface QuoteService
+    {
+        void requestQuote(long id, QuoteReplies reply);
+    }
+
+    private static class QuoteServiceImpl implements QuoteService
+    {
+        private final QuoteReplies replyPublisher;
+        private int repliesPerRequest = 1;
+
+        QuoteServiceImpl(final QuoteReplies replyPublisher)
+        {
+            this.replyPublisher = replyPublisher;
+        }
+
+        @Override
+        public void requestQuote(final long id, final QuoteReplies reply)
+        {
+            assertEquals(replyPublisher, reply);
+            for (int i = 0; i < repliesPerRequest; i++)
+            {
+                reply.onQuote(id, id * 100);
+            }
+        }
+    }
+
+    private static class QuoteServicePublisher extends AbstractPublisher implements QuoteService
+    {
+        QuoteServicePublisher(final AeronicPublication publication)
+        {
+            super(publication);
+        }
+
+        @Override
+        public void requestQuote(final long id, final QuoteReplies reply)
+        {
+            final long replyCorrelationId = registerReply(reply);
+            claim(20);
+            bufferEncoder.encode(0);
+            bufferEncoder.encode(id);
+            bufferEncoder.encode(replyCorrelationId);
+            offer();
+        }
+    }
+
+    private static class QuoteServiceInvoker extends AbstractSubscriberInvoker<QuoteService>
+    {
+        QuoteServiceInvoker(final QuoteService subscriber)
+        {
+            super(subscriber);
+        }
+
+        @Override
+        protected void handle(final BufferDecoder bufferDecoder, final int offset)
+        {
+            assertEquals(0, bufferDecoder.decodeInt());
+            final long id = bufferDecoder.decodeLong();
+            final QuoteReplies reply = replyTo(bufferDecoder, QuoteReplies.class);
+            subscriber.requestQuote(id, reply);
+        }
+    }
+
+    private static class QuoteRepliesPublisher extends AbstractPublisher implements QuoteReplies
+    {
+        QuoteRepliesPublisher(final AeronicPublication publication)
+        {
+            super(publication);
+        }
+
+        @Override
+        public void onQuote(final long id, final long price)
+        {
+            bufferEncoder.encode(0);
+            bufferEncoder.encode(id);
+            bufferEncoder.encode(price);
+            offer();
+        }
+    }
+
+    private static class QuoteRepliesInvoker extends AbstractSubscriberInvoker<QuoteReplies>
+    {
+        QuoteRepliesInvoker(final QuoteReplies subscriber)
+        {
+            super(subscriber);
+        }
+
+        @Override
+        protected void handle(final BufferDecoder bufferDecoder, final int offset)
+        {
+            handle(bufferDecoder, offset, subscriber);
+        }
+
+        @Override
+        protected void handle(final BufferDecoder bufferDecoder, final int offset, final QuoteReplies target)
+        {
+            assertEquals(0, bufferDecoder.decodeInt());
+            target.onQuote(bufferDecoder.decodeLong(), bufferDecoder.decodeLong());
+        }
+    }
+
+    private static class LoopbackPublication implements AeronicPublication
+    {
+        private final AbstractSubscriberInvoker<?> invoker;
+
+        LoopbackPublication(final AbstractSubscriberInvoker<?> invoker)
+        {
+            this.invoker = invoker;
+        }
+
+        @Override
+        public boolean isConnected()
+        {
+            return true;
+        }
+
+        @Override
+        public long offer(final DirectBuffer buffer, final int offset, final int length)
+        {
+            final UnsafeBuffer fragment = new UnsafeBuffer(new byte[length]);
+            fragment.putBytes(0, buffer, offset, length);
+            invoker.handle(fragment, 0, length);
+            return 64L;
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package io.aeronic.system.blocking;
+
+import io.aeron.Aeron;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import io.aeronic.AeronicWizard;
+import org.agrona.concurrent.BusySpinIdleStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.aeronic.Assertions.assertEventually;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AeronicBlockingSubscriberTest
+{
+
+    private static final String IPC = "aeron:ipc";
+    private static final int ACCOUNT_COUNT = 50;
+    private static final int ORDERS_PER_ACCOUNT = 4;
+    private AeronicWizard aeronic;
+    private Aeron aeron;
+    private MediaDriver mediaDriver;
+
+    @BeforeEach
+    void setUp()
+    {
+        final MediaDriver.Context mediaDriverCtx = new MediaDriver.Context()
+            .dirDeleteOnStart(true)
+            .spiesSimulateConnection(true)
+            .threadingMode(ThreadingMode.SHARED)
+            .sharedIdleStrategy(new BusySpinIdleStrategy())
+            .dirDeleteOnShutdown(true);
+
+        mediaDriver = MediaDriver.launchEmbedded(mediaDriverCtx);
+
+        final Aeron.Context aeronCtx = new Aeron.Context()
+            .aeronDirectoryName(mediaDriver.aeronDirectoryName());
+
+        aeron = Aeron.connect(aeronCtx);
+        aeronic = new AeronicWizard(aeron);
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        aeronic.close();
+        aeron.close();
+        mediaDriver.close();
+    }
+
+    @Test
+    public void shouldHandleBlockingCallsConcurrentlyInOrderPerKey()
+    {
+        final BlockingEvents publisher = aeronic.createPublisher(BlockingEvents.class, IPC, 10);
+        final BlockingEventsImpl subscriberImpl = new BlockingEventsImpl();
+        aeronic.registerBlockingSubscriber(BlockingEvents.class, subscriberImpl, IPC, 10);
+        aeronic.start();
+        aeronic.awaitUntilPubsAndSubsConnect();
+
+        for (long orderId = 0; orderId < ORDERS_PER_ACCOUNT; orderId++)
+        {
+            for (long accountId = 0; accountId < ACCOUNT_COUNT; accountId++)
+            {
+                publisher.onOrder(accountId, orderId);
+            }
+        }
+
+        assertEventually(() -> {
+            assertEquals(ACCOUNT_COUNT, subscriberImpl.ordersByAccount.size());
+            subscriberImpl.ordersByAccount.values().forEach(orders -> assertEquals(List.of(0L, 1L, 2L, 3L), orders));
+        });
+        assertTrue(subscriberImpl.maxConcurrentCalls.get() > 1);
+    }
+
+    private static class BlockingEventsImpl implements BlockingEvents
+    {
+        private final Map<Long, List<Long>> ordersByAccount = new ConcurrentHashMap<>();
+        private final AtomicInteger concurrentCalls = new AtomicInteger();
+        private final AtomicInteger maxConcurrentCalls = new AtomicInteger();
+
+        @Override
+        public void onOrder(final long accountId, final long orderId)
+        {
+            maxConcurrentCalls.accumulateAndGet(concurrentCalls.incrementAndGet(), Math::max);
+            try
+            {
+                Thread.sleep(20);
+            }
+            catch (final InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+            ordersByAccount.computeIfAbsent(accountId, id -> new CopyOnWriteArrayList<>()).add(orderId);
+            concurrentCalls.decrementAndGet();
+        }
+    }
+}
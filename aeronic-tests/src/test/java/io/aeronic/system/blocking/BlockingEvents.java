@@ -0,0 +1,10 @@
+package io.aeronic.system.blocking;
+
+import io.aeronic.Aeronic;
+import io.aeronic.codec.PartitionKey;
+
+@Aeronic
+public interface BlockingEvents
+{
+    void onOrder(@PartitionKey long accountId, long orderId);
+}
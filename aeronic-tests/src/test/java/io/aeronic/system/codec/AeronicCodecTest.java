@@ -0,0 +1,99 @@
+package io.aeronic.system.codec;
+
+import io.aeron.Aeron;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import io.aeronic.AeronicWizard;
+import io.aeronic.codec.Decimal;
+import org.agrona.concurrent.BusySpinIdleStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static io.aeronic.Assertions.assertEventually;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AeronicCodecTest
+{
+
+    private static final String IPC = "aeron:ipc";
+    private AeronicWizard aeronic;
+    private Aeron aeron;
+    private MediaDriver mediaDriver;
+
+    @BeforeEach
+    void setUp()
+    {
+        final MediaDriver.Context mediaDriverCtx = new MediaDriver.Context()
+            .dirDeleteOnStart(true)
+            .spiesSimulateConnection(true)
+            .threadingMode(ThreadingMode.SHARED)
+            .sharedIdleStrategy(new BusySpinIdleStrategy())
+            .dirDeleteOnShutdown(true);
+
+        mediaDriver = MediaDriver.launchEmbedded(mediaDriverCtx);
+
+        final Aeron.Context aeronCtx = new Aeron.Context()
+            .aeronDirectoryName(mediaDriver.aeronDirectoryName());
+
+        aeron = Aeron.connect(aeronCtx);
+        aeronic = new AeronicWizard(aeron);
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        aeronic.close();
+        aeron.close();
+        mediaDriver.close();
+    }
+
+    @Test
+    public void shouldSendAndReceiveParametersThroughTheirCodecs()
+    {
+        final CodecEvents publisher = aeronic.createPublisher(CodecEvents.class, IPC, 10);
+        final CodecEventsImpl subscriberImpl = new CodecEventsImpl();
+        aeronic.registerSubscriber(CodecEvents.class, subscriberImpl, IPC, 10);
+        aeronic.start();
+        aeronic.awaitUntilPubsAndSubsConnect();
+
+        final Instant tradeTime = Instant.ofEpochSecond(1_700_000_000L, 123_456_789);
+        final Instant closeTime = tradeTime.plusSeconds(60);
+        publisher.onTrade(tradeTime, new Decimal(1005, 1), new Decimal(123_456, 3));
+        publisher.onTrade(tradeTime, new Decimal(-25, 2), new Decimal(7, 0));
+        publisher.onClose(42L, closeTime);
+
+        assertEventually(() -> assertEquals(
+            List.of(
+                "trade " + tradeTime + " 100.50 123.456",
+                "trade " + tradeTime + " -0.25 7",
+                "close 42 " + closeTime
+            ),
+            subscriberImpl.messages
+        ));
+    }
+
+    /**
+     * Formats each message in the callback, as the price codec decodes into an instance it reuses.
+     */
+    private static class CodecEventsImpl implements CodecEvents
+    {
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onTrade(final Instant time, final Decimal price, final Decimal quantity)
+        {
+            messages.add("trade " + time + " " + price.toBigDecimal().toPlainString() + " " + quantity.toBigDecimal().toPlainString());
+        }
+
+        @Override
+        public void onClose(final long instrumentId, final Instant time)
+        {
+            messages.add("close " + instrumentId + " " + time);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package io.aeronic.system.codec;
+
+import io.aeronic.codec.BufferDecoder;
+import io.aeronic.codec.BufferEncoder;
+import io.aeronic.codec.Codec;
+import io.aeronic.codec.Decimal;
+
+/**
+ * Encodes a {@link Decimal} of at most two decimal places as a whole number of cents, decoding into a reused instance.
+ */
+public class CentsCodec implements Codec<Decimal>
+{
+    private static final int SCALE = 2;
+
+    private final Decimal decimal = new Decimal();
+
+    @Override
+    public void encode(final BufferEncoder bufferEncoder, final Decimal value)
+    {
+        long cents = value.getUnscaledValue();
+        for (int scale = value.getScale(); scale < SCALE; scale++)
+        {
+            cents *= 10;
+        }
+        bufferEncoder.encode(cents);
+    }
+
+    @Override
+    public Decimal decode(final BufferDecoder bufferDecoder)
+    {
+        return decimal.set(bufferDecoder.decodeLong(), SCALE);
+    }
+}
@@ -0,0 +1,16 @@
+package io.aeronic.system.codec;
+
+import io.aeronic.Aeronic;
+import io.aeronic.codec.AeronicCodec;
+import io.aeronic.codec.Decimal;
+
+import java.time.Instant;
+
+@Aeronic
+@AeronicCodec(InstantCodec.class)
+public interface CodecEvents
+{
+    void onTrade(Instant time, @AeronicCodec(CentsCodec.class) Decimal price, Decimal quantity);
+
+    void onClose(long instrumentId, Instant time);
+}
@@ -0,0 +1,26 @@
+package io.aeronic.system.codec;
+
+import io.aeronic.codec.BufferDecoder;
+import io.aeronic.codec.BufferEncoder;
+import io.aeronic.codec.Codec;
+
+import java.time.Instant;
+
+/**
+ * Encodes an {@link Instant} as its epoch second followed by its nanosecond adjustment.
+ */
+public class InstantCodec implements Codec<Instant>
+{
+    @Override
+    public void encode(final BufferEncoder bufferEncoder, final Instant value)
+    {
+        bufferEncoder.encode(value.getEpochSecond());
+        bufferEncoder.encode(value.getNano());
+    }
+
+    @Override
+    public Instant decode(final BufferDecoder bufferDecoder)
+    {
+        return Instant.ofEpochSecond(bufferDecoder.decodeLong(), bufferDecoder.decodeInt());
+    }
+}
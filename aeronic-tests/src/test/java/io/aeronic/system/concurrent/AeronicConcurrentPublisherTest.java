@@ -0,0 +1,212 @@
+package io.aeronic.system.concurrent;
+
+import io.aeron.Aeron;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import io.aeronic.AeronicWizard;
+import io.aeronic.net.RetryingBackPressureStrategy;
+import org.agrona.concurrent.BusySpinIdleStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static io.aeronic.Assertions.assertEventuallyTrue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AeronicConcurrentPublisherTest
+{
+
+    private static final String IPC = "aeron:ipc";
+    private static final int THREAD_COUNT = 16;
+    private static final int MESSAGE_COUNT = 1_000;
+    private AeronicWizard aeronic;
+    private Aeron aeron;
+    private MediaDriver mediaDriver;
+
+    @BeforeEach
+    void setUp()
+    {
+        final MediaDriver.Context mediaDriverCtx = new MediaDriver.Context()
+            .dirDeleteOnStart(true)
+            .spiesSimulateConnection(true)
+            .threadingMode(ThreadingMode.SHARED)
+            .sharedIdleStrategy(new BusySpinIdleStrategy())
+            .dirDeleteOnShutdown(true);
+
+        mediaDriver = MediaDriver.launchEmbedded(mediaDriverCtx);
+
+        final Aeron.Context aeronCtx = new Aeron.Context()
+            .aeronDirectoryName(mediaDriver.aeronDirectoryName());
+
+        aeron = Aeron.connect(aeronCtx);
+        aeronic = new AeronicWizard(aeron);
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        aeronic.close();
+        aeron.close();
+        mediaDriver.close();
+    }
+
+    @Test
+    public void shouldPublishFromManyThreadsOnConcurrentPublisher() throws InterruptedException
+    {
+        final ConcurrentEvents publisher = aeronic.createConcurrentPublisher(
+            ConcurrentEvents.class,
+            IPC,
+            10,
+            () -> new RetryingBackPressureStrategy(BusySpinIdleStrategy.INSTANCE)
+        );
+        shouldReceiveEveryMessageInThreadOrder(publisher);
+    }
+
+    @Test
+    public void shouldClaimFixedSizeMessagesFromManyThreadsOnConcurrentPublisher() throws InterruptedException
+    {
+        final ConcurrentTicks publisher = aeronic.createConcurrentPublisher(
+            ConcurrentTicks.class,
+            IPC,
+            10,
+            () -> new RetryingBackPressureStrategy(BusySpinIdleStrategy.INSTANCE)
+        );
+        final ConcurrentTicksImpl subscriberImpl = new ConcurrentTicksImpl();
+        aeronic.registerSubscriber(ConcurrentTicks.class, subscriberImpl, IPC, 10);
+        aeronic.start();
+        aeronic.awaitUntilPubsAndSubsConnect();
+
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREAD_COUNT; t++)
+        {
+            final int threadId = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < MESSAGE_COUNT; i++)
+                {
+                    publisher.onTick(threadId, i, threadId * 1_000_000L + i);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (final Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        assertEventuallyTrue(() -> subscriberImpl.receivedCount == THREAD_COUNT * MESSAGE_COUNT, 5000L);
+        assertEquals(0, subscriberImpl.errorCount);
+    }
+
+    @Test
+    public void shouldPublishFromManyThreadsOnAsyncPublisher() throws InterruptedException
+    {
+        final ConcurrentEvents publisher = aeronic.createAsyncPublisher(
+            ConcurrentEvents.class,
+            IPC,
+            10,
+            () -> new RetryingBackPressureStrategy(BusySpinIdleStrategy.INSTANCE)
+        );
+        shouldReceiveEveryMessageInThreadOrder(publisher);
+    }
+
+    @Test
+    public void shouldPublishOnExclusivePublisher()
+    {
+        final ConcurrentEvents publisher = aeronic.createExclusivePublisher(
+            ConcurrentEvents.class,
+            IPC,
+            10,
+            new RetryingBackPressureStrategy(BusySpinIdleStrategy.INSTANCE)
+        );
+        final ConcurrentEventsImpl subscriberImpl = new ConcurrentEventsImpl();
+        aeronic.registerSubscriber(ConcurrentEvents.class, subscriberImpl, IPC, 10);
+        aeronic.start();
+        aeronic.awaitUntilPubsAndSubsConnect();
+
+        for (int i = 0; i < MESSAGE_COUNT; i++)
+        {
+            publisher.onEvent(0, i, "payload-" + i);
+        }
+
+        assertEventuallyTrue(() -> subscriberImpl.receivedCount == MESSAGE_COUNT);
+        assertEquals(0, subscriberImpl.errorCount);
+    }
+
+    private void shouldReceiveEveryMessageInThreadOrder(final ConcurrentEvents publisher) throws InterruptedException
+    {
+        final ConcurrentEventsImpl subscriberImpl = new ConcurrentEventsImpl();
+        aeronic.registerSubscriber(ConcurrentEvents.class, subscriberImpl, IPC, 10);
+        aeronic.start();
+        aeronic.awaitUntilPubsAndSubsConnect();
+
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREAD_COUNT; t++)
+        {
+            final int threadId = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < MESSAGE_COUNT; i++)
+                {
+                    publisher.onEvent(threadId, i, "payload-" + i);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (final Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        assertEventuallyTrue(() -> subscriberImpl.receivedCount == THREAD_COUNT * MESSAGE_COUNT, 5000L);
+        assertEquals(0, subscriberImpl.errorCount);
+    }
+
+    private static class ConcurrentEventsImpl implements ConcurrentEvents
+    {
+        private final long[] lastSequences = new long[THREAD_COUNT];
+        private volatile int receivedCount;
+        private volatile int errorCount;
+
+        ConcurrentEventsImpl()
+        {
+            Arrays.fill(lastSequences, -1);
+        }
+
+        @Override
+        public void onEvent(final int threadId, final long sequence, final String payload)
+        {
+            if (sequence != lastSequences[threadId] + 1 || !payload.equals("payload-" + sequence))
+            {
+                errorCount++;
+            }
+            lastSequences[threadId] = sequence;
+            receivedCount++;
+        }
+    }
+
+    private static class ConcurrentTicksImpl implements ConcurrentTicks
+    {
+        private final long[] lastSequences = new long[THREAD_COUNT];
+        private volatile int receivedCount;
+        private volatile int errorCount;
+
+        ConcurrentTicksImpl()
+        {
+            Arrays.fill(lastSequences, -1);
+        }
+
+        @Override
+        public void onTick(final int threadId, final long sequence, final long value)
+        {
+            if (sequence != lastSequences[threadId] + 1 || value != threadId * 1_000_000L + sequence)
+            {
+                errorCount++;
+            }
+            lastSequences[threadId] = sequence;
+            receivedCount++;
+        }
+    }
+}
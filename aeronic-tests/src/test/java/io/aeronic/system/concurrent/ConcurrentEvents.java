@@ -0,0 +1,9 @@
+package io.aeronic.system.concurrent;
+
+import io.aeronic.Aeronic;
+
+@Aeronic(concurrent = true)
+public interface ConcurrentEvents
+{
+    void onEvent(int threadId, long sequence, String payload);
+}
@@ -0,0 +1,9 @@
+package io.aeronic.system.concurrent;
+
+import io.aeronic.Aeronic;
+
+@Aeronic(concurrent = true)
+public interface ConcurrentTicks
+{
+    void onTick(int threadId, long sequence, long value);
+}
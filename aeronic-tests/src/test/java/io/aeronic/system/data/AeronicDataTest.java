@@ -0,0 +1,97 @@
+package io.aeronic.system.data;
+
+import io.aeron.Aeron;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import io.aeronic.AeronicWizard;
+import org.agrona.concurrent.BusySpinIdleStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static io.aeronic.Assertions.assertEventually;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AeronicDataTest
+{
+
+    private static final String IPC = "aeron:ipc";
+    private AeronicWizard aeronic;
+    private Aeron aeron;
+    private MediaDriver mediaDriver;
+
+    @BeforeEach
+    void setUp()
+    {
+        final MediaDriver.Context mediaDriverCtx = new MediaDriver.Context()
+            .dirDeleteOnStart(true)
+            .spiesSimulateConnection(true)
+            .threadingMode(ThreadingMode.SHARED)
+            .sharedIdleStrategy(new BusySpinIdleStrategy())
+            .dirDeleteOnShutdown(true);
+
+        mediaDriver = MediaDriver.launchEmbedded(mediaDriverCtx);
+
+        final Aeron.Context aeronCtx = new Aeron.Context()
+            .aeronDirectoryName(mediaDriver.aeronDirectoryName());
+
+        aeron = Aeron.connect(aeronCtx);
+        aeronic = new AeronicWizard(aeron);
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        aeronic.close();
+        aeron.close();
+        mediaDriver.close();
+    }
+
+    @Test
+    public void shouldSendAndReceiveRecordsAndDataClasses()
+    {
+        final DataEvents publisher = aeronic.createPublisher(DataEvents.class, IPC, 10);
+        final DataEventsImpl subscriberImpl = new DataEventsImpl();
+        aeronic.registerSubscriber(DataEvents.class, subscriberImpl, IPC, 10);
+        aeronic.start();
+        aeronic.awaitUntilPubsAndSubsConnect();
+
+        final Fill fill = new Fill(42L, 101.25, 300, true);
+        final Fill otherFill = new Fill(43L, 99.5, 100, false);
+        final Order order = new Order("client-7", fill, new long[]{ 1L, 2L, Long.MAX_VALUE });
+        publisher.onFill(fill);
+        publisher.onOrder(order, new Fill[]{ fill, otherFill }, List.of(otherFill, fill));
+
+        assertEventually(() -> {
+            assertEquals(List.of(fill), subscriberImpl.fills);
+            assertEquals(List.of(order), subscriberImpl.orders);
+            assertArrayEquals(new Fill[]{ fill, otherFill }, subscriberImpl.lastFills);
+            assertEquals(List.of(otherFill, fill), subscriberImpl.lastFillList);
+        });
+    }
+
+    private static class DataEventsImpl implements DataEvents
+    {
+        private final List<Fill> fills = new CopyOnWriteArrayList<>();
+        private final List<Order> orders = new CopyOnWriteArrayList<>();
+        private volatile Fill[] lastFills;
+        private volatile List<Fill> lastFillList;
+
+        @Override
+        public void onFill(final Fill fill)
+        {
+            fills.add(fill);
+        }
+
+        @Override
+        public void onOrder(final Order order, final Fill[] fills, final List<Fill> fillList)
+        {
+            lastFills = fills;
+            lastFillList = fillList;
+            orders.add(order);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package io.aeronic.system.data;
+
+import io.aeronic.Aeronic;
+
+import java.util.List;
+
+@Aeronic
+public interface DataEvents
+{
+    void onFill(Fill fill);
+
+    void onOrder(Order order, Fill[] fills, List<Fill> fillList);
+}
@@ -0,0 +1,5 @@
+package io.aeronic.system.data;
+
+public record Fill(long orderId, double price, int quantity, boolean aggressor)
+{
+}
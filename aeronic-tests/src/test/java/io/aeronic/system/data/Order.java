@@ -0,0 +1,52 @@
+package io.aeronic.system.data;
+
+import io.aeronic.codec.AeronicData;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+@AeronicData
+public class Order
+{
+    private final String clientId;
+    private final Fill lastFill;
+    final long[] legIds;
+
+    public Order(final String clientId, final Fill lastFill, final long[] legIds)
+    {
+        this.clientId = clientId;
+        this.lastFill = lastFill;
+        this.legIds = legIds;
+    }
+
+    public String getClientId()
+    {
+        return clientId;
+    }
+
+    public Fill getLastFill()
+    {
+        return lastFill;
+    }
+
+    @Override
+    public boolean equals(final Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass())
+        {
+            return false;
+        }
+        final Order order = (Order)o;
+        return clientId.equals(order.clientId) && lastFill.equals(order.lastFill) && Arrays.equals(legIds, order.legIds);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return 31 * Objects.hash(clientId, lastFill) + Arrays.hashCode(legIds);
+    }
+}
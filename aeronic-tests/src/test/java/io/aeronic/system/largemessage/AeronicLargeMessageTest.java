@@ -0,0 +1,110 @@
+package io.aeronic.system.largemessage;
+
+import io.aeron.Aeron;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import io.aeronic.AeronicWizard;
+import org.agrona.concurrent.BusySpinIdleStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static io.aeronic.Assertions.assertEventually;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AeronicLargeMessageTest
+{
+
+    private static final String IPC = "aeron:ipc";
+    private static final int MAX_MESSAGE_LENGTH = 256 * 1024;
+    private AeronicWizard aeronic;
+    private Aeron aeron;
+    private MediaDriver mediaDriver;
+
+    @BeforeEach
+    void setUp()
+    {
+        final MediaDriver.Context mediaDriverCtx = new MediaDriver.Context()
+            .dirDeleteOnStart(true)
+            .spiesSimulateConnection(true)
+            .threadingMode(ThreadingMode.SHARED)
+            .sharedIdleStrategy(new BusySpinIdleStrategy())
+            .dirDeleteOnShutdown(true);
+
+        mediaDriver = MediaDriver.launchEmbedded(mediaDriverCtx);
+
+        final Aeron.Context aeronCtx = new Aeron.Context()
+            .aeronDirectoryName(mediaDriver.aeronDirectoryName());
+
+        aeron = Aeron.connect(aeronCtx);
+        aeronic = new AeronicWizard(aeron);
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        aeronic.close();
+        aeron.close();
+        mediaDriver.close();
+    }
+
+    @Test
+    public void shouldSendAndReceiveMessagesLongerThanMtu()
+    {
+        final LargeMessageEvents publisher = aeronic.createPublisher(LargeMessageEvents.class, IPC, 10, MAX_MESSAGE_LENGTH);
+        final LargeMessageEventsImpl subscriberImpl = new LargeMessageEventsImpl();
+        aeronic.registerSubscriber(LargeMessageEvents.class, subscriberImpl, IPC, 10, MAX_MESSAGE_LENGTH);
+        aeronic.start();
+        aeronic.awaitUntilPubsAndSubsConnect();
+
+        final byte[] snapshot = new byte[200 * 1024];
+        ThreadLocalRandom.current().nextBytes(snapshot);
+        publisher.onSnapshot(1L, snapshot);
+
+        assertEventually(() -> {
+            assertEquals(1L, subscriberImpl.snapshotId);
+            assertArrayEquals(snapshot, subscriberImpl.data);
+        });
+
+        final byte[] smallSnapshot = { 1, 2, 3 };
+        publisher.onSnapshot(2L, smallSnapshot);
+
+        assertEventually(() -> {
+            assertEquals(2L, subscriberImpl.snapshotId);
+            assertArrayEquals(smallSnapshot, subscriberImpl.data);
+        });
+    }
+
+    @Test
+    public void shouldRejectMaxMessageLengthAboveAeronLimit()
+    {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> aeronic.createPublisher(LargeMessageEvents.class, IPC, 10, 32 * 1024 * 1024)
+        );
+    }
+
+    @Test
+    public void shouldRejectMaxMessageLengthAboveChannelTermLength()
+    {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> aeronic.createPublisher(LargeMessageEvents.class, IPC + "?term-length=64k", 10, MAX_MESSAGE_LENGTH)
+        );
+    }
+
+    private static class LargeMessageEventsImpl implements LargeMessageEvents
+    {
+        private volatile long snapshotId;
+        private volatile byte[] data;
+
+        @Override
+        public void onSnapshot(final long snapshotId, final byte[] data)
+        {
+            this.data = data;
+            this.snapshotId = snapshotId;
+        }
+    }
+}
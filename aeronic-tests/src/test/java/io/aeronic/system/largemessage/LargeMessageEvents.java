@@ -0,0 +1,9 @@
+package io.aeronic.system.largemessage;
+
+import io.aeronic.Aeronic;
+
+@Aeronic
+public interface LargeMessageEvents
+{
+    void onSnapshot(long snapshotId, byte[] data);
+}
@@ -0,0 +1,116 @@
+package io.aeronic.system.partitioned;
+
+import io.aeron.Aeron;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import io.aeronic.AeronicWizard;
+import org.agrona.concurrent.BusySpinIdleStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.LongStream;
+
+import static io.aeronic.Assertions.assertEventually;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AeronicPartitionedSubscriberTest
+{
+
+    private static final String IPC = "aeron:ipc";
+    private static final int INSTRUMENT_COUNT = 8;
+    private static final int UPDATES_PER_INSTRUMENT = 500;
+    private AeronicWizard aeronic;
+    private Aeron aeron;
+    private MediaDriver mediaDriver;
+
+    @BeforeEach
+    void setUp()
+    {
+        final MediaDriver.Context mediaDriverCtx = new MediaDriver.Context()
+            .dirDeleteOnStart(true)
+            .spiesSimulateConnection(true)
+            .threadingMode(ThreadingMode.SHARED)
+            .sharedIdleStrategy(new BusySpinIdleStrategy())
+            .dirDeleteOnShutdown(true);
+
+        mediaDriver = MediaDriver.launchEmbedded(mediaDriverCtx);
+
+        final Aeron.Context aeronCtx = new Aeron.Context()
+            .aeronDirectoryName(mediaDriver.aeronDirectoryName());
+
+        aeron = Aeron.connect(aeronCtx);
+        aeronic = new AeronicWizard(aeron);
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        aeronic.close();
+        aeron.close();
+        mediaDriver.close();
+    }
+
+    @Test
+    public void shouldHandleEachPartitionInOrderOnOneWorker()
+    {
+        final PartitionedEvents publisher = aeronic.createPublisher(PartitionedEvents.class, IPC, 10);
+        final List<PartitionedEventsImpl> subscribers = new CopyOnWriteArrayList<>();
+        aeronic.registerPartitionedSubscriber(
+            PartitionedEvents.class,
+            () ->
+            {
+                final PartitionedEventsImpl subscriber = new PartitionedEventsImpl();
+                subscribers.add(subscriber);
+                return subscriber;
+            },
+            IPC,
+            10,
+            4
+        );
+        aeronic.start();
+        aeronic.awaitUntilPubsAndSubsConnect();
+
+        for (int sequence = 0; sequence < UPDATES_PER_INSTRUMENT; sequence++)
+        {
+            for (long instrumentId = 0; instrumentId < INSTRUMENT_COUNT; instrumentId++)
+            {
+                publisher.onPrice(instrumentId, sequence);
+            }
+        }
+
+        final List<Long> expectedSequences = LongStream.range(0, UPDATES_PER_INSTRUMENT).boxed().toList();
+        assertEventually(() -> {
+            final Set<Long> handledInstruments = new HashSet<>();
+            for (final PartitionedEventsImpl subscriber : subscribers)
+            {
+                for (final Map.Entry<Long, List<Long>> entry : subscriber.sequencesByInstrument.entrySet())
+                {
+                    assertTrue(handledInstruments.add(entry.getKey()));
+                    assertEquals(expectedSequences, entry.getValue());
+                }
+            }
+            assertEquals(INSTRUMENT_COUNT, handledInstruments.size());
+        });
+
+        assertEquals(4, subscribers.size());
+        assertTrue(subscribers.stream().allMatch(subscriber -> subscriber.sequencesByInstrument.size() == 2));
+    }
+
+    private static class PartitionedEventsImpl implements PartitionedEvents
+    {
+        private final Map<Long, List<Long>> sequencesByInstrument = new ConcurrentHashMap<>();
+
+        @Override
+        public void onPrice(final long instrumentId, final long sequence)
+        {
+            sequencesByInstrument.computeIfAbsent(instrumentId, id -> new CopyOnWriteArrayList<>()).add(sequence);
+        }
+    }
+}
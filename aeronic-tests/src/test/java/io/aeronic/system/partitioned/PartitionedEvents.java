@@ -0,0 +1,10 @@
+package io.aeronic.system.partitioned;
+
+import io.aeronic.Aeronic;
+import io.aeronic.codec.PartitionKey;
+
+@Aeronic
+public interface PartitionedEvents
+{
+    void onPrice(@PartitionKey long instrumentId, long sequence);
+}
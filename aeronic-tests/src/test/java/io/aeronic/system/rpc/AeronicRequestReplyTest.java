@@ -0,0 +1,209 @@
+package io.aeronic.system.rpc;
+
+import io.aeron.Aeron;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import io.aeronic.AeronicWizard;
+import io.aeronic.AgentGroup;
+import io.aeronic.net.PendingReplies;
+import org.agrona.concurrent.AgentInvoker;
+import org.agrona.concurrent.BusySpinIdleStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static io.aeronic.Assertions.assertEventually;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AeronicRequestReplyTest
+{
+
+    private static final String IPC = "aeron:ipc";
+    private static final int REQUEST_STREAM_ID = 20;
+    private static final int REPLY_STREAM_ID = 21;
+    private static final String REQUESTER = "requester";
+    private AeronicWizard aeronic;
+    private Aeron aeron;
+    private MediaDriver mediaDriver;
+
+    @BeforeEach
+    void setUp()
+    {
+        final MediaDriver.Context mediaDriverCtx = new MediaDriver.Context()
+            .dirDeleteOnStart(true)
+            .spiesSimulateConnection(true)
+            .threadingMode(ThreadingMode.SHARED)
+            .sharedIdleStrategy(new BusySpinIdleStrategy())
+            .dirDeleteOnShutdown(true);
+
+        mediaDriver = MediaDriver.launchEmbedded(mediaDriverCtx);
+
+        final Aeron.Context aeronCtx = new Aeron.Context()
+            .aeronDirectoryName(mediaDriver.aeronDirectoryName());
+
+        aeron = Aeron.connect(aeronCtx);
+        aeronic = new AeronicWizard(aeron);
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        aeronic.close();
+        aeron.close();
+        mediaDriver.close();
+    }
+
+    @Test
+    public void shouldDeliverEachReplyToTheCallbackOfItsRequest()
+    {
+        final List<PriceCallback> timedOut = new CopyOnWriteArrayList<>();
+        aeronic.useAgentGroup(AgentGroup.invoked(REQUESTER));
+        final PendingReplies<PriceReplies> pendingReplies = aeronic.registerReplySubscriber(
+            PriceReplies.class,
+            IPC,
+            REPLY_STREAM_ID,
+            Duration.ofSeconds(10),
+            (reply, correlationId) -> timedOut.add((PriceCallback)reply)
+        );
+        final PriceRequests requestPublisher = aeronic.createPublisher(PriceRequests.class, IPC, REQUEST_STREAM_ID, pendingReplies);
+
+        aeronic.useAgentGroup(AgentGroup.DEFAULT_NAME);
+        final PriceReplies replyPublisher = aeronic.createPublisher(PriceReplies.class, IPC, REPLY_STREAM_ID);
+        aeronic.registerRequestSubscriber(PriceRequests.class, new PriceRequestsImpl(), IPC, REQUEST_STREAM_ID, replyPublisher);
+
+        aeronic.start();
+        aeronic.awaitUntilPubsAndSubsConnect();
+        final AgentInvoker requester = aeronic.getAgentInvoker(REQUESTER);
+
+        final PriceCallback first = new PriceCallback();
+        final PriceCallback second = new PriceCallback();
+        final PriceCallback unknown = new PriceCallback();
+        requestPublisher.requestPrice(1, first);
+        requestPublisher.requestPrice(2, second);
+        requestPublisher.requestPrice(-3, unknown);
+
+        assertEventually(() -> {
+            requester.invoke();
+            assertEquals(List.of("1=100"), first.replies);
+            assertEquals(List.of("2=200"), second.replies);
+            assertEquals(List.of("unknown -3"), unknown.replies);
+            assertEquals(0, pendingReplies.size());
+        });
+        assertTrue(timedOut.isEmpty());
+    }
+
+    @Test
+    public void shouldTimeOutRequestWithoutReply()
+    {
+        final List<PriceCallback> timedOut = new CopyOnWriteArrayList<>();
+        aeronic.useAgentGroup(AgentGroup.invoked(REQUESTER));
+        final PendingReplies<PriceReplies> pendingReplies = aeronic.registerReplySubscriber(
+            PriceReplies.class,
+            IPC,
+            REPLY_STREAM_ID,
+            Duration.ofMillis(100),
+            (reply, correlationId) -> timedOut.add((PriceCallback)reply)
+        );
+        final PriceRequests requestPublisher = aeronic.createPublisher(PriceRequests.class, IPC, REQUEST_STREAM_ID, pendingReplies);
+
+        aeronic.useAgentGroup(AgentGroup.DEFAULT_NAME);
+        final PriceReplies replyPublisher = aeronic.createPublisher(PriceReplies.class, IPC, REPLY_STREAM_ID);
+        aeronic.registerRequestSubscriber(PriceRequests.class, new PriceRequestsImpl(), IPC, REQUEST_STREAM_ID, replyPublisher);
+
+        aeronic.start();
+        aeronic.awaitUntilPubsAndSubsConnect();
+        final AgentInvoker requester = aeronic.getAgentInvoker(REQUESTER);
+
+        final PriceCallback unanswered = new PriceCallback();
+        requestPublisher.requestPrice(0, unanswered);
+
+        assertEventually(() -> {
+            requester.invoke();
+            assertEquals(List.of(unanswered), timedOut);
+        });
+        assertTrue(unanswered.replies.isEmpty());
+        assertEquals(0, pendingReplies.size());
+    }
+
+    @Test
+    public void shouldDeliverRepliesToRequestsFromManyThreads() throws InterruptedException
+    {
+        final PendingReplies<PriceReplies> pendingReplies = aeronic.registerReplySubscriber(
+            PriceReplies.class,
+            IPC,
+            REPLY_STREAM_ID,
+            Duration.ofSeconds(10),
+            (reply, correlationId) -> fail("Request timed out")
+        );
+        final PriceRequests requestPublisher =
+            aeronic.createConcurrentPublisher(PriceRequests.class, IPC, REQUEST_STREAM_ID, pendingReplies);
+        final PriceReplies replyPublisher = aeronic.createPublisher(PriceReplies.class, IPC, REPLY_STREAM_ID);
+        aeronic.registerRequestSubscriber(PriceRequests.class, new PriceRequestsImpl(), IPC, REQUEST_STREAM_ID, replyPublisher);
+
+        aeronic.start();
+        aeronic.awaitUntilPubsAndSubsConnect();
+
+        final PriceCallback[] callbacks = new PriceCallback[4];
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < callbacks.length; i++)
+        {
+            final long instrumentId = i + 1;
+            final PriceCallback callback = new PriceCallback();
+            callbacks[i] = callback;
+            threads.add(new Thread(() -> requestPublisher.requestPrice(instrumentId, callback)));
+        }
+        threads.forEach(Thread::start);
+        for (final Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        assertEventually(() -> {
+            for (int i = 0; i < callbacks.length; i++)
+            {
+                assertEquals(List.of((i + 1) + "=" + (i + 1) * 100), callbacks[i].replies);
+            }
+        });
+    }
+
+    /**
+     * Prices instruments at a hundred times their id, leaving requests for instrument 0 unanswered.
+     */
+    private static class PriceRequestsImpl implements PriceRequests
+    {
+        @Override
+        public void requestPrice(final long instrumentId, final PriceReplies reply)
+        {
+            if (instrumentId > 0)
+            {
+                reply.onPrice(instrumentId, instrumentId * 100);
+            }
+            else if (instrumentId < 0)
+            {
+                reply.onUnknownInstrument(instrumentId);
+            }
+        }
+    }
+
+    private static class PriceCallback implements PriceReplies
+    {
+        private final List<String> replies = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onPrice(final long instrumentId, final long price)
+        {
+            replies.add(instrumentId + "=" + price);
+        }
+
+        @Override
+        public void onUnknownInstrument(final long instrumentId)
+        {
+            replies.add("unknown " + instrumentId);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package io.aeronic.system.rpc;
+
+import io.aeronic.Aeronic;
+
+@Aeronic
+public interface PriceReplies
+{
+    void onPrice(long instrumentId, long price);
+
+    void onUnknownInstrument(long instrumentId);
+}
@@ -0,0 +1,9 @@
+package io.aeronic.system.rpc;
+
+import io.aeronic.Aeronic;
+
+@Aeronic(concurrent = true)
+public interface PriceRequests
+{
+    void requestPrice(long instrumentId, PriceReplies reply);
+}
@@ -0,0 +1,100 @@
+package io.aeronic.system.sbe;
+
+import io.aeron.Aeron;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import io.aeronic.AeronicWizard;
+import org.agrona.concurrent.BusySpinIdleStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static io.aeronic.Assertions.assertEventually;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AeronicSbeTest
+{
+
+    private static final String IPC = "aeron:ipc";
+    private AeronicWizard aeronic;
+    private Aeron aeron;
+    private MediaDriver mediaDriver;
+
+    @BeforeEach
+    void setUp()
+    {
+        final MediaDriver.Context mediaDriverCtx = new MediaDriver.Context()
+            .dirDeleteOnStart(true)
+            .spiesSimulateConnection(true)
+            .threadingMode(ThreadingMode.SHARED)
+            .sharedIdleStrategy(new BusySpinIdleStrategy())
+            .dirDeleteOnShutdown(true);
+
+        mediaDriver = MediaDriver.launchEmbedded(mediaDriverCtx);
+
+        final Aeron.Context aeronCtx = new Aeron.Context()
+            .aeronDirectoryName(mediaDriver.aeronDirectoryName());
+
+        aeron = Aeron.connect(aeronCtx);
+        aeronic = new AeronicWizard(aeron);
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        aeronic.close();
+        aeron.close();
+        mediaDriver.close();
+    }
+
+    @Test
+    public void shouldSendAndReceiveSbeEncodedMessages()
+    {
+        final SbeEvents publisher = aeronic.createPublisher(SbeEvents.class, IPC, 10);
+        final SbeEventsImpl subscriberImpl = new SbeEventsImpl();
+        aeronic.registerSubscriber(SbeEvents.class, subscriberImpl, IPC, 10);
+        aeronic.start();
+        aeronic.awaitUntilPubsAndSubsConnect();
+
+        publisher.onQuote((byte)3, 10_050L, true, 300, "EURUSD", new byte[]{ 1, 2, 3 });
+        publisher.onHeartbeat(Long.MAX_VALUE, Short.MIN_VALUE, 'x', 0.75, 1.5f);
+        publisher.onQuote(Byte.MIN_VALUE, Long.MIN_VALUE, false, Integer.MAX_VALUE, "", new byte[0]);
+
+        assertEventually(() -> assertEquals(
+            List.of(
+                "quote 3 10050 true 300 EURUSD [1, 2, 3]",
+                "heartbeat 9223372036854775807 -32768 x 0.75 1.5",
+                "quote -128 -9223372036854775808 false 2147483647  []"
+            ),
+            subscriberImpl.messages
+        ));
+    }
+
+    private static class SbeEventsImpl implements SbeEvents
+    {
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onQuote(
+            final byte venue,
+            final long price,
+            final boolean firm,
+            final int quantity,
+            final String symbol,
+            final byte[] payload
+        )
+        {
+            messages.add("quote %d %d %b %d %s %s".formatted(venue, price, firm, quantity, symbol, Arrays.toString(payload)));
+        }
+
+        @Override
+        public void onHeartbeat(final long timestamp, final short sequence, final char source, final double load, final float weight)
+        {
+            messages.add("heartbeat %d %d %s %s %s".formatted(timestamp, sequence, source, load, weight));
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package io.aeronic.system.sbe;
+
+import io.aeronic.Aeronic;
+
+@Aeronic(sbe = true, sbeSchemaId = 11, sbeSchemaVersion = 1)
+public interface SbeEvents
+{
+    void onQuote(byte venue, long price, boolean firm, int quantity, String symbol, byte[] payload);
+
+    void onHeartbeat(long timestamp, short sequence, char source, double load, float weight);
+}
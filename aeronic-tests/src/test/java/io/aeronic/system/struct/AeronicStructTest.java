@@ -0,0 +1,93 @@
+package io.aeronic.system.struct;
+
+import io.aeron.Aeron;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import io.aeronic.AeronicWizard;
+import org.agrona.concurrent.BusySpinIdleStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static io.aeronic.Assertions.assertEventually;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AeronicStructTest
+{
+
+    private static final String IPC = "aeron:ipc";
+    private AeronicWizard aeronic;
+    private Aeron aeron;
+    private MediaDriver mediaDriver;
+
+    @BeforeEach
+    void setUp()
+    {
+        final MediaDriver.Context mediaDriverCtx = new MediaDriver.Context()
+            .dirDeleteOnStart(true)
+            .spiesSimulateConnection(true)
+            .threadingMode(ThreadingMode.SHARED)
+            .sharedIdleStrategy(new BusySpinIdleStrategy())
+            .dirDeleteOnShutdown(true);
+
+        mediaDriver = MediaDriver.launchEmbedded(mediaDriverCtx);
+
+        final Aeron.Context aeronCtx = new Aeron.Context()
+            .aeronDirectoryName(mediaDriver.aeronDirectoryName());
+
+        aeron = Aeron.connect(aeronCtx);
+        aeronic = new AeronicWizard(aeron);
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        aeronic.close();
+        aeron.close();
+        mediaDriver.close();
+    }
+
+    @Test
+    public void shouldSendStructsThroughClaimsAndReceiveThemOverTheBuffer()
+    {
+        final StructEvents publisher = aeronic.createPublisher(StructEvents.class, IPC, 10);
+        final StructEventsImpl subscriberImpl = new StructEventsImpl();
+        aeronic.registerSubscriber(StructEvents.class, subscriberImpl, IPC, 10);
+        aeronic.start();
+        aeronic.awaitUntilPubsAndSubsConnect();
+
+        final List<LevelValue> levels = List.of(
+            new LevelValue(10_050L, 300, true),
+            new LevelValue(10_025L, 0, false),
+            new LevelValue(Long.MIN_VALUE, Integer.MAX_VALUE, true)
+        );
+        for (int i = 0; i < levels.size(); i++)
+        {
+            publisher.onLevel(i, levels.get(i));
+        }
+
+        assertEventually(() -> {
+            assertEquals(List.of(0L, 1L, 2L), subscriberImpl.sequences);
+            assertEquals(levels, subscriberImpl.levels);
+        });
+    }
+
+    /**
+     * Copies each level out of the flyweight, which is only valid for the duration of the callback.
+     */
+    private static class StructEventsImpl implements StructEvents
+    {
+        private final List<Long> sequences = new CopyOnWriteArrayList<>();
+        private final List<LevelValue> levels = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onLevel(final long sequence, final Level level)
+        {
+            levels.add(LevelValue.copyOf(level));
+            sequences.add(sequence);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package io.aeronic.system.struct;
+
+import io.aeronic.codec.AeronicStruct;
+
+@AeronicStruct
+public interface Level
+{
+    long price();
+
+    int getQuantity();
+
+    boolean isFirm();
+}
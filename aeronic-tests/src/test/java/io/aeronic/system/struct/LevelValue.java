@@ -0,0 +1,21 @@
+package io.aeronic.system.struct;
+
+public record LevelValue(long price, int quantity, boolean firm) implements Level
+{
+    public static LevelValue copyOf(final Level level)
+    {
+        return new LevelValue(level.price(), level.getQuantity(), level.isFirm());
+    }
+
+    @Override
+    public int getQuantity()
+    {
+        return quantity;
+    }
+
+    @Override
+    public boolean isFirm()
+    {
+        return firm;
+    }
+}
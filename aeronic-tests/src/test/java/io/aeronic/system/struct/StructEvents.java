@@ -0,0 +1,9 @@
+package io.aeronic.system.struct;
+
+import io.aeronic.Aeronic;
+
+@Aeronic
+public interface StructEvents
+{
+    void onLevel(long sequence, Level level);
+}
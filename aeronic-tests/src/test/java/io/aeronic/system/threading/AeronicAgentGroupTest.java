@@ -0,0 +1,129 @@
+package io.aeronic.system.threading;
+
+import io.aeron.Aeron;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import io.aeronic.AeronicWizard;
+import io.aeronic.AgentGroup;
+import org.agrona.concurrent.AgentInvoker;
+import org.agrona.concurrent.BackoffIdleStrategy;
+import org.agrona.concurrent.BusySpinIdleStrategy;
+import org.agrona.concurrent.SleepingIdleStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.aeronic.Assertions.assertEventually;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AeronicAgentGroupTest
+{
+
+    private static final String IPC = "aeron:ipc";
+    private AeronicWizard aeronic;
+    private Aeron aeron;
+    private MediaDriver mediaDriver;
+
+    @BeforeEach
+    void setUp()
+    {
+        final MediaDriver.Context mediaDriverCtx = new MediaDriver.Context()
+            .dirDeleteOnStart(true)
+            .spiesSimulateConnection(true)
+            .threadingMode(ThreadingMode.SHARED)
+            .sharedIdleStrategy(new BusySpinIdleStrategy())
+            .dirDeleteOnShutdown(true);
+
+        mediaDriver = MediaDriver.launchEmbedded(mediaDriverCtx);
+
+        final Aeron.Context aeronCtx = new Aeron.Context()
+            .aeronDirectoryName(mediaDriver.aeronDirectoryName());
+
+        aeron = Aeron.connect(aeronCtx);
+        aeronic = new AeronicWizard(aeron, AgentGroup.dedicatedThread("default", new BackoffIdleStrategy()));
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        aeronic.close();
+        aeron.close();
+        mediaDriver.close();
+    }
+
+    @Test
+    public void shouldRunAgentGroupsOnThreadsNamedAfterThem()
+    {
+        final AtomicReference<String> hookThreadName = new AtomicReference<>();
+        final ThreadingEvents publisher = aeronic.createPublisher(ThreadingEvents.class, IPC, 10);
+        final ThreadingEventsImpl defaultSubscriber = new ThreadingEventsImpl();
+        aeronic.registerSubscriber(ThreadingEvents.class, defaultSubscriber, IPC, 10);
+
+        aeronic.useAgentGroup(AgentGroup.dedicatedThread(
+            "quiet",
+            new SleepingIdleStrategy(),
+            () -> hookThreadName.set(Thread.currentThread().getName())
+        ));
+        final ThreadingEventsImpl quietSubscriber = new ThreadingEventsImpl();
+        aeronic.registerSubscriber(ThreadingEvents.class, quietSubscriber, IPC, 10);
+
+        aeronic.start();
+        aeronic.awaitUntilPubsAndSubsConnect();
+
+        publisher.onEvent(42L);
+
+        assertEventually(() -> {
+            assertEquals(42L, defaultSubscriber.value);
+            assertEquals("default", defaultSubscriber.threadName);
+            assertEquals(42L, quietSubscriber.value);
+            assertEquals("quiet", quietSubscriber.threadName);
+            assertEquals("quiet", hookThreadName.get());
+        });
+    }
+
+    @Test
+    public void shouldRunInvokedAgentGroupOnCallerThread()
+    {
+        final ThreadingEvents publisher = aeronic.createPublisher(ThreadingEvents.class, IPC, 10);
+        aeronic.useAgentGroup(AgentGroup.invoked("caller"));
+        final ThreadingEventsImpl subscriber = new ThreadingEventsImpl();
+        aeronic.registerSubscriber(ThreadingEvents.class, subscriber, IPC, 10);
+
+        aeronic.start();
+        aeronic.awaitUntilPubsAndSubsConnect();
+
+        publisher.onEvent(7L);
+
+        final AgentInvoker agentInvoker = aeronic.getAgentInvoker("caller");
+        assertEventually(() -> {
+            agentInvoker.invoke();
+            assertEquals(7L, subscriber.value);
+            assertEquals(Thread.currentThread().getName(), subscriber.threadName);
+        });
+    }
+
+    @Test
+    public void shouldRejectDifferentAgentGroupOfSameName()
+    {
+        aeronic.useAgentGroup(AgentGroup.invoked("caller"));
+
+        assertThrows(IllegalArgumentException.class, () -> aeronic.useAgentGroup(AgentGroup.invoked("caller")));
+        assertThrows(IllegalArgumentException.class, () -> aeronic.useAgentGroup("unknown"));
+        assertThrows(IllegalArgumentException.class, () -> aeronic.getAgentInvoker("caller"));
+    }
+
+    private static class ThreadingEventsImpl implements ThreadingEvents
+    {
+        private volatile long value;
+        private volatile String threadName;
+
+        @Override
+        public void onEvent(final long value)
+        {
+            this.threadName = Thread.currentThread().getName();
+            this.value = value;
+        }
+    }
+}
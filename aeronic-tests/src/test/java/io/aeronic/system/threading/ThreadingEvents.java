@@ -0,0 +1,9 @@
+package io.aeronic.system.threading;
+
+import io.aeronic.Aeronic;
+
+@Aeronic
+public interface ThreadingEvents
+{
+    void onEvent(long value);
+}